@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import com.google.common.collect.ImmutableList;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark comparing a fused {@link TransformationPipeline} with applying the same transformations one by one, each
+ * of them materializing an intermediate tree. The transformations are: namespace migration, pruning of a statistics
+ * subtree, filtering of a leaf value, value rewriting and key renaming.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class TransformationPipelineBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final QNameModule OLD = QNameModule.create(URI.create("urn:example:old"));
+    private static final QNameModule NEW = QNameModule.create(URI.create("urn:example:new"));
+    private static final QName ROOT = QName.create(OLD, "root");
+    private static final QName ENTRY = QName.create(OLD, "entry");
+    private static final QName ID = QName.create(OLD, "id");
+    private static final QName NAME = QName.create(OLD, "name");
+    private static final QName STATUS = QName.create(OLD, "status");
+    private static final QName STATS = QName.create(OLD, "statistics");
+    private static final QName NEW_STATS = QName.create(NEW, "statistics");
+    private static final QName NEW_ID = QName.create(NEW, "id");
+    private static final QName NEW_KEY = QName.create(NEW, "key");
+    private static final QName NEW_STATUS = QName.create(NEW, "status");
+
+    private static final Function<QName, QName> MIGRATE_NAMESPACE =
+        qname -> OLD.equals(qname.getModule()) ? QName.create(NEW, qname.getLocalName()) : qname;
+    private static final Function<QName, QName> RENAME_KEY = qname -> NEW_ID.equals(qname) ? NEW_KEY : qname;
+
+    @Param({ "100", "10000" })
+    public int entries;
+
+    private ContainerNode data;
+    private List<TransformationPipeline> steps;
+    private TransformationPipeline fused;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + TransformationPipelineBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(ENTRY);
+        for (int i = 0; i < entries; ++i) {
+            final ContainerNode stats = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(STATS))
+                    .withChild(ImmutableNodes.leafNode(QName.create(OLD, "in-octets"), (long) i))
+                    .withChild(ImmutableNodes.leafNode(QName.create(OLD, "out-octets"), (long) i))
+                    .withChild(ImmutableNodes.leafNode(QName.create(OLD, "in-errors"), 0L))
+                    .withChild(ImmutableNodes.leafNode(QName.create(OLD, "out-errors"), 0L))
+                    .build();
+            list.withChild(Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(ENTRY, ID, i))
+                .withChild(ImmutableNodes.leafNode(ID, i))
+                .withChild(ImmutableNodes.leafNode(NAME, "entry-" + i))
+                .withChild(ImmutableNodes.leafNode(STATUS, i % 2 == 0 ? "up" : "unknown"))
+                .withChild(stats)
+                .build());
+        }
+        data = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT)).withChild(list.build())
+                .build();
+
+        steps = ImmutableList.of(
+            TransformationPipeline.builder().mapQName(MIGRATE_NAMESPACE).build(),
+            TransformationPipeline.builder().prune(arg -> NEW_STATS.equals(arg.getNodeType())).build(),
+            TransformationPipeline.builder().filter(TransformationPipelineBenchmark::isKnownStatus).build(),
+            TransformationPipeline.builder().mapValue(TransformationPipelineBenchmark::upperCaseStatus).build(),
+            TransformationPipeline.builder().mapQName(RENAME_KEY).build());
+
+        fused = TransformationPipeline.builder()
+                .mapQName(MIGRATE_NAMESPACE)
+                .prune(arg -> NEW_STATS.equals(arg.getNodeType()))
+                .filter(TransformationPipelineBenchmark::isKnownStatus)
+                .mapValue(TransformationPipelineBenchmark::upperCaseStatus)
+                .mapQName(RENAME_KEY)
+                .build();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public NormalizedNode<?, ?> materializingTransformations() {
+        NormalizedNode<?, ?> result = NormalizedNodeTransformations.transformQNames(data, MIGRATE_NAMESPACE);
+        for (TransformationPipeline step : steps.subList(1, steps.size())) {
+            result = step.transform(result).get();
+        }
+        return result;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public NormalizedNode<?, ?> fusedPipeline() {
+        return fused.transform(data).get();
+    }
+
+    private static boolean isKnownStatus(final QName name, final Object value) {
+        return !NEW_STATUS.equals(name) || !"unknown".equals(value);
+    }
+
+    private static Object upperCaseStatus(final QName name, final Object value) {
+        return NEW_STATUS.equals(name) ? ((String) value).toUpperCase() : value;
+    }
+}
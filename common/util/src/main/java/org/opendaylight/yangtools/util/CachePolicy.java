@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.OptionalLong;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configuration of an internal cache, such as those maintaining shared codec or offset map instances. A policy defines
+ * how entries are evicted and whether cache statistics are recorded.
+ *
+ * <p>
+ * A policy can be specified via system properties, where {@code <prefix>.eviction} selects the {@link Eviction}
+ * (case-insensitive), {@code <prefix>.maxWeight} specifies the maximum weight of an {@link Eviction#LRU} cache and
+ * {@code <prefix>.stats} enables recording of statistics.
+ */
+@Beta
+public final class CachePolicy implements Immutable {
+    /**
+     * Eviction policy.
+     */
+    public enum Eviction {
+        /**
+         * Entries are evicted by the garbage collector, based on reachability of cached values. This is the default
+         * and it does not impose any bound on the cache, but it may result in all entries being evicted at once
+         * when memory is low.
+         */
+        REFERENCE,
+        /**
+         * Entries are evicted in approximately least-recently-used order once the maximum weight is exceeded. Cached
+         * values are strongly referenced, hence eviction is deterministic.
+         */
+        LRU;
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachePolicy.class);
+    private static final @NonNull CachePolicy REFERENCE = new CachePolicy(Eviction.REFERENCE, -1, false);
+
+    private final @NonNull Eviction eviction;
+    private final long maximumWeight;
+    private final boolean recordStats;
+
+    private CachePolicy(final Eviction eviction, final long maximumWeight, final boolean recordStats) {
+        this.eviction = requireNonNull(eviction);
+        this.maximumWeight = maximumWeight;
+        this.recordStats = recordStats;
+    }
+
+    /**
+     * Return a policy relying on the garbage collector to evict entries.
+     *
+     * @return A reference-based policy
+     */
+    public static @NonNull CachePolicy referenceBased() {
+        return REFERENCE;
+    }
+
+    /**
+     * Return a policy evicting entries in approximately least-recently-used order once the total weight of entries
+     * exceeds specified maximum.
+     *
+     * @param maximumWeight Maximum weight
+     * @return An LRU policy
+     * @throws IllegalArgumentException if maximumWeight is negative
+     */
+    public static @NonNull CachePolicy lru(final long maximumWeight) {
+        checkArgument(maximumWeight >= 0, "Invalid maximum weight %s", maximumWeight);
+        return new CachePolicy(Eviction.LRU, maximumWeight, false);
+    }
+
+    /**
+     * Return a policy configured via system properties with a specified prefix. Properties which are not set or
+     * contain illegal values are taken from the default policy.
+     *
+     * @param prefix System property prefix
+     * @param defaultPolicy Default policy
+     * @return A configured policy
+     */
+    public static @NonNull CachePolicy fromSystemProperties(final String prefix, final CachePolicy defaultPolicy) {
+        Eviction eviction = defaultPolicy.eviction;
+        final String evictionProp = prefix + ".eviction";
+        final String evictionStr = System.getProperty(evictionProp);
+        if (evictionStr != null) {
+            try {
+                eviction = Eviction.valueOf(evictionStr.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring illegal value {} of {}, using {}", evictionStr, evictionProp, eviction, e);
+            }
+        }
+
+        long maxWeight = defaultPolicy.maximumWeight;
+        final String weightProp = prefix + ".maxWeight";
+        final String weightStr = System.getProperty(weightProp);
+        if (weightStr != null) {
+            try {
+                maxWeight = Long.parseLong(weightStr.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Ignoring illegal value {} of {}", weightStr, weightProp, e);
+            }
+        }
+
+        final String statsStr = System.getProperty(prefix + ".stats");
+        final boolean stats = statsStr != null ? Boolean.parseBoolean(statsStr.trim()) : defaultPolicy.recordStats;
+
+        if (eviction == Eviction.LRU && maxWeight < 0) {
+            LOG.warn("No valid {} specified, falling back to {} eviction", weightProp, Eviction.REFERENCE);
+            eviction = Eviction.REFERENCE;
+        }
+        final CachePolicy ret = new CachePolicy(eviction, eviction == Eviction.LRU ? maxWeight : -1, stats);
+        LOG.debug("Configured cache {} with {}", prefix, ret);
+        return ret;
+    }
+
+    /**
+     * Return a policy with the same eviction, which records cache statistics as specified.
+     *
+     * @param newRecordStats True if statistics should be recorded
+     * @return A CachePolicy
+     */
+    public @NonNull CachePolicy withRecordStats(final boolean newRecordStats) {
+        return recordStats == newRecordStats ? this : new CachePolicy(eviction, maximumWeight, newRecordStats);
+    }
+
+    /**
+     * Return the eviction strategy of the cache.
+     *
+     * @return Eviction strategy
+     */
+    public @NonNull Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * Return the maximum weight of the cache.
+     *
+     * @return Maximum weight, empty if this policy does not bound the cache
+     */
+    public @NonNull OptionalLong getMaximumWeight() {
+        return maximumWeight < 0 ? OptionalLong.empty() : OptionalLong.of(maximumWeight);
+    }
+
+    /**
+     * Return whether the cache should record statistics.
+     *
+     * @return True if statistics should be recorded
+     */
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    /**
+     * Apply this policy to a {@link CacheBuilder}, where each entry has unit weight.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @param builder CacheBuilder to configure
+     * @param softValues True if values should be softly referenced under {@link Eviction#REFERENCE}, false if
+     *                   they should be weakly referenced
+     * @return The configured builder
+     */
+    public <K, V> @NonNull CacheBuilder<K, V> configure(final CacheBuilder<Object, Object> builder,
+            final boolean softValues) {
+        return configure(builder, softValues, (key, value) -> 1);
+    }
+
+    /**
+     * Apply this policy to a {@link CacheBuilder}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @param builder CacheBuilder to configure
+     * @param softValues True if values should be softly referenced under {@link Eviction#REFERENCE}, false if
+     *                   they should be weakly referenced
+     * @param weigher Weigher of entries, used with {@link Eviction#LRU}
+     * @return The configured builder
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> @NonNull CacheBuilder<K, V> configure(final CacheBuilder<Object, Object> builder,
+            final boolean softValues, final Weigher<? super K, ? super V> weigher) {
+        requireNonNull(weigher);
+        if (recordStats) {
+            builder.recordStats();
+        }
+
+        switch (eviction) {
+            case LRU:
+                return builder.maximumWeight(maximumWeight).weigher(weigher);
+            case REFERENCE:
+                return (CacheBuilder<K, V>) (softValues ? builder.softValues() : builder.weakValues());
+            default:
+                throw new IllegalStateException("Unhandled eviction " + eviction);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eviction, maximumWeight, recordStats);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CachePolicy)) {
+            return false;
+        }
+        final CachePolicy other = (CachePolicy) obj;
+        return eviction == other.eviction && maximumWeight == other.maximumWeight && recordStats == other.recordStats;
+    }
+
+    @Override
+    public String toString() {
+        final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this).add("eviction", eviction);
+        if (maximumWeight >= 0) {
+            helper.add("maximumWeight", maximumWeight);
+        }
+        return helper.add("recordStats", recordStats).toString();
+    }
+}
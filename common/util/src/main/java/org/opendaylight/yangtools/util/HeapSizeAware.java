@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * An object which is able to estimate how much heap it occupies. Implementations are expected to know their internal
+ * representation, which allows them to provide far better estimates than an external observer can.
+ *
+ * @see HeapSizes
+ */
+@Beta
+public interface HeapSizeAware {
+    /**
+     * Return the estimated number of bytes occupied by this object and its internal structures, such as backing
+     * arrays. Objects which form the logical content, like map keys and values or child nodes, are not included, as
+     * they are expected to be accounted for separately.
+     *
+     * @return Estimated shallow heap size, in bytes
+     */
+    long shallowHeapSize();
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import tech.pantheon.triemap.TrieMap;
+
+/**
+ * Utility methods for estimating heap occupied by objects. Estimates assume a 64-bit JVM with compressed object
+ * pointers, i.e. 12-byte object headers, 4-byte references and 8-byte object alignment.
+ *
+ * <p>
+ * Objects which are typically shared, such as {@link Boolean}s, small {@link Integer}s and empty collections, are
+ * considered to occupy no heap.
+ */
+@Beta
+public final class HeapSizes {
+    /**
+     * Size of an object header.
+     */
+    public static final int OBJECT_HEADER = 12;
+
+    /**
+     * Size of an object reference.
+     */
+    public static final int REFERENCE = 4;
+
+    private static final int ARRAY_HEADER = 16;
+    private static final int ALIGNMENT = 8;
+
+    // Hash-based maps: an entry object with key, value, hash and next, plus a slot in the table
+    private static final int HASH_MAP = 48;
+    private static final int HASH_MAP_ENTRY = 32 + REFERENCE * 2;
+    // TrieMap: a leaf node plus an amortized share of the indirection and branch nodes
+    private static final int TRIE_MAP = 64;
+    private static final int TRIE_MAP_ENTRY = 72;
+
+    private HeapSizes() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Round a size up to object alignment.
+     *
+     * @param size Unaligned size
+     * @return Aligned size
+     */
+    public static long align(final long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Estimate the size of a plain object.
+     *
+     * @param references Number of reference fields
+     * @param primitiveBytes Number of bytes occupied by primitive fields
+     * @return Estimated size, in bytes
+     */
+    public static long objectSize(final int references, final int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Estimate the size of an array.
+     *
+     * @param length Array length
+     * @param elementSize Size of an element, in bytes
+     * @return Estimated size, in bytes
+     */
+    public static long arraySize(final int length, final int elementSize) {
+        return align(ARRAY_HEADER + (long) length * elementSize);
+    }
+
+    /**
+     * Estimate the shallow size of a map, not including its keys and values. Maps implementing {@link HeapSizeAware}
+     * are asked to provide the estimate.
+     *
+     * @param map Map to estimate
+     * @return Estimated size, in bytes
+     */
+    public static long shallowSizeOf(final Map<?, ?> map) {
+        if (map instanceof HeapSizeAware) {
+            return ((HeapSizeAware) map).shallowHeapSize();
+        }
+
+        final int size = map.size();
+        if (size == 0) {
+            // Empty maps are usually shared singletons
+            return 0;
+        }
+        if (map instanceof TrieMap) {
+            return TRIE_MAP + (long) size * TRIE_MAP_ENTRY;
+        }
+        if (map instanceof ImmutableMap) {
+            // RegularImmutableMap: entry objects and a power-of-two table
+            return HASH_MAP + (long) size * HASH_MAP_ENTRY;
+        }
+        return HASH_MAP + arraySize(tableSize(size), REFERENCE) + (long) size * HASH_MAP_ENTRY;
+    }
+
+    /**
+     * Estimate the shallow size of a collection, not including its elements. Collections implementing
+     * {@link HeapSizeAware} are asked to provide the estimate.
+     *
+     * @param collection Collection to estimate
+     * @return Estimated size, in bytes
+     */
+    public static long shallowSizeOf(final Collection<?> collection) {
+        if (collection instanceof HeapSizeAware) {
+            return ((HeapSizeAware) collection).shallowHeapSize();
+        }
+
+        final int size = collection.size();
+        if (size == 0) {
+            return 0;
+        }
+        if (collection instanceof ImmutableCollection && !(collection instanceof Set)) {
+            // Array-backed
+            return objectSize(1, 0) + arraySize(size, REFERENCE);
+        }
+        // Assume hash-based
+        return HASH_MAP + arraySize(tableSize(size), REFERENCE) + (long) size * HASH_MAP_ENTRY;
+    }
+
+    /**
+     * Estimate the retained size of a simple value, such as those held by YANG leaves.
+     *
+     * @param value Value to estimate, may be null
+     * @return Estimated size, in bytes
+     */
+    public static long sizeOf(final Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Enum) {
+            return 0;
+        }
+        if (value instanceof HeapSizeAware) {
+            return ((HeapSizeAware) value).shallowHeapSize();
+        }
+        if (value instanceof String) {
+            // Java 8 layout: String with hash and a char[]
+            return objectSize(1, 4) + arraySize(((String) value).length(), 2);
+        }
+        if (value instanceof byte[]) {
+            return arraySize(((byte[]) value).length, 1);
+        }
+        if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+            final long longValue = ((Number) value).longValue();
+            // Small values are cached by valueOf()
+            return longValue >= -128 && longValue <= 127 ? 0 : objectSize(0, 8);
+        }
+        if (value instanceof BigInteger) {
+            return objectSize(1, 20) + arraySize((((BigInteger) value).bitLength() + 31) / 32, 4);
+        }
+        if (value instanceof BigDecimal) {
+            return objectSize(2, 16) + sizeOf(((BigDecimal) value).unscaledValue());
+        }
+        if (value instanceof Collection) {
+            long ret = shallowSizeOf((Collection<?>) value);
+            for (Object item : (Collection<?>) value) {
+                ret += sizeOf(item);
+            }
+            return ret;
+        }
+        // Unknown object, assume a couple of fields
+        return objectSize(2, 8);
+    }
+
+    private static int tableSize(final int size) {
+        // Default load factor is 0.75
+        final int needed = (int) Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -11,6 +11,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.UnmodifiableIterator;
 import java.io.IOException;
@@ -43,7 +44,7 @@ import org.eclipse.jdt.annotation.Nullable;
  * @param <V> the type of mapped values
  */
 @Beta
-public abstract class ImmutableOffsetMap<K, V> implements UnmodifiableMapPhase<K, V>, Serializable {
+public abstract class ImmutableOffsetMap<K, V> implements UnmodifiableMapPhase<K, V>, HeapSizeAware, Serializable {
     static final class Ordered<K, V> extends ImmutableOffsetMap<K, V> {
         private static final long serialVersionUID = 1L;
 
@@ -106,6 +107,12 @@ public abstract class ImmutableOffsetMap<K, V> implements UnmodifiableMapPhase<K
     @Override
     public abstract @NonNull MutableOffsetMap<K, V> toModifiableMap();
 
+    @Override
+    public final long shallowHeapSize() {
+        // Offsets are shared through OffsetMapCache and are not accounted for
+        return HeapSizes.objectSize(2, 4) + HeapSizes.arraySize(objects.length, HeapSizes.REFERENCE);
+    }
+
     abstract void setFields(List<K> keys, V[] values) throws IOException;
 
     /**
@@ -196,6 +203,29 @@ public abstract class ImmutableOffsetMap<K, V> implements UnmodifiableMapPhase<K
         return null;
     }
 
+    /**
+     * Return the policy of the cache holding key-to-offset mappings shared by offset maps. The policy is configured
+     * through system properties prefixed with {@code org.opendaylight.yangtools.util.offsetmap.cache}, as specified by
+     * {@link CachePolicy#fromSystemProperties(String, CachePolicy)}.
+     *
+     * @return Offset cache policy
+     */
+    @Beta
+    public static @NonNull CachePolicy offsetCachePolicy() {
+        return OffsetMapCache.policy();
+    }
+
+    /**
+     * Return statistics of the cache holding key-to-offset mappings shared by offset maps. Statistics are recorded
+     * only if enabled by {@link #offsetCachePolicy()}.
+     *
+     * @return Offset cache statistics
+     */
+    @Beta
+    public static @NonNull CacheStats offsetCacheStats() {
+        return OffsetMapCache.stats();
+    }
+
     @Override
     public final int size() {
         return offsets.size();
@@ -12,6 +12,7 @@ import com.google.common.base.Verify;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -25,12 +26,23 @@ import java.util.Map;
 import java.util.Set;
 
 final class OffsetMapCache {
+    static final String POLICY_PROP_PREFIX = "org.opendaylight.yangtools.util.offsetmap.cache";
+
+    /*
+     * Both caches share the same policy, which by default lets the garbage collector evict unreferenced offset maps.
+     * Bounded caches weigh entries by the number of keys.
+     */
+    private static final CachePolicy POLICY = CachePolicy.fromSystemProperties(POLICY_PROP_PREFIX,
+        CachePolicy.referenceBased());
+
     /*
      * Cache for offsets where order matters. The key is a List, which defines the iteration order. Since we want
      * to retain this order, it is okay to use a simple LoadingCache.
      */
     private static final LoadingCache<List<?>, ImmutableMap<?, Integer>> ORDERED_CACHE =
-            CacheBuilder.newBuilder().weakValues().build(new CacheLoader<List<?>, ImmutableMap<?, Integer>>() {
+            POLICY.<List<?>, ImmutableMap<?, Integer>>configure(CacheBuilder.newBuilder(), false,
+                (key, value) -> value.size())
+            .build(new CacheLoader<List<?>, ImmutableMap<?, Integer>>() {
                 @Override
                 public ImmutableMap<?, Integer> load(final List<?> key) {
                     return createMap(key);
@@ -48,12 +60,21 @@ final class OffsetMapCache {
      * and also lead to the cache and the map sharing the same Set.
      */
     private static final Cache<Set<?>, ImmutableMap<?, Integer>> UNORDERED_CACHE =
-            CacheBuilder.newBuilder().weakValues().build();
+            POLICY.<Set<?>, ImmutableMap<?, Integer>>configure(CacheBuilder.newBuilder(), false,
+                (key, value) -> value.size()).build();
 
     private OffsetMapCache() {
         throw new UnsupportedOperationException();
     }
 
+    static CachePolicy policy() {
+        return POLICY;
+    }
+
+    static CacheStats stats() {
+        return ORDERED_CACHE.stats().plus(UNORDERED_CACHE.stats());
+    }
+
     @VisibleForTesting
     static void invalidateCache() {
         ORDERED_CACHE.invalidateAll();
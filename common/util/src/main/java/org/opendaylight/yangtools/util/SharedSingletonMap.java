@@ -32,7 +32,7 @@ import org.eclipse.jdt.annotation.NonNull;
  * @param <V> the type of mapped values
  */
 @Beta
-public abstract class SharedSingletonMap<K, V> implements Serializable, UnmodifiableMapPhase<K, V> {
+public abstract class SharedSingletonMap<K, V> implements Serializable, UnmodifiableMapPhase<K, V>, HeapSizeAware {
     static final class Ordered<K, V> extends SharedSingletonMap<K, V> {
         private static final long serialVersionUID = 1L;
 
@@ -174,6 +174,12 @@ public abstract class SharedSingletonMap<K, V> implements Serializable, Unmodifi
         return keySet.contains(key) ? value : null;
     }
 
+    @Override
+    public final long shallowHeapSize() {
+        // Key sets are shared through a cache and are not accounted for
+        return HeapSizes.objectSize(2, 4);
+    }
+
     @Override
     public final int size() {
         return 1;
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility methods for measuring heap allocation performed by the current thread. Allocation accounting is a HotSpot
+ * extension, available through {@code com.sun.management.ThreadMXBean}. On JVMs which do not provide it, all methods
+ * report {@code -1}.
+ */
+@Beta
+public final class ThreadAllocations {
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadAllocations.class);
+    private static final MethodHandle THREAD_ALLOCATED_BYTES;
+
+    static {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        MethodHandle handle = null;
+        try {
+            final Class<?> ext = Class.forName("com.sun.management.ThreadMXBean");
+            if (ext.isInstance(bean)) {
+                handle = MethodHandles.publicLookup().findVirtual(ext, "getThreadAllocatedBytes",
+                    MethodType.methodType(long.class, long.class)).bindTo(bean);
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            LOG.debug("Thread allocation accounting is not available", e);
+        }
+        THREAD_ALLOCATED_BYTES = handle;
+    }
+
+    private ThreadAllocations() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Return the total number of bytes allocated by the current thread so far.
+     *
+     * @return Allocated bytes, or -1 if allocation accounting is not available
+     */
+    @SuppressWarnings("checkstyle:illegalCatch")
+    public static long allocatedBytes() {
+        if (THREAD_ALLOCATED_BYTES != null) {
+            try {
+                return (long) THREAD_ALLOCATED_BYTES.invokeExact(Thread.currentThread().getId());
+            } catch (Throwable e) {
+                LOG.debug("Failed to acquire allocated bytes", e);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Return the number of bytes allocated by the current thread since a previous {@link #allocatedBytes()} call.
+     *
+     * @param startBytes Value previously returned by {@link #allocatedBytes()}
+     * @return Allocated bytes, or -1 if allocation accounting is not available
+     */
+    public static long allocatedSince(final long startBytes) {
+        return startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+    }
+}
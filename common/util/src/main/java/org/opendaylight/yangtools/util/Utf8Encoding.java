@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Utility methods for encoding strings and numbers directly into UTF-8 byte buffers, for use by writers which manage
+ * their own output buffer. None of these methods check bounds, callers are expected to ensure the buffer has
+ * sufficient space.
+ *
+ * <p>
+ * Strings can be encoded in chunks, so that the buffer does not need to be proportional to the length of the string.
+ * {@link #chunkEnd(String, int, int)} determines chunk boundaries, so that surrogate pairs are not split.
+ */
+@Beta
+public final class Utf8Encoding {
+    /**
+     * Escaping of individual characters, applied before they are encoded into UTF-8.
+     */
+    @FunctionalInterface
+    public interface Escaper {
+        /**
+         * Write the escaped form of a character, if it requires escaping. This method is invoked for every character
+         * which is not a surrogate.
+         *
+         * @param ch Character to escape
+         * @param bytes Output buffer
+         * @param offset Offset in output buffer
+         * @return Offset past the escaped form, or a negative value if the character should be encoded as-is
+         */
+        int escape(char ch, byte[] bytes, int offset);
+    }
+
+    /**
+     * An {@link Escaper} which does not escape any characters.
+     */
+    public static final Escaper NO_ESCAPE = (ch, bytes, offset) -> -1;
+
+    /**
+     * Maximum number of bytes a single char encodes to, not accounting for escaping.
+     */
+    public static final int MAX_CHAR_BYTES = 3;
+
+    /**
+     * Maximum number of bytes a {@code long} encodes to.
+     */
+    public static final int MAX_LONG_BYTES = 20;
+
+    private static final byte[] LONG_MIN_VALUE = { '-', '9', '2', '2', '3', '3', '7', '2', '0', '3', '6', '8', '5',
+        '4', '7', '7', '5', '8', '0', '8'
+    };
+
+    private Utf8Encoding() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Determine the end of a chunk starting at specified index, such that it does not split a surrogate pair.
+     *
+     * @param str String being encoded
+     * @param start Start index of the chunk
+     * @param maxChars Maximum number of characters in the chunk, must be at least 2
+     * @return End index of the chunk, exclusive
+     */
+    public static int chunkEnd(final String str, final int start, final int maxChars) {
+        final int length = str.length();
+        if (length - start <= maxChars) {
+            return length;
+        }
+        final int end = start + maxChars;
+        return Character.isHighSurrogate(str.charAt(end - 1)) ? end - 1 : end;
+    }
+
+    /**
+     * Encode a range of a string into UTF-8, escaping characters as needed. Unpaired surrogates are encoded as
+     * {@code '?'}, like {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param str String to encode
+     * @param start Start index, inclusive
+     * @param end End index, exclusive
+     * @param escaper Character escaper
+     * @param bytes Output buffer
+     * @param offset Offset in output buffer
+     * @return Offset past the encoded string
+     */
+    public static int encode(final String str, final int start, final int end, final Escaper escaper,
+            final byte[] bytes, final int offset) {
+        int off = offset;
+        for (int i = start; i < end; ++i) {
+            final char ch = str.charAt(i);
+            if (Character.isSurrogate(ch)) {
+                final char low = i + 1 < end ? str.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(ch) && Character.isLowSurrogate(low)) {
+                    final int cp = Character.toCodePoint(ch, low);
+                    bytes[off++] = (byte) (0xF0 | cp >> 18);
+                    bytes[off++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                    bytes[off++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                    bytes[off++] = (byte) (0x80 | cp & 0x3F);
+                    ++i;
+                } else {
+                    bytes[off++] = '?';
+                }
+                continue;
+            }
+
+            final int escaped = escaper.escape(ch, bytes, off);
+            if (escaped >= 0) {
+                off = escaped;
+            } else if (ch < 0x80) {
+                bytes[off++] = (byte) ch;
+            } else if (ch < 0x800) {
+                bytes[off++] = (byte) (0xC0 | ch >> 6);
+                bytes[off++] = (byte) (0x80 | ch & 0x3F);
+            } else {
+                bytes[off++] = (byte) (0xE0 | ch >> 12);
+                bytes[off++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                bytes[off++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+        return off;
+    }
+
+    /**
+     * Encode a {@code long} in decimal, the same way {@link Long#toString(long)} does.
+     *
+     * @param value Value to encode
+     * @param bytes Output buffer
+     * @param offset Offset in output buffer
+     * @return Offset past the encoded value
+     */
+    public static int encodeLong(final long value, final byte[] bytes, final int offset) {
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(LONG_MIN_VALUE, 0, bytes, offset, LONG_MIN_VALUE.length);
+            return offset + LONG_MIN_VALUE.length;
+        }
+        if (value < 0) {
+            bytes[offset] = '-';
+            return encodeDigits(-value, 1, bytes, offset + 1);
+        }
+        return encodeDigits(value, 1, bytes, offset);
+    }
+
+    /**
+     * Encode the decimal digits of a non-negative {@code long}, padded with leading zeroes to a minimum number of
+     * digits.
+     *
+     * @param value Non-negative value to encode
+     * @param minDigits Minimum number of digits
+     * @param bytes Output buffer
+     * @param offset Offset in output buffer
+     * @return Offset past the encoded digits
+     */
+    public static int encodeDigits(final long value, final int minDigits, final byte[] bytes, final int offset) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+
+        int off = offset;
+        for (int i = digits; i < minDigits; ++i) {
+            bytes[off++] = '0';
+        }
+
+        final int ret = off + digits;
+        long remaining = value;
+        off = ret;
+        do {
+            bytes[--off] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        return ret;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.OptionalLong;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.CachePolicy.Eviction;
+
+public class CachePolicyTest {
+    private static final String PREFIX = "org.opendaylight.yangtools.util.test.cache";
+
+    @After
+    public void after() {
+        System.clearProperty(PREFIX + ".eviction");
+        System.clearProperty(PREFIX + ".maxWeight");
+        System.clearProperty(PREFIX + ".stats");
+    }
+
+    @Test
+    public void testLruEviction() {
+        final CachePolicy policy = CachePolicy.lru(2).withRecordStats(true);
+        assertEquals(Eviction.LRU, policy.getEviction());
+        assertEquals(OptionalLong.of(2), policy.getMaximumWeight());
+
+        final Cache<String, String> cache = policy.<String, String>configure(CacheBuilder.newBuilder(), true).build();
+        cache.put("a", "a");
+        cache.put("b", "b");
+        assertEquals("a", cache.getIfPresent("a"));
+        cache.put("c", "c");
+
+        // "b" has been used least recently
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("a", cache.getIfPresent("a"));
+        assertEquals("c", cache.getIfPresent("c"));
+
+        final CacheStats stats = cache.stats();
+        assertEquals(3, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.evictionCount());
+    }
+
+    @Test
+    public void testWeigher() {
+        final Cache<String, String> cache = CachePolicy.lru(5).<String, String>configure(CacheBuilder.newBuilder(),
+            false, (key, value) -> value.length()).build();
+        cache.put("a", "aaa");
+        cache.put("b", "bbb");
+        assertEquals(1, cache.size());
+        // Statistics are not recorded by default
+        assertEquals(0, cache.stats().requestCount());
+    }
+
+    @Test
+    public void testReferenceBased() {
+        final CachePolicy policy = CachePolicy.referenceBased();
+        assertEquals(Eviction.REFERENCE, policy.getEviction());
+        assertFalse(policy.getMaximumWeight().isPresent());
+        assertFalse(policy.isRecordStats());
+        assertSame(policy, policy.withRecordStats(false));
+        assertEquals(policy, CachePolicy.fromSystemProperties(PREFIX, policy));
+    }
+
+    @Test
+    public void testFromSystemProperties() {
+        System.setProperty(PREFIX + ".eviction", "lru");
+        System.setProperty(PREFIX + ".maxWeight", "100");
+        System.setProperty(PREFIX + ".stats", "true");
+        assertEquals(CachePolicy.lru(100).withRecordStats(true),
+            CachePolicy.fromSystemProperties(PREFIX, CachePolicy.referenceBased()));
+    }
+
+    @Test
+    public void testIllegalSystemProperties() {
+        System.setProperty(PREFIX + ".eviction", "lru");
+        System.setProperty(PREFIX + ".maxWeight", "foo");
+        final CachePolicy policy = CachePolicy.fromSystemProperties(PREFIX, CachePolicy.referenceBased());
+        assertEquals(Eviction.REFERENCE, policy.getEviction());
+
+        System.setProperty(PREFIX + ".eviction", "foo");
+        System.setProperty(PREFIX + ".maxWeight", "10");
+        assertEquals(CachePolicy.lru(10), CachePolicy.fromSystemProperties(PREFIX, CachePolicy.lru(20)));
+        assertTrue(CachePolicy.lru(10).toString().contains("maximumWeight=10"));
+    }
+}
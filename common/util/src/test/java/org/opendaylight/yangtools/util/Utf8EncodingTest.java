@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+public class Utf8EncodingTest {
+    private static byte[] encode(final String str, final Utf8Encoding.Escaper escaper) {
+        final byte[] bytes = new byte[str.length() * 6];
+        return Arrays.copyOf(bytes, Utf8Encoding.encode(str, 0, str.length(), escaper, bytes, 0));
+    }
+
+    private static void assertEncoded(final String str) {
+        assertArrayEquals(str.getBytes(UTF_8), encode(str, Utf8Encoding.NO_ESCAPE));
+    }
+
+    private static void assertLong(final long value) {
+        final byte[] bytes = new byte[Utf8Encoding.MAX_LONG_BYTES];
+        assertEquals(Long.toString(value),
+            new String(bytes, 0, Utf8Encoding.encodeLong(value, bytes, 0), UTF_8));
+    }
+
+    @Test
+    public void testEncode() {
+        assertEncoded("");
+        assertEncoded("plain\u0000\u007f");
+        assertEncoded("\u00e9\u07ff\u0800\u4e2d\uffff");  // 2- and 3-byte boundaries
+        assertEncoded("\ud83d\ude00x\udbff\udfff");  // emoji and the last code point
+        assertEncoded("\ud83dx\ude00\ud83d");  // unpaired surrogates
+    }
+
+    @Test
+    public void testEscape() {
+        final Utf8Encoding.Escaper escaper = (ch, bytes, offset) -> {
+            if (ch != '<' && ch != '\u00e9') {  // e-acute
+                return -1;
+            }
+            bytes[offset] = '_';
+            return offset + 1;
+        };
+        final String str = "a<b\u00e9\ud83d\ude00";  // e-acute, emoji
+        assertArrayEquals("a_b_\ud83d\ude00".getBytes(UTF_8), encode(str, escaper));  // emoji
+    }
+
+    @Test
+    public void testChunkEnd() {
+        final String str = "ab\ud83d\ude00cd";  // emoji
+        assertEquals(2, Utf8Encoding.chunkEnd(str, 0, 2));
+        assertEquals(2, Utf8Encoding.chunkEnd(str, 0, 3));
+        assertEquals(4, Utf8Encoding.chunkEnd(str, 0, 4));
+        assertEquals(6, Utf8Encoding.chunkEnd(str, 2, 4));
+        assertEquals(6, Utf8Encoding.chunkEnd(str, 4, 100));
+
+        // Chunks concatenate to the whole string
+        final byte[] bytes = new byte[str.length() * Utf8Encoding.MAX_CHAR_BYTES];
+        int off = 0;
+        for (int start = 0, end; start < str.length(); start = end) {
+            end = Utf8Encoding.chunkEnd(str, start, 3);
+            off = Utf8Encoding.encode(str, start, end, Utf8Encoding.NO_ESCAPE, bytes, off);
+        }
+        assertArrayEquals(str.getBytes(UTF_8), Arrays.copyOf(bytes, off));
+    }
+
+    @Test
+    public void testEncodeLong() {
+        final long[] values = {
+            0, 1, -1, 9, 10, -10, 99, 100, 1234567890123L, 999999999999999999L, 1000000000000000000L,
+            Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1
+        };
+        for (long value : values) {
+            assertLong(value);
+        }
+    }
+
+    @Test
+    public void testEncodeDigits() {
+        final byte[] bytes = new byte[Utf8Encoding.MAX_LONG_BYTES];
+        assertEquals("000042", new String(bytes, 0, Utf8Encoding.encodeDigits(42, 6, bytes, 0), UTF_8));
+        assertEquals("42", new String(bytes, 0, Utf8Encoding.encodeDigits(42, 1, bytes, 0), UTF_8));
+        assertEquals("0", new String(bytes, 0, Utf8Encoding.encodeDigits(0, 0, bytes, 0), UTF_8));
+    }
+}
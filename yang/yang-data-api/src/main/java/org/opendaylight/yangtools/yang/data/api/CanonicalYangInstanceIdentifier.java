@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.util.HashCodeBuilder;
+
+/**
+ * A {@link YangInstanceIdentifier} interned in a global path trie. Each instance is a trie node, holding a reference
+ * to its parent and weak references to its children, hence each prefix is stored exactly once and remains reachable
+ * for as long as any of its descendants is. There is at most one instance for any given path, which allows equality,
+ * {@link #contains(YangInstanceIdentifier)} and {@link #relativeTo(YangInstanceIdentifier)} to be evaluated through
+ * reference comparison and walking the parent chain.
+ *
+ * <p>
+ * Path argument lists are not retained, but are instantiated on each request.
+ */
+final class CanonicalYangInstanceIdentifier extends YangInstanceIdentifier {
+    private static final long serialVersionUID = 1L;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CanonicalYangInstanceIdentifier, ConcurrentMap> CHILDREN_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(CanonicalYangInstanceIdentifier.class, ConcurrentMap.class,
+                "children");
+    private static final ConcurrentMap<PathArgument, CanonicalYangInstanceIdentifier> ROOT_CHILDREN =
+            new MapMaker().weakValues().makeMap();
+
+    // Either EMPTY or a CanonicalYangInstanceIdentifier
+    private final transient YangInstanceIdentifier parent;
+    private final transient PathArgument pathArgument;
+    private final transient int depth;
+
+    private transient volatile ConcurrentMap<PathArgument, CanonicalYangInstanceIdentifier> children;
+
+    private CanonicalYangInstanceIdentifier(final YangInstanceIdentifier parent, final PathArgument pathArgument,
+            final int depth) {
+        super(HashCodeBuilder.nextHashCode(parent.hashCode(), pathArgument));
+        this.parent = requireNonNull(parent);
+        this.pathArgument = requireNonNull(pathArgument);
+        this.depth = depth;
+    }
+
+    static YangInstanceIdentifier intern(final YangInstanceIdentifier identifier) {
+        if (identifier instanceof CanonicalYangInstanceIdentifier) {
+            return identifier;
+        }
+
+        // Find the closest ancestor which is either canonical or holds its path arguments, reusing any canonical
+        // prefix we encounter
+        final Deque<PathArgument> stack = new ArrayDeque<>();
+        YangInstanceIdentifier current = identifier;
+        while (current instanceof StackedYangInstanceIdentifier) {
+            stack.push(current.getLastPathArgument());
+            current = current.getParent();
+        }
+
+        CanonicalYangInstanceIdentifier ret;
+        if (current instanceof CanonicalYangInstanceIdentifier) {
+            ret = (CanonicalYangInstanceIdentifier) current;
+        } else {
+            ret = null;
+            for (PathArgument arg : current.getPathArguments()) {
+                ret = ret == null ? rootChild(arg) : ret.child(arg);
+            }
+        }
+        for (PathArgument arg : stack) {
+            ret = ret == null ? rootChild(arg) : ret.child(arg);
+        }
+
+        return ret == null ? EMPTY : ret;
+    }
+
+    static boolean contains(final CanonicalYangInstanceIdentifier ancestor,
+            final CanonicalYangInstanceIdentifier descendant) {
+        return ancestor.depth <= descendant.depth && descendant.walkUp(descendant.depth - ancestor.depth) == ancestor;
+    }
+
+    @Override
+    public YangInstanceIdentifier getParent() {
+        return parent;
+    }
+
+    @Nonnull
+    @Override
+    public YangInstanceIdentifier getAncestor(final int ancestorDepth) {
+        checkArgument(ancestorDepth >= 0, "Steps cannot be negative");
+        checkArgument(ancestorDepth <= depth, "Depth %s exceeds maximum depth %s", ancestorDepth, depth);
+        return walkUp(depth - ancestorDepth);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public YangInstanceIdentifier toOptimized() {
+        // We are as compact as it gets and we want to retain identity
+        return this;
+    }
+
+    @Override
+    public List<PathArgument> getPathArguments() {
+        final PathArgument[] args = new PathArgument[depth];
+        YangInstanceIdentifier current = this;
+        for (int i = depth - 1; i >= 0; --i) {
+            args[i] = current.getLastPathArgument();
+            current = current.getParent();
+        }
+        return ImmutableList.copyOf(args);
+    }
+
+    @Override
+    public List<PathArgument> getReversePathArguments() {
+        final PathArgument[] args = new PathArgument[depth];
+        YangInstanceIdentifier current = this;
+        for (int i = 0; i < depth; ++i) {
+            args[i] = current.getLastPathArgument();
+            current = current.getParent();
+        }
+        return ImmutableList.copyOf(args);
+    }
+
+    @Override
+    public PathArgument getLastPathArgument() {
+        return pathArgument;
+    }
+
+    @Override
+    public Optional<YangInstanceIdentifier> relativeTo(final YangInstanceIdentifier ancestor) {
+        if (!(ancestor instanceof CanonicalYangInstanceIdentifier)) {
+            return super.relativeTo(ancestor);
+        }
+
+        final CanonicalYangInstanceIdentifier canonical = (CanonicalYangInstanceIdentifier) ancestor;
+        if (!contains(canonical, this)) {
+            return Optional.empty();
+        }
+        return Optional.of(canonical.depth == depth ? EMPTY : createRelativeIdentifier(canonical.depth));
+    }
+
+    @Nonnull
+    @Override
+    List<PathArgument> tryPathArguments() {
+        return getPathArguments();
+    }
+
+    @Nonnull
+    @Override
+    List<PathArgument> tryReversePathArguments() {
+        return getReversePathArguments();
+    }
+
+    @Nonnull
+    @Override
+    YangInstanceIdentifier createRelativeIdentifier(final int skipFromRoot) {
+        return YangInstanceIdentifier.create(getPathArguments().subList(skipFromRoot, depth));
+    }
+
+    @Override
+    boolean pathArgumentsEqual(final YangInstanceIdentifier other) {
+        return other instanceof CanonicalYangInstanceIdentifier ? this == other : super.pathArgumentsEqual(other);
+    }
+
+    private YangInstanceIdentifier walkUp(final int steps) {
+        YangInstanceIdentifier ret = this;
+        for (int i = 0; i < steps; ++i) {
+            ret = ret.getParent();
+        }
+        return ret;
+    }
+
+    private CanonicalYangInstanceIdentifier child(final PathArgument arg) {
+        ConcurrentMap<PathArgument, CanonicalYangInstanceIdentifier> map = children;
+        if (map == null) {
+            final ConcurrentMap<PathArgument, CanonicalYangInstanceIdentifier> created =
+                    new MapMaker().concurrencyLevel(1).weakValues().makeMap();
+            map = CHILDREN_UPDATER.compareAndSet(this, null, created) ? created : children;
+        }
+        return lookup(map, this, depth + 1, arg);
+    }
+
+    private static CanonicalYangInstanceIdentifier rootChild(final PathArgument arg) {
+        return lookup(ROOT_CHILDREN, EMPTY, 1, arg);
+    }
+
+    private static CanonicalYangInstanceIdentifier lookup(
+            final ConcurrentMap<PathArgument, CanonicalYangInstanceIdentifier> map,
+            final YangInstanceIdentifier parent, final int depth, final PathArgument arg) {
+        final CanonicalYangInstanceIdentifier existing = map.get(arg);
+        if (existing != null) {
+            return existing;
+        }
+
+        final CanonicalYangInstanceIdentifier created = new CanonicalYangInstanceIdentifier(parent, arg, depth);
+        final CanonicalYangInstanceIdentifier raced = map.putIfAbsent(arg, created);
+        return raced != null ? raced : created;
+    }
+
+    private Object writeReplace() {
+        // Canonical form is not retained across serialization
+        return FixedYangInstanceIdentifier.create(getPathArguments(), hashCode());
+    }
+}
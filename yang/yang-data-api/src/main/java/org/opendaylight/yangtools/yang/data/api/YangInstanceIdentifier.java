@@ -14,6 +14,7 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -38,7 +39,10 @@ import javax.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.concepts.Path;
+import org.opendaylight.yangtools.util.CachePolicy;
 import org.opendaylight.yangtools.util.HashCodeBuilder;
+import org.opendaylight.yangtools.util.HeapSizeAware;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.ImmutableOffsetMap;
 import org.opendaylight.yangtools.util.SharedSingletonMap;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -203,6 +207,24 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
         return pathArgumentsEqual(other);
     }
 
+    /**
+     * Return the canonical instance of this identifier. Canonical instances are interned in a global path trie, which
+     * is weakly referenced, so that each distinct prefix is stored exactly once. Equality of two canonical instances is
+     * a reference comparison, while {@link #contains(YangInstanceIdentifier)} and
+     * {@link #relativeTo(YangInstanceIdentifier)} between them walk the parent chain instead of comparing path
+     * arguments. Canonical instances are equal to non-canonical instances with the same path arguments.
+     *
+     * <p>
+     * This method is intended for users who retain large numbers of identifiers with common prefixes, such as routing
+     * tables and listener registries. Canonical form is not retained across serialization.
+     *
+     * @return Canonical instance of this identifier
+     */
+    @Beta
+    public final @Nonnull YangInstanceIdentifier intern() {
+        return CanonicalYangInstanceIdentifier.intern(this);
+    }
+
     /**
      * Constructs a new Instance Identifier with new {@link NodeIdentifier} added to the end of path arguments.
      *
@@ -270,6 +292,11 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
         }
 
         checkArgument(other != null, "other should not be null");
+        if (this instanceof CanonicalYangInstanceIdentifier && other instanceof CanonicalYangInstanceIdentifier) {
+            return CanonicalYangInstanceIdentifier.contains((CanonicalYangInstanceIdentifier) this,
+                (CanonicalYangInstanceIdentifier) other);
+        }
+
         final Iterator<PathArgument> lit = getPathArguments().iterator();
         final Iterator<PathArgument> oit = other.getPathArguments().iterator();
 
@@ -428,7 +455,7 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
         String toRelativeString(PathArgument previous);
     }
 
-    private abstract static class AbstractPathArgument implements PathArgument {
+    private abstract static class AbstractPathArgument implements PathArgument, HeapSizeAware {
         private static final long serialVersionUID = -4546547994250849340L;
         private final QName nodeType;
         private transient int hashValue;
@@ -480,6 +507,12 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
             return getNodeType().toString();
         }
 
+        @Override
+        public long shallowHeapSize() {
+            // nodeType, hashValue and hashGuard
+            return HeapSizes.objectSize(1, 5);
+        }
+
         @Override
         public String toRelativeString(final PathArgument previous) {
             if (previous instanceof AbstractPathArgument) {
@@ -499,7 +532,10 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
      */
     public static final class NodeIdentifier extends AbstractPathArgument {
         private static final long serialVersionUID = -2255888212390871347L;
-        private static final LoadingCache<QName, NodeIdentifier> CACHE = CacheBuilder.newBuilder().weakValues()
+        private static final CachePolicy CACHE_POLICY = CachePolicy.fromSystemProperties(
+            "org.opendaylight.yangtools.yang.data.api.nodeidentifier.cache", CachePolicy.referenceBased());
+        private static final LoadingCache<QName, NodeIdentifier> CACHE =
+                CACHE_POLICY.<QName, NodeIdentifier>configure(CacheBuilder.newBuilder(), false)
                 .build(new CacheLoader<QName, NodeIdentifier>() {
                     @Override
                     public NodeIdentifier load(@Nonnull final QName key) {
@@ -521,6 +557,35 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
         public static NodeIdentifier create(final QName node) {
             return CACHE.getUnchecked(node);
         }
+
+        @Override
+        public long shallowHeapSize() {
+            // Instances are typically shared through create(QName), hence they are not attributed to their users
+            return 0;
+        }
+
+        /**
+         * Return the policy of the instance cache used by {@link #create(QName)}. The policy is configured through
+         * system properties prefixed with {@code org.opendaylight.yangtools.yang.data.api.nodeidentifier.cache}, as
+         * specified by {@link CachePolicy#fromSystemProperties(String, CachePolicy)}.
+         *
+         * @return Instance cache policy
+         */
+        @Beta
+        public static CachePolicy cachePolicy() {
+            return CACHE_POLICY;
+        }
+
+        /**
+         * Return statistics of the instance cache used by {@link #create(QName)}. Statistics are recorded only if
+         * enabled by {@link #cachePolicy()}.
+         *
+         * @return Instance cache statistics
+         */
+        @Beta
+        public static CacheStats cacheStats() {
+            return CACHE.stats();
+        }
     }
 
     /**
@@ -561,6 +626,16 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
             return keyValues;
         }
 
+        @Override
+        public long shallowHeapSize() {
+            // Key values are not shared with anything else, hence they are accounted for here
+            long ret = HeapSizes.objectSize(2, 5) + HeapSizes.shallowSizeOf(keyValues);
+            for (Object value : keyValues.values()) {
+                ret += HeapSizes.sizeOf(value);
+            }
+            return ret;
+        }
+
         @Override
         protected int hashCodeImpl() {
             final int prime = 31;
@@ -630,6 +705,11 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
             return value;
         }
 
+        @Override
+        public long shallowHeapSize() {
+            return HeapSizes.objectSize(2, 5) + HeapSizes.sizeOf(value);
+        }
+
         @Override
         protected int hashCodeImpl() {
             final int prime = 31;
@@ -673,7 +753,7 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
      *
      * @see <a href="http://tools.ietf.org/html/rfc6020#section-7.15">RFC6020</a>
      */
-    public static final class AugmentationIdentifier implements PathArgument {
+    public static final class AugmentationIdentifier implements PathArgument, HeapSizeAware {
         private static final long serialVersionUID = -8122335594681936939L;
         private final ImmutableSet<QName> childNames;
 
@@ -703,6 +783,11 @@ public abstract class YangInstanceIdentifier implements Path<YangInstanceIdentif
             return childNames;
         }
 
+        @Override
+        public long shallowHeapSize() {
+            return HeapSizes.objectSize(1, 0) + HeapSizes.shallowSizeOf(childNames);
+        }
+
         @Override
         public String toString() {
             return "AugmentationIdentifier{" + "childNames=" + childNames + '}';
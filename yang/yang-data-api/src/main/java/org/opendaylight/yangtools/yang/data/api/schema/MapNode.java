@@ -7,7 +7,15 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 
@@ -22,5 +30,32 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
  */
 public interface MapNode extends MixinNode, DataContainerChild<NodeIdentifier, Collection<MapEntryNode>>,
         NormalizedNodeContainer<NodeIdentifier, NodeIdentifierWithPredicates, MapEntryNode> {
+    /**
+     * Find an entry of a list keyed by a single leaf, using the raw value of the key. This method allows lookups
+     * without the need to construct a {@link NodeIdentifierWithPredicates}, which implementations are encouraged to
+     * exploit by maintaining an index of their entries.
+     *
+     * <p>
+     * The default implementation infers the key leaf from an existing entry and delegates to
+     * {@link #getChild(org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument)}.
+     *
+     * @param keyValue Value of the key leaf
+     * @return Matching entry, or empty if no entry with such a key exists
+     * @throws NullPointerException if keyValue is null
+     * @throws IllegalArgumentException if this list is keyed by multiple leaves
+     */
+    @Beta
+    default Optional<MapEntryNode> findChildByKey(final Object keyValue) {
+        requireNonNull(keyValue);
+        final Iterator<MapEntryNode> it = getValue().iterator();
+        if (!it.hasNext()) {
+            return Optional.empty();
+        }
 
+        final NodeIdentifierWithPredicates template = it.next().getIdentifier();
+        final Map<QName, Object> keyValues = template.getKeyValues();
+        checkArgument(keyValues.size() == 1, "List %s is not keyed by a single leaf", getIdentifier());
+        return getChild(new NodeIdentifierWithPredicates(template.getNodeType(), keyValues.keySet().iterator().next(),
+            keyValue));
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * A compiled selection of the parts of a {@link org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode} tree
+ * to be emitted by {@link NormalizedNodeWriter#forStreamWriter(NormalizedNodeStreamWriter, NormalizedNodeSelector)}.
+ * It is composed of a maximum depth and a set of selected fields, both of which are interpreted relative to the
+ * node being written, in the manner of RESTCONF {@code depth} and {@code fields} query parameters.
+ *
+ * <p>
+ * Depth is counted in data nodes: the written node is at depth 1, its child containers, leaves and list entries are
+ * at depth 2 and so on. Lists, leaf-lists, choices and augmentations do not constitute a level of their own. Fields
+ * are specified as paths of data node QNames, where lists, leaf-lists and their entries are identified by the list's
+ * QName, and choices and augmentations are not part of the path. A field selects the entire subtree of the node it
+ * identifies, as well as that node's ancestors. Key leaves of selected list entries are always emitted. Choices and
+ * augmentations are emitted only if they contain a selected node.
+ */
+@Beta
+public final class NormalizedNodeSelector implements Immutable {
+    /**
+     * A node in the trie of selected fields.
+     */
+    static final class Selection {
+        // Selects any child along with its entire subtree
+        static final Selection ALL = new Selection(null);
+
+        private final ImmutableMap<QName, Selection> children;
+
+        Selection(final ImmutableMap<QName, Selection> children) {
+            this.children = children;
+        }
+
+        /**
+         * Return the selection of a child.
+         *
+         * @param name Child QName
+         * @return Selection applicable to the child, null if the child is not selected
+         */
+        @Nullable Selection child(final QName name) {
+            return children == null ? this : children.get(name);
+        }
+
+        boolean selectsAll() {
+            return children == null;
+        }
+
+        @Override
+        public String toString() {
+            return children == null ? "*" : children.toString();
+        }
+    }
+
+    /**
+     * Selector which does not restrict the written tree in any way.
+     */
+    public static final @NonNull NormalizedNodeSelector ALL = new NormalizedNodeSelector(Selection.ALL,
+        Integer.MAX_VALUE);
+
+    private final Selection root;
+    private final int maxDepth;
+
+    NormalizedNodeSelector(final Selection root, final int maxDepth) {
+        this.root = root;
+        this.maxDepth = maxDepth;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Selection root() {
+        return root;
+    }
+
+    /**
+     * Return the maximum depth of emitted data nodes.
+     *
+     * @return Maximum depth, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("fields", root).add("maxDepth", maxDepth).toString();
+    }
+
+    public static final class Builder implements org.opendaylight.yangtools.concepts.Builder<NormalizedNodeSelector> {
+        /**
+         * Mutable counterpart of {@link Selection}.
+         */
+        private static final class MutableSelection {
+            final Map<QName, MutableSelection> children = new HashMap<>();
+            boolean all;
+
+            Selection build() {
+                if (all) {
+                    return Selection.ALL;
+                }
+
+                final ImmutableMap.Builder<QName, Selection> builder = ImmutableMap.builder();
+                for (Entry<QName, MutableSelection> entry : children.entrySet()) {
+                    builder.put(entry.getKey(), entry.getValue().build());
+                }
+                return new Selection(builder.build());
+            }
+        }
+
+        private final MutableSelection root = new MutableSelection();
+        private int maxDepth = Integer.MAX_VALUE;
+        private boolean hasFields;
+
+        Builder() {
+            // Hidden to prevent external instantiation
+        }
+
+        /**
+         * Select a field.
+         *
+         * @param path Path to the field, relative to the written node
+         * @return This builder
+         * @throws IllegalArgumentException if the path is empty
+         */
+        public Builder addField(final QName... path) {
+            return addField(ImmutableList.copyOf(path));
+        }
+
+        /**
+         * Select a field.
+         *
+         * @param path Path to the field, relative to the written node
+         * @return This builder
+         * @throws IllegalArgumentException if the path is empty
+         */
+        public Builder addField(final List<QName> path) {
+            checkArgument(!path.isEmpty(), "Field path must not be empty");
+            MutableSelection current = root;
+            for (QName name : path) {
+                current = current.children.computeIfAbsent(name, key -> new MutableSelection());
+            }
+            current.all = true;
+            hasFields = true;
+            return this;
+        }
+
+        /**
+         * Set the maximum depth of emitted data nodes.
+         *
+         * @param maxDepth Maximum depth
+         * @return This builder
+         * @throws IllegalArgumentException if maxDepth is less than 1
+         */
+        public Builder setMaxDepth(final int maxDepth) {
+            checkArgument(maxDepth >= 1, "Maximum depth %s is less than 1", maxDepth);
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        @Override
+        public NormalizedNodeSelector build() {
+            return new NormalizedNodeSelector(hasFields ? root.build() : Selection.ALL, maxDepth);
+        }
+    }
+}
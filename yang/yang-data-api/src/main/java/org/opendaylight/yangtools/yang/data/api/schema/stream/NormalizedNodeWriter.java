@@ -85,6 +85,22 @@ public class NormalizedNodeWriter implements Closeable, Flushable {
         return orderKeyLeaves ? new OrderedNormalizedNodeWriter(writer) : new NormalizedNodeWriter(writer);
     }
 
+    /**
+     * Create a new writer backed by a {@link NormalizedNodeStreamWriter}, which emits only the parts of written
+     * nodes selected by a {@link NormalizedNodeSelector}. Subtrees which are not selected are skipped during the walk,
+     * hence there is no need to construct a pruned copy of the data before writing it. The returned instance is
+     * RFC6020 XML compliant.
+     *
+     * @param writer Back-end writer
+     * @param selector Selection of emitted data
+     * @return A new instance.
+     */
+    @Beta
+    public static NormalizedNodeWriter forStreamWriter(final NormalizedNodeStreamWriter writer,
+            final NormalizedNodeSelector selector) {
+        return new SelectiveNormalizedNodeWriter(writer, selector);
+    }
+
     /**
      * Iterate over the provided {@link NormalizedNode} and emit write
      * events to the encapsulated {@link NormalizedNodeStreamWriter}.
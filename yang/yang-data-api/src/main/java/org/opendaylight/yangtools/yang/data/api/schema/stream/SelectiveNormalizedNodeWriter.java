@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.Iterables;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MixinNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeSelector.Selection;
+
+/**
+ * A {@link NormalizedNodeWriter} which emits only the parts of the tree selected by a {@link NormalizedNodeSelector}.
+ * Subtrees which are not selected are skipped without being visited. Selection state is kept on the call stack, so
+ * the walk itself does not allocate. Key leaves of list entries are emitted first, as required by RFC6020 XML
+ * encoding.
+ */
+final class SelectiveNormalizedNodeWriter extends NormalizedNodeWriter {
+    private final NormalizedNodeSelector selector;
+
+    // Selection applicable to children of the node being written, null when not writing any node
+    private Selection current;
+    // Depth of children of the node being written
+    private int depth;
+
+    SelectiveNormalizedNodeWriter(final NormalizedNodeStreamWriter writer, final NormalizedNodeSelector selector) {
+        super(writer);
+        this.selector = requireNonNull(selector);
+    }
+
+    @Override
+    public NormalizedNodeWriter write(final NormalizedNode<?, ?> node) throws IOException {
+        final Selection parentSelection = current;
+        final int parentDepth = depth;
+
+        final Selection selection;
+        final int childDepth;
+        if (parentSelection == null) {
+            // The written node itself is always emitted, selection applies to its children
+            selection = selector.root();
+            childDepth = node instanceof MixinNode ? 1 : 2;
+        } else if (isEntry(node)) {
+            // List entries inherit the selection of their list, which has already checked depth
+            selection = parentSelection;
+            childDepth = parentDepth + 1;
+        } else {
+            if (parentDepth > selector.getMaxDepth()) {
+                return this;
+            }
+
+            if (isTransparent(node)) {
+                if (!hasSelectedChild(node, parentSelection)) {
+                    return this;
+                }
+                selection = parentSelection;
+                childDepth = parentDepth;
+            } else {
+                selection = parentSelection.child(node.getNodeType());
+                if (selection == null) {
+                    return this;
+                }
+                childDepth = node instanceof MixinNode ? parentDepth : parentDepth + 1;
+            }
+        }
+
+        current = selection;
+        depth = childDepth;
+        try {
+            return super.write(node);
+        } finally {
+            current = parentSelection;
+            depth = parentDepth;
+        }
+    }
+
+    @Override
+    protected boolean writeMapEntryNode(final MapEntryNode node) throws IOException {
+        final NormalizedNodeStreamWriter nnWriter = getWriter();
+        if (nnWriter instanceof NormalizedNodeStreamAttributeWriter) {
+            ((NormalizedNodeStreamAttributeWriter) nnWriter).startMapEntryNode(node.getIdentifier(),
+                childSizeHint(node.getValue()), node.getAttributes());
+        } else {
+            nnWriter.startMapEntryNode(node.getIdentifier(), childSizeHint(node.getValue()));
+        }
+
+        // Key leaves are emitted regardless of selection
+        final Set<QName> qnames = node.getIdentifier().getKeyValues().keySet();
+        for (final QName qname : qnames) {
+            final Optional<DataContainerChild<?, ?>> child = node.getChild(new NodeIdentifier(qname));
+            if (child.isPresent()) {
+                wasProcessAsSimpleNode(child.get());
+            }
+        }
+
+        return writeChildren(Iterables.filter(node.getValue(),
+            input -> input instanceof AugmentationNode || !qnames.contains(input.getNodeType())));
+    }
+
+    // Choices and augmentations are not addressed by selection, hence they are emitted only if they contain
+    // a selected child
+    private static boolean hasSelectedChild(final NormalizedNode<?, ?> node, final Selection selection) {
+        if (selection.selectsAll()) {
+            return true;
+        }
+        for (Object obj : (Iterable<?>) node.getValue()) {
+            final NormalizedNode<?, ?> child = (NormalizedNode<?, ?>) obj;
+            if (isTransparent(child) ? hasSelectedChild(child, selection)
+                    : selection.child(child.getNodeType()) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransparent(final NormalizedNode<?, ?> node) {
+        return node instanceof ChoiceNode || node instanceof AugmentationNode;
+    }
+
+    private static boolean isEntry(final NormalizedNode<?, ?> node) {
+        return node instanceof MapEntryNode || node instanceof LeafSetEntryNode
+                || node instanceof UnkeyedListEntryNode;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataTree} which allows its contents to be populated through a {@link DataTreeBulkLoader}.
+ */
+@Beta
+public interface BulkLoadAwareDataTree extends DataTree {
+    /**
+     * Create a new {@link DataTreeBulkLoader}, which will replace the contents of this tree's root node.
+     *
+     * @return A new bulk loader
+     * @throws IllegalStateException if this tree does not have a SchemaContext to validate against
+     */
+    @NonNull DataTreeBulkLoader newBulkLoader();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * A single-use session for populating a {@link DataTree} from a stream of {@link NormalizedNodeStreamWriter} events.
+ * Unlike {@link DataTreeModification}, data written through this interface is validated and assembled into the tree's
+ * internal representation as it is being streamed, without building an intermediate modification tree. Once all data
+ * has been streamed, {@link #commit()} atomically replaces the contents of the tree's root node.
+ *
+ * <p>
+ * The writer returned from {@link #getWriter()} is positioned inside the tree's root node, hence users are expected
+ * to emit the root node's children, not the root node itself.
+ */
+@Beta
+public interface DataTreeBulkLoader {
+    /**
+     * Return the writer into which the children of the tree's root node should be streamed. Structural violations
+     * of the schema are reported from the writer's methods as {@link IllegalArgumentException}s.
+     *
+     * @return A {@link NormalizedNodeStreamWriter}
+     */
+    @NonNull NormalizedNodeStreamWriter getWriter();
+
+    /**
+     * Install the streamed data as the new contents of the tree's root node. This method can be invoked at most once
+     * and only after all nodes opened in {@link #getWriter()} have been ended.
+     *
+     * @throws ConflictingModificationAppliedException if the data tree has been modified since this loader has been
+     *                                                 instantiated
+     * @throws DataValidationFailedException if the streamed data fails validation
+     * @throws IllegalStateException if this loader has already been committed or there are unfinished nodes
+     */
+    void commit() throws DataValidationFailedException;
+}
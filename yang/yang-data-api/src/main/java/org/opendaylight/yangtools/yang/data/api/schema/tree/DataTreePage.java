@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A page of children read via {@link DataTreeSnapshotCursor#readChildren(PathArgument, DataTreePageRequest)}.
+ */
+@Beta
+public final class DataTreePage implements Immutable {
+    private final ImmutableList<NormalizedNode<?, ?>> children;
+    private final boolean hasMore;
+
+    public DataTreePage(final ImmutableList<NormalizedNode<?, ?>> children, final boolean hasMore) {
+        this.children = requireNonNull(children);
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Return the children in this page, in the order specified by {@link DataTreePageRequest}.
+     *
+     * @return Children in this page
+     */
+    public @Nonnull ImmutableList<NormalizedNode<?, ?>> getChildren() {
+        return children;
+    }
+
+    /**
+     * Check whether there are more children in the requested key range after this page.
+     *
+     * @return True if there are more children available
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Return the identifier of the last child of this page, suitable for requesting the next page via
+     * {@link DataTreePageRequest.Builder#setStartAfter(PathArgument)}.
+     *
+     * @return Identifier of the last child, or empty if this page is empty
+     */
+    public @Nonnull Optional<PathArgument> getLastIdentifier() {
+        return children.isEmpty() ? Optional.empty()
+                : Optional.of(children.get(children.size() - 1).getIdentifier());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("size", children.size()).add("hasMore", hasMore).toString();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Specification of a page of children to be read via
+ * {@link DataTreeSnapshotCursor#readChildren(PathArgument, DataTreePageRequest)}.
+ *
+ * <p>
+ * Children are considered in a stable order: user-ordered lists and leaf-lists use their natural order, all other
+ * containers order their children by their identifiers. A page is selected by the following options, applied in
+ * this order:
+ * <ul>
+ * <li>key range, i.e. children following {@code startAfter} and preceding {@code endBefore}</li>
+ * <li>offset, i.e. number of children in the key range to skip</li>
+ * <li>limit, i.e. maximum number of children to return</li>
+ * </ul>
+ *
+ * <p>
+ * If any fields are specified, each returned child is trimmed to the specified fields, along with its key leaves.
+ */
+@Beta
+public final class DataTreePageRequest implements Immutable {
+    private final PathArgument startAfter;
+    private final PathArgument endBefore;
+    private final ImmutableSet<PathArgument> fields;
+    private final int offset;
+    private final int limit;
+
+    DataTreePageRequest(final PathArgument startAfter, final PathArgument endBefore,
+            final ImmutableSet<PathArgument> fields, final int offset, final int limit) {
+        this.startAfter = startAfter;
+        this.endBefore = endBefore;
+        this.fields = fields;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public @Nonnull Optional<PathArgument> getStartAfter() {
+        return Optional.ofNullable(startAfter);
+    }
+
+    public @Nonnull Optional<PathArgument> getEndBefore() {
+        return Optional.ofNullable(endBefore);
+    }
+
+    /**
+     * Return the set of child fields to retain in each returned child.
+     *
+     * @return Set of fields, empty if children should be returned intact
+     */
+    public @Nonnull ImmutableSet<PathArgument> getFields() {
+        return fields;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("startAfter", startAfter)
+                .add("endBefore", endBefore).add("offset", offset).add("limit", limit).add("fields", fields)
+                .toString();
+    }
+
+    public static final class Builder implements org.opendaylight.yangtools.concepts.Builder<DataTreePageRequest> {
+        private ImmutableSet<PathArgument> fields = ImmutableSet.of();
+        private PathArgument startAfter;
+        private PathArgument endBefore;
+        private int offset;
+        private int limit = Integer.MAX_VALUE;
+
+        Builder() {
+            // Hidden to prevent external instantiation
+        }
+
+        /**
+         * Start the page after the child with specified identifier. The child does not need to exist, in which case
+         * the page starts at the first child which would follow it. This allows continuation from the last child of
+         * a previous page even if that child has been removed in the meantime.
+         *
+         * @param startAfter Identifier of the child preceding the page, null to start at the first child
+         * @return This builder
+         */
+        public Builder setStartAfter(@Nullable final PathArgument startAfter) {
+            this.startAfter = startAfter;
+            return this;
+        }
+
+        /**
+         * End the page before the child with specified identifier.
+         *
+         * @param endBefore Identifier of the child following the page, null to end at the last child
+         * @return This builder
+         */
+        public Builder setEndBefore(@Nullable final PathArgument endBefore) {
+            this.endBefore = endBefore;
+            return this;
+        }
+
+        public Builder setOffset(final int offset) {
+            checkArgument(offset >= 0, "Offset %s is negative", offset);
+            this.offset = offset;
+            return this;
+        }
+
+        public Builder setLimit(final int limit) {
+            checkArgument(limit >= 0, "Limit %s is negative", limit);
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder setFields(final Collection<? extends PathArgument> fields) {
+            this.fields = ImmutableSet.copyOf(fields);
+            return this;
+        }
+
+        @Override
+        public DataTreePageRequest build() {
+            return new DataTreePageRequest(startAfter, endBefore, fields, offset, limit);
+        }
+    }
+}
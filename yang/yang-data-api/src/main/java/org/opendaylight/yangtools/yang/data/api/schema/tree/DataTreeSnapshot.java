@@ -7,9 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import com.google.common.annotations.Beta;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
@@ -26,6 +29,31 @@ public interface DataTreeSnapshot {
      */
     Optional<NormalizedNode<?, ?>> readNode(YangInstanceIdentifier path);
 
+    /**
+     * Read an entry of a list keyed by a single leaf, using the raw value of the key. This is equivalent to reading
+     * the path of the entry, but does not require a {@link YangInstanceIdentifier.NodeIdentifierWithPredicates} to be
+     * constructed, and uses {@link MapNode#findChildByKey(Object)} to locate the entry.
+     *
+     * @param listPath Path of the list
+     * @param keyValue Value of the key leaf
+     * @return Optional result encapsulating the presence and value of the entry
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the path does not identify a list keyed by a single leaf
+     */
+    @Beta
+    default Optional<MapEntryNode> readEntry(final YangInstanceIdentifier listPath, final Object keyValue) {
+        final Optional<NormalizedNode<?, ?>> list = readNode(listPath);
+        if (!list.isPresent()) {
+            return Optional.empty();
+        }
+
+        final NormalizedNode<?, ?> node = list.get();
+        if (!(node instanceof MapNode)) {
+            throw new IllegalArgumentException("Path " + listPath + " does not identify a list, but " + node);
+        }
+        return ((MapNode) node).findChildByKey(keyValue);
+    }
+
     /**
      * Create a new data tree modification based on this snapshot, using the
      * specified data application strategy.
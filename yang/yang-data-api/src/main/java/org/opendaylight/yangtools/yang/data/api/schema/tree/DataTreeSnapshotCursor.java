@@ -97,6 +97,25 @@ public interface DataTreeSnapshotCursor extends AutoCloseable {
      */
     Optional<NormalizedNode<?, ?>> readNode(@Nonnull PathArgument child);
 
+    /**
+     * Read a page of children of a particular node from the snapshot. Implementations are expected to perform this
+     * operation at a cost proportional to the size of the page, rather than to the number of children of the node.
+     *
+     * @param child Child identifier
+     * @param request Page specification
+     * @return Optional result encapsulating the presence of the node and the requested page of its children
+     * @throws BackendFailedException when implementation-specific error occurs while
+     *                                servicing the request.
+     * @throws IllegalArgumentException when specified path does not identify a valid child, or if that child is not
+     *                                  an instance of {@link NormalizedNodeContainer}, or if the request cannot
+     *                                  be satisfied by that child.
+     * @throws UnsupportedOperationException if this cursor does not support paged reads
+     */
+    default Optional<DataTreePage> readChildren(@Nonnull final PathArgument child,
+            @Nonnull final DataTreePageRequest request) {
+        throw new UnsupportedOperationException("Paged reads are not supported by " + this);
+    }
+
     /**
      * Close this cursor. Attempting any further operations on the cursor will lead
      * to undefined behavior.
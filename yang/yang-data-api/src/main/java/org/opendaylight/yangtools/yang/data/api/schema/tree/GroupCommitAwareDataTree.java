@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataTree} which is capable of committing a group of modifications in a single step. This is semantically
+ * equivalent to validating, preparing and committing each modification in turn, skipping over those which fail, but
+ * allows the implementation to amortize the cost of rebuilding the tree's upper layers across the entire group.
+ */
+@Beta
+public interface GroupCommitAwareDataTree extends DataTree {
+    /**
+     * Validate, apply and commit a group of sealed modifications, in the order in which they appear in the list. Each
+     * modification is validated against the state resulting from all preceding successful modifications in the group.
+     * Modifications which fail to validate or apply are not committed and do not affect processing of subsequent
+     * modifications.
+     *
+     * @param modifications Sealed modifications to commit
+     * @return A {@link GroupCommitResult} describing the outcome of each modification
+     * @throws IllegalArgumentException if any of the modifications is not sealed or has not been produced by this tree
+     */
+    @NonNull GroupCommitResult commitGroup(@NonNull List<? extends DataTreeModification> modifications);
+}
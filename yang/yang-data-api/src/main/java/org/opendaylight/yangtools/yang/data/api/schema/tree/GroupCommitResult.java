@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Outcome of {@link GroupCommitAwareDataTree#commitGroup(java.util.List)}. Individual modifications are identified by
+ * their index in the committed list.
+ */
+@Beta
+public interface GroupCommitResult {
+    /**
+     * Return the combined candidate, reflecting the effects of all successful modifications. The candidate has
+     * already been committed and is provided for the purposes of change notification only.
+     *
+     * @return Combined {@link DataTreeCandidate}
+     */
+    @NonNull DataTreeCandidate getCandidate();
+
+    /**
+     * Return the number of modifications in the group.
+     *
+     * @return Number of modifications
+     */
+    int size();
+
+    /**
+     * Return the reason why a particular modification has not been committed. Validation failures are reported as
+     * {@link DataValidationFailedException}s, failures to apply the modification as {@link RuntimeException}s.
+     *
+     * @param index Index of the modification
+     * @return Failure cause, or empty if the modification has been committed
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @NonNull Optional<Exception> getFailure(int index);
+
+    /**
+     * Check whether a particular modification has been committed.
+     *
+     * @param index Index of the modification
+     * @return True if the modification has been committed
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    default boolean isCommitted(final int index) {
+        return !getFailure(index).isPresent();
+    }
+}
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import java.util.Map;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -37,6 +38,23 @@ abstract class AbstractModifiedContainerNode extends AbstractContainerNode {
         return MapAdaptor.getDefaultInstance().takeSnapshot(children);
     }
 
+    @Override
+    public final long shallowHeapSize() {
+        // Adds children and subtreeVersion, plus the children map itself
+        return HeapSizes.objectSize(5, 8) + HeapSizes.shallowSizeOf(children);
+    }
+
+    @Override
+    final long computeRetainedSize() {
+        // Modified children are accounted for through their TreeNodes, the rest through their data
+        long ret = shallowHeapSize() + TreeNodeSizes.shallowSizeOf(getData());
+        for (NormalizedNode<?, ?> child : castData().getValue()) {
+            final TreeNode modified = children.get(child.getIdentifier());
+            ret += modified != null ? modified.getRetainedSize() : TreeNodeSizes.retainedSizeOf(child);
+        }
+        return ret;
+    }
+
     @Override
     public final Version getSubtreeVersion() {
         return subtreeVersion;
@@ -10,7 +10,10 @@ package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -22,6 +25,13 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
  */
 abstract class AbstractMutableContainerNode implements MutableTreeNode {
     private final Version version;
+    private final NormalizedNode<?, ?> originalData;
+    private final TreeNodeDigest originalDigest;
+    private final long originalSize;
+    private final long originalShallowSize;
+    private final boolean originalModified;
+    // Changed children, mapped to their original TreeNodes, if those were instantiated
+    private final Map<PathArgument, TreeNode> changedChildren;
     private Map<PathArgument, TreeNode> children;
     private NormalizedNode<?, ?> data;
     private Version subtreeVersion;
@@ -32,6 +42,15 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
         this.version = parent.getVersion();
         this.subtreeVersion = parent.getSubtreeVersion();
         this.children = requireNonNull(children);
+
+        // Track changes only if we can maintain the digest or the retained size incrementally
+        this.originalData = data;
+        this.originalDigest = parent.peekDigest();
+        this.originalSize = parent.peekRetainedSize();
+        this.originalShallowSize = parent.shallowHeapSize();
+        this.originalModified = parent instanceof AbstractModifiedContainerNode;
+        this.changedChildren = originalDigest == null && originalSize == AbstractTreeNode.UNKNOWN_SIZE ? null
+                : new HashMap<>();
     }
 
     protected final Version getVersion() {
@@ -54,11 +73,13 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
 
     @Override
     public final void addChild(final TreeNode child) {
+        trackChange(child.getIdentifier());
         children.put(child.getIdentifier(), child);
     }
 
     @Override
     public final void removeChild(final PathArgument id) {
+        trackChange(id);
         children.remove(id);
     }
 
@@ -69,7 +90,7 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
 
     @Override
     public final TreeNode seal() {
-        final TreeNode ret;
+        final AbstractTreeNode ret;
 
         /*
          * Decide which implementation:
@@ -93,8 +114,65 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
             ret = new SimpleContainerNode(data, version);
         }
 
+        if (originalDigest != null) {
+            final TreeNodeDigest digest = TreeNodeDigests.updateDigest(originalDigest, originalData, ret,
+                changedChildren);
+            if (digest != null) {
+                ret.setDigest(digest);
+            }
+        }
+        // Sizes of unmodified children are accounted for differently by modified and simple nodes
+        if (originalSize != AbstractTreeNode.UNKNOWN_SIZE
+                && originalModified == ret instanceof AbstractModifiedContainerNode) {
+            ret.setRetainedSize(updateRetainedSize(ret));
+        }
+
         // This forces a NPE if this class is accessed again. Better than corruption.
         children = null;
         return ret;
     }
+
+    private long updateRetainedSize(final AbstractTreeNode node) {
+        final NormalizedNode<?, ?> newData = node.getData();
+        long ret = originalSize - originalShallowSize - TreeNodeSizes.shallowSizeOf(originalData)
+                + node.shallowHeapSize() + TreeNodeSizes.shallowSizeOf(newData);
+
+        // Modified children are accounted for through their TreeNodes, the rest through their data
+        for (Entry<PathArgument, TreeNode> entry : changedChildren.entrySet()) {
+            final PathArgument id = entry.getKey();
+            final TreeNode before = entry.getValue();
+            if (before != null) {
+                ret -= before.getRetainedSize();
+            } else {
+                final Optional<NormalizedNode<?, ?>> beforeData = castContainer(originalData).getChild(id);
+                if (beforeData.isPresent()) {
+                    ret -= TreeNodeSizes.retainedSizeOf(beforeData.get());
+                }
+            }
+
+            final TreeNode after = node instanceof AbstractModifiedContainerNode
+                    ? ((AbstractModifiedContainerNode) node).getModifiedChild(id) : null;
+            if (after != null) {
+                ret += after.getRetainedSize();
+            } else {
+                final Optional<NormalizedNode<?, ?>> afterData = castContainer(newData).getChild(id);
+                if (afterData.isPresent()) {
+                    ret += TreeNodeSizes.retainedSizeOf(afterData.get());
+                }
+            }
+        }
+        return ret;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> castContainer(
+            final NormalizedNode<?, ?> data) {
+        return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data;
+    }
+
+    private void trackChange(final PathArgument id) {
+        if (changedChildren != null && !changedChildren.containsKey(id)) {
+            changedChildren.put(id, children.get(id));
+        }
+    }
 }
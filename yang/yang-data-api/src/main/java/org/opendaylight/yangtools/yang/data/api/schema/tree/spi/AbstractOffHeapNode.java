@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.nio.ByteBuffer;
+import org.opendaylight.yangtools.util.HeapSizeAware;
+import org.opendaylight.yangtools.util.HeapSizes;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Base class for {@link NormalizedNode}s whose content is kept in an {@link OffHeapStorage}. Instances retain only
+ * their identifier and a reference to the encoded form, content is materialized on demand through the storage's
+ * cache of hot nodes.
+ *
+ * <p>
+ * These nodes compare equal to any node holding the same data, on-heap or not, but doing so requires materializing
+ * them. The hash code is recorded when the subtree is encoded, hence it is available without materialization and it
+ * matches the hash code of the on-heap form.
+ *
+ * @param <K> Identifier type
+ * @param <V> Value type
+ * @param <N> Materialized node type
+ */
+abstract class AbstractOffHeapNode<K extends PathArgument, V, N extends NormalizedNode<K, V>>
+        implements NormalizedNode<K, V>, HeapSizeAware {
+    private final OffHeapStorage storage;
+    private final K identifier;
+    private final ByteBuffer blob;
+    private final int hashCode;
+
+    AbstractOffHeapNode(final OffHeapStorage storage, final K identifier, final int hashCode, final ByteBuffer blob) {
+        this.storage = requireNonNull(storage);
+        this.identifier = requireNonNull(identifier);
+        this.hashCode = hashCode;
+        this.blob = requireNonNull(blob);
+    }
+
+    @Override
+    public final K getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public final QName getNodeType() {
+        return identifier.getNodeType();
+    }
+
+    @Override
+    public final V getValue() {
+        return materialize().getValue();
+    }
+
+    @Override
+    public final long shallowHeapSize() {
+        // Storage, identifier, blob and hash code, plus the blob's ByteBuffer object
+        return HeapSizes.objectSize(3, 4) + HeapSizes.objectSize(4, 24)
+                + HeapSizes.sizeOf(identifier);
+    }
+
+    @Override
+    public final int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        // Compare on-heap forms, so that the comparison does not bounce back to us
+        if (obj instanceof AbstractOffHeapNode) {
+            final AbstractOffHeapNode<?, ?, ?> other = (AbstractOffHeapNode<?, ?, ?>) obj;
+            return hashCode == other.hashCode && materialize().equals(other.materialize());
+        }
+        return obj instanceof NormalizedNode && materialize().equals(obj);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("encodedSize", blob.remaining())
+                .toString();
+    }
+
+    final N materialize() {
+        return materializedType().cast(storage.load(this));
+    }
+
+    final ByteBuffer blob() {
+        return blob.duplicate();
+    }
+
+    abstract Class<N> materializedType();
+}
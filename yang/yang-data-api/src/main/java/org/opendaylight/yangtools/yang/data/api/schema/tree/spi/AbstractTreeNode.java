@@ -11,16 +11,24 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
+import org.opendaylight.yangtools.util.HeapSizeAware;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * A very basic data tree node. Contains some versioned data.
+ * A very basic data tree node. Contains some versioned data. Its {@link #shallowHeapSize()} accounts only for the node
+ * itself, not for its data nor for any child nodes it tracks.
  */
-abstract class AbstractTreeNode implements TreeNode {
+abstract class AbstractTreeNode implements TreeNode, HeapSizeAware {
+    static final long UNKNOWN_SIZE = -1;
+
     private final NormalizedNode<?, ?> data;
     private final Version version;
 
+    private volatile TreeNodeDigest digest;
+    private volatile long retainedSize = UNKNOWN_SIZE;
+
     protected AbstractTreeNode(final NormalizedNode<?, ?> data, final Version version) {
         this.data = requireNonNull(data);
         this.version = requireNonNull(version);
@@ -41,6 +49,68 @@ abstract class AbstractTreeNode implements TreeNode {
         return data;
     }
 
+    @Override
+    public final TreeNodeDigest getDigest() {
+        TreeNodeDigest ret = digest;
+        if (ret == null) {
+            ret = TreeNodeDigests.digestOf(data);
+            digest = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Return the digest of this node if it has already been computed.
+     *
+     * @return This node's digest, or null if it has not been computed yet.
+     */
+    final TreeNodeDigest peekDigest() {
+        return digest;
+    }
+
+    final void setDigest(final TreeNodeDigest digest) {
+        this.digest = requireNonNull(digest);
+    }
+
+    @Override
+    public final long getRetainedSize() {
+        long ret = retainedSize;
+        if (ret == UNKNOWN_SIZE) {
+            ret = computeRetainedSize();
+            retainedSize = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Compute the retained size of this node, including this node and any child nodes it tracks. The default
+     * implementation accounts for this node and its data.
+     *
+     * @return This node's retained size
+     */
+    long computeRetainedSize() {
+        return shallowHeapSize() + TreeNodeSizes.retainedSizeOf(data);
+    }
+
+    /**
+     * Return the retained size of this node if it has already been computed.
+     *
+     * @return This node's retained size, or {@link #UNKNOWN_SIZE} if it has not been computed yet.
+     */
+    final long peekRetainedSize() {
+        return retainedSize;
+    }
+
+    final void setRetainedSize(final long retainedSize) {
+        this.retainedSize = retainedSize;
+    }
+
+    @Override
+    public long shallowHeapSize() {
+        // data, version, digest and retainedSize
+        return HeapSizes.objectSize(3, 8);
+    }
+
     @Override
     public final String toString() {
         return addToStringAttributes(MoreObjects.toStringHelper(this).add("version", version)).toString();
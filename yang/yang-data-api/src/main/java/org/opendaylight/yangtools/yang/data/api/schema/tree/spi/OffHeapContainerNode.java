@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * A {@link ContainerNode} kept in an {@link OffHeapStorage}.
+ */
+final class OffHeapContainerNode
+        extends AbstractOffHeapNode<NodeIdentifier, Collection<DataContainerChild<? extends PathArgument, ?>>,
+            ContainerNode>
+        implements ContainerNode {
+    OffHeapContainerNode(final OffHeapStorage storage, final NodeIdentifier identifier, final int hashCode,
+            final ByteBuffer blob) {
+        super(storage, identifier, hashCode, blob);
+    }
+
+    @Override
+    public Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+        return materialize().getChild(child);
+    }
+
+    @Override
+    public Map<QName, String> getAttributes() {
+        return materialize().getAttributes();
+    }
+
+    @Override
+    public Object getAttributeValue(final QName name) {
+        return materialize().getAttributeValue(name);
+    }
+
+    @Override
+    Class<ContainerNode> materializedType() {
+        return ContainerNode.class;
+    }
+}
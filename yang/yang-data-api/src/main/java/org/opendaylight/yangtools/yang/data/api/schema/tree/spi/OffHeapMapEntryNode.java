@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * A {@link MapEntryNode} kept in an {@link OffHeapStorage}.
+ */
+final class OffHeapMapEntryNode
+        extends AbstractOffHeapNode<NodeIdentifierWithPredicates,
+            Collection<DataContainerChild<? extends PathArgument, ?>>, MapEntryNode>
+        implements MapEntryNode {
+    OffHeapMapEntryNode(final OffHeapStorage storage, final NodeIdentifierWithPredicates identifier,
+            final int hashCode, final ByteBuffer blob) {
+        super(storage, identifier, hashCode, blob);
+    }
+
+    @Override
+    public Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+        return materialize().getChild(child);
+    }
+
+    @Override
+    public Map<QName, String> getAttributes() {
+        return materialize().getAttributes();
+    }
+
+    @Override
+    public Object getAttributeValue(final QName name) {
+        return materialize().getAttributeValue(name);
+    }
+
+    @Override
+    Class<MapEntryNode> materializedType() {
+        return MapEntryNode.class;
+    }
+}
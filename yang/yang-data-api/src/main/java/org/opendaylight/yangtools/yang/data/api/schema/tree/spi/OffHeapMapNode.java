@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+
+/**
+ * An unordered {@link MapNode} kept in an {@link OffHeapStorage}.
+ */
+final class OffHeapMapNode extends AbstractOffHeapNode<NodeIdentifier, Collection<MapEntryNode>, MapNode>
+        implements MapNode {
+    OffHeapMapNode(final OffHeapStorage storage, final NodeIdentifier identifier, final int hashCode,
+            final ByteBuffer blob) {
+        super(storage, identifier, hashCode, blob);
+    }
+
+    @Override
+    public Optional<MapEntryNode> getChild(final NodeIdentifierWithPredicates child) {
+        return materialize().getChild(child);
+    }
+
+    @Override
+    public Optional<MapEntryNode> findChildByKey(final Object keyValue) {
+        return materialize().findChildByKey(keyValue);
+    }
+
+    @Override
+    Class<MapNode> materializedType() {
+        return MapNode.class;
+    }
+}
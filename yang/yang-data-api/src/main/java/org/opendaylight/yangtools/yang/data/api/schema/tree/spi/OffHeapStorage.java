@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.GuardedBy;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.SubtreeCodec.NestedSubtreeFactory;
+
+/**
+ * Storage for cold data tree subtrees, which keeps them encoded outside of Java heap, either in direct buffers or in
+ * memory-mapped files. Subtrees are demoted by {@link #demote(NormalizedNode)}, which returns a placeholder node
+ * implementing the same data interface. The placeholder can be written into a data tree like any other node, at which
+ * point the subtree's on-heap form becomes eligible for garbage collection. Data tree implementations may do so
+ * automatically, based on how long subtrees have not been modified.
+ *
+ * <p>
+ * Placeholder content is materialized on access and kept in a bounded cache of hot nodes, which is managed with a
+ * least-recently-used policy. Materialization is shallow: nested subtrees which can be demoted are represented by
+ * placeholders of their own, hence accessing a child materializes only the path to that child. Placeholders compare
+ * equal to on-heap nodes holding the same data, hence demoted subtrees are transparent to data tree readers and
+ * modification logic alike. Modifying a demoted subtree promotes the modified path back to heap.
+ *
+ * <p>
+ * Storage is allocated in pages, which are released once all placeholders referencing them become unreachable. Only
+ * {@link ContainerNode}s, {@link MapEntryNode}s and unordered {@link MapNode}s can be demoted.
+ */
+@Beta
+public final class OffHeapStorage {
+    @FunctionalInterface
+    private interface PageAllocator {
+        ByteBuffer allocate(int size) throws IOException;
+    }
+
+    private final Cache<AbstractOffHeapNode<?, ?, ?>, NormalizedNode<?, ?>> hotNodes;
+    private final NestedSubtreeFactory nestedFactory = new NestedSubtreeFactory() {
+        @Override
+        public ContainerNode container(final NodeIdentifier identifier, final int hashCode, final ByteBuffer buffer) {
+            return new OffHeapContainerNode(OffHeapStorage.this, identifier, hashCode, buffer);
+        }
+
+        @Override
+        public MapEntryNode mapEntry(final NodeIdentifierWithPredicates identifier, final int hashCode,
+                final ByteBuffer buffer) {
+            return new OffHeapMapEntryNode(OffHeapStorage.this, identifier, hashCode, buffer);
+        }
+
+        @Override
+        public MapNode map(final NodeIdentifier identifier, final int hashCode, final ByteBuffer buffer) {
+            return new OffHeapMapNode(OffHeapStorage.this, identifier, hashCode, buffer);
+        }
+    };
+    private final PageAllocator allocator;
+    private final SubtreeCodec codec;
+    private final int pageSize;
+
+    @GuardedBy("this")
+    private ByteBuffer currentPage;
+    @GuardedBy("this")
+    private long allocatedBytes;
+    @GuardedBy("this")
+    private long storedBytes;
+
+    private OffHeapStorage(final SubtreeCodec codec, final PageAllocator allocator, final int pageSize,
+            final long hotCapacity) {
+        checkArgument(pageSize > 0, "Invalid page size %s", pageSize);
+        checkArgument(hotCapacity >= 0, "Invalid hot node capacity %s", hotCapacity);
+        this.codec = requireNonNull(codec);
+        this.allocator = requireNonNull(allocator);
+        this.pageSize = pageSize;
+        hotNodes = CacheBuilder.newBuilder().weakKeys().maximumSize(hotCapacity).build();
+    }
+
+    /**
+     * Create a storage backed by direct {@link ByteBuffer}s.
+     *
+     * @param codec Subtree codec
+     * @param pageSize Size of allocated pages, in bytes. Subtrees larger than a page are allocated a dedicated page.
+     * @param hotCapacity Maximum number of subtrees kept materialized on heap
+     * @return A new storage
+     * @throws NullPointerException if codec is null
+     * @throws IllegalArgumentException if pageSize is not positive or hotCapacity is negative
+     */
+    public static @NonNull OffHeapStorage direct(final SubtreeCodec codec, final int pageSize,
+            final long hotCapacity) {
+        return new OffHeapStorage(codec, ByteBuffer::allocateDirect, pageSize, hotCapacity);
+    }
+
+    /**
+     * Create a storage backed by memory-mapped files created in specified directory. Files are deleted as soon as they
+     * are mapped, hence they do not outlive the storage, but they can be paged out by the operating system.
+     *
+     * @param codec Subtree codec
+     * @param directory Directory to hold page files
+     * @param pageSize Size of allocated pages, in bytes. Subtrees larger than a page are allocated a dedicated page.
+     * @param hotCapacity Maximum number of subtrees kept materialized on heap
+     * @return A new storage
+     * @throws NullPointerException if codec or directory is null
+     * @throws IllegalArgumentException if pageSize is not positive or hotCapacity is negative
+     */
+    public static @NonNull OffHeapStorage mapped(final SubtreeCodec codec, final Path directory, final int pageSize,
+            final long hotCapacity) {
+        requireNonNull(directory);
+        return new OffHeapStorage(codec, size -> mapPage(directory, size), pageSize, hotCapacity);
+    }
+
+    /**
+     * Check whether a data node can be demoted into an {@link OffHeapStorage}.
+     *
+     * @param data Data node
+     * @return True if the node can be demoted.
+     */
+    public static boolean canDemote(final NormalizedNode<?, ?> data) {
+        return (data instanceof ContainerNode || data instanceof MapEntryNode || data instanceof MapNode)
+                && !(data instanceof OrderedNodeContainer) && !(data instanceof AbstractOffHeapNode);
+    }
+
+    /**
+     * Check whether a data node is a placeholder produced by {@link #demote(NormalizedNode)}.
+     *
+     * @param data Data node
+     * @return True if the node is an off-heap placeholder.
+     */
+    public static boolean isDemoted(final NormalizedNode<?, ?> data) {
+        return data instanceof AbstractOffHeapNode;
+    }
+
+    /**
+     * Return the on-heap form of a data node. Placeholders produced by {@link #demote(NormalizedNode)} are
+     * materialized, any other node is returned as is. Nested subtrees of a materialized placeholder may still be
+     * placeholders.
+     *
+     * @param data Data node
+     * @return On-heap data node
+     */
+    public static @NonNull NormalizedNode<?, ?> materialize(final NormalizedNode<?, ?> data) {
+        return data instanceof AbstractOffHeapNode ? ((AbstractOffHeapNode<?, ?, ?>) data).materialize()
+                : requireNonNull(data);
+    }
+
+    /**
+     * Demote a subtree into this storage.
+     *
+     * @param data Subtree root
+     * @return A placeholder implementing the same data interface as the subtree root
+     * @throws IOException if the subtree cannot be encoded or storage cannot be allocated
+     * @throws IllegalArgumentException if the subtree root cannot be demoted, as indicated by
+     *         {@link #canDemote(NormalizedNode)}
+     */
+    public @NonNull NormalizedNode<?, ?> demote(final NormalizedNode<?, ?> data) throws IOException {
+        checkArgument(canDemote(data), "Cannot demote %s", data);
+
+        final ByteBuffer blob = store(codec.encode(data));
+        final int hashCode = data.hashCode();
+        if (data instanceof ContainerNode) {
+            return nestedFactory.container((NodeIdentifier) data.getIdentifier(), hashCode, blob);
+        }
+        if (data instanceof MapEntryNode) {
+            return nestedFactory.mapEntry((NodeIdentifierWithPredicates) data.getIdentifier(), hashCode, blob);
+        }
+        return nestedFactory.map((NodeIdentifier) data.getIdentifier(), hashCode, blob);
+    }
+
+    /**
+     * Return the number of subtrees currently materialized on heap.
+     *
+     * @return Number of hot subtrees
+     */
+    public long getHotNodeCount() {
+        return hotNodes.size();
+    }
+
+    /**
+     * Return the number of bytes allocated from the backing store since this storage was created. Pages which have
+     * been released are included.
+     *
+     * @return Number of allocated bytes
+     */
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Return the number of bytes occupied by encoded subtrees stored since this storage was created. Subtrees whose
+     * placeholders have been released are included.
+     *
+     * @return Number of stored bytes
+     */
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Evict all materialized subtrees from heap.
+     */
+    public void evictHotNodes() {
+        hotNodes.invalidateAll();
+    }
+
+    NormalizedNode<?, ?> load(final AbstractOffHeapNode<?, ?, ?> node) {
+        try {
+            return hotNodes.get(node, () -> decode(node));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to materialize " + node, e);
+        }
+    }
+
+    private NormalizedNode<?, ?> decode(final AbstractOffHeapNode<?, ?, ?> node) throws IOException {
+        final NormalizedNode<?, ?> ret = codec.decode(node.blob(), nestedFactory);
+        if (!node.materializedType().isInstance(ret) || !node.getIdentifier().equals(ret.getIdentifier())) {
+            throw new IOException("Decoded " + ret.getIdentifier() + " does not match " + node);
+        }
+        return ret;
+    }
+
+    private synchronized ByteBuffer store(final byte[] bytes) throws IOException {
+        final ByteBuffer page;
+        if (bytes.length > pageSize) {
+            page = allocate(bytes.length);
+        } else {
+            if (currentPage == null || currentPage.remaining() < bytes.length) {
+                currentPage = allocate(pageSize);
+            }
+            page = currentPage;
+        }
+
+        // The slice keeps the page reachable for as long as it is referenced
+        final ByteBuffer ret = page.slice();
+        ret.put(bytes).flip();
+        page.position(page.position() + bytes.length);
+        storedBytes += bytes.length;
+        return ret.asReadOnlyBuffer();
+    }
+
+    @GuardedBy("this")
+    private ByteBuffer allocate(final int size) throws IOException {
+        final ByteBuffer ret = allocator.allocate(size);
+        allocatedBytes += size;
+        return ret;
+    }
+
+    private static ByteBuffer mapPage(final Path directory, final int size) throws IOException {
+        final Path file = Files.createTempFile(directory, "page", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            // The mapping remains valid after the channel is closed
+            return channel.map(MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Optional;
+import org.opendaylight.yangtools.util.HeapSizes;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * A {@link TreeNode} backed by an {@link AbstractOffHeapNode}. It reports the placeholder as its data, so that parent
+ * nodes do not retain the on-heap form. Children are looked up in the placeholder, which materializes only this node,
+ * with nested subtrees remaining off-heap. Any modification through {@link #mutable()} results in a regular on-heap
+ * node, whose unmodified children remain off-heap.
+ */
+final class OffHeapTreeNode implements TreeNode {
+    private final AbstractOffHeapNode<?, ?, ?> offHeapData;
+    private final Version version;
+
+    OffHeapTreeNode(final AbstractOffHeapNode<?, ?, ?> offHeapData, final Version version) {
+        this.offHeapData = requireNonNull(offHeapData);
+        this.version = requireNonNull(version);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        return offHeapData.getIdentifier();
+    }
+
+    @Override
+    public Version getVersion() {
+        return version;
+    }
+
+    @Override
+    public Version getSubtreeVersion() {
+        return version;
+    }
+
+    @Override
+    public NormalizedNode<?, ?> getData() {
+        return offHeapData;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<TreeNode> getChild(final PathArgument childId) {
+        return Optional.ofNullable(AbstractContainerNode.getChildFromData(
+            (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) getData(), childId, version));
+    }
+
+    @Override
+    public MutableTreeNode mutable() {
+        return new SimpleContainerNode(getData(), version).mutable();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Only the off-heap placeholder is accounted for, as materialized data is owned by the storage's cache of hot nodes
+     * and may be evicted at any time.
+     */
+    @Override
+    public long getRetainedSize() {
+        // This node's version and data
+        return HeapSizes.objectSize(2, 0) + offHeapData.shallowHeapSize();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("version", version).add("data", offHeapData).toString();
+    }
+}
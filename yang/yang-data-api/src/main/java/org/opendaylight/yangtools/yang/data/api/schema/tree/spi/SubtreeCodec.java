@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A codec translating {@link NormalizedNode} subtrees to and from a compact binary form, used by
+ * {@link OffHeapStorage} to keep subtrees outside of Java heap.
+ *
+ * <p>
+ * Nodes nested in an encoded subtree, which could be demoted on their own as indicated by
+ * {@link OffHeapStorage#canDemote(NormalizedNode)}, have to be encoded such that they can be decoded separately. When
+ * decoding, such nodes are not decoded, but are instantiated through a {@link NestedSubtreeFactory} instead. This
+ * allows the storage to materialize only the part of a subtree which is actually accessed.
+ */
+@Beta
+public interface SubtreeCodec {
+    /**
+     * Factory for nodes standing in for nested subtrees, which remain encoded until they are accessed.
+     */
+    interface NestedSubtreeFactory {
+        /**
+         * Create a node standing in for an encoded {@link ContainerNode}.
+         *
+         * @param identifier Container identifier
+         * @param hashCode Hash code of the container, as reported by {@link Object#hashCode()} when it was encoded
+         * @param buffer Encoded form of the container, which can be decoded by
+         *               {@link SubtreeCodec#decode(ByteBuffer, NestedSubtreeFactory)}
+         * @return A {@link ContainerNode}
+         */
+        @NonNull ContainerNode container(@NonNull NodeIdentifier identifier, int hashCode,
+                @NonNull ByteBuffer buffer);
+
+        /**
+         * Create a node standing in for an encoded {@link MapEntryNode}.
+         *
+         * @param identifier Entry identifier
+         * @param hashCode Hash code of the entry, as reported by {@link Object#hashCode()} when it was encoded
+         * @param buffer Encoded form of the entry, which can be decoded by
+         *               {@link SubtreeCodec#decode(ByteBuffer, NestedSubtreeFactory)}
+         * @return A {@link MapEntryNode}
+         */
+        @NonNull MapEntryNode mapEntry(@NonNull NodeIdentifierWithPredicates identifier, int hashCode,
+                @NonNull ByteBuffer buffer);
+
+        /**
+         * Create a node standing in for an encoded unordered {@link MapNode}.
+         *
+         * @param identifier Map identifier
+         * @param hashCode Hash code of the map, as reported by {@link Object#hashCode()} when it was encoded
+         * @param buffer Encoded form of the map, which can be decoded by
+         *               {@link SubtreeCodec#decode(ByteBuffer, NestedSubtreeFactory)}
+         * @return A {@link MapNode}
+         */
+        @NonNull MapNode map(@NonNull NodeIdentifier identifier, int hashCode, @NonNull ByteBuffer buffer);
+    }
+
+    /**
+     * Encode a subtree.
+     *
+     * @param data Subtree root
+     * @return Encoded form of the subtree
+     * @throws IOException if the subtree cannot be encoded
+     */
+    byte[] encode(@NonNull NormalizedNode<?, ?> data) throws IOException;
+
+    /**
+     * Decode a subtree previously encoded by {@link #encode(NormalizedNode)}. The buffer's content between its
+     * position and limit holds exactly one encoded subtree. Implementations may modify the buffer's position.
+     *
+     * @param buffer Buffer holding the encoded form
+     * @param nested Factory for nodes standing in for nested subtrees
+     * @return Decoded subtree root, with nested subtrees provided by the factory
+     * @throws IOException if the buffer content cannot be decoded
+     */
+    @NonNull NormalizedNode<?, ?> decode(@NonNull ByteBuffer buffer, @NonNull NestedSubtreeFactory nested)
+            throws IOException;
+}
@@ -7,8 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
+import com.google.common.annotations.Beta;
+import java.util.Optional;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.StoreTreeNode;
 
@@ -55,6 +59,54 @@ public interface TreeNode extends Identifiable<PathArgument>, StoreTreeNode<Tree
      */
     NormalizedNode<?, ?> getData();
 
+    /**
+     * Get the content digest of this node's subtree. The default implementation computes it from {@link #getData()}
+     * on each invocation. Built-in implementations compute the digest lazily on first access and cache it. Once such
+     * a node's digest has been computed, digests of nodes derived from it through {@link #mutable()} are maintained
+     * incrementally, recomputing only the modified paths.
+     *
+     * @return Subtree content digest.
+     */
+    @Beta
+    default TreeNodeDigest getDigest() {
+        return TreeNodeDigests.digestOf(getData());
+    }
+
+    /**
+     * Get the estimated heap retained by this node, including both the TreeNodes it tracks and the data subtree, as
+     * estimated by {@link TreeNodeSizes#retainedSizeOf(NormalizedNode)}. The default implementation estimates the size
+     * of {@link #getData()} on each invocation. Built-in implementations compute the size lazily on first access and
+     * cache it. Once such a node's size has been computed, sizes of nodes derived from it through {@link #mutable()}
+     * are maintained incrementally, measuring only the modified paths.
+     *
+     * @return Estimated retained size, in bytes
+     */
+    @Beta
+    default long getRetainedSize() {
+        return TreeNodeSizes.retainedSizeOf(getData());
+    }
+
+    /**
+     * Find a child of a node holding a list keyed by a single leaf, using the raw value of the key. The entry is
+     * located through {@link MapNode#findChildByKey(Object)}, whose result provides the identifier used to look up
+     * the child.
+     *
+     * @param keyValue Value of the key leaf
+     * @return Child node, or empty if this node does not hold a list or the list does not have a matching entry
+     * @throws NullPointerException if keyValue is null
+     * @throws IllegalArgumentException if this node holds a list keyed by multiple leaves
+     */
+    @Beta
+    default Optional<TreeNode> findChildByKey(final Object keyValue) {
+        final NormalizedNode<?, ?> data = getData();
+        if (!(data instanceof MapNode)) {
+            return Optional.empty();
+        }
+
+        final Optional<MapEntryNode> entry = ((MapNode) data).findChildByKey(keyValue);
+        return entry.isPresent() ? getChild(entry.get().getIdentifier()) : Optional.empty();
+    }
+
     /**
      * Get a mutable, isolated copy of the node.
      *
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import com.google.common.primitives.Longs;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * A 128-bit content digest of a {@link TreeNode} subtree. Two subtrees with equal digests are considered to hold
+ * the same data, hence digests can be used to cheaply compare replicas of a data tree. Digests are computed from
+ * data content only and do not reflect {@link Version}s.
+ *
+ * <p>
+ * Instances are obtained via {@link TreeNode#getDigest()} or {@link TreeNodeDigests#digestOf(
+ * org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode)}.
+ */
+@Beta
+public class TreeNodeDigest implements Immutable {
+    private final long msb;
+    private final long lsb;
+
+    TreeNodeDigest(final long msb, final long lsb) {
+        this.msb = msb;
+        this.lsb = lsb;
+    }
+
+    /**
+     * Return the digest in its binary form.
+     *
+     * @return A 16-byte array, most significant byte first.
+     */
+    public final byte[] toByteArray() {
+        final byte[] ret = new byte[16];
+        System.arraycopy(Longs.toByteArray(msb), 0, ret, 0, 8);
+        System.arraycopy(Longs.toByteArray(lsb), 0, ret, 8, 8);
+        return ret;
+    }
+
+    final long msb() {
+        return msb;
+    }
+
+    final long lsb() {
+        return lsb;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Long.hashCode(msb) * 31 + Long.hashCode(lsb);
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TreeNodeDigest)) {
+            return false;
+        }
+        final TreeNodeDigest other = (TreeNodeDigest) obj;
+        return msb == other.msb && lsb == other.lsb;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format("%016x%016x", msb, lsb);
+    }
+}
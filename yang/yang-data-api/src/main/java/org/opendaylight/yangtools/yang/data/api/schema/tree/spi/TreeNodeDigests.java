@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Strings;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import javax.xml.transform.dom.DOMSource;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Utility methods for dealing with {@link TreeNodeDigest}s.
+ *
+ * <p>
+ * Digests are Merkle-style: a container's digest is derived from its identifier and the digests of its children.
+ * Children of unordered containers are combined in an order-independent fashion, which allows a container's digest
+ * to be updated incrementally when some of its children are replaced. Children of ordered containers are combined in
+ * iteration order.
+ *
+ * <p>
+ * Digests are not cached here. {@link TreeNode} implementations memoize their own digest, and nodes derived from a node
+ * with a known digest through {@link TreeNode#mutable()} update it incrementally.
+ */
+@Beta
+public final class TreeNodeDigests {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final byte VALUE = 0;
+    private static final byte UNORDERED = 1;
+    private static final byte ORDERED = 2;
+    private static final byte AUGMENTATION = 3;
+    private static final byte END = 4;
+
+    private TreeNodeDigests() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Compute the digest of a {@link NormalizedNode}.
+     *
+     * @param data Data node
+     * @return Data node digest
+     * @throws NullPointerException if data is null
+     */
+    public static @NonNull TreeNodeDigest digestOf(final NormalizedNode<?, ?> data) {
+        return digestOf(data, null);
+    }
+
+    private static TreeNodeDigest digestOf(final NormalizedNode<?, ?> data,
+            final @Nullable Map<NormalizedNode<?, ?>, TreeNodeDigest> memo) {
+        if (!isContainer(data)) {
+            return valueDigest(data);
+        }
+        if (memo == null) {
+            return containerDigest(data, null);
+        }
+
+        final TreeNodeDigest known = memo.get(data);
+        if (known != null) {
+            return known;
+        }
+        final TreeNodeDigest computed = containerDigest(data, memo);
+        memo.put(data, computed);
+        return computed;
+    }
+
+    /**
+     * Compare two trees and find the subtrees in which they differ. The comparison is performed digest-first,
+     * descending only into containers whose digests do not match, hence its cost is proportional to the size of the
+     * difference rather than the size of the trees. Ordered containers are not descended into, as their content may
+     * differ just in the order of children.
+     *
+     * @param first First tree
+     * @param second Second tree
+     * @return List of paths, relative to the compared nodes, which identify the differing subtrees. An empty list
+     *         indicates the two trees are equal.
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull List<YangInstanceIdentifier> findDifferences(final TreeNode first, final TreeNode second) {
+        final List<YangInstanceIdentifier> ret = new ArrayList<>();
+        findDifferences(ret, YangInstanceIdentifier.EMPTY, first, second);
+        return ret;
+    }
+
+    private static void findDifferences(final List<YangInstanceIdentifier> result, final YangInstanceIdentifier path,
+            final TreeNode first, final TreeNode second) {
+        if (first.getDigest().equals(second.getDigest())) {
+            return;
+        }
+
+        // Child TreeNodes may be instantiated on demand, hence we memoize digests of the data we descend into
+        final Map<NormalizedNode<?, ?>, TreeNodeDigest> memo = new IdentityHashMap<>();
+        findDifferences(result, path, first.getData(), second.getData(), memo);
+    }
+
+    private static void findDifferences(final List<YangInstanceIdentifier> result, final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> first, final NormalizedNode<?, ?> second,
+            final Map<NormalizedNode<?, ?>, TreeNodeDigest> memo) {
+        if (!first.getIdentifier().equals(second.getIdentifier()) || !isUnorderedContainer(first)
+                || !isUnorderedContainer(second)) {
+            result.add(path);
+            return;
+        }
+
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> firstContainer = castContainer(first);
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> secondContainer = castContainer(second);
+        for (NormalizedNode<?, ?> child : firstContainer.getValue()) {
+            final PathArgument id = child.getIdentifier();
+            final Optional<NormalizedNode<?, ?>> other = secondContainer.getChild(id);
+            if (!other.isPresent()) {
+                result.add(path.node(id));
+            } else if (!digestOf(child, memo).equals(digestOf(other.get(), memo))) {
+                findDifferences(result, path.node(id), child, other.get(), memo);
+            }
+        }
+
+        for (NormalizedNode<?, ?> child : secondContainer.getValue()) {
+            final PathArgument id = child.getIdentifier();
+            if (!firstContainer.getChild(id).isPresent()) {
+                result.add(path.node(id));
+            }
+        }
+    }
+
+    /**
+     * Incrementally update a container digest.
+     *
+     * @param original Digest of the original container
+     * @param originalData Original container data
+     * @param node Updated container node
+     * @param changed Children which have been added, replaced or removed, mapped to their original {@link TreeNode}s,
+     *                if those were instantiated
+     * @return Updated digest, or null if the digest cannot be updated incrementally
+     */
+    static @Nullable TreeNodeDigest updateDigest(final TreeNodeDigest original, final NormalizedNode<?, ?> originalData,
+            final TreeNode node, final Map<PathArgument, TreeNode> changed) {
+        if (!(original instanceof UnorderedDigest) || !isUnorderedContainer(originalData)
+                || !isUnorderedContainer(node.getData())) {
+            return null;
+        }
+
+        long childMsb = ((UnorderedDigest) original).childMsb;
+        long childLsb = ((UnorderedDigest) original).childLsb;
+        for (Entry<PathArgument, TreeNode> entry : changed.entrySet()) {
+            final PathArgument id = entry.getKey();
+            final TreeNodeDigest before = originalDigest(originalData, id, entry.getValue());
+            if (before != null) {
+                childMsb -= before.msb();
+                childLsb -= before.lsb();
+            }
+            final Optional<TreeNode> after = node.getChild(id);
+            if (after.isPresent()) {
+                final TreeNodeDigest digest = after.get().getDigest();
+                childMsb += digest.msb();
+                childLsb += digest.lsb();
+            }
+        }
+
+        return unorderedDigest(node.getIdentifier(), childMsb, childLsb);
+    }
+
+    private static @Nullable TreeNodeDigest originalDigest(final NormalizedNode<?, ?> originalData,
+            final PathArgument id, final @Nullable TreeNode originalChild) {
+        if (originalChild instanceof AbstractTreeNode) {
+            final TreeNodeDigest known = ((AbstractTreeNode) originalChild).peekDigest();
+            if (known != null) {
+                return known;
+            }
+        }
+
+        final Optional<NormalizedNode<?, ?>> before = castContainer(originalData).getChild(id);
+        return before.isPresent() ? digestOf(before.get()) : null;
+    }
+
+    private static boolean isContainer(final NormalizedNode<?, ?> data) {
+        return data instanceof NormalizedNodeContainer || data instanceof OrderedNodeContainer;
+    }
+
+    private static boolean isUnorderedContainer(final NormalizedNode<?, ?> data) {
+        return data instanceof NormalizedNodeContainer && !(data instanceof OrderedNodeContainer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> castContainer(
+            final NormalizedNode<?, ?> data) {
+        return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data;
+    }
+
+    private static TreeNodeDigest containerDigest(final NormalizedNode<?, ?> data,
+            final @Nullable Map<NormalizedNode<?, ?>, TreeNodeDigest> memo) {
+        return data instanceof OrderedNodeContainer ? orderedDigest(data, memo)
+                : unorderedDigest(castContainer(data), memo);
+    }
+
+    private static TreeNodeDigest valueDigest(final NormalizedNode<?, ?> data) {
+        final Hasher hasher = HASH_FUNCTION.newHasher().putByte(VALUE);
+        putIdentifier(hasher, data.getIdentifier());
+        putValue(hasher, data.getValue());
+        final byte[] bytes = hasher.hash().asBytes();
+        return new TreeNodeDigest(msb(bytes), lsb(bytes));
+    }
+
+    private static TreeNodeDigest orderedDigest(final NormalizedNode<?, ?> data,
+            final @Nullable Map<NormalizedNode<?, ?>, TreeNodeDigest> memo) {
+        final Hasher hasher = HASH_FUNCTION.newHasher().putByte(ORDERED);
+        putIdentifier(hasher, data.getIdentifier());
+        for (NormalizedNode<?, ?> child : ((OrderedNodeContainer<?>) data).getValue()) {
+            final TreeNodeDigest digest = digestOf(child, memo);
+            hasher.putLong(digest.msb()).putLong(digest.lsb());
+        }
+        final byte[] bytes = hasher.hash().asBytes();
+        return new TreeNodeDigest(msb(bytes), lsb(bytes));
+    }
+
+    private static TreeNodeDigest unorderedDigest(
+            final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> data,
+            final @Nullable Map<NormalizedNode<?, ?>, TreeNodeDigest> memo) {
+        long childMsb = 0;
+        long childLsb = 0;
+        for (NormalizedNode<?, ?> child : data.getValue()) {
+            final TreeNodeDigest digest = digestOf(child, memo);
+            childMsb += digest.msb();
+            childLsb += digest.lsb();
+        }
+        return unorderedDigest(data.getIdentifier(), childMsb, childLsb);
+    }
+
+    private static TreeNodeDigest unorderedDigest(final PathArgument id, final long childMsb, final long childLsb) {
+        final Hasher hasher = HASH_FUNCTION.newHasher().putByte(UNORDERED);
+        putIdentifier(hasher, id);
+        final byte[] bytes = hasher.putLong(childMsb).putLong(childLsb).hash().asBytes();
+        return new UnorderedDigest(msb(bytes), lsb(bytes), childMsb, childLsb);
+    }
+
+    private static void putIdentifier(final Hasher hasher, final PathArgument id) {
+        if (id instanceof AugmentationIdentifier) {
+            hasher.putByte(AUGMENTATION);
+            ((AugmentationIdentifier) id).getPossibleChildNames().stream().map(QName::toString).sorted()
+                .forEachOrdered(str -> putString(hasher, str));
+            hasher.putByte(END);
+            return;
+        }
+
+        putString(hasher, id.getNodeType().toString());
+        if (id instanceof NodeIdentifierWithPredicates) {
+            ((NodeIdentifierWithPredicates) id).getKeyValues().entrySet().stream()
+                .sorted((left, right) -> left.getKey().compareTo(right.getKey()))
+                .forEachOrdered(entry -> putPredicate(hasher, entry));
+        } else if (id instanceof NodeWithValue) {
+            putValue(hasher, ((NodeWithValue<?>) id).getValue());
+        }
+        hasher.putByte(END);
+    }
+
+    private static void putPredicate(final Hasher hasher, final Entry<QName, Object> entry) {
+        putString(hasher, entry.getKey().toString());
+        putValue(hasher, entry.getValue());
+    }
+
+    private static void putValue(final Hasher hasher, final Object value) {
+        if (value instanceof byte[]) {
+            final byte[] bytes = (byte[]) value;
+            hasher.putInt(bytes.length).putBytes(bytes);
+        } else if (value instanceof DOMSource) {
+            putDomNode(hasher, ((DOMSource) value).getNode());
+        } else if (value instanceof Collection) {
+            // Bits are reported as a Set<String>, which is not ordered
+            ((Collection<?>) value).stream().map(String::valueOf).sorted()
+                .forEachOrdered(str -> putString(hasher, str));
+            hasher.putByte(END);
+        } else {
+            putString(hasher, String.valueOf(value));
+        }
+    }
+
+    private static void putDomNode(final Hasher hasher, final Node node) {
+        if (node != null) {
+            putString(hasher, node.getNodeName());
+            putString(hasher, Strings.nullToEmpty(node.getNamespaceURI()));
+            putString(hasher, Strings.nullToEmpty(node.getNodeValue()));
+
+            final NamedNodeMap attributes = node.getAttributes();
+            if (attributes != null) {
+                final List<String> attrs = new ArrayList<>(attributes.getLength());
+                for (int i = 0; i < attributes.getLength(); ++i) {
+                    final Node attr = attributes.item(i);
+                    attrs.add(attr.getNamespaceURI() + ' ' + attr.getNodeName() + '=' + attr.getNodeValue());
+                }
+                attrs.stream().sorted().forEachOrdered(str -> putString(hasher, str));
+            }
+
+            for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                putDomNode(hasher, child);
+            }
+        }
+        hasher.putByte(END);
+    }
+
+    private static void putString(final Hasher hasher, final String str) {
+        hasher.putInt(str.length()).putString(str, UTF_8);
+    }
+
+    private static long msb(final byte[] bytes) {
+        return Longs.fromBytes(bytes[0], bytes[1], bytes[2], bytes[3], bytes[4], bytes[5], bytes[6], bytes[7]);
+    }
+
+    private static long lsb(final byte[] bytes) {
+        return Longs.fromBytes(bytes[8], bytes[9], bytes[10], bytes[11], bytes[12], bytes[13], bytes[14], bytes[15]);
+    }
+
+    /**
+     * Digest of an unordered container. It additionally tracks the sum of its children's digests, which allows it to
+     * be updated incrementally.
+     */
+    private static final class UnorderedDigest extends TreeNodeDigest {
+        final long childMsb;
+        final long childLsb;
+
+        UnorderedDigest(final long msb, final long lsb, final long childMsb, final long childLsb) {
+            super(msb, lsb);
+            this.childMsb = childMsb;
+            this.childLsb = childLsb;
+        }
+    }
+}
@@ -28,6 +28,9 @@ public final class TreeNodeFactory {
      * @return new AbstractTreeNode instance, covering the data tree provided
      */
     public static TreeNode createTreeNode(final NormalizedNode<?, ?> data, final Version version) {
+        if (data instanceof AbstractOffHeapNode) {
+            return new OffHeapTreeNode((AbstractOffHeapNode<?, ?, ?>) data, version);
+        }
         if (data instanceof NormalizedNodeContainer<?, ?, ?>) {
             @SuppressWarnings("unchecked")
             final NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>> container =
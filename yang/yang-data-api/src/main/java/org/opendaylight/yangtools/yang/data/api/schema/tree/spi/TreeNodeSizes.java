@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import java.util.Collection;
+import org.opendaylight.yangtools.util.HeapSizeAware;
+import org.opendaylight.yangtools.util.HeapSizes;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+
+/**
+ * Utility methods for estimating the heap retained by {@link NormalizedNode} subtrees.
+ *
+ * <p>
+ * A subtree's retained size is the sum of shallow sizes of all its nodes. Nodes implementing {@link HeapSizeAware}
+ * provide their own shallow size, other nodes are estimated from their identifier and value. Subtrees which are
+ * shared between multiple parents are counted once for each parent, hence the result is an upper bound when a tree
+ * contains structurally-shared data.
+ *
+ * <p>
+ * Sizes are not cached here, each invocation walks the entire subtree. Built-in {@link TreeNode} implementations cache
+ * the result in the node, see {@link TreeNode#getRetainedSize()}. Path argument sizes are provided by the path
+ * arguments themselves, through {@link HeapSizes#sizeOf(Object)}.
+ */
+@Beta
+public final class TreeNodeSizes {
+    private TreeNodeSizes() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Estimate the heap retained by a {@link NormalizedNode} subtree.
+     *
+     * @param data Data node
+     * @return Estimated retained size, in bytes
+     * @throws NullPointerException if data is null
+     */
+    public static long retainedSizeOf(final NormalizedNode<?, ?> data) {
+        // Off-heap nodes retain only themselves
+        if (!isContainer(data) || data instanceof AbstractOffHeapNode) {
+            return shallowSizeOf(data);
+        }
+
+        long ret = shallowSizeOf(data);
+        for (NormalizedNode<?, ?> child : children(data)) {
+            ret += retainedSizeOf(child);
+        }
+        return ret;
+    }
+
+    /**
+     * Estimate the heap occupied by a single {@link NormalizedNode}, not including its children.
+     *
+     * @param data Data node
+     * @return Estimated shallow size, in bytes
+     * @throws NullPointerException if data is null
+     */
+    public static long shallowSizeOf(final NormalizedNode<?, ?> data) {
+        if (data instanceof HeapSizeAware) {
+            return ((HeapSizeAware) data).shallowHeapSize();
+        }
+
+        // Identifier and value, plus the identifier's payload
+        final long base = HeapSizes.objectSize(2, 0) + HeapSizes.sizeOf(data.getIdentifier());
+        if (data instanceof NormalizedNodeContainer) {
+            // Children are typically held in a map, keyed by their identifiers
+            return base + containerOverhead(children(data).size());
+        }
+        if (data instanceof OrderedNodeContainer) {
+            return base + HeapSizes.arraySize(((OrderedNodeContainer<?>) data).getSize(), HeapSizes.REFERENCE);
+        }
+        return base + HeapSizes.sizeOf(data.getValue());
+    }
+
+    private static long containerOverhead(final int size) {
+        // Assume a hash map: the map object, its table and one entry object per child
+        return size == 0 ? 0 : HeapSizes.objectSize(4, 16) + HeapSizes.arraySize(size * 2, HeapSizes.REFERENCE)
+                + size * HeapSizes.objectSize(3, 4);
+    }
+
+    private static boolean isContainer(final NormalizedNode<?, ?> data) {
+        return data instanceof NormalizedNodeContainer || data instanceof OrderedNodeContainer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<NormalizedNode<?, ?>> children(final NormalizedNode<?, ?> data) {
+        return (Collection<NormalizedNode<?, ?>>) data.getValue();
+    }
+
+}
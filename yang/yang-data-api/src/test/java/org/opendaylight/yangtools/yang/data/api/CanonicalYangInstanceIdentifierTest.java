@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+
+public class CanonicalYangInstanceIdentifierTest {
+    private static final QName NODENAME1 = QName.create("test", "2018-10-18", "node1");
+    private static final QName NODENAME2 = QName.create("test", "2018-10-18", "node2");
+    private static final QName NODENAME3 = QName.create("test", "2018-10-18", "node3");
+    private static final QName KEY = QName.create("test", "2018-10-18", "key");
+
+    private static final YangInstanceIdentifier BASE = YangInstanceIdentifier.of(NODENAME1).node(NODENAME2);
+    private static final YangInstanceIdentifier CHILD = BASE.node(new NodeIdentifierWithPredicates(NODENAME2, KEY, 1))
+            .node(NODENAME3);
+
+    @Test
+    public void testIntern() {
+        final YangInstanceIdentifier canonical = CHILD.intern();
+        assertTrue(canonical instanceof CanonicalYangInstanceIdentifier);
+        assertSame(canonical, canonical.intern());
+        assertSame(canonical, CHILD.toOptimized().intern());
+        assertSame(canonical, YangInstanceIdentifier.create(CHILD.getPathArguments()).intern());
+        assertSame(BASE.intern(), canonical.getAncestor(2));
+        assertSame(YangInstanceIdentifier.EMPTY, YangInstanceIdentifier.EMPTY.intern());
+        assertSame(YangInstanceIdentifier.EMPTY, canonical.getAncestor(0));
+    }
+
+    @Test
+    public void testEquals() {
+        final YangInstanceIdentifier canonical = CHILD.intern();
+        assertEquals(CHILD, canonical);
+        assertEquals(canonical, CHILD);
+        assertEquals(CHILD.hashCode(), canonical.hashCode());
+        assertEquals(CHILD.getPathArguments(), canonical.getPathArguments());
+        assertEquals(CHILD.getReversePathArguments(), canonical.getReversePathArguments());
+        assertEquals(CHILD.toString(), canonical.toString());
+        assertNotEquals(BASE.intern(), canonical);
+    }
+
+    @Test
+    public void testContains() {
+        final YangInstanceIdentifier base = BASE.intern();
+        final YangInstanceIdentifier child = CHILD.intern();
+        assertTrue(base.contains(child));
+        assertTrue(child.contains(child));
+        assertFalse(child.contains(base));
+        assertFalse(YangInstanceIdentifier.of(NODENAME2).intern().contains(child));
+        assertTrue(base.contains(CHILD));
+        assertTrue(BASE.contains(child));
+    }
+
+    @Test
+    public void testRelativeTo() {
+        final YangInstanceIdentifier base = BASE.intern();
+        final YangInstanceIdentifier child = CHILD.intern();
+        assertEquals(CHILD.relativeTo(BASE), child.relativeTo(base));
+        assertEquals(Optional.of(YangInstanceIdentifier.EMPTY), child.relativeTo(child));
+        assertEquals(Optional.empty(), base.relativeTo(child));
+        assertEquals(Optional.of(child), child.relativeTo(YangInstanceIdentifier.EMPTY));
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final YangInstanceIdentifier canonical = CHILD.intern();
+        final YangInstanceIdentifier read = roundTrip(canonical);
+        assertFalse(read instanceof CanonicalYangInstanceIdentifier);
+        assertEquals(canonical, read);
+        assertSame(canonical, read.intern());
+    }
+
+    @Test
+    public void testEqualsHashCodeContract() throws IOException, ClassNotFoundException {
+        final YangInstanceIdentifier first = CHILD.intern();
+        final YangInstanceIdentifier second = YangInstanceIdentifier.create(CHILD.getPathArguments()).intern();
+        final YangInstanceIdentifier fixed = CHILD.toOptimized();
+        final YangInstanceIdentifier read = roundTrip(first);
+
+        for (YangInstanceIdentifier left : new YangInstanceIdentifier[] { first, second, CHILD, fixed, read }) {
+            for (YangInstanceIdentifier right : new YangInstanceIdentifier[] { first, second, CHILD, fixed, read }) {
+                assertEquals(left, right);
+                assertEquals(left.hashCode(), right.hashCode());
+            }
+        }
+
+        final YangInstanceIdentifier readBase = roundTrip(BASE.intern());
+        assertNotEquals(first, readBase);
+        assertNotEquals(readBase, first);
+        assertEquals(BASE.intern(), readBase);
+        assertEquals(BASE.hashCode(), readBase.hashCode());
+    }
+
+    private static YangInstanceIdentifier roundTrip(final YangInstanceIdentifier identifier)
+            throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(identifier);
+        }
+
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            return (YangInstanceIdentifier) ois.readObject();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.google.common.annotations.Beta;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BinaryStringCodec;
@@ -21,8 +22,10 @@ import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
+import org.opendaylight.yangtools.yang.data.util.InstanceIdentifierStringCache;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
+import org.opendaylight.yangtools.yang.data.util.codec.NoopCodecCache;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
@@ -55,11 +58,15 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
  */
 @Beta
 public final class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
+    private final @Nullable InstanceIdentifierStringCache iidCache;
     private final JSONCodec<?> iidCodec;
 
     JSONCodecFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache,
             final BiFunction<SchemaContext, JSONCodecFactory, JSONInstanceIdentifierCodec> iidCodecSupplier) {
         super(context, cache);
+        // Non-caching factories do not cache instance-identifier strings, either
+        iidCache = cache instanceof NoopCodecCache ? null
+                : InstanceIdentifierStringCache.create(InstanceIdentifierStringCache.DEFAULT_MAXIMUM_SIZE);
         iidCodec = verifyNotNull(iidCodecSupplier.apply(context, this));
     }
 
@@ -204,6 +211,16 @@ public final class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
         return new IdentityrefJSONCodec(getSchemaContext(), module);
     }
 
+    /**
+     * Return the cache used by this factory's instance-identifier codec, if any. The cache can be used to inspect
+     * its hit/miss statistics.
+     *
+     * @return Instance-identifier string cache
+     */
+    public Optional<InstanceIdentifierStringCache> getInstanceIdentifierCache() {
+        return Optional.ofNullable(iidCache);
+    }
+
     @Override
     protected JSONCodec<?> instanceIdentifierCodec(final InstanceIdentifierTypeDefinition type) {
         return iidCodec;
@@ -11,21 +11,23 @@ import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
-import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.util.codec.CodecPrecomputation;
 import org.opendaylight.yangtools.yang.data.util.codec.LazyCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.NoopCodecCache;
-import org.opendaylight.yangtools.yang.data.util.codec.PrecomputedCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
-import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
-import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,30 +61,18 @@ public enum JSONCodecFactorySupplier {
 
         @Override
         public JSONCodecFactory load(final SchemaContext key) {
-            final Stopwatch sw = Stopwatch.createStarted();
-            final LazyCodecCache<JSONCodec<?>> lazyCache = new LazyCodecCache<>();
-            final JSONCodecFactory lazy = new JSONCodecFactory(key, lazyCache, iidCodecSupplier);
-            final int visitedLeaves = requestCodecsForChildren(lazy, key);
-            sw.stop();
-
-            final PrecomputedCodecCache<JSONCodec<?>> cache = lazyCache.toPrecomputed();
-            LOG.debug("{} leaf nodes resulted in {} simple and {} complex codecs in {}", visitedLeaves,
-                cache.simpleSize(), cache.complexSize(), sw);
-            return new JSONCodecFactory(key, cache, iidCodecSupplier);
-        }
-
-        private static int requestCodecsForChildren(final JSONCodecFactory lazy, final DataNodeContainer parent) {
-            int ret = 0;
-            for (DataSchemaNode child : parent.getChildNodes()) {
-                if (child instanceof TypedDataSchemaNode) {
-                    lazy.codecFor((TypedDataSchemaNode) child);
-                    ++ret;
-                } else if (child instanceof DataNodeContainer) {
-                    ret += requestCodecsForChildren(lazy, (DataNodeContainer) child);
-                }
+            final ListenableFuture<CodecPrecomputation<JSONCodec<?>>> future = CodecPrecomputation.compute(key,
+                cache -> new JSONCodecFactory(key, cache, iidCodecSupplier), MoreExecutors.directExecutor(), 1);
+
+            final CodecPrecomputation<JSONCodec<?>> result;
+            try {
+                result = Futures.getDone(future);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                Throwables.throwIfUnchecked(cause);
+                throw new IllegalStateException(e);
             }
-
-            return ret;
+            return new JSONCodecFactory(key, result.getCache(), iidCodecSupplier);
         }
     }
 
@@ -131,6 +121,51 @@ public enum JSONCodecFactorySupplier {
         return verifyNotNull(precomputed.getUnchecked(context));
     }
 
+    /**
+     * Start precomputing a thread-safe, eagerly-caching {@link JSONCodecFactory} for a SchemaContext in the background,
+     * using as many tasks as there are available processors. See {@link #precompute(SchemaContext, Executor, int)}
+     * for details.
+     *
+     * @param context SchemaContext instance
+     * @param executor Executor on which to run precomputation tasks
+     * @return A future completing with precomputation statistics once the factory is available
+     * @throws NullPointerException if any argument is null
+     */
+    public @NonNull ListenableFuture<CodecPrecomputation<JSONCodec<?>>> precompute(
+            final @NonNull SchemaContext context, final @NonNull Executor executor) {
+        return precompute(context, executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Start precomputing a thread-safe, eagerly-caching {@link JSONCodecFactory} for a SchemaContext in the background.
+     * This method is intended to be invoked when a new SchemaContext is activated, so that the cost of creating codecs
+     * is not paid by the first requests using it.
+     *
+     * <p>
+     * Codecs are built in parallel by up to {@code parallelism} tasks submitted to specified executor. Once all of them
+     * complete, the resulting factory is atomically published, so that it is returned by
+     * {@link #getPrecomputed(SchemaContext)} and {@link #getPrecomputedIfAvailable(SchemaContext)}. If a factory has
+     * already been made available by some other caller in the meantime, that factory is retained.
+     *
+     * @param context SchemaContext instance
+     * @param executor Executor on which to run precomputation tasks
+     * @param parallelism Maximum number of tasks to submit
+     * @return A future completing with precomputation statistics once the factory is available
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public @NonNull ListenableFuture<CodecPrecomputation<JSONCodec<?>>> precompute(
+            final @NonNull SchemaContext context, final @NonNull Executor executor, final int parallelism) {
+        return Futures.transform(CodecPrecomputation.<JSONCodec<?>>compute(context,
+            cache -> new JSONCodecFactory(context, cache, iidCodecSupplier), executor, parallelism), result -> {
+                final JSONCodecFactory factory = new JSONCodecFactory(context, result.getCache(), iidCodecSupplier);
+                if (precomputed.asMap().putIfAbsent(context, factory) != null) {
+                    LOG.debug("Precomputed factory for {} already available, discarding {}", context, result);
+                }
+                return result;
+            }, MoreExecutors.directExecutor());
+    }
+
     /**
      * Get a thread-safe, eagerly-caching {@link JSONCodecFactory} for a SchemaContext, if it is available. This
      * method is a non-blocking equivalent of {@link #getPrecomputed(SchemaContext)} for use in code paths where
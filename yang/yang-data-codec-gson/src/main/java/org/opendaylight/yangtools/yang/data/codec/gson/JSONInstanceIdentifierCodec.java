@@ -29,6 +29,7 @@ class JSONInstanceIdentifierCodec extends AbstractModuleStringInstanceIdentifier
     private final SchemaContext context;
 
     JSONInstanceIdentifierCodec(final SchemaContext context, final JSONCodecFactory jsonCodecFactory) {
+        super(jsonCodecFactory.getInstanceIdentifierCache().orElse(null));
         this.context = requireNonNull(context);
         this.dataContextTree = DataSchemaContextTree.from(context);
         this.codecFactory = requireNonNull(jsonCodecFactory);
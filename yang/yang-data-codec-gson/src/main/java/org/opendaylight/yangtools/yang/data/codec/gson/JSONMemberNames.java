@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Cache of JSON member names, pre-encoded into their UTF-8 representation including the quotes and the trailing
+ * colon, as emitted by {@link Utf8JsonWriter}. There is one instance for each {@link SchemaContext}.
+ */
+final class JSONMemberNames {
+    private static final class Encoded {
+        final byte[] local;
+        volatile byte[] qualified;
+
+        Encoded(final byte[] local) {
+            this.local = local;
+        }
+    }
+
+    private static final LoadingCache<SchemaContext, JSONMemberNames> CACHE = CacheBuilder.newBuilder()
+            .weakKeys().softValues().build(new CacheLoader<SchemaContext, JSONMemberNames>() {
+                @Override
+                public JSONMemberNames load(final SchemaContext key) {
+                    return new JSONMemberNames(key);
+                }
+            });
+
+    private final ConcurrentMap<QName, Encoded> names = new ConcurrentHashMap<>();
+    private final SchemaContext schemaContext;
+
+    private JSONMemberNames(final SchemaContext schemaContext) {
+        this.schemaContext = requireNonNull(schemaContext);
+    }
+
+    static @NonNull JSONMemberNames forSchemaContext(final SchemaContext schemaContext) {
+        return CACHE.getUnchecked(schemaContext);
+    }
+
+    SchemaContext getSchemaContext() {
+        return schemaContext;
+    }
+
+    /**
+     * Return the encoded member name for a QName.
+     *
+     * @param qname Namespace/name tuple
+     * @param qualified True if the name should be prefixed with its module name
+     * @return Encoded member name, which must not be modified
+     */
+    byte[] encodedName(final QName qname, final boolean qualified) {
+        Encoded encoded = names.get(qname);
+        if (encoded == null) {
+            final Encoded created = new Encoded(Utf8JsonWriter.encodeMemberName(qname.getLocalName()));
+            encoded = names.putIfAbsent(qname, created);
+            if (encoded == null) {
+                encoded = created;
+            }
+        }
+        if (!qualified) {
+            return encoded.local;
+        }
+
+        byte[] ret = encoded.qualified;
+        if (ret == null) {
+            final QNameModule module = qname.getModule();
+            final Optional<String> moduleName = schemaContext.findModule(module).map(Module::getName);
+            checkArgument(moduleName.isPresent(), "Could not find module for namespace {}", module);
+            ret = Utf8JsonWriter.encodeMemberName(moduleName.get() + ':' + qname.getLocalName());
+            encoded.qualified = ret;
+        }
+        return ret;
+    }
+}
@@ -14,8 +14,6 @@ import static org.w3c.dom.Node.TEXT_NODE;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.net.URI;
-import java.util.regex.Pattern;
-import javax.annotation.RegEx;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
@@ -73,13 +71,9 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
      */
     private static final boolean DEFAULT_EMIT_EMPTY_CONTAINERS = true;
 
-    @RegEx
-    private static final String NUMBER_STRING = "-?\\d+(\\.\\d+)?";
-    private static final Pattern NUMBER_PATTERN = Pattern.compile(NUMBER_STRING);
-
-    @RegEx
-    private static final String NOT_DECIMAL_NUMBER_STRING = "-?\\d+";
-    private static final Pattern NOT_DECIMAL_NUMBER_PATTERN = Pattern.compile(NOT_DECIMAL_NUMBER_STRING);
+    private static final int NOT_A_NUMBER = 0;
+    private static final int INTEGRAL_NUMBER = 1;
+    private static final int DECIMAL_NUMBER = 2;
 
     private final SchemaTracker tracker;
     private final JSONCodecFactory codecs;
@@ -402,8 +396,11 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
         String childNodeText = firstChild != null ? firstChild.getWholeText() : "";
         childNodeText = childNodeText != null ? childNodeText.trim() : "";
 
-        if (NUMBER_PATTERN.matcher(childNodeText).matches()) {
-            writer.value(parseNumber(childNodeText));
+        final int numberType = numberType(childNodeText);
+        if (numberType != NOT_A_NUMBER) {
+            // json numbers are 64 bit wide floating point numbers - in java terms it is either long or double
+            writer.value(numberType == INTEGRAL_NUMBER ? (Number) Long.valueOf(childNodeText)
+                    : Double.valueOf(childNodeText));
             return;
         }
         switch (childNodeText) {
@@ -443,12 +440,37 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
         return null;
     }
 
-    // json numbers are 64 bit wide floating point numbers - in java terms it is either long or double
-    private static Number parseNumber(final String numberText) {
-        if (NOT_DECIMAL_NUMBER_PATTERN.matcher(numberText).matches()) {
-            return Long.valueOf(numberText);
+    /**
+     * Determine whether a string matches {@code -?\d+(\.\d+)?}, and if so, whether it has a fractional part.
+     *
+     * @param str String to examine
+     * @return One of {@link #NOT_A_NUMBER}, {@link #INTEGRAL_NUMBER} or {@link #DECIMAL_NUMBER}
+     */
+    private static int numberType(final String str) {
+        final int length = str.length();
+        int offset = length != 0 && str.charAt(0) == '-' ? 1 : 0;
+        final int intStart = offset;
+        while (offset < length && isDigit(str.charAt(offset))) {
+            offset++;
+        }
+        if (offset == intStart) {
+            return NOT_A_NUMBER;
+        }
+        if (offset == length) {
+            return INTEGRAL_NUMBER;
+        }
+        if (str.charAt(offset) != '.') {
+            return NOT_A_NUMBER;
+        }
+
+        final int fracStart = ++offset;
+        while (offset < length && isDigit(str.charAt(offset))) {
+            offset++;
         }
+        return offset != fracStart && offset == length ? DECIMAL_NUMBER : NOT_A_NUMBER;
+    }
 
-        return Double.valueOf(numberText);
+    private static boolean isDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
     }
 }
@@ -57,11 +57,17 @@ abstract class JSONStreamWriterContext {
      */
     final void writeChildJsonIdentifier(final SchemaContext schema, final JsonWriter writer, final QName qname)
             throws IOException {
-
-        final StringBuilder sb = new StringBuilder();
         // Prepend module name if namespaces do not match
         final QNameModule module = qname.getModule();
-        if (!module.getNamespace().equals(getNamespace())) {
+        final boolean qualified = !module.getNamespace().equals(getNamespace());
+        if (writer instanceof Utf8JsonWriter) {
+            // Fast path: use pre-encoded name
+            ((Utf8JsonWriter) writer).name(schema, qname, qualified);
+            return;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        if (qualified) {
             final Optional<String> modules = schema.findModule(module).map(Module::getName);
             checkArgument(modules.isPresent(), "Could not find module for namespace {}", module);
             sb.append(modules.get()).append(':');
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 import com.google.common.annotations.Beta;
 import com.google.common.base.Strings;
 import com.google.gson.stream.JsonWriter;
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
@@ -31,6 +32,18 @@ public final class JsonWriterFactory {
         return new JsonWriter(writer);
     }
 
+    /**
+     * Create a new JsonWriter, which writes compact UTF-8 encoded JSON directly to the specified output stream. This
+     * is more efficient than wrapping the stream in a {@link Writer}, especially when the returned writer is used with
+     * {@link JSONNormalizedNodeStreamWriter}.
+     *
+     * @param stream Output stream
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createJsonWriter(final OutputStream stream) {
+        return new Utf8JsonWriter(stream);
+    }
+
     /**
      * Create a new JsonWriter, which writes to the specified output writer.
      *
@@ -44,4 +57,18 @@ public final class JsonWriterFactory {
         jsonWriter.setIndent(indent);
         return jsonWriter;
     }
+
+    /**
+     * Create a new JsonWriter, which writes UTF-8 encoded JSON directly to the specified output stream.
+     *
+     * @param stream Output stream
+     * @param indentSize size of the indent
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createJsonWriter(final OutputStream stream, final int indentSize) {
+        JsonWriter jsonWriter = new Utf8JsonWriter(stream);
+        final String indent = Strings.repeat(" ", indentSize);
+        jsonWriter.setIndent(indent);
+        return jsonWriter;
+    }
 }
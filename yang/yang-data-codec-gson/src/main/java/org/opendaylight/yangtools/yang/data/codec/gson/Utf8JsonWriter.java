@@ -0,0 +1,682 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.opendaylight.yangtools.util.Utf8Encoding;
+import org.opendaylight.yangtools.util.Utf8Encoding.Escaper;
+import org.opendaylight.yangtools.yang.common.Decimal64;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A {@link JsonWriter} which emits UTF-8 encoded JSON directly into an {@link OutputStream}, without going through
+ * a character-based {@link Writer}. When used with {@link JSONNormalizedNodeStreamWriter}, member names are emitted
+ * from a per-{@link SchemaContext} cache of their encoded form.
+ *
+ * <p>
+ * Numbers are formatted directly into the output buffer if they are integral primitive wrappers, {@link Uint8},
+ * {@link Uint16}, {@link Uint32}, {@link Uint64} or {@link Decimal64}, as well as {@link BigInteger}s which fit into
+ * a {@code long}, {@link BigDecimal}s whose unscaled value fits into a {@code long} and whose {@link Object#toString()}
+ * does not use an exponent, and integral doubles smaller than 10<sup>7</sup> in magnitude. All other numbers, notably
+ * non-integral doubles, are formatted through their {@code toString()} method.
+ *
+ * <p>
+ * Output is identical to that of a plain {@link JsonWriter} with the same settings. Lenient mode, HTML-safe escaping
+ * and serialization of nulls are honoured as they change. Since {@link JsonWriter} does not expose its indent,
+ * {@link #setIndent(String)} is observed only once, when the first top-level value is written.
+ *
+ * <p>
+ * Output buffers are pooled on a per-thread basis and are returned to the pool when the writer is closed, unless they
+ * had to grow to accommodate a large member name.
+ */
+@Beta
+public final class Utf8JsonWriter extends JsonWriter {
+    private static final char LINE_SEPARATOR = 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+    private static final int BUFFER_SIZE = 8192;
+    // Worst-case expansion of a single char: \\u00XX
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L,
+        100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L, 10000000000000000L,
+        100000000000000000L, 1000000000000000000L
+    };
+    // Integral doubles below this magnitude are formatted by Double.toString() as a plain integer followed by ".0"
+    private static final double PLAIN_DOUBLE_LIMIT = 1.0E7;
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+    private static final byte[] HEX = "0123456789abcdef".getBytes(US_ASCII);
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final Escaper ESCAPER = (ch, bytes, offset) -> escape(ch, false, bytes, offset);
+    private static final Escaper HTML_SAFE_ESCAPER = (ch, bytes, offset) -> escape(ch, true, bytes, offset);
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    /**
+     * Writer handed to our superclass. It is written to only when we probe the indent, see {@link #probeIndent()}.
+     */
+    private final StringWriter probe;
+    private final OutputStream out;
+
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+    private byte[] buf;
+    private int pos;
+
+    // Last-used member name cache, so we do not have to look it up on each invocation
+    private JSONMemberNames memberNames;
+    // Name waiting for its value, used only when not serializing nulls
+    private byte[] deferredName;
+    // Encoded indent, null when not indenting
+    private byte[] indent;
+
+    /**
+     * Create a new writer emitting into specified {@link OutputStream}.
+     *
+     * @param out Output stream
+     * @throws NullPointerException if {@code out} is null
+     */
+    public Utf8JsonWriter(final OutputStream out) {
+        this(new StringWriter(), out);
+    }
+
+    private Utf8JsonWriter(final StringWriter probe, final OutputStream out) {
+        super(probe);
+        this.probe = probe;
+        this.out = requireNonNull(out);
+
+        final byte[] pooled = BUFFERS.get();
+        if (pooled != null) {
+            BUFFERS.set(null);
+            buf = pooled;
+        } else {
+            buf = new byte[BUFFER_SIZE];
+        }
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    @Override
+    public Utf8JsonWriter beginArray() throws IOException {
+        writeDeferredName();
+        beforeValue();
+        push(EMPTY_ARRAY);
+        writeByte('[');
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter endArray() throws IOException {
+        return closeScope(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    @Override
+    public Utf8JsonWriter beginObject() throws IOException {
+        writeDeferredName();
+        beforeValue();
+        push(EMPTY_OBJECT);
+        writeByte('{');
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter endObject() throws IOException {
+        return closeScope(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    @Override
+    public Utf8JsonWriter name(final String name) throws IOException {
+        requireNonNull(name, "name == null");
+        if (getSerializeNulls()) {
+            beforeName();
+            ensureCapacity(name.length() * MAX_CHAR_BYTES + 3);
+            pos = writeMemberName(name, isHtmlSafe(), buf, pos);
+        } else {
+            deferName(encodeMemberName(name, isHtmlSafe()));
+        }
+        return this;
+    }
+
+    /**
+     * Write a member name corresponding to a {@link QName}, using cached encoded form. YANG identifiers do not
+     * contain any characters subject to HTML-safe escaping, hence the cached form is valid in that mode, too.
+     *
+     * @param schemaContext Schema context used to resolve module names
+     * @param qname Namespace/name tuple
+     * @param qualified True if the name should be prefixed with its module name
+     * @throws IOException when the underlying stream reports it
+     */
+    void name(final SchemaContext schemaContext, final QName qname, final boolean qualified) throws IOException {
+        JSONMemberNames names = memberNames;
+        if (names == null || names.getSchemaContext() != schemaContext) {
+            names = JSONMemberNames.forSchemaContext(schemaContext);
+            memberNames = names;
+        }
+
+        final byte[] encoded = names.encodedName(qname, qualified);
+        if (getSerializeNulls()) {
+            beforeName();
+            writeBytes(encoded);
+        } else {
+            deferName(encoded);
+        }
+    }
+
+    @Override
+    public Utf8JsonWriter value(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter value(final boolean value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter value(final Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    @Override
+    public Utf8JsonWriter value(final double value) throws IOException {
+        if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        writeDeferredName();
+        beforeValue();
+        if (value == Math.rint(value) && Math.abs(value) < PLAIN_DOUBLE_LIMIT
+                && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+            writeLong((long) value);
+            ensureCapacity(2);
+            buf[pos++] = '.';
+            buf[pos++] = '0';
+        } else {
+            writeUtf8(Double.toString(value));
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter value(final long value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter value(final Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        // Fast path for integral types, which covers all YANG integer types
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof Uint8 || value instanceof Uint16 || value instanceof Uint32) {
+            return value(value.longValue());
+        }
+        if (value instanceof Double) {
+            return value(value.doubleValue());
+        }
+        if (value instanceof Uint64) {
+            writeDeferredName();
+            beforeValue();
+            writeUnsignedLong(value.longValue());
+            return this;
+        }
+        if (value instanceof Decimal64) {
+            writeDeferredName();
+            beforeValue();
+            writeDecimal64((Decimal64) value);
+            return this;
+        }
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() < Long.SIZE) {
+            return value(value.longValue());
+        }
+        if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal) value;
+            final BigInteger unscaled = decimal.unscaledValue();
+            if (isPlainCompact(decimal, unscaled)) {
+                writeDeferredName();
+                beforeValue();
+                writeDecimal(unscaled.longValue(), decimal.scale());
+                return this;
+            }
+        }
+
+        final String str = value.toString();
+        if (!isLenient() && (str.equals("-Infinity") || str.equals("Infinity") || str.equals("NaN"))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        writeDeferredName();
+        beforeValue();
+        writeUtf8(str);
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter jsonValue(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        writeUtf8(value);
+        return this;
+    }
+
+    @Override
+    public Utf8JsonWriter nullValue() throws IOException {
+        if (deferredName != null) {
+            // Not serializing nulls, skip the name as well
+            deferredName = null;
+            return this;
+        }
+        beforeValue();
+        writeBytes(NULL);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stackSize == 0) {
+            return;
+        }
+
+        try {
+            flushBuffer();
+            out.close();
+        } finally {
+            final int size = stackSize;
+            stackSize = 0;
+            // Do not retain buffers which have grown
+            if (buf.length == BUFFER_SIZE) {
+                BUFFERS.set(buf);
+            }
+            buf = null;
+
+            if (size > 1 || size == 1 && stack[0] != NONEMPTY_DOCUMENT) {
+                throw new IOException("Incomplete document");
+            }
+        }
+    }
+
+    @VisibleForTesting
+    static byte[] pooledBuffer() {
+        return BUFFERS.get();
+    }
+
+    /**
+     * Encode a member name into its JSON form, including quotes and the colon separator.
+     *
+     * @param name Member name
+     * @return Encoded name
+     */
+    static byte[] encodeMemberName(final String name) {
+        return encodeMemberName(name, false);
+    }
+
+    private static byte[] encodeMemberName(final String name, final boolean htmlSafe) {
+        final byte[] bytes = new byte[name.length() * MAX_CHAR_BYTES + 3];
+        return Arrays.copyOf(bytes, writeMemberName(name, htmlSafe, bytes, 0));
+    }
+
+    private static int writeMemberName(final String name, final boolean htmlSafe, final byte[] bytes,
+            final int offset) {
+        int off = offset;
+        bytes[off++] = '"';
+        off = Utf8Encoding.encode(name, 0, name.length(), htmlSafe ? HTML_SAFE_ESCAPER : ESCAPER, bytes, off);
+        bytes[off++] = '"';
+        bytes[off++] = ':';
+        return off;
+    }
+
+    private static int escape(final char ch, final boolean htmlSafe, final byte[] bytes, final int offset) {
+        if (ch >= 0x80) {
+            if (ch != LINE_SEPARATOR && ch != PARAGRAPH_SEPARATOR) {
+                return -1;
+            }
+            // Consistent with JsonWriter
+            bytes[offset] = '\\';
+            return writeUnicodeEscape(ch, bytes, offset + 1);
+        }
+        if (ch >= 0x20 && ch != '"' && ch != '\\' && !(htmlSafe && isHtmlUnsafe(ch))) {
+            return -1;
+        }
+
+        int off = offset;
+        bytes[off++] = '\\';
+        switch (ch) {
+            case '"':
+            case '\\':
+                bytes[off++] = (byte) ch;
+                break;
+            case '\t':
+                bytes[off++] = 't';
+                break;
+            case '\b':
+                bytes[off++] = 'b';
+                break;
+            case '\n':
+                bytes[off++] = 'n';
+                break;
+            case '\r':
+                bytes[off++] = 'r';
+                break;
+            case '\f':
+                bytes[off++] = 'f';
+                break;
+            default:
+                off = writeUnicodeEscape(ch, bytes, off);
+        }
+        return off;
+    }
+
+    private static boolean isHtmlUnsafe(final char ch) {
+        return ch == '<' || ch == '>' || ch == '&' || ch == '=' || ch == '\'';
+    }
+
+    private static int writeUnicodeEscape(final char ch, final byte[] bytes, final int offset) {
+        int off = offset;
+        bytes[off++] = 'u';
+        bytes[off++] = HEX[ch >> 12 & 0xF];
+        bytes[off++] = HEX[ch >> 8 & 0xF];
+        bytes[off++] = HEX[ch >> 4 & 0xF];
+        bytes[off++] = HEX[ch & 0xF];
+        return off;
+    }
+
+    private void push(final int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private int peek() {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        return stack[stackSize - 1];
+    }
+
+    private Utf8JsonWriter closeScope(final int empty, final int nonempty, final char bracket) throws IOException {
+        final int context = peek();
+        if (context != nonempty && context != empty) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        if (deferredName != null) {
+            throw new IllegalStateException("Dangling name: " + new String(deferredName, UTF_8));
+        }
+        stackSize--;
+        if (context == nonempty) {
+            writeNewline();
+        }
+        writeByte(bracket);
+        return this;
+    }
+
+    private void beforeName() throws IOException {
+        final int context = peek();
+        if (context == NONEMPTY_OBJECT) {
+            writeByte(',');
+        } else if (context != EMPTY_OBJECT) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        writeNewline();
+        stack[stackSize - 1] = DANGLING_NAME;
+    }
+
+    private void deferName(final byte[] encoded) {
+        if (deferredName != null) {
+            throw new IllegalStateException();
+        }
+        final int context = peek();
+        if (context != EMPTY_OBJECT && context != NONEMPTY_OBJECT) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        deferredName = encoded;
+    }
+
+    private void writeDeferredName() throws IOException {
+        final byte[] name = deferredName;
+        if (name != null) {
+            deferredName = null;
+            beforeName();
+            writeBytes(name);
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        switch (peek()) {
+            case NONEMPTY_DOCUMENT:
+                if (!isLenient()) {
+                    throw new IllegalStateException("JSON must have only one top-level value.");
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                indent = probeIndent();
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                writeNewline();
+                break;
+            case NONEMPTY_ARRAY:
+                writeByte(',');
+                writeNewline();
+                break;
+            case DANGLING_NAME:
+                // The colon has already been emitted as part of the name, but not the space following it
+                if (indent != null) {
+                    writeByte(' ');
+                }
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                break;
+            default:
+                throw new IllegalStateException("Nesting problem.");
+        }
+    }
+
+    /**
+     * Determine the indent set on this writer. {@link JsonWriter} does not expose it, but emits it before the first
+     * element of a nested array. We therefore write such an array through our superclass into {@link #probe}. This
+     * leaves the superclass state unbalanced, but we never use it otherwise.
+     *
+     * @return Encoded indent, or null if this writer is not indenting
+     */
+    private byte[] probeIndent() throws IOException {
+        final StringBuffer probed = probe.getBuffer();
+        probed.setLength(0);
+        super.beginArray();
+        super.beginArray();
+
+        // Either "[[" or "[\n<indent>["
+        final int length = probed.length();
+        final byte[] ret = length > 2 ? probed.substring(2, length - 1).getBytes(UTF_8) : null;
+        probed.setLength(0);
+        return ret;
+    }
+
+    private void writeNewline() throws IOException {
+        final byte[] local = indent;
+        if (local != null) {
+            writeByte('\n');
+            for (int i = 1; i < stackSize; ++i) {
+                writeBytes(local);
+            }
+        }
+    }
+
+    private void writeString(final String str) throws IOException {
+        writeByte('"');
+        writeEncoded(str, isHtmlSafe() ? HTML_SAFE_ESCAPER : ESCAPER, MAX_CHAR_BYTES);
+        writeByte('"');
+    }
+
+    private void writeUtf8(final String str) throws IOException {
+        writeEncoded(str, Utf8Encoding.NO_ESCAPE, Utf8Encoding.MAX_CHAR_BYTES);
+    }
+
+    private void writeEncoded(final String str, final Escaper escaper, final int maxCharBytes) throws IOException {
+        final int chunk = buf.length / maxCharBytes;
+        final int length = str.length();
+        int start = 0;
+        while (start < length) {
+            final int end = Utf8Encoding.chunkEnd(str, start, chunk);
+            ensureCapacity((end - start) * maxCharBytes);
+            pos = Utf8Encoding.encode(str, start, end, escaper, buf, pos);
+            start = end;
+        }
+    }
+
+    private void writeLong(final long value) throws IOException {
+        ensureCapacity(Utf8Encoding.MAX_LONG_BYTES);
+        pos = Utf8Encoding.encodeLong(value, buf, pos);
+    }
+
+    // Formats the same way as Long.toUnsignedString()
+    private void writeUnsignedLong(final long bits) throws IOException {
+        ensureCapacity(Utf8Encoding.MAX_LONG_BYTES);
+        if (bits >= 0) {
+            pos = Utf8Encoding.encodeDigits(bits, 1, buf, pos);
+        } else {
+            pos = Utf8Encoding.encodeDigits(Long.divideUnsigned(bits, 10), 1, buf, pos);
+            buf[pos++] = (byte) ('0' + Long.remainderUnsigned(bits, 10));
+        }
+    }
+
+    // Formats the same way as Decimal64.toString()
+    private void writeDecimal64(final Decimal64 value) throws IOException {
+        final BigDecimal decimal = value.decimalValue();
+        final int scale = decimal.scale();
+        final long fraction = Math.abs(decimal.unscaledValue().longValue() % POWERS_OF_TEN[scale]);
+
+        writeLong(value.longValue());
+        ensureCapacity(scale + 1);
+        buf[pos++] = '.';
+        if (fraction != 0) {
+            pos = Utf8Encoding.encodeDigits(fraction, scale, buf, pos);
+        } else {
+            buf[pos++] = '0';
+        }
+    }
+
+    /**
+     * Check whether a {@link BigDecimal} can be written by {@link #writeDecimal(long, int)}. That is the case when its
+     * unscaled value can be negated as a {@code long} and its {@link BigDecimal#toString()} does not use an exponent.
+     */
+    private static boolean isPlainCompact(final BigDecimal value, final BigInteger unscaled) {
+        final int scale = value.scale();
+        return scale >= 0 && unscaled.bitLength() < Long.SIZE && unscaled.longValue() != Long.MIN_VALUE
+                && (long) value.precision() - scale - 1 >= -6;
+    }
+
+    // Formats the same way as BigDecimal.toString(), as long as isPlainCompact() holds
+    private void writeDecimal(final long unscaled, final int scale) throws IOException {
+        if (scale == 0) {
+            writeLong(unscaled);
+            return;
+        }
+
+        // Sign, integer part, decimal point and fraction padded to scale
+        ensureCapacity(Utf8Encoding.MAX_LONG_BYTES + 1 + Math.max(scale, Utf8Encoding.MAX_LONG_BYTES));
+        final long magnitude;
+        if (unscaled < 0) {
+            buf[pos++] = '-';
+            magnitude = -unscaled;
+        } else {
+            magnitude = unscaled;
+        }
+
+        if (scale < POWERS_OF_TEN.length) {
+            pos = Utf8Encoding.encodeDigits(magnitude / POWERS_OF_TEN[scale], 1, buf, pos);
+            buf[pos++] = '.';
+            pos = Utf8Encoding.encodeDigits(magnitude % POWERS_OF_TEN[scale], scale, buf, pos);
+        } else {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            pos = Utf8Encoding.encodeDigits(magnitude, scale, buf, pos);
+        }
+    }
+
+    private void writeByte(final char ch) throws IOException {
+        ensureCapacity(1);
+        buf[pos++] = (byte) ch;
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        if (bytes.length > buf.length - pos) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void ensureCapacity(final int needed) throws IOException {
+        if (needed > buf.length - pos) {
+            flushBuffer();
+            if (needed > buf.length) {
+                buf = new byte[needed];
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos != 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.codec.CodecPrecomputation;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class JSONCodecFactorySupplierTest {
+    private static final QName ROOT = QName.create("precompute", "root");
+    private static final QName CHOICE = QName.create(ROOT, "choice");
+    private static final QName FIRST = QName.create(ROOT, "first");
+    private static final QName FIRST_LEAF = QName.create(ROOT, "first-leaf");
+
+    private static ExecutorService EXECUTOR;
+
+    @BeforeClass
+    public static void beforeClass() {
+        EXECUTOR = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        EXECUTOR.shutdown();
+        EXECUTOR = null;
+    }
+
+    @Test
+    public void testPrecompute() throws Exception {
+        final SchemaContext context = YangParserTestUtils.parseYangResourceDirectory("/codec-precompute");
+        final JSONCodecFactorySupplier supplier = JSONCodecFactorySupplier.RFC7951;
+        assertFalse(supplier.getPrecomputedIfAvailable(context).isPresent());
+
+        final CodecPrecomputation<JSONCodec<?>> result = supplier.precompute(context, EXECUTOR, 2)
+                .get(10, TimeUnit.SECONDS);
+        // 5 leaves in the data tree, 2 in the RPC and 1 in the notification
+        assertEquals(8, result.getLeafCount());
+        assertEquals(2, result.getTaskCount());
+        assertEquals(result.getCache().simpleSize() + result.getCache().complexSize(), result.getCodecCount());
+        assertTrue(result.getCodecCount() > 0);
+        assertTrue(result.getElapsed(TimeUnit.NANOSECONDS) > 0);
+
+        final JSONCodecFactory factory = supplier.getPrecomputedIfAvailable(context).get();
+        assertSame(factory, supplier.getPrecomputed(context));
+        assertNotNull(factory.codecFor(firstLeaf(context)));
+    }
+
+    @Test
+    public void testEagerPrecomputeCoversChoices() {
+        final SchemaContext context = YangParserTestUtils.parseYangResourceDirectory("/codec-precompute");
+        final JSONCodecFactory factory = JSONCodecFactorySupplier.DRAFT_LHOTKA_NETMOD_YANG_JSON_02
+                .getPrecomputed(context);
+        assertNotNull(factory.codecFor(firstLeaf(context)));
+    }
+
+    private static LeafSchemaNode firstLeaf(final SchemaContext context) {
+        final ContainerSchemaNode root = (ContainerSchemaNode) context.getDataChildByName(ROOT);
+        final ChoiceSchemaNode choice = (ChoiceSchemaNode) root.getDataChildByName(CHOICE);
+        return (LeafSchemaNode) choice.findCase(FIRST).get().getDataChildByName(FIRST_LEAF);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Decimal64;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+
+public class Utf8JsonWriterTest {
+    private static void emit(final JsonWriter writer, final String str) throws IOException {
+        writer.beginObject();
+        writer.name(str).value(str);
+        writer.name("numbers").beginArray()
+            .value(0L).value(-1L).value(Long.MAX_VALUE).value(Long.MIN_VALUE)
+            .value(Short.valueOf((short) 42))
+            .value(new BigDecimal("1.50"))
+            .value(new BigInteger("18446744073709551615"))
+            .value(1.5)
+            .endArray();
+        writer.name("other").beginArray().value(true).value(false).nullValue().jsonValue("{\"raw\":1}").endArray();
+        writer.name("empty").beginObject().endObject();
+        writer.name("nested").beginObject().name("null").nullValue().name("html").value("<a href='x'>&=</a>")
+            .name("array").beginArray().beginArray().endArray().value("x").endArray().endObject();
+        writer.name("null").value((String) null);
+        writer.endObject();
+        writer.close();
+    }
+
+    private static void assertSameOutput(final String str) throws IOException {
+        assertSameOutput(str, writer -> { });
+    }
+
+    private static void assertSameOutput(final String str, final Consumer<JsonWriter> settings) throws IOException {
+        final StringWriter expected = new StringWriter();
+        final JsonWriter reference = new JsonWriter(expected);
+        settings.accept(reference);
+        emit(reference, str);
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final JsonWriter writer = new Utf8JsonWriter(actual);
+        settings.accept(writer);
+        emit(writer, str);
+        assertEquals(expected.toString(), new String(actual.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testEscaping() throws IOException {
+        assertSameOutput("plain");
+        assertSameOutput("a\"b\\c\n\t\r\b\f\u0001\u001f");
+        assertSameOutput("\u00e9\u4e2d\ud83d\ude00\u2028\u2029");  // e-acute, CJK, emoji, line and paragraph separators
+    }
+
+    @Test
+    public void testLongString() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; ++i) {
+            sb.append(i % 7 == 0 ? "\ud83d\ude00" : "\u00e9x\"");  // emoji or e-acute
+        }
+        assertSameOutput(sb.toString());
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        assertSameNumbers(0.0, -0.0, 1.0, -42.0, 9999999.0, 1.0E7, -1.0E7, 0.1, 1.5E-7, Double.MAX_VALUE,
+            Double.MIN_VALUE, Integer.valueOf(-7), Uint32.valueOf(0xffffffffL), Uint64.valueOf(0),
+            Uint64.valueOf(Long.MAX_VALUE), Uint64.fromLongBits(-1L), Uint64.valueOf("9223372036854775808"),
+            Decimal64.valueOf("0.0"),
+            Decimal64.valueOf("-1.05"), Decimal64.valueOf("-0.5"), Decimal64.valueOf("3.14159"),
+            Decimal64.valueOf("12345678901234.5678"), Decimal64.valueOf("-0.00000000000000001"),
+            BigInteger.ZERO, BigInteger.valueOf(Long.MIN_VALUE), new BigInteger("9223372036854775808"),
+            new BigDecimal("0"), new BigDecimal("0.00"), new BigDecimal("-12.345"), new BigDecimal("0.000001"),
+            new BigDecimal("0.0000001"), new BigDecimal("1E+3"), new BigDecimal("-9223372036854775808"),
+            new BigDecimal("-0.9223372036854775808"), new BigDecimal("0.000009223372036854775807"),
+            new BigDecimal("123456789012345678901234567890.1"), 1.5F);
+    }
+
+    @Test
+    public void testGrownBufferNotPooled() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; ++i) {
+            sb.append('x');
+        }
+
+        // A member name is encoded in one go, which grows the buffer
+        final Utf8JsonWriter grown = new Utf8JsonWriter(new ByteArrayOutputStream());
+        grown.beginObject().name(sb.toString()).value(1L).endObject().close();
+        assertNull(Utf8JsonWriter.pooledBuffer());
+
+        final Utf8JsonWriter normal = new Utf8JsonWriter(new ByteArrayOutputStream());
+        normal.beginArray().value(sb.toString()).endArray().close();
+        final byte[] pooled = Utf8JsonWriter.pooledBuffer();
+        assertEquals(8192, pooled.length);
+
+        new Utf8JsonWriter(new ByteArrayOutputStream()).value(1L).close();
+        assertSame(pooled, Utf8JsonWriter.pooledBuffer());
+    }
+
+    private static void assertSameNumbers(final Number... numbers) throws IOException {
+        final StringWriter expected = new StringWriter();
+        final JsonWriter reference = new JsonWriter(expected);
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final JsonWriter writer = new Utf8JsonWriter(actual);
+
+        reference.beginArray();
+        writer.beginArray();
+        for (Number number : numbers) {
+            reference.value(number);
+            writer.value(number);
+            if (number instanceof Double) {
+                reference.value(number.doubleValue());
+                writer.value(number.doubleValue());
+            }
+        }
+        reference.endArray().close();
+        writer.endArray().close();
+        assertEquals(expected.toString(), new String(actual.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testIndent() throws IOException {
+        assertSameOutput("indented", writer -> writer.setIndent("  "));
+        assertSameOutput("tabbed", writer -> writer.setIndent("\t"));
+        assertSameOutput("compact", writer -> writer.setIndent(""));
+    }
+
+    @Test
+    public void testSerializeNulls() throws IOException {
+        assertSameOutput("nulls", writer -> writer.setSerializeNulls(false));
+        assertSameOutput("nulls", writer -> {
+            writer.setSerializeNulls(false);
+            writer.setIndent(" ");
+        });
+    }
+
+    @Test
+    public void testHtmlSafe() throws IOException {
+        assertSameOutput("<b>'&'</b>", writer -> writer.setHtmlSafe(true));
+    }
+
+    @Test
+    public void testLenient() throws IOException {
+        final StringWriter expected = new StringWriter();
+        final JsonWriter reference = new JsonWriter(expected);
+        reference.setLenient(true);
+        reference.beginArray().value(Double.NaN).value(Double.valueOf(Double.NEGATIVE_INFINITY)).endArray();
+        reference.value(true);
+        reference.close();
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final JsonWriter writer = new Utf8JsonWriter(actual);
+        writer.setLenient(true);
+        writer.beginArray().value(Double.NaN).value(Double.valueOf(Double.NEGATIVE_INFINITY)).endArray();
+        writer.value(true);
+        writer.close();
+        assertEquals(expected.toString(), new String(actual.toByteArray(), UTF_8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonFiniteStrict() throws IOException {
+        new Utf8JsonWriter(new ByteArrayOutputStream()).beginArray().value(Double.NaN);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMultipleTopLevelStrict() throws IOException {
+        new Utf8JsonWriter(new ByteArrayOutputStream()).value(true).value(false);
+    }
+
+    @Test
+    public void testFactoryIndent() throws IOException {
+        final StringWriter expected = new StringWriter();
+        emit(JsonWriterFactory.createJsonWriter(expected, 4), "factory");
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        emit(JsonWriterFactory.createJsonWriter(actual, 4), "factory");
+        assertEquals(expected.toString(), new String(actual.toByteArray(), UTF_8));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNameOutsideObject() throws IOException {
+        new Utf8JsonWriter(new ByteArrayOutputStream()).beginArray().name("foo");
+    }
+
+    @Test(expected = IOException.class)
+    public void testIncompleteDocument() throws IOException {
+        new Utf8JsonWriter(new ByteArrayOutputStream()).beginArray().close();
+    }
+}
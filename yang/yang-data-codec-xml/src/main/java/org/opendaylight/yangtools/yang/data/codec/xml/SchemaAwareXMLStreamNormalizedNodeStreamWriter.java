@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.Map;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
@@ -28,23 +29,30 @@ import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextProvider;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 
 final class SchemaAwareXMLStreamNormalizedNodeStreamWriter extends XMLStreamNormalizedNodeStreamWriter<SchemaNode>
         implements SchemaContextProvider {
     private final SchemaTracker tracker;
     private final SchemaAwareXMLStreamWriterUtils streamUtils;
+    private final @Nullable Utf8XMLStreamWriter utf8Writer;
 
     SchemaAwareXMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer, final SchemaContext context,
             final SchemaTracker tracker) {
-        super(writer);
+        super(writer, context);
         this.tracker = requireNonNull(tracker);
         this.streamUtils = new SchemaAwareXMLStreamWriterUtils(context);
+        this.utf8Writer = writer instanceof Utf8XMLStreamWriter ? (Utf8XMLStreamWriter) writer : null;
     }
 
     @Override
     void writeValue(final ValueWriter xmlWriter, final QName qname, final Object value,
             final SchemaNode schemaNode) throws XMLStreamException {
-        streamUtils.writeValue(xmlWriter, schemaNode, value, qname.getModule());
+        if (utf8Writer != null && schemaNode instanceof TypedDataSchemaNode) {
+            utf8Writer.writeValue(streamUtils.getSchemaContext(), (TypedDataSchemaNode) schemaNode, value);
+        } else {
+            streamUtils.writeValue(xmlWriter, schemaNode, value, qname.getModule());
+        }
     }
 
     @Override
@@ -33,7 +33,7 @@ final class SchemalessXMLStreamNormalizedNodeStreamWriter extends XMLStreamNorma
     private final Deque<ContainerType> containerTypeStack = new ArrayDeque<>();
 
     SchemalessXMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer) {
-        super(writer);
+        super(writer, null);
     }
 
     @Override
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.AbstractStringInstanceIdentifierCodec;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.data.util.InstanceIdentifierStringCache;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Instance identifier serializer using prefixes assigned by {@link XmlElementNames}. Since the prefixes do not depend
+ * on the document being written, serialization results are cached.
+ */
+final class StablePrefixInstanceIdentifierSerializer extends AbstractStringInstanceIdentifierCodec {
+    private final @NonNull DataSchemaContextTree schemaTree;
+    private final @NonNull XmlElementNames names;
+
+    StablePrefixInstanceIdentifierSerializer(final @NonNull SchemaContext schemaContext,
+            final @NonNull XmlElementNames names) {
+        super(InstanceIdentifierStringCache.serializationOnly(InstanceIdentifierStringCache.DEFAULT_MAXIMUM_SIZE));
+        this.schemaTree = DataSchemaContextTree.from(schemaContext);
+        this.names = requireNonNull(names);
+    }
+
+    @Override
+    protected String prefixForNamespace(final URI namespace) {
+        final XmlElementNames.Namespace mapped = names.lookupNamespace(namespace);
+        return mapped == null ? null : mapped.prefix;
+    }
+
+    @Override
+    protected QName createQName(final String prefix, final String localName) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    @Override
+    protected DataSchemaContextTree getDataContextTree() {
+        return schemaTree;
+    }
+}
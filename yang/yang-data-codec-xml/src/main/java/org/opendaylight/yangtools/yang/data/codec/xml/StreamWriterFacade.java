@@ -20,7 +20,9 @@ import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,13 +37,28 @@ final class StreamWriterFacade extends ValueWriter {
     private final XMLStreamWriter writer;
     private final RandomPrefix prefixes;
 
+    // Set when writer is a Utf8XMLStreamWriter and we know the SchemaContext, enabling cached element names
+    private final @Nullable Utf8XMLStreamWriter utf8Writer;
+    private final @Nullable SchemaContext schemaContext;
+
     // QName of an element we delayed emitting. This only happens if it is a naked element, without any attributes,
     // namespace declarations or value.
     private QName openElement;
 
     StreamWriterFacade(final XMLStreamWriter writer) {
+        this(writer, null);
+    }
+
+    StreamWriterFacade(final XMLStreamWriter writer, final @Nullable SchemaContext schemaContext) {
         this.writer = requireNonNull(writer);
         prefixes = new RandomPrefix(writer.getNamespaceContext());
+        if (schemaContext != null && writer instanceof Utf8XMLStreamWriter) {
+            this.utf8Writer = (Utf8XMLStreamWriter) writer;
+            this.schemaContext = schemaContext;
+        } else {
+            this.utf8Writer = null;
+            this.schemaContext = null;
+        }
     }
 
     @Override
@@ -86,6 +103,12 @@ final class StreamWriterFacade extends ValueWriter {
     }
 
     void writeStartElement(final QName qname) throws XMLStreamException {
+        if (utf8Writer != null) {
+            // Empty elements and default namespace reuse are handled by the writer itself
+            utf8Writer.writeStartElement(schemaContext, qname);
+            return;
+        }
+
         flushElement();
 
         final String ns = qname.getNamespace().toString();
@@ -0,0 +1,783 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.Utf8Encoding;
+import org.opendaylight.yangtools.util.Utf8Encoding.Escaper;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlElementNames.Element;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlElementNames.Namespace;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A non-repairing {@link XMLStreamWriter} which emits UTF-8 encoded XML directly into an {@link OutputStream}, without
+ * going through a character-based writer. When used with {@link XMLStreamNormalizedNodeStreamWriter} created for a
+ * {@link SchemaContext}, element names and namespace declarations are emitted from a per-SchemaContext cache of their
+ * encoded form and leaf values are encoded through {@link XmlCodecFactory} codecs. Identityref and
+ * instance-identifier values use namespace prefixes derived from module prefixes, which are stable across documents.
+ *
+ * <p>
+ * This writer does not support indentation or encodings other than UTF-8. Characters which cannot appear in XML 1.0
+ * are emitted as character references. Output buffers are pooled on a per-thread basis and are returned to the pool
+ * when the writer is closed. As per {@link XMLStreamWriter#close()} contract, closing this writer does not close the
+ * underlying stream.
+ */
+@Beta
+public final class Utf8XMLStreamWriter implements XMLStreamWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(Utf8XMLStreamWriter.class);
+    private static final int BUFFER_SIZE = 8192;
+    // Worst-case expansion of a single char: &quot; or &#x1F;
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
+    private static final byte[] XML_DECLARATION = encodeText("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    private static final byte[] EMPTY_END = { '/', '>' };
+    private static final Escaper TEXT_ESCAPER = (ch, bytes, offset) -> escape(ch, false, bytes, offset);
+    private static final Escaper ATTRIBUTE_ESCAPER = (ch, bytes, offset) -> escape(ch, true, bytes, offset);
+
+    private static final int NO_TAG = 0;
+    private static final int START_TAG = 1;
+    private static final int EMPTY_TAG = 2;
+
+    private final NamespaceContext namespaceContext = new NamespaceContext() {
+        @Override
+        public String getNamespaceURI(final String prefix) {
+            requireNonNull(prefix);
+            final String uri = lookupNamespace(prefix);
+            return uri != null ? uri : XMLConstants.NULL_NS_URI;
+        }
+
+        @Override
+        public String getPrefix(final String namespaceURI) {
+            return lookupPrefix(namespaceURI);
+        }
+
+        @Override
+        public Iterator<String> getPrefixes(final String namespaceURI) {
+            final List<String> ret = new ArrayList<>(1);
+            for (int i = bindingCount - 1; i >= 0; --i) {
+                final String prefix = bindingPrefixes[i];
+                if (namespaceURI.equals(bindingUris[i]) && !ret.contains(prefix)
+                        && namespaceURI.equals(lookupNamespace(prefix))) {
+                    ret.add(prefix);
+                }
+            }
+            return ret.iterator();
+        }
+    };
+
+    private final OutputStream out;
+
+    // Namespace bindings, scoped by element depth
+    private String[] bindingPrefixes = new String[16];
+    private String[] bindingUris = new String[16];
+    private int bindingCount;
+
+    // Per-depth state: end tag and start of namespace bindings
+    private byte[][] endTags = new byte[32][];
+    private int[] scopeStarts = new int[32];
+    private int depth;
+
+    private @Nullable NamespaceContext rootContext;
+    private int openTag = NO_TAG;
+    private boolean closed;
+    private byte[] buf;
+    private int pos;
+
+    // Last-used element names cache, so we do not have to look it up on each invocation
+    private XmlElementNames elementNames;
+
+    /**
+     * Create a new writer emitting into specified {@link OutputStream}.
+     *
+     * @param out Output stream
+     * @throws NullPointerException if {@code out} is null
+     */
+    public Utf8XMLStreamWriter(final OutputStream out) {
+        this.out = requireNonNull(out);
+
+        final byte[] pooled = BUFFERS.get();
+        if (pooled != null) {
+            BUFFERS.set(null);
+            buf = pooled;
+        } else {
+            buf = new byte[BUFFER_SIZE];
+        }
+    }
+
+    @Override
+    public void writeStartElement(final String localName) throws XMLStreamException {
+        startElement(null, localName, START_TAG);
+    }
+
+    @Override
+    public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+        startElement(boundPrefix(namespaceURI), localName, START_TAG);
+    }
+
+    @Override
+    public void writeStartElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+        requireNonNull(namespaceURI);
+        startElement(prefix, localName, START_TAG);
+    }
+
+    /**
+     * Start an element corresponding to a {@link QName}, using cached encoded form. The element is placed into its
+     * namespace through a default namespace declaration, unless its namespace is already the default namespace.
+     *
+     * @param schemaContext Schema context
+     * @param qname Element name
+     * @throws XMLStreamException if this writer is closed or an I/O error occurs
+     */
+    void writeStartElement(final SchemaContext schemaContext, final QName qname) throws XMLStreamException {
+        final Element element = elementNames(schemaContext).element(qname);
+        closeOpenTag();
+
+        final Namespace namespace = element.namespace;
+        final boolean declare = !namespace.uri.equals(lookupNamespace(XMLConstants.DEFAULT_NS_PREFIX));
+        writeBytes(element.start);
+        pushScope(element.end);
+        openTag = START_TAG;
+        if (declare) {
+            writeBytes(namespace.defaultDeclaration);
+            bind(XMLConstants.DEFAULT_NS_PREFIX, namespace.uri);
+        }
+    }
+
+    @Override
+    public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+        startElement(boundPrefix(namespaceURI), localName, EMPTY_TAG);
+    }
+
+    @Override
+    public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+        requireNonNull(namespaceURI);
+        startElement(prefix, localName, EMPTY_TAG);
+    }
+
+    @Override
+    public void writeEmptyElement(final String localName) throws XMLStreamException {
+        startElement(null, localName, EMPTY_TAG);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        closeEmptyTag();
+        if (depth == 0) {
+            throw new XMLStreamException("No element is open");
+        }
+
+        if (openTag == START_TAG) {
+            openTag = NO_TAG;
+            writeBytes(EMPTY_END);
+        } else {
+            writeBytes(endTags[depth]);
+        }
+        popScope();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        while (depth != 0 || openTag != NO_TAG) {
+            if (openTag == EMPTY_TAG) {
+                closeEmptyTag();
+            } else {
+                writeEndElement();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            closeEmptyTag();
+            flushBuffer();
+        } finally {
+            closed = true;
+            // Do not retain buffers which have grown
+            if (buf.length == BUFFER_SIZE) {
+                BUFFERS.set(buf);
+            }
+            buf = null;
+        }
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        checkNotClosed();
+        flushBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new XMLStreamException("Failed to flush output", e);
+        }
+    }
+
+    @Override
+    public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+        checkAttributeAllowed();
+        writeAttributeName(null, localName);
+        writeAttributeValue(value);
+    }
+
+    @Override
+    public void writeAttribute(final String prefix, final String namespaceURI, final String localName,
+            final String value) throws XMLStreamException {
+        checkAttributeAllowed();
+        writeAttributeName(prefix, localName);
+        writeAttributeValue(value);
+    }
+
+    @Override
+    public void writeAttribute(final String namespaceURI, final String localName, final String value)
+            throws XMLStreamException {
+        writeAttribute(boundPrefix(namespaceURI), namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+        if (prefix == null || prefix.isEmpty() || XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+            writeDefaultNamespace(namespaceURI);
+            return;
+        }
+
+        checkAttributeAllowed();
+        writeAttributeName(XMLConstants.XMLNS_ATTRIBUTE, prefix);
+        writeAttributeValue(namespaceURI);
+        bind(prefix, namespaceURI);
+    }
+
+    @Override
+    public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+        checkAttributeAllowed();
+        writeAttributeName(null, XMLConstants.XMLNS_ATTRIBUTE);
+        writeAttributeValue(namespaceURI);
+        bind(XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+    }
+
+    @Override
+    public void writeComment(final String data) throws XMLStreamException {
+        closeOpenTag();
+        writeRaw("<!--");
+        writeRaw(data);
+        writeRaw("-->");
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target) throws XMLStreamException {
+        closeOpenTag();
+        writeRaw("<?");
+        writeRaw(target);
+        writeRaw("?>");
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+        closeOpenTag();
+        writeRaw("<?");
+        writeRaw(target);
+        writeByte(' ');
+        writeRaw(data);
+        writeRaw("?>");
+    }
+
+    @Override
+    public void writeCData(final String data) throws XMLStreamException {
+        closeOpenTag();
+        writeRaw("<![CDATA[");
+        // Split any occurrences of the terminating sequence
+        writeRaw(data.replace("]]>", "]]]]><![CDATA[>"));
+        writeRaw("]]>");
+    }
+
+    @Override
+    public void writeDTD(final String dtd) throws XMLStreamException {
+        closeOpenTag();
+        writeRaw(dtd);
+    }
+
+    @Override
+    public void writeEntityRef(final String name) throws XMLStreamException {
+        closeOpenTag();
+        writeByte('&');
+        writeRaw(name);
+        writeByte(';');
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        checkNotClosed();
+        writeBytes(XML_DECLARATION);
+    }
+
+    @Override
+    public void writeStartDocument(final String version) throws XMLStreamException {
+        writeStartDocument(UTF_8.name(), version);
+    }
+
+    @Override
+    public void writeStartDocument(final String encoding, final String version) throws XMLStreamException {
+        if (!UTF_8.name().equalsIgnoreCase(encoding)) {
+            throw new XMLStreamException("Unsupported encoding " + encoding);
+        }
+        checkNotClosed();
+        writeRaw("<?xml version=\"");
+        writeRaw(version);
+        writeRaw("\" encoding=\"UTF-8\"?>");
+    }
+
+    @Override
+    public void writeCharacters(final String text) throws XMLStreamException {
+        closeOpenTag();
+        writeEncoded(text, TEXT_ESCAPER, MAX_CHAR_BYTES);
+    }
+
+    @Override
+    public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public String getPrefix(final String uri) {
+        return lookupPrefix(uri);
+    }
+
+    @Override
+    public void setPrefix(final String prefix, final String uri) {
+        bind(requireNonNull(prefix), requireNonNull(uri));
+    }
+
+    @Override
+    public void setDefaultNamespace(final String uri) {
+        bind(XMLConstants.DEFAULT_NS_PREFIX, requireNonNull(uri));
+    }
+
+    @Override
+    public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+        if (depth != 0 || openTag != NO_TAG) {
+            throw new XMLStreamException("Namespace context can only be set before the first element");
+        }
+        rootContext = requireNonNull(context);
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return namespaceContext;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        if (XMLOutputFactory.IS_REPAIRING_NAMESPACES.equals(name)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+
+    /**
+     * Write the value of a leaf or a leaf-list entry, as encoded by its {@link XmlCodec}. This method assumes the
+     * element has been started by the caller and no content has been written to it, yet.
+     *
+     * @param schemaContext Schema context
+     * @param schema Leaf or leaf-list schema node
+     * @param value Value to write
+     * @throws XMLStreamException if an encoding problem occurs
+     */
+    void writeValue(final SchemaContext schemaContext, final TypedDataSchemaNode schema, final Object value)
+            throws XMLStreamException {
+        final XmlElementNames names = elementNames(schemaContext);
+        final XmlCodec<?> codec = names.getCodecFactory().codecFor(schema);
+        if (codec instanceof NumberXmlCodec && isIntegral(value)) {
+            closeOpenTag();
+            writeLong(((Number) value).longValue());
+        } else if (codec instanceof IdentityrefXmlCodec && value instanceof QName) {
+            writeIdentityref(names, (QName) value);
+        } else if (codec instanceof XmlStringInstanceIdentifierCodec && value instanceof YangInstanceIdentifier) {
+            writeInstanceIdentifier(names, (YangInstanceIdentifier) value);
+        } else {
+            @SuppressWarnings("unchecked")
+            final XmlCodec<Object> objCodec = (XmlCodec<Object>) codec;
+            try {
+                objCodec.writeValue(this, value);
+            } catch (ClassCastException e) {
+                LOG.warn("Provided node value {} did not have type {} required by mapping. Using stream instead.",
+                    value, schema.getType(), e);
+                writeCharacters(value.toString());
+            }
+        }
+    }
+
+    /**
+     * Encode a string without escaping. This is used for element names, which cannot contain characters which would
+     * need escaping.
+     *
+     * @param str String to encode
+     * @return Encoded bytes
+     */
+    static byte[] encodeText(final String str) {
+        return str.getBytes(UTF_8);
+    }
+
+    /**
+     * Encode an attribute, including the leading space, the equals sign and quotes around the value.
+     *
+     * @param name Attribute name
+     * @param value Attribute value
+     * @return Encoded attribute
+     */
+    static byte[] encodeAttribute(final String name, final String value) {
+        final byte[] nameBytes = encodeText(name);
+        final byte[] bytes = new byte[nameBytes.length + value.length() * MAX_CHAR_BYTES + 4];
+        int off = 0;
+        bytes[off++] = ' ';
+        System.arraycopy(nameBytes, 0, bytes, off, nameBytes.length);
+        off += nameBytes.length;
+        bytes[off++] = '=';
+        bytes[off++] = '"';
+        off = Utf8Encoding.encode(value, 0, value.length(), ATTRIBUTE_ESCAPER, bytes, off);
+        bytes[off++] = '"';
+        return Arrays.copyOf(bytes, off);
+    }
+
+    private XmlElementNames elementNames(final SchemaContext schemaContext) {
+        XmlElementNames names = elementNames;
+        if (names == null || names.getSchemaContext() != schemaContext) {
+            names = XmlElementNames.forSchemaContext(schemaContext);
+            elementNames = names;
+        }
+        return names;
+    }
+
+    private void writeIdentityref(final XmlElementNames names, final QName value) throws XMLStreamException {
+        final String ns = value.getNamespace().toString();
+        if (ns.equals(lookupNamespace(XMLConstants.DEFAULT_NS_PREFIX))) {
+            writeCharacters(value.getLocalName());
+            return;
+        }
+
+        final Namespace namespace = names.lookupNamespace(value.getNamespace());
+        if (namespace == null) {
+            throw new XMLStreamException("Identity " + value + " does not belong to any known module");
+        }
+        declareNamespace(namespace);
+        closeOpenTag();
+        writeBytes(namespace.prefixBytes);
+        writeByte(':');
+        writeEncoded(value.getLocalName(), TEXT_ESCAPER, MAX_CHAR_BYTES);
+    }
+
+    private void writeInstanceIdentifier(final XmlElementNames names, final YangInstanceIdentifier value)
+            throws XMLStreamException {
+        final String str = names.getInstanceIdentifierSerializer().serialize(value);
+        for (PathArgument arg : value.getPathArguments()) {
+            if (arg instanceof AugmentationIdentifier) {
+                // Not present in the string representation
+                continue;
+            }
+            declareNamespace(names, arg.getNodeType());
+            if (arg instanceof NodeIdentifierWithPredicates) {
+                for (QName key : ((NodeIdentifierWithPredicates) arg).getKeyValues().keySet()) {
+                    declareNamespace(names, key);
+                }
+            }
+        }
+        writeCharacters(str);
+    }
+
+    private void declareNamespace(final XmlElementNames names, final QName qname) throws XMLStreamException {
+        final Namespace namespace = names.lookupNamespace(qname.getNamespace());
+        if (namespace == null) {
+            throw new XMLStreamException("Node " + qname + " does not belong to any known module");
+        }
+        declareNamespace(namespace);
+    }
+
+    private void declareNamespace(final Namespace namespace) throws XMLStreamException {
+        final String bound = lookupNamespace(namespace.prefix);
+        if (namespace.uri.equals(bound)) {
+            return;
+        }
+        if (openTag != START_TAG) {
+            throw new XMLStreamException("Cannot declare prefix " + namespace.prefix + " outside of a start tag");
+        }
+        for (int i = scopeStarts[depth]; i < bindingCount; ++i) {
+            if (namespace.prefix.equals(bindingPrefixes[i])) {
+                throw new XMLStreamException("Prefix " + namespace.prefix + " is already bound to "
+                        + bindingUris[i]);
+            }
+        }
+
+        writeBytes(namespace.prefixDeclaration);
+        bind(namespace.prefix, namespace.uri);
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private void startElement(final @Nullable String prefix, final String localName, final int tagType)
+            throws XMLStreamException {
+        closeOpenTag();
+        final String name = prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+        writeByte('<');
+        writeRaw(name);
+        pushScope(tagType == START_TAG ? encodeText("</" + name + '>') : null);
+        openTag = tagType;
+    }
+
+    private void writeAttributeName(final @Nullable String prefix, final String localName) throws XMLStreamException {
+        writeByte(' ');
+        if (prefix != null && !prefix.isEmpty()) {
+            writeRaw(prefix);
+            writeByte(':');
+        }
+        writeRaw(localName);
+        writeByte('=');
+        writeByte('"');
+    }
+
+    private void writeAttributeValue(final String value) throws XMLStreamException {
+        writeEncoded(value, ATTRIBUTE_ESCAPER, MAX_CHAR_BYTES);
+        writeByte('"');
+    }
+
+    private String boundPrefix(final String namespaceURI) throws XMLStreamException {
+        final String prefix = lookupPrefix(requireNonNull(namespaceURI));
+        if (prefix == null) {
+            throw new XMLStreamException("Namespace " + namespaceURI + " is not bound to a prefix");
+        }
+        return prefix;
+    }
+
+    private @Nullable String lookupNamespace(final String prefix) {
+        for (int i = bindingCount - 1; i >= 0; --i) {
+            if (prefix.equals(bindingPrefixes[i])) {
+                return bindingUris[i];
+            }
+        }
+        switch (prefix) {
+            case XMLConstants.XML_NS_PREFIX:
+                return XMLConstants.XML_NS_URI;
+            case XMLConstants.XMLNS_ATTRIBUTE:
+                return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            default:
+                final NamespaceContext context = rootContext;
+                return context != null ? context.getNamespaceURI(prefix) : null;
+        }
+    }
+
+    private @Nullable String lookupPrefix(final String uri) {
+        for (int i = bindingCount - 1; i >= 0; --i) {
+            if (uri.equals(bindingUris[i])) {
+                // Make sure the prefix has not been re-bound in an inner scope
+                final String prefix = bindingPrefixes[i];
+                if (uri.equals(lookupNamespace(prefix))) {
+                    return prefix;
+                }
+            }
+        }
+        final NamespaceContext context = rootContext;
+        return context != null ? context.getPrefix(uri) : null;
+    }
+
+    private void bind(final String prefix, final String uri) {
+        if (bindingCount == bindingPrefixes.length) {
+            bindingPrefixes = Arrays.copyOf(bindingPrefixes, bindingCount * 2);
+            bindingUris = Arrays.copyOf(bindingUris, bindingCount * 2);
+        }
+        bindingPrefixes[bindingCount] = prefix;
+        bindingUris[bindingCount] = uri;
+        bindingCount++;
+    }
+
+    private void pushScope(final byte[] endTag) {
+        depth++;
+        if (depth == endTags.length) {
+            endTags = Arrays.copyOf(endTags, depth * 2);
+            scopeStarts = Arrays.copyOf(scopeStarts, depth * 2);
+        }
+        endTags[depth] = endTag;
+        scopeStarts[depth] = bindingCount;
+    }
+
+    private void popScope() {
+        Arrays.fill(bindingPrefixes, scopeStarts[depth], bindingCount, null);
+        Arrays.fill(bindingUris, scopeStarts[depth], bindingCount, null);
+        bindingCount = scopeStarts[depth];
+        endTags[depth] = null;
+        depth--;
+    }
+
+    private void checkAttributeAllowed() throws XMLStreamException {
+        if (openTag == NO_TAG) {
+            throw new XMLStreamException("Attributes can only be written in a start tag");
+        }
+    }
+
+    private void checkNotClosed() throws XMLStreamException {
+        if (closed) {
+            throw new XMLStreamException("Writer has been closed");
+        }
+    }
+
+    private void closeOpenTag() throws XMLStreamException {
+        switch (openTag) {
+            case START_TAG:
+                openTag = NO_TAG;
+                writeByte('>');
+                break;
+            case EMPTY_TAG:
+                closeEmptyTag();
+                break;
+            default:
+                checkNotClosed();
+        }
+    }
+
+    private void closeEmptyTag() throws XMLStreamException {
+        if (openTag == EMPTY_TAG) {
+            openTag = NO_TAG;
+            writeBytes(EMPTY_END);
+            popScope();
+        }
+    }
+
+    private void writeEncoded(final String str, final Escaper escaper, final int maxCharBytes)
+            throws XMLStreamException {
+        final int chunk = buf.length / maxCharBytes;
+        final int length = str.length();
+        int start = 0;
+        while (start < length) {
+            final int end = Utf8Encoding.chunkEnd(str, start, chunk);
+            ensureCapacity((end - start) * maxCharBytes);
+            pos = Utf8Encoding.encode(str, start, end, escaper, buf, pos);
+            start = end;
+        }
+    }
+
+    private static int escape(final char ch, final boolean attribute, final byte[] bytes, final int offset) {
+        switch (ch) {
+            case '&':
+                return writeAscii("&amp;", bytes, offset);
+            case '<':
+                return writeAscii("&lt;", bytes, offset);
+            case '>':
+                return writeAscii("&gt;", bytes, offset);
+            case '"':
+                return attribute ? writeAscii("&quot;", bytes, offset) : -1;
+            case '\t':
+            case '\n':
+                return attribute ? writeCharRef(ch, bytes, offset) : -1;
+            default:
+                return ch < 0x20 || ch == 0x7F ? writeCharRef(ch, bytes, offset) : -1;
+        }
+    }
+
+    private static int writeAscii(final String str, final byte[] bytes, final int offset) {
+        int off = offset;
+        for (int i = 0; i < str.length(); ++i) {
+            bytes[off++] = (byte) str.charAt(i);
+        }
+        return off;
+    }
+
+    private static int writeCharRef(final char ch, final byte[] bytes, final int offset) {
+        int off = offset;
+        bytes[off++] = '&';
+        bytes[off++] = '#';
+        bytes[off++] = 'x';
+        if (ch >= 0x10) {
+            bytes[off++] = HEX[ch >> 4 & 0xF];
+        }
+        bytes[off++] = HEX[ch & 0xF];
+        bytes[off++] = ';';
+        return off;
+    }
+
+    private void writeRaw(final String str) throws XMLStreamException {
+        writeEncoded(str, Utf8Encoding.NO_ESCAPE, Utf8Encoding.MAX_CHAR_BYTES);
+    }
+
+    private void writeLong(final long value) throws XMLStreamException {
+        ensureCapacity(Utf8Encoding.MAX_LONG_BYTES);
+        pos = Utf8Encoding.encodeLong(value, buf, pos);
+    }
+
+    private void writeByte(final char ch) throws XMLStreamException {
+        ensureCapacity(1);
+        buf[pos++] = (byte) ch;
+    }
+
+    private void writeBytes(final byte[] bytes) throws XMLStreamException {
+        checkNotClosed();
+        if (bytes.length > buf.length - pos) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                try {
+                    out.write(bytes);
+                } catch (IOException e) {
+                    throw new XMLStreamException("Failed to write output", e);
+                }
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void ensureCapacity(final int needed) throws XMLStreamException {
+        checkNotClosed();
+        if (needed > buf.length - pos) {
+            flushBuffer();
+            if (needed > buf.length) {
+                buf = new byte[needed];
+            }
+        }
+    }
+
+    private void flushBuffer() throws XMLStreamException {
+        if (pos != 0) {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new XMLStreamException("Failed to write output", e);
+            }
+            pos = 0;
+        }
+    }
+}
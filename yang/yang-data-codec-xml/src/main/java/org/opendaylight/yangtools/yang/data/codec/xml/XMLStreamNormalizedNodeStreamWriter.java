@@ -42,14 +42,18 @@ import org.w3c.dom.Node;
  * SchemaContext and encodes values appropriately according to the yang schema. The other is
  * schema-less and merely outputs values using toString. The latter is intended for debugging
  * where doesn't have a SchemaContext available and isn't meant for production use.
+ *
+ * <p>
+ * Schema-aware writers targeting a {@link Utf8XMLStreamWriter} emit element names from a per-SchemaContext cache of
+ * their encoded form and encode leaf values directly into the output buffer.
  */
 public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements NormalizedNodeStreamAttributeWriter {
     private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
 
     private final @NonNull StreamWriterFacade facade;
 
-    XMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer) {
-        facade = new StreamWriterFacade(writer);
+    XMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer, final @Nullable SchemaContext context) {
+        facade = new StreamWriterFacade(writer, context);
     }
 
     /**
@@ -9,7 +9,14 @@
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
 import com.google.common.annotations.Beta;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
@@ -19,7 +26,10 @@ import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
+import org.opendaylight.yangtools.yang.data.util.InstanceIdentifierStringCache;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
+import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
+import org.opendaylight.yangtools.yang.data.util.codec.CodecPrecomputation;
 import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
@@ -45,9 +55,16 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
 @Beta
 @ThreadSafe
 public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
+    // Prefixes are resolved through a NamespaceContext during parsing, hence only serialization can be cached
+    private final InstanceIdentifierStringCache iidCache = InstanceIdentifierStringCache.serializationOnly(
+        InstanceIdentifierStringCache.DEFAULT_MAXIMUM_SIZE);
 
-    private XmlCodecFactory(final SchemaContext context) {
-        super(context, new SharedCodecCache<>());
+    // Weak keys to retire the entry when SchemaContext goes away and to force identity-based lookup
+    private static final Cache<SchemaContext, XmlCodecFactory> PRECOMPUTED = CacheBuilder.newBuilder().weakKeys()
+            .build();
+
+    private XmlCodecFactory(final SchemaContext context, final CodecCache<XmlCodec<?>> cache) {
+        super(context, cache);
     }
 
     /**
@@ -57,7 +74,67 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
      * @return A codec factory instance.
      */
     public static XmlCodecFactory create(final SchemaContext context) {
-        return new XmlCodecFactory(context);
+        return new XmlCodecFactory(context, new SharedCodecCache<>());
+    }
+
+    /**
+     * Start precomputing a codec factory for a SchemaContext in the background, using as many tasks as there are
+     * available processors. See {@link #precompute(SchemaContext, Executor, int)} for details.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @param executor Executor on which to run precomputation tasks
+     * @return A future completing with precomputation statistics once the factory is available
+     * @throws NullPointerException if any argument is null
+     */
+    @Beta
+    public static ListenableFuture<CodecPrecomputation<XmlCodec<?>>> precompute(final SchemaContext context,
+            final Executor executor) {
+        return precompute(context, executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Start precomputing a codec factory for a SchemaContext in the background. This method is intended to be invoked
+     * when a new SchemaContext is activated, so that the cost of creating codecs is not paid by the first requests
+     * using it.
+     *
+     * <p>
+     * Codecs are built in parallel by up to {@code parallelism} tasks submitted to specified executor. Once all of them
+     * complete, the resulting factory is atomically published, so that it is returned by
+     * {@link #getPrecomputedIfAvailable(SchemaContext)} and used by {@link XmlParserStream} and
+     * {@link Utf8XMLStreamWriter} when they are not handed an explicit factory. Codecs for schema nodes which are not
+     * reachable from the SchemaContext are created on demand, just as with {@link #create(SchemaContext)}.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @param executor Executor on which to run precomputation tasks
+     * @param parallelism Maximum number of tasks to submit
+     * @return A future completing with precomputation statistics once the factory is available
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    @Beta
+    public static ListenableFuture<CodecPrecomputation<XmlCodec<?>>> precompute(final SchemaContext context,
+            final Executor executor, final int parallelism) {
+        return Futures.transform(CodecPrecomputation.<XmlCodec<?>>compute(context,
+            cache -> new XmlCodecFactory(context, cache), executor, parallelism), result -> {
+                final XmlCodecFactory factory = new XmlCodecFactory(context, result.getCache().withSharedFallback());
+                if (PRECOMPUTED.asMap().putIfAbsent(context, factory) == null) {
+                    XmlElementNames.precomputedFactoryAvailable(factory);
+                }
+                return result;
+            }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Return the codec factory precomputed for a SchemaContext by {@link #precompute(SchemaContext, Executor)}, if
+     * it is available.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A precomputed codec factory, or empty if it is not available
+     * @throws NullPointerException if context is null
+     */
+    @Beta
+    public static Optional<XmlCodecFactory> getPrecomputedIfAvailable(final SchemaContext context) {
+        return Optional.ofNullable(PRECOMPUTED.getIfPresent(context));
     }
 
     @Override
@@ -90,9 +167,19 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
         return new IdentityrefXmlCodec(getSchemaContext(), module);
     }
 
+    /**
+     * Return the cache used by this factory's instance-identifier codecs. The cache can be used to inspect its
+     * hit/miss statistics.
+     *
+     * @return Instance-identifier string cache
+     */
+    public InstanceIdentifierStringCache getInstanceIdentifierCache() {
+        return iidCache;
+    }
+
     @Override
     protected XmlCodec<?> instanceIdentifierCodec(final InstanceIdentifierTypeDefinition type) {
-        return new XmlStringInstanceIdentifierCodec(getSchemaContext(), this);
+        return new XmlStringInstanceIdentifierCodec(getSchemaContext(), this, iidCache);
     }
 
     @Override
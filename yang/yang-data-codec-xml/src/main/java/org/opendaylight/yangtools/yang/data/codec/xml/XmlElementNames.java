@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Cache of XML element names and namespace declarations, pre-encoded into their UTF-8 representation, as emitted by
+ * {@link Utf8XMLStreamWriter}. There is one instance for each {@link SchemaContext}, which also holds a stable
+ * namespace-to-prefix mapping used when encoding identityref and instance-identifier values.
+ */
+final class XmlElementNames {
+    /**
+     * A namespace along with its stable prefix and encoded declarations.
+     */
+    static final class Namespace {
+        final String uri;
+        final String prefix;
+        final byte[] prefixBytes;
+        final byte[] defaultDeclaration;
+        final byte[] prefixDeclaration;
+
+        Namespace(final String uri, final String prefix) {
+            this.uri = requireNonNull(uri);
+            this.prefix = requireNonNull(prefix);
+            prefixBytes = Utf8XMLStreamWriter.encodeText(prefix);
+            defaultDeclaration = Utf8XMLStreamWriter.encodeAttribute("xmlns", uri);
+            prefixDeclaration = Utf8XMLStreamWriter.encodeAttribute("xmlns:" + prefix, uri);
+        }
+    }
+
+    /**
+     * An element name, with its encoded start and end tags.
+     */
+    static final class Element {
+        final Namespace namespace;
+        // "<name"
+        final byte[] start;
+        // "</name>"
+        final byte[] end;
+
+        Element(final Namespace namespace, final String localName) {
+            this.namespace = requireNonNull(namespace);
+            start = Utf8XMLStreamWriter.encodeText('<' + localName);
+            end = Utf8XMLStreamWriter.encodeText("</" + localName + '>');
+        }
+    }
+
+    private static final LoadingCache<SchemaContext, XmlElementNames> CACHE = CacheBuilder.newBuilder()
+            .weakKeys().softValues().build(new CacheLoader<SchemaContext, XmlElementNames>() {
+                @Override
+                public XmlElementNames load(final SchemaContext key) {
+                    return new XmlElementNames(key);
+                }
+            });
+
+    private static final Comparator<Module> MODULE_ORDER = Comparator.comparing(Module::getName)
+            .thenComparing(Module::getRevision, Revision::compare);
+
+    private final ConcurrentMap<QName, Element> elements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<URI, Namespace> extraNamespaces = new ConcurrentHashMap<>();
+    private final ImmutableMap<URI, Namespace> namespaces;
+    private final SchemaContext schemaContext;
+    private final StablePrefixInstanceIdentifierSerializer iidSerializer;
+    // Replaced once a precomputed factory becomes available
+    private volatile XmlCodecFactory codecFactory;
+
+    private XmlElementNames(final SchemaContext schemaContext) {
+        this.schemaContext = requireNonNull(schemaContext);
+
+        // Assign prefixes in a well-defined order, so that the mapping does not depend on SchemaContext iteration order
+        final List<Module> modules = new ArrayList<>(schemaContext.getModules());
+        modules.sort(MODULE_ORDER);
+
+        final Map<URI, Namespace> map = new HashMap<>();
+        final Set<String> usedPrefixes = new HashSet<>();
+        for (Module module : modules) {
+            final URI uri = module.getNamespace();
+            if (!map.containsKey(uri)) {
+                final String prefix = uniquePrefix(module.getPrefix(), usedPrefixes);
+                map.put(uri, new Namespace(uri.toString(), prefix));
+            }
+        }
+        namespaces = ImmutableMap.copyOf(map);
+        iidSerializer = new StablePrefixInstanceIdentifierSerializer(schemaContext, this);
+        codecFactory = XmlCodecFactory.getPrecomputedIfAvailable(schemaContext)
+                .orElseGet(() -> XmlCodecFactory.create(schemaContext));
+    }
+
+    static @NonNull XmlElementNames forSchemaContext(final SchemaContext schemaContext) {
+        return CACHE.getUnchecked(schemaContext);
+    }
+
+    static void precomputedFactoryAvailable(final XmlCodecFactory factory) {
+        final XmlElementNames names = CACHE.getIfPresent(factory.getSchemaContext());
+        if (names != null) {
+            names.codecFactory = factory;
+        }
+    }
+
+    SchemaContext getSchemaContext() {
+        return schemaContext;
+    }
+
+    XmlCodecFactory getCodecFactory() {
+        return codecFactory;
+    }
+
+    StablePrefixInstanceIdentifierSerializer getInstanceIdentifierSerializer() {
+        return iidSerializer;
+    }
+
+    /**
+     * Return the stable prefix mapping for a namespace which belongs to a module in this SchemaContext.
+     *
+     * @param namespace Namespace URI
+     * @return Namespace mapping, or null if the namespace is not known
+     */
+    @Nullable Namespace lookupNamespace(final URI namespace) {
+        return namespaces.get(namespace);
+    }
+
+    /**
+     * Return the encoded element for a QName.
+     *
+     * @param qname Namespace/name tuple
+     * @return Encoded element, which must not be modified
+     */
+    @NonNull Element element(final QName qname) {
+        Element element = elements.get(qname);
+        if (element == null) {
+            final Element created = new Element(namespace(qname.getNamespace()), qname.getLocalName());
+            element = elements.putIfAbsent(qname, created);
+            if (element == null) {
+                element = created;
+            }
+        }
+        return element;
+    }
+
+    private Namespace namespace(final URI uri) {
+        final Namespace known = namespaces.get(uri);
+        if (known != null) {
+            return known;
+        }
+
+        // Elements outside of the SchemaContext, such as anydata/anyxml content, only need their default namespace
+        // declaration. The prefix is never used.
+        return extraNamespaces.computeIfAbsent(uri, key -> new Namespace(key.toString(), ""));
+    }
+
+    private static String uniquePrefix(final String modulePrefix, final Set<String> usedPrefixes) {
+        // Prefixes starting with 'xml' are reserved
+        final String base = modulePrefix.toLowerCase(Locale.ROOT).startsWith("xml") ? "p" + modulePrefix
+                : modulePrefix;
+        String prefix = base;
+        for (int i = 2; !usedPrefixes.add(prefix); ++i) {
+            prefix = base + i;
+        }
+        return prefix;
+    }
+}
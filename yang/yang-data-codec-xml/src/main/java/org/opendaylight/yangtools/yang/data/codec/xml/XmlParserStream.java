@@ -164,11 +164,14 @@ public final class XmlParserStream implements Closeable, Flushable {
     /**
      * Utility method for use when caching {@link XmlCodecFactory} is not feasible. Users with high performance
      * requirements should use {@link #create(NormalizedNodeStreamWriter, XmlCodecFactory, SchemaNode)} instead and
-     * maintain a {@link XmlCodecFactory} to match the current {@link SchemaContext}.
+     * maintain a {@link XmlCodecFactory} to match the current {@link SchemaContext}. If a factory has been precomputed
+     * via {@link XmlCodecFactory#precompute(SchemaContext, java.util.concurrent.Executor)}, it is used instead of
+     * a newly-created one.
      */
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
             final SchemaNode parentNode, final boolean strictParsing) {
-        return create(writer, XmlCodecFactory.create(schemaContext), parentNode, strictParsing);
+        return create(writer, XmlCodecFactory.getPrecomputedIfAvailable(schemaContext)
+            .orElseGet(() -> XmlCodecFactory.create(schemaContext)), parentNode, strictParsing);
     }
 
     /**
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class Utf8XMLStreamWriterTest {
+    private static final QName ROOT = QName.create("foo", "root");
+    private static final QName STR = QName.create(ROOT, "str");
+    private static final QName NUM = QName.create(ROOT, "num");
+    private static final QName IDENT = QName.create(ROOT, "ident");
+    private static final QName LOCAL_IDENT = QName.create(ROOT, "local-ident");
+    private static final QName IID = QName.create(ROOT, "iid");
+    private static final QName FLAG = QName.create(ROOT, "flag");
+    private static final QName VALUES = QName.create(ROOT, "values");
+    private static final QName ITEM = QName.create(ROOT, "item");
+    private static final QName NAME = QName.create(ROOT, "name");
+    private static final QName EMPTY_CONT = QName.create(ROOT, "empty-cont");
+    private static final QName BAR_IDENT = QName.create("bar", "bar-ident");
+
+    private static SchemaContext SCHEMA_CONTEXT;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = YangParserTestUtils.parseYangResourceDirectory("/utf8-writer");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Test
+    public void testEvents() throws XMLStreamException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final XMLStreamWriter writer = new Utf8XMLStreamWriter(out);
+        writer.writeStartDocument();
+        writer.writeStartElement("", "a", "urn:a");
+        writer.writeDefaultNamespace("urn:a");
+        writer.writeAttribute("attr", "\"<&>\"\n");
+        writer.writeEmptyElement("b");
+        writer.writeNamespace("p", "urn:p");
+        writer.writeStartElement("p", "c", "urn:p");
+        writer.writeCharacters("x < y && \"z\" é€😀\u0001");
+        writer.writeEndElement();
+        writer.writeComment(" comment ");
+        writer.writeCData("a]]>b");
+        writer.writeStartElement("d");
+        writer.writeEndDocument();
+        writer.close();
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<a xmlns=\"urn:a\" attr=\"&quot;&lt;&amp;&gt;&quot;&#xA;\">"
+            + "<b xmlns:p=\"urn:p\"/><p:c>x &lt; y &amp;&amp; \"z\" é€😀&#x1;</p:c>"
+            + "<!-- comment --><![CDATA[a]]]]><![CDATA[>b]]><d/></a>", new String(out.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testNamespaceScoping() throws XMLStreamException {
+        final XMLStreamWriter writer = new Utf8XMLStreamWriter(new ByteArrayOutputStream());
+        writer.writeStartElement("a");
+        writer.writeNamespace("p", "urn:p");
+        writer.writeStartElement("b");
+        writer.writeNamespace("p", "urn:q");
+        assertEquals("urn:q", writer.getNamespaceContext().getNamespaceURI("p"));
+        assertNull(writer.getPrefix("urn:p"));
+        assertEquals("p", writer.getPrefix("urn:q"));
+        writer.writeEndElement();
+        assertEquals("urn:p", writer.getNamespaceContext().getNamespaceURI("p"));
+        assertEquals("p", writer.getPrefix("urn:p"));
+        writer.writeEndElement();
+        assertEquals(XMLConstants.NULL_NS_URI, writer.getNamespaceContext().getNamespaceURI("p"));
+        writer.close();
+    }
+
+    @Test
+    public void testSchemaAwareRoundTrip() throws Exception {
+        final YangInstanceIdentifier iid = YangInstanceIdentifier.builder().node(ROOT).node(ITEM)
+                .nodeWithKey(ITEM, NAME, "a&b").build();
+        final ContainerNode root = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(STR, "<é€>"))
+                .withChild(ImmutableNodes.leafNode(NUM, -1234567))
+                .withChild(ImmutableNodes.leafNode(IDENT, BAR_IDENT))
+                .withChild(ImmutableNodes.leafNode(LOCAL_IDENT, QName.create(ROOT, "local-ident")))
+                .withChild(ImmutableNodes.leafNode(IID, iid))
+                .withChild(ImmutableNodes.leafNode(FLAG, Empty.getInstance()))
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(VALUES))
+                    .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(VALUES, "v1"))
+                        .withValue("v1").build())
+                    .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(VALUES, "v2"))
+                        .withValue("v2").build())
+                    .build())
+                .withChild(ImmutableNodes.mapNodeBuilder(ITEM).withChild(ImmutableNodes.mapEntry(ITEM, NAME, "a&b"))
+                    .build())
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(EMPTY_CONT)).build())
+                .build();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8XMLStreamWriter xmlWriter = new Utf8XMLStreamWriter(out);
+        try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                XMLStreamNormalizedNodeStreamWriter.create(xmlWriter, SCHEMA_CONTEXT))) {
+            writer.write(root);
+        }
+
+        final String xml = new String(out.toByteArray(), UTF_8);
+        assertTrue(xml, xml.startsWith("<root xmlns=\"foo\">"));
+        assertTrue(xml, xml.contains("<str>&lt;é€&gt;</str>"));
+        assertTrue(xml, xml.contains("<num>-1234567</num>"));
+        assertTrue(xml, xml.contains("<ident xmlns:bar=\"bar\">bar:bar-ident</ident>"));
+        assertTrue(xml, xml.contains("<local-ident>local-ident</local-ident>"));
+        assertTrue(xml, xml.contains("<iid xmlns:foo=\"foo\">/foo:root/foo:item[foo:name='a&amp;b']</iid>"));
+        assertTrue(xml, xml.contains("<flag/>"));
+        assertTrue(xml, xml.contains("<empty-cont/>"));
+        assertTrue(xml, xml.endsWith("</root>"));
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final XmlParserStream xmlParser = XmlParserStream.create(streamWriter, SCHEMA_CONTEXT,
+            (ContainerSchemaNode) SCHEMA_CONTEXT.getDataChildByName(ROOT));
+        xmlParser.parse(UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(out.toByteArray())));
+
+        final NormalizedNode<?, ?> parsed = result.getResult();
+        assertEquals(root, parsed);
+    }
+}
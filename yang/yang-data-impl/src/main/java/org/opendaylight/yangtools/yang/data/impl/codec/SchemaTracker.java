@@ -8,10 +8,8 @@
 package org.opendaylight.yangtools.yang.data.impl.codec;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
-import com.google.common.collect.Iterables;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Collection;
@@ -25,15 +23,12 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
+import org.opendaylight.yangtools.yang.data.util.SchemaNavigationNode;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
-import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
@@ -41,7 +36,6 @@ import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
-import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,11 +46,11 @@ import org.slf4j.LoggerFactory;
 @Beta
 public final class SchemaTracker {
     private static final Logger LOG = LoggerFactory.getLogger(SchemaTracker.class);
-    private final Deque<Object> schemaStack = new ArrayDeque<>();
-    private final DataNodeContainer root;
+    private final Deque<SchemaNavigationNode> schemaStack = new ArrayDeque<>();
+    private final SchemaNavigationNode root;
 
     private SchemaTracker(final DataNodeContainer root) {
-        this.root = requireNonNull(root);
+        this.root = SchemaNavigationNode.forRoot(root);
     }
 
     /**
@@ -103,83 +97,48 @@ public final class SchemaTracker {
     }
 
     public Object getParent() {
-        if (schemaStack.isEmpty()) {
-            return root;
-        }
-        return schemaStack.peek();
+        return current().getSchema();
     }
 
-    private SchemaNode getSchema(final PathArgument name) {
-        final Object parent = getParent();
-        SchemaNode schema = null;
-        final QName qname = name.getNodeType();
-        if (parent instanceof DataNodeContainer) {
-            schema = ((DataNodeContainer)parent).getDataChildByName(qname);
-            if (schema == null) {
-                if (parent instanceof GroupingDefinition) {
-                    schema = (GroupingDefinition) parent;
-                } else if (parent instanceof NotificationDefinition) {
-                    schema = (NotificationDefinition) parent;
-                }
-            }
-        } else if (parent instanceof ChoiceSchemaNode) {
-            schema = findChildInCases((ChoiceSchemaNode) parent, qname);
-        } else {
-            throw new IllegalStateException("Unsupported schema type " + parent.getClass() + " on stack.");
-        }
-
-        checkArgument(schema != null, "Could not find schema for node %s in %s", qname, parent);
-        return schema;
+    private SchemaNavigationNode current() {
+        final SchemaNavigationNode current = schemaStack.peek();
+        return current != null ? current : root;
     }
 
-    private static SchemaNode findChildInCases(final ChoiceSchemaNode parent, final QName qname) {
-        DataSchemaNode schema = null;
-        for (final CaseSchemaNode caze : parent.getCases().values()) {
-            final DataSchemaNode potential = caze.getDataChildByName(qname);
-            if (potential != null) {
-                schema = potential;
-                break;
-            }
-        }
-        return schema;
-    }
-
-    private static SchemaNode findCaseByChild(final ChoiceSchemaNode parent, final QName qname) {
-        DataSchemaNode schema = null;
-        for (final CaseSchemaNode caze : parent.getCases().values()) {
-            final DataSchemaNode potential = caze.getDataChildByName(qname);
-            if (potential != null) {
-                schema = caze;
-                break;
-            }
-        }
-        return schema;
+    private SchemaNavigationNode.Child getChild(final PathArgument name) {
+        final SchemaNavigationNode parent = current();
+        final QName qname = name.getNodeType();
+        final SchemaNavigationNode.Child child = parent.getChild(qname);
+        checkArgument(child != null, "Could not find schema for node %s in %s", qname, parent.getSchema());
+        return child;
     }
 
     public void startList(final PathArgument name) {
-        final SchemaNode schema = getSchema(name);
+        final SchemaNavigationNode.Child child = getChild(name);
+        final SchemaNode schema = child.getSchema();
         checkArgument(schema instanceof ListSchemaNode, "Node %s is not a list", schema.getPath());
-        schemaStack.push(schema);
+        schemaStack.push(child.getNavigation());
     }
 
     public void startListItem(final PathArgument name) throws IOException {
-        final Object schema = getParent();
-        checkArgument(schema instanceof ListSchemaNode, "List item is not appropriate");
-        schemaStack.push(schema);
+        final SchemaNavigationNode current = current();
+        checkArgument(current.getSchema() instanceof ListSchemaNode, "List item is not appropriate");
+        schemaStack.push(current);
     }
 
     public LeafSchemaNode leafNode(final NodeIdentifier name) throws IOException {
-        final SchemaNode schema = getSchema(name);
+        final SchemaNode schema = getChild(name).getSchema();
 
         checkArgument(schema instanceof LeafSchemaNode, "Node %s is not a leaf", schema.getPath());
         return (LeafSchemaNode) schema;
     }
 
     public LeafListSchemaNode startLeafSet(final NodeIdentifier name) {
-        final SchemaNode schema = getSchema(name);
+        final SchemaNavigationNode.Child child = getChild(name);
+        final SchemaNode schema = child.getSchema();
 
         checkArgument(schema instanceof LeafListSchemaNode, "Node %s is not a leaf-list", schema.getPath());
-        schemaStack.push(schema);
+        schemaStack.push(child.getNavigation());
         return (LeafListSchemaNode)schema;
     }
 
@@ -197,63 +156,55 @@ public final class SchemaTracker {
 
     public ChoiceSchemaNode startChoiceNode(final NodeIdentifier name) {
         LOG.debug("Enter choice {}", name);
-        final SchemaNode schema = getSchema(name);
+        final SchemaNavigationNode.Child child = getChild(name);
+        final SchemaNode schema = child.getSchema();
 
         checkArgument(schema instanceof ChoiceSchemaNode, "Node %s is not a choice", schema.getPath());
-        schemaStack.push(schema);
+        schemaStack.push(child.getNavigation());
         return (ChoiceSchemaNode)schema;
     }
 
     public SchemaNode startContainerNode(final NodeIdentifier name) {
         LOG.debug("Enter container {}", name);
-        final SchemaNode schema = getSchema(name);
+        final SchemaNavigationNode.Child child = getChild(name);
+        final SchemaNode schema = child.getSchema();
 
         boolean isAllowed = schema instanceof ContainerSchemaNode;
         isAllowed |= schema instanceof NotificationDefinition;
 
         checkArgument(isAllowed, "Node %s is not a container nor a notification", schema.getPath());
-        schemaStack.push(schema);
+        schemaStack.push(child.getNavigation());
 
         return schema;
     }
 
     public SchemaNode startYangModeledAnyXmlNode(final NodeIdentifier name) {
         LOG.debug("Enter yang modeled anyXml {}", name);
-        final SchemaNode schema = getSchema(name);
+        final SchemaNavigationNode.Child child = getChild(name);
+        final SchemaNode schema = child.getSchema();
 
         checkArgument(schema instanceof YangModeledAnyXmlSchemaNode, "Node %s is not an yang modeled anyXml.",
             schema.getPath());
 
-        schemaStack.push(((YangModeledAnyXmlSchemaNode) schema).getSchemaOfAnyXmlData());
+        schemaStack.push(child.getNavigation());
 
         return schema;
     }
 
     public AugmentationSchemaNode startAugmentationNode(final AugmentationIdentifier identifier) {
         LOG.debug("Enter augmentation {}", identifier);
-        Object parent = getParent();
-
-        checkArgument(parent instanceof AugmentationTarget, "Augmentation not allowed under %s", parent);
-        if (parent instanceof ChoiceSchemaNode) {
-            final QName name = Iterables.get(identifier.getPossibleChildNames(), 0);
-            parent = findCaseByChild((ChoiceSchemaNode) parent, name);
-        }
-        checkArgument(parent instanceof DataNodeContainer, "Augmentation allowed only in DataNodeContainer", parent);
-        final AugmentationSchemaNode schema = SchemaUtils.findSchemaForAugment((AugmentationTarget) parent,
-            identifier.getPossibleChildNames());
-        final AugmentationSchemaNode resolvedSchema = EffectiveAugmentationSchema.create(schema,
-            (DataNodeContainer) parent);
-        schemaStack.push(resolvedSchema);
-        return resolvedSchema;
+        final SchemaNavigationNode augmentation = current().getAugmentation(identifier);
+        schemaStack.push(augmentation);
+        return (AugmentationSchemaNode) augmentation.getSchema();
     }
 
     public AnyXmlSchemaNode anyxmlNode(final NodeIdentifier name) {
-        final SchemaNode schema = getSchema(name);
+        final SchemaNode schema = getChild(name).getSchema();
         checkArgument(schema instanceof AnyXmlSchemaNode, "Node %s is not anyxml", schema.getPath());
         return (AnyXmlSchemaNode)schema;
     }
 
     public Object endNode() {
-        return schemaStack.pop();
+        return schemaStack.pop().getSchema();
     }
 }
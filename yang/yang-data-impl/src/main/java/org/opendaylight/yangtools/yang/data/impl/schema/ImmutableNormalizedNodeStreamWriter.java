@@ -149,7 +149,7 @@ public class ImmutableNormalizedNodeStreamWriter implements NormalizedNodeStream
         final NormalizedNodeContainerBuilder current = getCurrent();
         checkState(current != null, "Reached top level node, which could not be closed in this writer.");
         final NormalizedNode<PathArgument, ?> product = finishedBuilder.build();
-        current.addChild(product);
+        writeChild(product);
         nextSchema = null;
     }
 
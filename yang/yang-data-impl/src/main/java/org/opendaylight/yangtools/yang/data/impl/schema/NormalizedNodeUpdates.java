@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableAugmentationNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableChoiceNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafSetNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedLeafSetNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
+
+/**
+ * Utility methods for path-based updates of immutable {@link NormalizedNode} trees outside of a data tree.
+ *
+ * <p>
+ * An update rebuilds only the nodes on the path from the root to the target, every other node is shared between
+ * the original and the updated tree. Each rebuilt node is derived from its original through the copy-on-write
+ * constructors of the immutable builders, which retain the original children representation: offset-mapped children
+ * stay offset-mapped with their key layout shared, persistent maps of large lists are snapshotted rather than copied
+ * and attributes are reused as-is. The cost of an update is therefore proportional to the depth of the target rather
+ * than to the overall size of the tree. Nodes not created by this package's builders are supported, but are copied
+ * into their immutable equivalents when they lie on the updated path.
+ *
+ * <p>
+ * Unkeyed list entries cannot be addressed by a {@link YangInstanceIdentifier} and hence cannot be traversed.
+ */
+@Beta
+public final class NormalizedNodeUpdates {
+    private NormalizedNodeUpdates() {
+        throw new UnsupportedOperationException("Utilities class should not be instantiated");
+    }
+
+    /**
+     * Update the node at specified path. The function is invoked with the current node, or with an empty Optional if
+     * the node does not exist, and returns its replacement, or an empty Optional if the node should be removed. If
+     * the function returns the current node, the original root is returned.
+     *
+     * @param root Root node
+     * @param path Path to the target node, relative to root
+     * @param function Update function
+     * @return Updated root node
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if a parent of the target does not exist or cannot contain the replacement,
+     *                                  or if the function attempts to remove the root
+     */
+    public static @NonNull NormalizedNode<?, ?> update(final @NonNull NormalizedNode<?, ?> root,
+            final @NonNull YangInstanceIdentifier path,
+            final Function<Optional<NormalizedNode<?, ?>>, Optional<? extends NormalizedNode<?, ?>>> function) {
+        requireNonNull(root);
+        requireNonNull(function);
+        final List<PathArgument> args = path.getPathArguments();
+        final int depth = args.size();
+
+        // Collect the spine, so we do not need to look the nodes up again
+        final NormalizedNode<?, ?>[] spine = new NormalizedNode<?, ?>[depth + 1];
+        spine[0] = root;
+        for (int i = 0; i < depth; ++i) {
+            final Optional<NormalizedNode<?, ?>> child = NormalizedNodes.getDirectChild(spine[i], args.get(i));
+            if (!child.isPresent()) {
+                checkArgument(i == depth - 1, "Path %s does not exist: missing %s", path, args.get(i));
+                break;
+            }
+            spine[i + 1] = child.get();
+        }
+
+        final NormalizedNode<?, ?> before = spine[depth];
+        final NormalizedNode<?, ?> after = function.apply(Optional.ofNullable(before)).orElse(null);
+        if (after == before) {
+            return root;
+        }
+        if (depth == 0) {
+            checkArgument(after != null, "Cannot remove root %s", root.getIdentifier());
+            return after;
+        }
+        if (after != null) {
+            checkArgument(args.get(depth - 1).equals(after.getIdentifier()), "Replacement %s does not match path %s",
+                after, path);
+        }
+
+        NormalizedNode<?, ?> child = after;
+        for (int i = depth - 1; i >= 0; --i) {
+            child = replaceChild(spine[i], args.get(i), child);
+        }
+        return child;
+    }
+
+    /**
+     * Store a node at specified path, replacing any previous node.
+     *
+     * @param root Root node
+     * @param path Path to the node, relative to root
+     * @param data Node to store
+     * @return Updated root node
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the parent of the node does not exist or cannot contain it, or if data's
+     *                                  identifier does not match the path
+     */
+    public static @NonNull NormalizedNode<?, ?> put(final @NonNull NormalizedNode<?, ?> root,
+            final @NonNull YangInstanceIdentifier path, final @NonNull NormalizedNode<?, ?> data) {
+        requireNonNull(data);
+        return update(root, path, current -> Optional.of(data));
+    }
+
+    /**
+     * Remove the node at specified path. If the node does not exist, the original root is returned.
+     *
+     * @param root Root node
+     * @param path Path to the node, relative to root
+     * @return Updated root node
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the parent of the node does not exist, or if path is empty
+     */
+    public static @NonNull NormalizedNode<?, ?> delete(final @NonNull NormalizedNode<?, ?> root,
+            final @NonNull YangInstanceIdentifier path) {
+        return update(root, path, current -> Optional.empty());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNode<?, ?> replaceChild(final NormalizedNode<?, ?> parent, final PathArgument arg,
+            final @Nullable NormalizedNode<?, ?> child) {
+        final NormalizedNodeContainerBuilder builder;
+        final Class<?> childClass;
+        if (parent instanceof MapNode) {
+            builder = mapBuilder((MapNode) parent);
+            childClass = MapEntryNode.class;
+        } else if (parent instanceof LeafSetNode) {
+            builder = leafSetBuilder((LeafSetNode<?>) parent);
+            childClass = LeafSetEntryNode.class;
+        } else {
+            builder = dataContainerBuilder(parent);
+            childClass = DataContainerChild.class;
+        }
+
+        if (child == null) {
+            builder.removeChild(arg);
+        } else {
+            checkArgument(childClass.isInstance(child), "Node %s cannot be a child of %s", child, parent);
+            builder.addChild(child);
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNodeContainerBuilder<?, ?, ?, ?> mapBuilder(final MapNode node) {
+        final boolean immutable = node instanceof AbstractImmutableNormalizedNode;
+        if (node instanceof OrderedMapNode) {
+            return immutable ? ImmutableOrderedMapNodeBuilder.create(node)
+                    : ImmutableOrderedMapNodeBuilder.create(node.getValue().size())
+                        .withNodeIdentifier(node.getIdentifier()).withValue(node.getValue());
+        }
+        return immutable ? ImmutableMapNodeBuilder.create(node)
+                : ImmutableMapNodeBuilder.create(node.getValue().size())
+                    .withNodeIdentifier(node.getIdentifier()).withValue(node.getValue());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNodeContainerBuilder<?, ?, ?, ?> leafSetBuilder(final LeafSetNode<?> node) {
+        final boolean ordered = node instanceof OrderedLeafSetNode;
+        if (node instanceof AbstractImmutableNormalizedNode) {
+            return ordered ? ImmutableOrderedLeafSetNodeBuilder.create((LeafSetNode) node)
+                    : ImmutableLeafSetNodeBuilder.create((LeafSetNode) node);
+        }
+
+        final ListNodeBuilder builder = ordered ? ImmutableOrderedLeafSetNodeBuilder.create()
+                : ImmutableLeafSetNodeBuilder.create(node.getValue().size());
+        return builder.withNodeIdentifier(node.getIdentifier()).withValue((Collection) node.getValue());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNodeContainerBuilder<?, ?, ?, ?> dataContainerBuilder(final NormalizedNode<?, ?> node) {
+        if (node instanceof AbstractImmutableNormalizedNode) {
+            if (node instanceof ContainerNode) {
+                return ImmutableContainerNodeBuilder.create((ContainerNode) node);
+            } else if (node instanceof MapEntryNode) {
+                return ImmutableMapEntryNodeBuilder.create((MapEntryNode) node);
+            } else if (node instanceof AugmentationNode) {
+                return ImmutableAugmentationNodeBuilder.create((AugmentationNode) node);
+            } else if (node instanceof ChoiceNode) {
+                return ImmutableChoiceNodeBuilder.create((ChoiceNode) node);
+            } else if (node instanceof UnkeyedListEntryNode) {
+                return ImmutableUnkeyedListEntryNodeBuilder.create((UnkeyedListEntryNode) node);
+            }
+            throw new IllegalArgumentException("Unsupported parent node " + node);
+        }
+
+        final NormalizedNodeContainerBuilder builder;
+        if (node instanceof ContainerNode) {
+            builder = ImmutableContainerNodeBuilder.create();
+        } else if (node instanceof MapEntryNode) {
+            builder = ImmutableMapEntryNodeBuilder.create();
+        } else if (node instanceof AugmentationNode) {
+            builder = ImmutableAugmentationNodeBuilder.create();
+        } else if (node instanceof ChoiceNode) {
+            builder = ImmutableChoiceNodeBuilder.create();
+        } else if (node instanceof UnkeyedListEntryNode) {
+            builder = ImmutableUnkeyedListEntryNodeBuilder.create();
+        } else {
+            throw new IllegalArgumentException("Unsupported parent node " + node);
+        }
+        if (node instanceof AttributesContainer) {
+            ((DataContainerNodeAttrBuilder) builder).withAttributes(((AttributesContainer) node).getAttributes());
+        }
+        return builder.withNodeIdentifier(node.getIdentifier()).withValue((Collection) node.getValue());
+    }
+}
@@ -10,9 +10,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -42,6 +40,7 @@ import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.util.SchemaNodeUtils;
 
 public final class SchemaUtils {
     private SchemaUtils() {
@@ -135,7 +134,7 @@ public final class SchemaUtils {
 
     public static AugmentationSchemaNode findSchemaForAugment(final AugmentationTarget schema,
             final Set<QName> qnames) {
-        final Optional<AugmentationSchemaNode> schemaForAugment = findAugment(schema, qnames);
+        final Optional<AugmentationSchemaNode> schemaForAugment = SchemaNodeUtils.findAugmentation(schema, qnames);
         checkState(schemaForAugment.isPresent(), "Unknown augmentation node detected, identified by: %s, in: %s",
             qnames, schema);
         return schemaForAugment.get();
@@ -143,7 +142,8 @@ public final class SchemaUtils {
 
     public static AugmentationSchemaNode findSchemaForAugment(final ChoiceSchemaNode schema, final Set<QName> qnames) {
         for (final CaseSchemaNode choiceCaseNode : schema.getCases().values()) {
-            final Optional<AugmentationSchemaNode> schemaForAugment = findAugment(choiceCaseNode, qnames);
+            final Optional<AugmentationSchemaNode> schemaForAugment = SchemaNodeUtils.findAugmentation(choiceCaseNode,
+                qnames);
             if (schemaForAugment.isPresent()) {
                 return schemaForAugment.get();
             }
@@ -153,19 +153,6 @@ public final class SchemaUtils {
             qnames, schema));
     }
 
-    private static Optional<AugmentationSchemaNode> findAugment(final AugmentationTarget schema,
-            final Set<QName> qnames) {
-        for (final AugmentationSchemaNode augment : schema.getAvailableAugmentations()) {
-            final Set<QName> qNamesFromAugment = ImmutableSet.copyOf(Collections2.transform(augment.getChildNodes(),
-                        DataSchemaNode::getQName));
-            if (qnames.equals(qNamesFromAugment)) {
-                return Optional.of(augment);
-            }
-        }
-
-        return Optional.empty();
-    }
-
     /**
      * Recursively find all child nodes that come from choices.
      *
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -130,6 +131,11 @@ public class ImmutableLeafSetNodeBuilder<T> implements ListNodeBuilder<T, LeafSe
             return Optional.ofNullable(children.get(child));
         }
 
+        @Override
+        protected long valueHeapSize() {
+            return HeapSizes.shallowSizeOf(children);
+        }
+
         @Override
         protected int valueHashCode() {
             return children.hashCode();
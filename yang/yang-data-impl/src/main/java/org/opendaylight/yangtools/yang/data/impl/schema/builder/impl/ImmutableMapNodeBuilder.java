@@ -7,12 +7,16 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.collect.Maps;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
@@ -29,6 +33,7 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
     private final Map<NodeIdentifierWithPredicates, MapEntryNode> value;
     private NodeIdentifier nodeIdentifier;
+    private MapEntryKeyIndex.Updater keyIndex;
 
     protected ImmutableMapNodeBuilder() {
         this.value = new HashMap<>(DEFAULT_CAPACITY);
@@ -44,6 +49,7 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
     protected ImmutableMapNodeBuilder(final ImmutableMapNode node) {
         this.nodeIdentifier = node.getIdentifier();
+        this.keyIndex = MapEntryKeyIndex.Updater.of(node.keyIndex);
         this.value = MapAdaptor.getDefaultInstance().takeSnapshot(node.children);
     }
 
@@ -66,12 +72,18 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
     @Override
     public CollectionNodeBuilder<MapEntryNode, MapNode> withChild(final MapEntryNode child) {
         this.value.put(child.getIdentifier(), child);
+        if (keyIndex != null && !keyIndex.put(child)) {
+            keyIndex = null;
+        }
         return this;
     }
 
     @Override
     public CollectionNodeBuilder<MapEntryNode, MapNode> withoutChild(final PathArgument key) {
         this.value.remove(key);
+        if (keyIndex != null) {
+            keyIndex.remove(key);
+        }
         return this;
     }
 
@@ -93,7 +105,8 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
     @Override
     public MapNode build() {
-        return new ImmutableMapNode(nodeIdentifier, MapAdaptor.getDefaultInstance().optimize(value));
+        return new ImmutableMapNode(nodeIdentifier, MapAdaptor.getDefaultInstance().optimize(value),
+            keyIndex == null ? null : keyIndex.build());
     }
 
     @Override
@@ -114,10 +127,15 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
 
         private final Map<NodeIdentifierWithPredicates, MapEntryNode> children;
 
+        // Index of entries by key value, built lazily or carried forward from the node this one was built from
+        private volatile Map<Object, MapEntryNode> keyIndex;
+
         ImmutableMapNode(final NodeIdentifier nodeIdentifier,
-                         final Map<NodeIdentifierWithPredicates, MapEntryNode> children) {
+                         final Map<NodeIdentifierWithPredicates, MapEntryNode> children,
+                         final @Nullable Map<Object, MapEntryNode> keyIndex) {
             super(nodeIdentifier);
             this.children = children;
+            this.keyIndex = keyIndex;
         }
 
         @Override
@@ -130,6 +148,23 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
             return UnmodifiableCollection.create(children.values());
         }
 
+        @Override
+        public Optional<MapEntryNode> findChildByKey(final Object keyValue) {
+            requireNonNull(keyValue);
+            Map<Object, MapEntryNode> index = keyIndex;
+            if (index == null) {
+                index = MapEntryKeyIndex.index(getIdentifier(), children.values());
+                keyIndex = index;
+            }
+            return Optional.ofNullable(index.get(keyValue));
+        }
+
+        @Override
+        protected long valueHeapSize() {
+            final Map<Object, MapEntryNode> index = keyIndex;
+            return HeapSizes.shallowSizeOf(children) + (index == null ? 0 : HeapSizes.shallowSizeOf(index));
+        }
+
         @Override
         protected int valueHashCode() {
             return children.hashCode();
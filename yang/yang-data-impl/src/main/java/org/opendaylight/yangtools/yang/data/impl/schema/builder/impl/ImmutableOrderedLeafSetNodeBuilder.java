@@ -14,6 +14,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
@@ -134,6 +135,11 @@ public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T,
             return Iterables.get(children.values(), position);
         }
 
+        @Override
+        protected long valueHeapSize() {
+            return HeapSizes.shallowSizeOf(children);
+        }
+
         @Override
         protected int valueHashCode() {
             return children.hashCode();
@@ -7,12 +7,16 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -29,6 +33,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     private Map<NodeIdentifierWithPredicates, MapEntryNode> value;
     private NodeIdentifier nodeIdentifier;
+    private MapEntryKeyIndex.Updater keyIndex;
     private boolean dirty;
 
     protected ImmutableOrderedMapNodeBuilder() {
@@ -47,6 +52,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     protected ImmutableOrderedMapNodeBuilder(final ImmutableOrderedMapNode node) {
         this.nodeIdentifier = node.getIdentifier();
+        this.keyIndex = MapEntryKeyIndex.Updater.of(node.keyIndex);
         this.value = node.children;
         this.dirty = true;
     }
@@ -78,6 +84,9 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
     public CollectionNodeBuilder<MapEntryNode, OrderedMapNode> withChild(final MapEntryNode child) {
         checkDirty();
         this.value.put(child.getIdentifier(), child);
+        if (keyIndex != null && !keyIndex.put(child)) {
+            keyIndex = null;
+        }
         return this;
     }
 
@@ -85,6 +94,9 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
     public CollectionNodeBuilder<MapEntryNode, OrderedMapNode> withoutChild(final PathArgument key) {
         checkDirty();
         this.value.remove(key);
+        if (keyIndex != null) {
+            keyIndex.remove(key);
+        }
         return this;
     }
 
@@ -108,7 +120,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
     @Override
     public OrderedMapNode build() {
         dirty = true;
-        return new ImmutableOrderedMapNode(nodeIdentifier, value);
+        return new ImmutableOrderedMapNode(nodeIdentifier, value, keyIndex == null ? null : keyIndex.build());
     }
 
     @Override
@@ -130,10 +142,15 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
         private final Map<NodeIdentifierWithPredicates, MapEntryNode> children;
 
+        // Index of entries by key value, built lazily or carried forward from the node this one was built from
+        private volatile Map<Object, MapEntryNode> keyIndex;
+
         ImmutableOrderedMapNode(final NodeIdentifier nodeIdentifier,
-                         final Map<NodeIdentifierWithPredicates, MapEntryNode> children) {
+                         final Map<NodeIdentifierWithPredicates, MapEntryNode> children,
+                         final @Nullable Map<Object, MapEntryNode> keyIndex) {
             super(nodeIdentifier);
             this.children = children;
+            this.keyIndex = keyIndex;
         }
 
         @Override
@@ -146,6 +163,23 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
             return Iterables.get(children.values(), position);
         }
 
+        @Override
+        public Optional<MapEntryNode> findChildByKey(final Object keyValue) {
+            requireNonNull(keyValue);
+            Map<Object, MapEntryNode> index = keyIndex;
+            if (index == null) {
+                index = MapEntryKeyIndex.index(getIdentifier(), children.values());
+                keyIndex = index;
+            }
+            return Optional.ofNullable(index.get(keyValue));
+        }
+
+        @Override
+        protected long valueHeapSize() {
+            final Map<Object, MapEntryNode> index = keyIndex;
+            return HeapSizes.shallowSizeOf(children) + (index == null ? 0 : HeapSizes.shallowSizeOf(index));
+        }
+
         @Override
         protected int valueHashCode() {
             return children.hashCode();
@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
@@ -162,6 +163,11 @@ public class ImmutableUnkeyedListNodeBuilder implements CollectionNodeBuilder<Un
             this.children = children;
         }
 
+        @Override
+        protected long valueHeapSize() {
+            return HeapSizes.shallowSizeOf(children);
+        }
+
         @Override
         protected int valueHashCode() {
             return children.hashCode();
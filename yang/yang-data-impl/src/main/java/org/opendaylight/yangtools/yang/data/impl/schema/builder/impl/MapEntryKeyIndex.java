@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * Utility methods for indexing entries of lists keyed by a single leaf by their raw key value. Map node
+ * implementations build these indices lazily, on first keyed lookup, so that subsequent lookups do not need to
+ * allocate a {@link org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates}.
+ *
+ * <p>
+ * Builders initialized from a node which has already built its index carry that index forward through an
+ * {@link Updater}, so that modifying a list which is being looked up does not require re-indexing all of its entries.
+ */
+final class MapEntryKeyIndex {
+    /**
+     * Copy-on-write tracker of an index while a builder modifies the entries it was built from. The index is copied
+     * on first modification and handed over to the built node without copying.
+     */
+    static final class Updater {
+        private Map<Object, MapEntryNode> index;
+        private QName keyName;
+        private boolean shared = true;
+
+        private Updater(final Map<Object, MapEntryNode> index) {
+            this.index = index;
+            if (!index.isEmpty()) {
+                keyName = singleKey(index.values().iterator().next().getIdentifier()).getKey();
+            }
+        }
+
+        /**
+         * Start tracking an index.
+         *
+         * @param index Index of a node, may be null if the node has not built it
+         * @return An updater, or null if there is no index to track
+         */
+        static @Nullable Updater of(final @Nullable Map<Object, MapEntryNode> index) {
+            return index == null ? null : new Updater(index);
+        }
+
+        /**
+         * Record an entry being added or replaced.
+         *
+         * @param entry Entry
+         * @return False if the entry cannot be indexed, in which case this updater must not be used anymore
+         */
+        boolean put(final MapEntryNode entry) {
+            final Map.Entry<QName, Object> key = singleKey(entry.getIdentifier());
+            if (key == null || keyName != null && !keyName.equals(key.getKey())) {
+                return false;
+            }
+            keyName = key.getKey();
+            mutableIndex().put(key.getValue(), entry);
+            return true;
+        }
+
+        /**
+         * Record an entry being removed.
+         *
+         * @param arg Identifier of the removed entry
+         */
+        void remove(final PathArgument arg) {
+            if (arg instanceof NodeIdentifierWithPredicates) {
+                final Map.Entry<QName, Object> key = singleKey((NodeIdentifierWithPredicates) arg);
+                if (key != null && key.getKey().equals(keyName)) {
+                    mutableIndex().remove(key.getValue());
+                }
+            }
+        }
+
+        /**
+         * Return the index for a node being built. Any subsequent modification will operate on a copy.
+         *
+         * @return Index of the built node
+         */
+        Map<Object, MapEntryNode> build() {
+            shared = true;
+            return index;
+        }
+
+        private Map<Object, MapEntryNode> mutableIndex() {
+            if (shared) {
+                index = new HashMap<>(index);
+                shared = false;
+            }
+            return index;
+        }
+
+        private static Map.@Nullable Entry<QName, Object> singleKey(final NodeIdentifierWithPredicates identifier) {
+            final Map<QName, Object> keyValues = identifier.getKeyValues();
+            return keyValues.size() == 1 ? keyValues.entrySet().iterator().next() : null;
+        }
+    }
+
+    private MapEntryKeyIndex() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Create an index of entries.
+     *
+     * @param identifier Identifier of the list, used for reporting errors
+     * @param entries List entries
+     * @return Entries indexed by their key value
+     * @throws IllegalArgumentException if the entries are not keyed by a single leaf
+     */
+    static Map<Object, MapEntryNode> index(final NodeIdentifier identifier, final Collection<MapEntryNode> entries) {
+        final ImmutableMap.Builder<Object, MapEntryNode> builder = ImmutableMap.builder();
+        QName keyName = null;
+        for (MapEntryNode entry : entries) {
+            final Map<QName, Object> keyValues = entry.getIdentifier().getKeyValues();
+            checkArgument(keyValues.size() == 1, "List %s is not keyed by a single leaf", identifier);
+
+            final Map.Entry<QName, Object> key = keyValues.entrySet().iterator().next();
+            if (keyName == null) {
+                keyName = key.getKey();
+            } else {
+                checkArgument(keyName.equals(key.getKey()), "List %s has entries keyed by both %s and %s", identifier,
+                    keyName, key.getKey());
+            }
+            builder.put(key.getValue(), entry);
+        }
+        return builder.build();
+    }
+}
@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import java.util.Map;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -38,6 +39,15 @@ public abstract class AbstractImmutableDataContainerAttrNode<K extends PathArgum
         return attributes.get(value);
     }
 
+    @Override
+    protected long valueHeapSize() {
+        long ret = super.valueHeapSize() + HeapSizes.shallowSizeOf(attributes);
+        for (String attribute : attributes.values()) {
+            ret += HeapSizes.sizeOf(attribute);
+        }
+        return ret;
+    }
+
     @Override
     protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
         super.addToStringAttributes(toStringHelper);
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.util.ImmutableOffsetMap;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
@@ -37,6 +38,11 @@ public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
         return children.values();
     }
 
+    @Override
+    protected long valueHeapSize() {
+        return HeapSizes.shallowSizeOf(children);
+    }
+
     @Override
     protected int valueHashCode() {
         return children.hashCode();
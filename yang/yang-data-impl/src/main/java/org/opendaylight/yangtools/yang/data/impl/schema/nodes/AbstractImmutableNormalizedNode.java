@@ -13,12 +13,15 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.util.HeapSizeAware;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapStorage;
 
 public abstract class AbstractImmutableNormalizedNode<K extends PathArgument,V> implements NormalizedNode<K, V>,
-        Immutable {
+        HeapSizeAware, Immutable {
     private final @NonNull K nodeIdentifier;
 
     protected AbstractImmutableNormalizedNode(final K nodeIdentifier) {
@@ -35,6 +38,27 @@ public abstract class AbstractImmutableNormalizedNode<K extends PathArgument,V>
         return nodeIdentifier;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The default implementation assumes the node holds its identifier and a single field referencing its value, and
+     * adds {@link #valueHeapSize()}.
+     */
+    @Override
+    public long shallowHeapSize() {
+        return HeapSizes.objectSize(2, 0) + HeapSizes.sizeOf(nodeIdentifier) + valueHeapSize();
+    }
+
+    /**
+     * Return the estimated heap occupied by this node's value, not including any child {@link NormalizedNode}s.
+     *
+     * @return Estimated size, in bytes
+     */
+    protected long valueHeapSize() {
+        return 0;
+    }
+
     @Override
     public final String toString() {
         return addToStringAttributes(MoreObjects.toStringHelper(this)).toString();
@@ -57,7 +81,9 @@ public abstract class AbstractImmutableNormalizedNode<K extends PathArgument,V>
             return false;
         }
         if (this.getClass() != obj.getClass()) {
-            return false;
+            // Placeholders of demoted subtrees compare equal to the subtrees they stand for
+            return obj instanceof NormalizedNode && OffHeapStorage.isDemoted((NormalizedNode<?, ?>) obj)
+                    && obj.equals(this);
         }
 
         final AbstractImmutableNormalizedNode<?, ?> other = (AbstractImmutableNormalizedNode<?, ?>)obj;
@@ -11,6 +11,7 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import java.util.Objects;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -46,6 +47,15 @@ public abstract class AbstractImmutableNormalizedValueAttrNode<K extends PathArg
         return toStringHelper;
     }
 
+    @Override
+    protected long valueHeapSize() {
+        long ret = super.valueHeapSize() + HeapSizes.shallowSizeOf(attributes);
+        for (String attribute : attributes.values()) {
+            ret += HeapSizes.sizeOf(attribute);
+        }
+        return ret;
+    }
+
     @Override
     protected int valueHashCode() {
         final V local = value();
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
 import static java.util.Objects.requireNonNull;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.HeapSizes;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 
 public abstract class AbstractImmutableNormalizedValueNode<K extends PathArgument, V> extends
@@ -31,6 +32,11 @@ public abstract class AbstractImmutableNormalizedValueNode<K extends PathArgumen
         return value;
     }
 
+    @Override
+    protected long valueHeapSize() {
+        return HeapSizes.sizeOf(value);
+    }
+
     protected V wrapValue(final V valueToWrap) {
         return valueToWrap;
     }
@@ -11,9 +11,12 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreePage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreePageRequest;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotCursor;
 
 abstract class AbstractCursor<T extends AbstractCursorAware> implements DataTreeSnapshotCursor {
@@ -54,6 +57,12 @@ abstract class AbstractCursor<T extends AbstractCursorAware> implements DataTree
         exit(1);
     }
 
+    @Override
+    public final Optional<DataTreePage> readChildren(final PathArgument child, final DataTreePageRequest request) {
+        requireNonNull(request);
+        return readNode(child).map(node -> ChildPageReader.readPage(node, request));
+    }
+
     @Override
     public final void close() {
         if (CLOSED_UPDATER.compareAndSet(this, 0, 1)) {
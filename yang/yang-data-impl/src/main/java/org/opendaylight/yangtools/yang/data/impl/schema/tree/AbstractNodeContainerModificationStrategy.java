@@ -124,7 +124,13 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
                             castedChild.getIdentifier(), container.getIdentifier()));
                 }
             }
+        }
+        verifyValueConstraints(writtenValue);
+    }
 
+    @Override
+    final void verifyValueConstraints(final NormalizedNode<?, ?> writtenValue) {
+        if (verifyChildrenStructure) {
             optionalVerifyValueChildren(writtenValue);
         }
         mandatoryVerifyValueChildren(writtenValue);
@@ -0,0 +1,859 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapStorage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.SubtreeCodec;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.AttributesBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafSetEntryNodeBuilder;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link SubtreeCodec} suitable for use with {@link OffHeapStorage}. Subtrees are walked by a
+ * {@link NormalizedNodeWriter}, whose {@link NormalizedNodeStreamAttributeWriter} events are recorded in a compact
+ * binary form, and are replayed into an {@link ImmutableNormalizedNodeStreamWriter} when decoding. Nested subtrees
+ * which can be demoted are framed with their length and hash code, so they can be skipped when decoding.
+ *
+ * <p>
+ * {@link QName}s are recorded in a dictionary held by the codec, so each of them is stored only once. Blobs can
+ * therefore be decoded only by the codec instance which encoded them, which should be dedicated to a single storage.
+ * Common leaf value types, instance identifiers and anyxml content have dedicated encodings, any other value needs to
+ * be {@link Serializable}. YANG-modeled anyxml nodes are not supported, as their decoding requires schema.
+ */
+@Beta
+public final class BinarySubtreeCodec implements SubtreeCodec {
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    // Node events
+    private static final byte LEAF = 0;
+    private static final byte LEAF_SET = 1;
+    private static final byte ORDERED_LEAF_SET = 2;
+    private static final byte LEAF_SET_ENTRY = 3;
+    private static final byte CONTAINER = 4;
+    private static final byte UNKEYED_LIST = 5;
+    private static final byte UNKEYED_LIST_ITEM = 6;
+    private static final byte MAP = 7;
+    private static final byte MAP_ENTRY = 8;
+    private static final byte ORDERED_MAP = 9;
+    private static final byte CHOICE = 10;
+    private static final byte AUGMENTATION = 11;
+    private static final byte ANYXML = 12;
+    private static final byte END = 13;
+    private static final byte NESTED = 14;
+
+    // Leaf values
+    private static final byte STRING_VALUE = 0;
+    private static final byte TRUE_VALUE = 1;
+    private static final byte FALSE_VALUE = 2;
+    private static final byte BYTE_VALUE = 3;
+    private static final byte SHORT_VALUE = 4;
+    private static final byte INT_VALUE = 5;
+    private static final byte LONG_VALUE = 6;
+    private static final byte BIG_INTEGER_VALUE = 7;
+    private static final byte BIG_DECIMAL_VALUE = 8;
+    private static final byte BINARY_VALUE = 9;
+    private static final byte QNAME_VALUE = 10;
+    private static final byte EMPTY_VALUE = 11;
+    private static final byte SET_VALUE = 12;
+    private static final byte INSTANCE_IDENTIFIER_VALUE = 13;
+    private static final byte DOM_SOURCE_VALUE = 14;
+    private static final byte SERIALIZED_VALUE = 15;
+
+    // Path arguments
+    private static final byte NODE_IDENTIFIER = 0;
+    private static final byte NODE_IDENTIFIER_WITH_PREDICATES = 1;
+    private static final byte NODE_WITH_VALUE = 2;
+    private static final byte AUGMENTATION_IDENTIFIER = 3;
+
+    private final ConcurrentMap<QName, Integer> qnameIndices = new ConcurrentHashMap<>();
+
+    // Copy-on-write, as QNames are few and are defined mostly when the first subtrees are encoded
+    private volatile QName[] qnames = new QName[0];
+
+    private BinarySubtreeCodec() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Create a new codec instance, with an empty {@link QName} dictionary.
+     *
+     * @return A new codec
+     */
+    public static BinarySubtreeCodec create() {
+        return new BinarySubtreeCodec();
+    }
+
+    @Override
+    public byte[] encode(final NormalizedNode<?, ?> data) throws IOException {
+        final EncodingStreamWriter encoder = new EncodingStreamWriter();
+        new NestingNodeWriter(encoder).write(data);
+        return encoder.toByteArray();
+    }
+
+    @Override
+    public NormalizedNode<?, ?> decode(final ByteBuffer buffer, final NestedSubtreeFactory nested)
+            throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final DecodingStreamWriter writer = new DecodingStreamWriter(result);
+        try {
+            int depth = 0;
+            do {
+                depth += replayEvent(buffer, nested, writer);
+            } while (depth != 0);
+        } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Failed to decode subtree", e);
+        }
+
+        if (!result.isFinished()) {
+            throw new IOException("Incomplete subtree encountered");
+        }
+        return result.getResult();
+    }
+
+    // Returns the change in nesting depth
+    private int replayEvent(final ByteBuffer in, final NestedSubtreeFactory nested, final DecodingStreamWriter writer)
+            throws IOException {
+        final byte type = in.get();
+        switch (type) {
+            case LEAF: {
+                final NodeIdentifier name = readNodeIdentifier(in);
+                final Object value = readValue(in);
+                writer.leafNode(name, value, readAttributes(in));
+                return 0;
+            }
+            case LEAF_SET_ENTRY: {
+                final QName name = readQName(in);
+                final Object value = readValue(in);
+                writer.leafSetEntryNode(name, value, readAttributes(in));
+                return 0;
+            }
+            case ANYXML: {
+                final NodeIdentifier name = readNodeIdentifier(in);
+                writer.anyxmlNode(name, readValue(in));
+                return 0;
+            }
+            case NESTED:
+                writer.nested(readNested(in, nested));
+                return 0;
+            case END:
+                writer.endNode();
+                return -1;
+            case AUGMENTATION:
+                writer.startAugmentationNode(readAugmentationIdentifier(in));
+                return 1;
+            case MAP_ENTRY: {
+                final NodeIdentifierWithPredicates identifier = readPredicates(in);
+                final int childSizeHint = in.getInt();
+                writer.startMapEntryNode(identifier, childSizeHint, readAttributes(in));
+                return 1;
+            }
+            default:
+                startNode(in, type, writer);
+                return 1;
+        }
+    }
+
+    private void startNode(final ByteBuffer in, final byte type, final DecodingStreamWriter writer)
+            throws IOException {
+        final NodeIdentifier name = readNodeIdentifier(in);
+        final int childSizeHint = in.getInt();
+        switch (type) {
+            case LEAF_SET:
+                writer.startLeafSet(name, childSizeHint);
+                break;
+            case ORDERED_LEAF_SET:
+                writer.startOrderedLeafSet(name, childSizeHint);
+                break;
+            case CONTAINER:
+                writer.startContainerNode(name, childSizeHint, readAttributes(in));
+                break;
+            case UNKEYED_LIST:
+                writer.startUnkeyedList(name, childSizeHint);
+                break;
+            case UNKEYED_LIST_ITEM:
+                writer.startUnkeyedListItem(name, childSizeHint, readAttributes(in));
+                break;
+            case MAP:
+                writer.startMapNode(name, childSizeHint);
+                break;
+            case ORDERED_MAP:
+                writer.startOrderedMapNode(name, childSizeHint);
+                break;
+            case CHOICE:
+                writer.startChoiceNode(name, childSizeHint);
+                break;
+            default:
+                throw new IOException("Unknown event type " + type);
+        }
+    }
+
+    private NormalizedNode<?, ?> readNested(final ByteBuffer in, final NestedSubtreeFactory nested)
+            throws IOException {
+        final int length = in.getInt();
+        final int hashCode = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Invalid nested subtree length " + length);
+        }
+
+        final ByteBuffer blob = in.slice();
+        blob.limit(length);
+        in.position(in.position() + length);
+
+        // Peek at the start event to find out what kind of node we are dealing with
+        final ByteBuffer header = blob.duplicate();
+        final byte type = header.get();
+        switch (type) {
+            case CONTAINER:
+                return nested.container(readNodeIdentifier(header), hashCode, blob);
+            case MAP:
+                return nested.map(readNodeIdentifier(header), hashCode, blob);
+            case MAP_ENTRY:
+                return nested.mapEntry(readPredicates(header), hashCode, blob);
+            default:
+                throw new IOException("Unexpected nested event type " + type);
+        }
+    }
+
+    private QName readQName(final ByteBuffer in) throws IOException {
+        final int index = in.getInt();
+        final QName[] current = qnames;
+        if (index < 0 || index >= current.length) {
+            throw new IOException("Unknown QName index " + index);
+        }
+        return current[index];
+    }
+
+    private NodeIdentifier readNodeIdentifier(final ByteBuffer in) throws IOException {
+        return NodeIdentifier.create(readQName(in));
+    }
+
+    private NodeIdentifierWithPredicates readPredicates(final ByteBuffer in) throws IOException {
+        final QName name = readQName(in);
+        final int size = in.getInt();
+        if (size == 1) {
+            final QName key = readQName(in);
+            return new NodeIdentifierWithPredicates(name, key, readValue(in));
+        }
+
+        final ImmutableMap.Builder<QName, Object> keys = ImmutableMap.builder();
+        for (int i = 0; i < size; ++i) {
+            final QName key = readQName(in);
+            keys.put(key, readValue(in));
+        }
+        return new NodeIdentifierWithPredicates(name, keys.build());
+    }
+
+    private AugmentationIdentifier readAugmentationIdentifier(final ByteBuffer in) throws IOException {
+        final int size = in.getInt();
+        final ImmutableSet.Builder<QName> names = ImmutableSet.builder();
+        for (int i = 0; i < size; ++i) {
+            names.add(readQName(in));
+        }
+        return new AugmentationIdentifier(names.build());
+    }
+
+    private PathArgument readPathArgument(final ByteBuffer in) throws IOException {
+        final byte type = in.get();
+        switch (type) {
+            case NODE_IDENTIFIER:
+                return readNodeIdentifier(in);
+            case NODE_IDENTIFIER_WITH_PREDICATES:
+                return readPredicates(in);
+            case NODE_WITH_VALUE:
+                final QName name = readQName(in);
+                return new NodeWithValue<>(name, readValue(in));
+            case AUGMENTATION_IDENTIFIER:
+                return readAugmentationIdentifier(in);
+            default:
+                throw new IOException("Unknown path argument type " + type);
+        }
+    }
+
+    private Map<QName, String> readAttributes(final ByteBuffer in) throws IOException {
+        final int size = in.getInt();
+        if (size == 0) {
+            return ImmutableMap.of();
+        }
+
+        final ImmutableMap.Builder<QName, String> attributes = ImmutableMap.builder();
+        for (int i = 0; i < size; ++i) {
+            final QName name = readQName(in);
+            attributes.put(name, readString(in));
+        }
+        return attributes.build();
+    }
+
+    private Object readValue(final ByteBuffer in) throws IOException {
+        final byte type = in.get();
+        switch (type) {
+            case STRING_VALUE:
+                return readString(in);
+            case TRUE_VALUE:
+                return Boolean.TRUE;
+            case FALSE_VALUE:
+                return Boolean.FALSE;
+            case BYTE_VALUE:
+                return in.get();
+            case SHORT_VALUE:
+                return in.getShort();
+            case INT_VALUE:
+                return in.getInt();
+            case LONG_VALUE:
+                return in.getLong();
+            case BIG_INTEGER_VALUE:
+                return new BigInteger(readBytes(in));
+            case BIG_DECIMAL_VALUE:
+                final int scale = in.getInt();
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            case BINARY_VALUE:
+                return readBytes(in);
+            case QNAME_VALUE:
+                return readQName(in);
+            case EMPTY_VALUE:
+                return Empty.getInstance();
+            case SET_VALUE:
+                final int size = in.getInt();
+                final ImmutableSet.Builder<Object> set = ImmutableSet.builder();
+                for (int i = 0; i < size; ++i) {
+                    set.add(readValue(in));
+                }
+                return set.build();
+            case INSTANCE_IDENTIFIER_VALUE:
+                final int length = in.getInt();
+                final ImmutableList.Builder<PathArgument> path = ImmutableList.builder();
+                for (int i = 0; i < length; ++i) {
+                    path.add(readPathArgument(in));
+                }
+                return YangInstanceIdentifier.create(path.build());
+            case DOM_SOURCE_VALUE:
+                return readDOMSource(in);
+            case SERIALIZED_VALUE:
+                return readSerialized(in);
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private static DOMSource readDOMSource(final ByteBuffer in) throws IOException {
+        final Document doc;
+        try {
+            doc = UntrustedXML.newDocumentBuilder().parse(new InputSource(new StringReader(readString(in))));
+        } catch (SAXException e) {
+            throw new IOException("Failed to parse anyxml content", e);
+        }
+        return new DOMSource(doc.getDocumentElement());
+    }
+
+    private static Object readSerialized(final ByteBuffer in) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+            return ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Failed to decode value", e);
+        }
+    }
+
+    private static String readString(final ByteBuffer in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(final ByteBuffer in) throws IOException {
+        final int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Invalid length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private int qnameIndex(final QName qname) {
+        final Integer existing = qnameIndices.get(qname);
+        return existing != null ? existing : defineQName(qname);
+    }
+
+    private synchronized int defineQName(final QName qname) {
+        final Integer existing = qnameIndices.get(qname);
+        if (existing != null) {
+            return existing;
+        }
+
+        // Publish the QName before its index, so that concurrent decoders can always resolve it
+        final int index = qnames.length;
+        final QName[] next = Arrays.copyOf(qnames, index + 1);
+        next[index] = qname;
+        qnames = next;
+        qnameIndices.put(qname, index);
+        return index;
+    }
+
+    /**
+     * A {@link NormalizedNodeWriter} framing nested subtrees which can be demoted, so they can be decoded separately.
+     */
+    private static final class NestingNodeWriter extends NormalizedNodeWriter {
+        private final EncodingStreamWriter encoder;
+        private boolean root = true;
+
+        NestingNodeWriter(final EncodingStreamWriter encoder) {
+            super(encoder);
+            this.encoder = encoder;
+        }
+
+        @Override
+        public NormalizedNodeWriter write(final NormalizedNode<?, ?> node) throws IOException {
+            if (root) {
+                root = false;
+            } else if (OffHeapStorage.canDemote(node) || OffHeapStorage.isDemoted(node)) {
+                encoder.startNested(node.hashCode());
+            }
+            return super.write(node);
+        }
+    }
+
+    private static final class PatchableOutputStream extends ByteArrayOutputStream {
+        void patchInt(final int offset, final int value) {
+            buf[offset] = (byte) (value >>> 24);
+            buf[offset + 1] = (byte) (value >>> 16);
+            buf[offset + 2] = (byte) (value >>> 8);
+            buf[offset + 3] = (byte) value;
+        }
+    }
+
+    private final class EncodingStreamWriter implements NormalizedNodeStreamAttributeWriter {
+        private final PatchableOutputStream bos = new PatchableOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bos);
+
+        // Offsets of length fields of nested subtrees, -1 for nodes which are not framed
+        private final Deque<Integer> nestedOffsets = new ArrayDeque<>();
+        private int pendingNested = -1;
+
+        byte[] toByteArray() {
+            return bos.toByteArray();
+        }
+
+        void startNested(final int hashCode) throws IOException {
+            out.writeByte(NESTED);
+            pendingNested = bos.size();
+            out.writeInt(0);
+            out.writeInt(hashCode);
+        }
+
+        @Override
+        public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+            leafNode(name, value, ImmutableMap.of());
+        }
+
+        @Override
+        public void leafNode(final NodeIdentifier name, final Object value, final Map<QName, String> attributes)
+                throws IOException {
+            out.writeByte(LEAF);
+            writeQName(name.getNodeType());
+            writeValue(value);
+            writeAttributes(attributes);
+        }
+
+        @Override
+        public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startNode(LEAF_SET, name, childSizeHint);
+        }
+
+        @Override
+        public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startNode(ORDERED_LEAF_SET, name, childSizeHint);
+        }
+
+        @Override
+        public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+            leafSetEntryNode(name, value, ImmutableMap.of());
+        }
+
+        @Override
+        public void leafSetEntryNode(final QName name, final Object value, final Map<QName, String> attributes)
+                throws IOException {
+            out.writeByte(LEAF_SET_ENTRY);
+            writeQName(name);
+            writeValue(value);
+            writeAttributes(attributes);
+        }
+
+        @Override
+        public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startContainerNode(name, childSizeHint, ImmutableMap.of());
+        }
+
+        @Override
+        public void startContainerNode(final NodeIdentifier name, final int childSizeHint,
+                final Map<QName, String> attributes) throws IOException {
+            startNode(CONTAINER, name, childSizeHint);
+            writeAttributes(attributes);
+        }
+
+        @Override
+        public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startNode(UNKEYED_LIST, name, childSizeHint);
+        }
+
+        @Override
+        public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startUnkeyedListItem(name, childSizeHint, ImmutableMap.of());
+        }
+
+        @Override
+        public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint,
+                final Map<QName, String> attributes) throws IOException {
+            startNode(UNKEYED_LIST_ITEM, name, childSizeHint);
+            writeAttributes(attributes);
+        }
+
+        @Override
+        public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startNode(MAP, name, childSizeHint);
+        }
+
+        @Override
+        public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+                throws IOException {
+            startMapEntryNode(identifier, childSizeHint, ImmutableMap.of());
+        }
+
+        @Override
+        public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint,
+                final Map<QName, String> attributes) throws IOException {
+            enter(MAP_ENTRY);
+            writePredicates(identifier);
+            out.writeInt(childSizeHint);
+            writeAttributes(attributes);
+        }
+
+        @Override
+        public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startNode(ORDERED_MAP, name, childSizeHint);
+        }
+
+        @Override
+        public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+            startNode(CHOICE, name, childSizeHint);
+        }
+
+        @Override
+        public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+            enter(AUGMENTATION);
+            writeAugmentationIdentifier(identifier);
+        }
+
+        @Override
+        public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+            out.writeByte(ANYXML);
+            writeQName(name.getNodeType());
+            writeValue(value);
+        }
+
+        @Override
+        public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint)
+                throws IOException {
+            throw new IOException("YANG-modeled anyxml node " + name + " cannot be encoded");
+        }
+
+        @Override
+        public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint,
+                final Map<QName, String> attributes) throws IOException {
+            startYangModeledAnyXmlNode(name, childSizeHint);
+        }
+
+        @Override
+        public void endNode() throws IOException {
+            out.writeByte(END);
+            final int offset = nestedOffsets.pop();
+            if (offset != -1) {
+                // Length of the subtree, which starts after the length and hash code
+                bos.patchInt(offset, bos.size() - offset - 8);
+            }
+        }
+
+        @Override
+        public void close() {
+            // No-op
+        }
+
+        @Override
+        public void flush() {
+            // No-op
+        }
+
+        private void enter(final byte type) throws IOException {
+            out.writeByte(type);
+            nestedOffsets.push(pendingNested);
+            pendingNested = -1;
+        }
+
+        private void startNode(final byte type, final NodeIdentifier name, final int childSizeHint)
+                throws IOException {
+            enter(type);
+            writeQName(name.getNodeType());
+            out.writeInt(childSizeHint);
+        }
+
+        private void writeQName(final QName qname) throws IOException {
+            out.writeInt(qnameIndex(qname));
+        }
+
+        private void writePredicates(final NodeIdentifierWithPredicates identifier) throws IOException {
+            writeQName(identifier.getNodeType());
+            final Map<QName, Object> keys = identifier.getKeyValues();
+            out.writeInt(keys.size());
+            for (Entry<QName, Object> entry : keys.entrySet()) {
+                writeQName(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        private void writeAugmentationIdentifier(final AugmentationIdentifier identifier) throws IOException {
+            final Set<QName> names = identifier.getPossibleChildNames();
+            out.writeInt(names.size());
+            for (QName name : names) {
+                writeQName(name);
+            }
+        }
+
+        private void writePathArgument(final PathArgument arg) throws IOException {
+            if (arg instanceof NodeIdentifier) {
+                out.writeByte(NODE_IDENTIFIER);
+                writeQName(arg.getNodeType());
+            } else if (arg instanceof NodeIdentifierWithPredicates) {
+                out.writeByte(NODE_IDENTIFIER_WITH_PREDICATES);
+                writePredicates((NodeIdentifierWithPredicates) arg);
+            } else if (arg instanceof NodeWithValue) {
+                out.writeByte(NODE_WITH_VALUE);
+                writeQName(arg.getNodeType());
+                writeValue(((NodeWithValue<?>) arg).getValue());
+            } else if (arg instanceof AugmentationIdentifier) {
+                out.writeByte(AUGMENTATION_IDENTIFIER);
+                writeAugmentationIdentifier((AugmentationIdentifier) arg);
+            } else {
+                throw new IOException("Unhandled path argument " + arg);
+            }
+        }
+
+        private void writeAttributes(final Map<QName, String> attributes) throws IOException {
+            out.writeInt(attributes.size());
+            for (Entry<QName, String> entry : attributes.entrySet()) {
+                writeQName(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+
+        private void writeValue(final Object value) throws IOException {
+            requireNonNull(value);
+            if (value instanceof String) {
+                out.writeByte(STRING_VALUE);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE_VALUE : FALSE_VALUE);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE_VALUE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT_VALUE);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT_VALUE);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG_VALUE);
+                out.writeLong((Long) value);
+            } else if (value instanceof BigInteger) {
+                out.writeByte(BIG_INTEGER_VALUE);
+                writeBytes(((BigInteger) value).toByteArray());
+            } else if (value instanceof BigDecimal) {
+                out.writeByte(BIG_DECIMAL_VALUE);
+                out.writeInt(((BigDecimal) value).scale());
+                writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+            } else if (value instanceof byte[]) {
+                out.writeByte(BINARY_VALUE);
+                writeBytes((byte[]) value);
+            } else if (value instanceof QName) {
+                out.writeByte(QNAME_VALUE);
+                writeQName((QName) value);
+            } else if (value instanceof Empty) {
+                out.writeByte(EMPTY_VALUE);
+            } else if (value instanceof Set) {
+                out.writeByte(SET_VALUE);
+                final Collection<?> set = (Set<?>) value;
+                out.writeInt(set.size());
+                for (Object item : set) {
+                    writeValue(item);
+                }
+            } else if (value instanceof YangInstanceIdentifier) {
+                out.writeByte(INSTANCE_IDENTIFIER_VALUE);
+                final Collection<PathArgument> path = ((YangInstanceIdentifier) value).getPathArguments();
+                out.writeInt(path.size());
+                for (PathArgument arg : path) {
+                    writePathArgument(arg);
+                }
+            } else if (value instanceof DOMSource) {
+                out.writeByte(DOM_SOURCE_VALUE);
+                writeDOMSource((DOMSource) value);
+            } else if (value instanceof Serializable) {
+                out.writeByte(SERIALIZED_VALUE);
+                writeSerialized(value);
+            } else {
+                throw new IOException("Value " + value + " of " + value.getClass() + " cannot be encoded");
+            }
+        }
+
+        private void writeDOMSource(final DOMSource value) throws IOException {
+            final StringWriter writer = new StringWriter();
+            try {
+                final Transformer transformer = TRANSFORMER_FACTORY.newTransformer();
+                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+                transformer.transform(value, new StreamResult(writer));
+            } catch (TransformerException e) {
+                throw new IOException("Failed to serialize anyxml content", e);
+            }
+            writeString(writer.toString());
+        }
+
+        private void writeSerialized(final Object value) throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(value);
+            }
+            writeBytes(bytes.toByteArray());
+        }
+
+        private void writeString(final String str) throws IOException {
+            writeBytes(str.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeBytes(final byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * An {@link ImmutableNormalizedNodeStreamWriter} which retains attributes and accepts nodes standing in for nested
+     * subtrees.
+     */
+    private static final class DecodingStreamWriter extends ImmutableNormalizedNodeStreamWriter
+            implements NormalizedNodeStreamAttributeWriter {
+        DecodingStreamWriter(final NormalizedNodeResult result) {
+            super(result);
+        }
+
+        void nested(final NormalizedNode<?, ?> node) {
+            writeChild(node);
+        }
+
+        @Override
+        public void leafNode(final NodeIdentifier name, final Object value, final Map<QName, String> attributes) {
+            if (attributes.isEmpty()) {
+                leafNode(name, value);
+            } else {
+                writeChild(ImmutableLeafNodeBuilder.create().withNodeIdentifier(name).withValue(value)
+                    .withAttributes(attributes).build());
+            }
+        }
+
+        @Override
+        public void leafSetEntryNode(final QName name, final Object value, final Map<QName, String> attributes) {
+            if (attributes.isEmpty()) {
+                leafSetEntryNode(name, value);
+            } else {
+                writeChild(ImmutableLeafSetEntryNodeBuilder.create()
+                    .withNodeIdentifier(new NodeWithValue<>(name, value)).withValue(value).withAttributes(attributes)
+                    .build());
+            }
+        }
+
+        @Override
+        public void startContainerNode(final NodeIdentifier name, final int childSizeHint,
+                final Map<QName, String> attributes) {
+            startContainerNode(name, childSizeHint);
+            setAttributes(attributes);
+        }
+
+        @Override
+        public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint,
+                final Map<QName, String> attributes) {
+            startYangModeledAnyXmlNode(name, childSizeHint);
+            setAttributes(attributes);
+        }
+
+        @Override
+        public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint,
+                final Map<QName, String> attributes) {
+            startUnkeyedListItem(name, childSizeHint);
+            setAttributes(attributes);
+        }
+
+        @Override
+        public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint,
+                final Map<QName, String> attributes) {
+            startMapEntryNode(identifier, childSizeHint);
+            setAttributes(attributes);
+        }
+
+        private void setAttributes(final Map<QName, String> attributes) {
+            if (!attributes.isEmpty()) {
+                ((AttributesBuilder<?>) getCurrent()).withAttributes(attributes);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.UnsignedBytes;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreePage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreePageRequest;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+
+/**
+ * Utility methods for reading pages of children of a {@link NormalizedNodeContainer} or
+ * an {@link OrderedNodeContainer}. The stable order of children of each container instance is computed on first
+ * access, at a cost of O(n log n), and cached for as long as the container is reachable. Pages are then located by
+ * binary search, hence reading a page costs O(log n) plus the size of the page. Since unmodified subtrees are shared
+ * between data tree snapshots, the order is shared between them as well.
+ *
+ * <p>
+ * Children of containers which are not user-ordered are ordered by their identifiers, not by the order in which the
+ * container happens to hold them. Their order therefore does not change when a container is modified, so that paging
+ * can resume in a later snapshot after the last child of a page, even if that child has been removed.
+ */
+final class ChildPageReader {
+    /**
+     * Order of children of a container. Does not reference the container itself, so as not to prevent its eviction
+     * from {@link #ORDERS}.
+     */
+    private static final class ChildOrder {
+        private final NormalizedNode<?, ?>[] children;
+        private final PathArgument[] identifiers;
+        // Positions of children in user-ordered containers, null if children are sorted by their identifiers or
+        // their identifiers are not unique
+        private final Map<PathArgument, Integer> positions;
+        private final boolean sorted;
+
+        private ChildOrder(final NormalizedNode<?, ?>[] children, final boolean sorted) {
+            this.children = children;
+            this.sorted = sorted;
+
+            identifiers = new PathArgument[children.length];
+            for (int i = 0; i < children.length; ++i) {
+                identifiers[i] = children[i].getIdentifier();
+            }
+
+            if (sorted || children.length == 0 || children[0] instanceof UnkeyedListEntryNode) {
+                positions = null;
+            } else {
+                final ImmutableMap.Builder<PathArgument, Integer> builder = ImmutableMap.builder();
+                for (int i = 0; i < identifiers.length; ++i) {
+                    builder.put(identifiers[i], i);
+                }
+                positions = builder.build();
+            }
+        }
+
+        static ChildOrder of(final NormalizedNode<?, ?> container) {
+            final NormalizedNode<?, ?>[] children = ((Collection<?>) container.getValue())
+                    .toArray(new NormalizedNode<?, ?>[0]);
+            if (container instanceof OrderedNodeContainer) {
+                return new ChildOrder(children, false);
+            }
+
+            Arrays.sort(children, (first, second) -> IDENTIFIER_ORDER.compare(first.getIdentifier(),
+                second.getIdentifier()));
+            return new ChildOrder(children, true);
+        }
+
+        // Index of the first child which follows specified identifier
+        int after(final PathArgument identifier) {
+            if (sorted) {
+                final int found = Arrays.binarySearch(identifiers, identifier, IDENTIFIER_ORDER);
+                return found >= 0 ? found + 1 : -found - 1;
+            }
+            return position(identifier) + 1;
+        }
+
+        // Index of the first child which does not precede specified identifier
+        int before(final PathArgument identifier) {
+            if (sorted) {
+                final int found = Arrays.binarySearch(identifiers, identifier, IDENTIFIER_ORDER);
+                return found >= 0 ? found : -found - 1;
+            }
+            return position(identifier);
+        }
+
+        private int position(final PathArgument identifier) {
+            checkArgument(positions != null, "Children cannot be located by identifier %s", identifier);
+            final Integer position = positions.get(identifier);
+            checkArgument(position != null, "Child %s not found", identifier);
+            return position;
+        }
+    }
+
+    /**
+     * Stable order of child identifiers. Identifiers of different types are ordered by their type, identifiers of
+     * the same type are ordered by their QName and then by their values.
+     */
+    private static final Comparator<PathArgument> IDENTIFIER_ORDER = ChildPageReader::compareIdentifiers;
+
+    private static final LoadingCache<NormalizedNode<?, ?>, ChildOrder> ORDERS = CacheBuilder.newBuilder()
+            .weakKeys().build(CacheLoader.from(ChildOrder::of));
+
+    private ChildPageReader() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Read a page of children of a node.
+     *
+     * @param node Node whose children are to be read
+     * @param request Page specification
+     * @return Requested page
+     * @throws IllegalArgumentException if the node is not a {@link NormalizedNodeContainer} nor
+     *                                  an {@link OrderedNodeContainer}, or the request cannot be satisfied by it
+     */
+    static DataTreePage readPage(final NormalizedNode<?, ?> node, final DataTreePageRequest request) {
+        checkArgument(node instanceof NormalizedNodeContainer || node instanceof OrderedNodeContainer,
+            "Node %s is not a container", node);
+        final ChildOrder order = ORDERS.getUnchecked(node);
+
+        final int first = request.getStartAfter().map(order::after).orElse(0);
+        final int last = request.getEndBefore().map(order::before).orElse(order.children.length);
+        final int start = first + Math.min(request.getOffset(), Math.max(last - first, 0));
+        final int end = start + Math.min(request.getLimit(), Math.max(last - start, 0));
+
+        final Set<PathArgument> fields = request.getFields();
+        final ImmutableList.Builder<NormalizedNode<?, ?>> builder = ImmutableList.builder();
+        for (int i = start; i < end; ++i) {
+            builder.add(fields.isEmpty() ? order.children[i] : trimChild(order.children[i], fields));
+        }
+        return new DataTreePage(builder.build(), end < last);
+    }
+
+    private static NormalizedNode<?, ?> trimChild(final NormalizedNode<?, ?> child, final Set<PathArgument> fields) {
+        if (child instanceof MapEntryNode) {
+            final MapEntryNode entry = (MapEntryNode) child;
+            final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> builder =
+                    Builders.mapEntryBuilder().withNodeIdentifier(entry.getIdentifier());
+            for (QName key : entry.getIdentifier().getKeyValues().keySet()) {
+                final NodeIdentifier keyId = new NodeIdentifier(key);
+                if (!fields.contains(keyId)) {
+                    entry.getChild(keyId).ifPresent(builder::withChild);
+                }
+            }
+            return addFields(builder, entry, fields);
+        }
+        if (child instanceof ContainerNode) {
+            return addFields(Builders.containerBuilder().withNodeIdentifier(((ContainerNode) child).getIdentifier()),
+                (ContainerNode) child, fields);
+        }
+        if (child instanceof UnkeyedListEntryNode) {
+            return addFields(Builders.unkeyedListEntryBuilder().withNodeIdentifier(
+                ((UnkeyedListEntryNode) child).getIdentifier()), (UnkeyedListEntryNode) child, fields);
+        }
+        return child;
+    }
+
+    private static <I extends PathArgument, T extends DataContainerNode<I>> T addFields(
+            final DataContainerNodeBuilder<I, T> builder, final T child, final Set<PathArgument> fields) {
+        for (PathArgument field : fields) {
+            child.getChild(field).ifPresent(builder::withChild);
+        }
+        return builder.build();
+    }
+
+    private static int compareIdentifiers(final PathArgument first, final PathArgument second) {
+        final Class<?> firstClass = first.getClass();
+        final Class<?> secondClass = second.getClass();
+        if (firstClass != secondClass) {
+            return firstClass.getName().compareTo(secondClass.getName());
+        }
+        if (first instanceof AugmentationIdentifier) {
+            // Augmentation identifiers do not have a node type
+            return first.toString().compareTo(second.toString());
+        }
+
+        final int cmp = first.getNodeType().compareTo(second.getNodeType());
+        if (cmp != 0) {
+            return cmp;
+        }
+        if (first instanceof NodeIdentifierWithPredicates) {
+            return compareKeys(((NodeIdentifierWithPredicates) first).getKeyValues(),
+                ((NodeIdentifierWithPredicates) second).getKeyValues());
+        }
+        if (first instanceof NodeWithValue) {
+            return compareValues(((NodeWithValue<?>) first).getValue(), ((NodeWithValue<?>) second).getValue());
+        }
+        return 0;
+    }
+
+    private static int compareKeys(final Map<QName, Object> first, final Map<QName, Object> second) {
+        if (first.size() != second.size()) {
+            return Integer.compare(first.size(), second.size());
+        }
+
+        final Iterator<Entry<QName, Object>> it = second.entrySet().iterator();
+        for (Entry<QName, Object> entry : first.entrySet()) {
+            final Entry<QName, Object> other = it.next();
+            int cmp = entry.getKey().compareTo(other.getKey());
+            if (cmp == 0) {
+                cmp = compareValues(entry.getValue(), other.getValue());
+            }
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static int compareValues(final Object first, final Object second) {
+        final Class<?> firstClass = first.getClass();
+        if (firstClass != second.getClass()) {
+            return firstClass.getName().compareTo(second.getClass().getName());
+        }
+        if (first instanceof Comparable) {
+            return ((Comparable) first).compareTo(second);
+        }
+        if (first instanceof byte[]) {
+            return UnsignedBytes.lexicographicalComparator().compare((byte[]) first, (byte[]) second);
+        }
+        return first.toString().compareTo(second.toString());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapStorage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Demotes cold subtrees of an {@link InMemoryDataTree} as configured by {@link OffHeapTiering}. Subtree age is
+ * tracked by mapping the versions assigned by commits to commit sequence numbers. Subtrees whose version is not known,
+ * such as the initial version, are considered cold.
+ *
+ * <p>
+ * Sweeps run on {@link OffHeapTiering#getExecutor()}, committing threads only schedule them. At most one sweep is in
+ * progress at any time, sweeps due while one is running are skipped. A sweep works on a snapshot of the data tree and
+ * replaces the data tree root without a regular commit, provided the tree has not been modified in the meantime.
+ * Candidates prepared on top of the root which was swept remain valid, as reported by
+ * {@link #isSweepOf(TreeNode, TreeNode)}, since demotion does not change data. Committing such a candidate loses the
+ * demotions, which are then redone by a subsequent sweep.
+ */
+final class ColdSubtreeSweeper {
+    private static final Logger LOG = LoggerFactory.getLogger(ColdSubtreeSweeper.class);
+
+    // Versions are referenced by tree nodes, hence we remember only those which are still in use
+    private final Cache<Version, Long> commitSequences = CacheBuilder.newBuilder().weakKeys().build();
+    private final OffHeapTiering tiering;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Written in this order and read in reverse order, so that a reader seeing the root sees its base, too
+    private volatile TreeNode sweptBase;
+    private volatile TreeNode sweptRoot;
+
+    ColdSubtreeSweeper(final OffHeapTiering tiering) {
+        this.tiering = requireNonNull(tiering);
+    }
+
+    boolean isSweepOf(final TreeNode currentRoot, final TreeNode baseRoot) {
+        return currentRoot == sweptRoot && baseRoot == sweptBase;
+    }
+
+    void committed(final InMemoryDataTree tree, final TreeNode newRoot) {
+        final long seq = sequence.incrementAndGet();
+        commitSequences.put(newRoot.getSubtreeVersion(), seq);
+        if (seq % tiering.getSweepInterval() == 0 && sweeping.compareAndSet(false, true)) {
+            try {
+                tiering.getExecutor().execute(() -> runSweep(tree));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Failed to schedule sweep of {}", tree, e);
+                sweeping.set(false);
+            }
+        }
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void runSweep(final InMemoryDataTree tree) {
+        try {
+            sweepTree(tree);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to sweep {}", tree, e);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void sweepTree(final InMemoryDataTree tree) {
+        final InMemoryDataTreeSnapshot snapshot = tree.takeSnapshot();
+        final TreeNode baseRoot = snapshot.getRootNode();
+        final long seq = sequence.get();
+        final DataTreeModification mod = snapshot.newModification();
+        final int demoted = sweep(mod, YangInstanceIdentifier.EMPTY, baseRoot, seq);
+        if (demoted == 0) {
+            LOG.debug("No cold subtrees found in {}", tree);
+            return;
+        }
+
+        mod.ready();
+        final DataTreeCandidateTip candidate;
+        try {
+            candidate = tree.prepare(mod);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            LOG.warn("Failed to demote cold subtrees of {}", tree, e);
+            return;
+        }
+
+        // Candidates are prepared against the current root, which may not be the one we have swept
+        final InMemoryDataTreeCandidate c = (InMemoryDataTreeCandidate) candidate;
+        if (c.getBeforeRoot() != baseRoot) {
+            LOG.debug("Data tree {} has been modified during sweep, not demoting subtrees", tree);
+            return;
+        }
+
+        final TreeNode newRoot = c.getTipRoot();
+        sweptBase = baseRoot;
+        sweptRoot = newRoot;
+        if (!tree.replaceRoot(baseRoot, newRoot)) {
+            LOG.debug("Data tree {} has been modified during sweep, not demoting subtrees", tree);
+            return;
+        }
+
+        // Demotions count as a commit, so that ancestors of demoted subtrees are not considered cold
+        commitSequences.put(newRoot.getSubtreeVersion(), seq);
+        LOG.debug("Demoted {} cold subtrees of {}", demoted, tree);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int sweep(final DataTreeModification mod, final YangInstanceIdentifier path, final TreeNode node,
+            final long seq) {
+        final NormalizedNode<?, ?> data = node.getData();
+        if (!(data instanceof NormalizedNodeContainer)) {
+            return 0;
+        }
+
+        int ret = 0;
+        for (NormalizedNode<?, ?> childData : ((NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>>) data)
+                .getValue()) {
+            if (OffHeapStorage.isDemoted(childData)) {
+                continue;
+            }
+            final Optional<TreeNode> child = node.getChild(childData.getIdentifier());
+            // Nothing below a small subtree can be large enough
+            if (!child.isPresent() || child.get().getRetainedSize() < tiering.getMinimumSize()) {
+                continue;
+            }
+
+            final YangInstanceIdentifier childPath = path.node(childData.getIdentifier());
+            if (OffHeapStorage.canDemote(childData) && isCold(child.get(), seq)) {
+                try {
+                    mod.write(childPath, tiering.getStorage().demote(childData));
+                    ++ret;
+                } catch (IOException e) {
+                    LOG.warn("Failed to demote {}, leaving it on heap", childPath, e);
+                }
+            } else {
+                ret += sweep(mod, childPath, child.get(), seq);
+            }
+        }
+        return ret;
+    }
+
+    private boolean isCold(final TreeNode node, final long seq) {
+        final Long modified = commitSequences.getIfPresent(node.getSubtreeVersion());
+        return modified == null || seq - modified >= tiering.getColdAge();
+    }
+}
@@ -46,6 +46,10 @@ final class DataTreeState {
         return root;
     }
 
+    ModificationApplyOperation getOperation() {
+        return holder.getCurrent();
+    }
+
     InMemoryDataTreeSnapshot newSnapshot() {
         return new InMemoryDataTreeSnapshot(schemaContext, root, holder.newSnapshot());
     }
@@ -8,17 +8,24 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BulkLoadAwareDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.GroupCommitAwareDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.GroupCommitResult;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
@@ -33,13 +40,15 @@ import org.slf4j.LoggerFactory;
 /**
  * Read-only snapshot of the data tree.
  */
-final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
+final class InMemoryDataTree extends AbstractDataTreeTip implements BulkLoadAwareDataTree,
+        GroupCommitAwareDataTree {
     private static final AtomicReferenceFieldUpdater<InMemoryDataTree, DataTreeState> STATE_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(InMemoryDataTree.class, DataTreeState.class, "state");
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTree.class);
 
     private final DataTreeConfiguration treeConfig;
     private final boolean maskMandatory;
+    private final ColdSubtreeSweeper sweeper;
 
     /**
      * Current data store state generation.
@@ -50,6 +59,7 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
         final SchemaContext schemaContext) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
         maskMandatory = true;
+        sweeper = null;
         state = DataTreeState.createInitial(rootNode);
         if (schemaContext != null) {
             setSchemaContext(schemaContext);
@@ -58,8 +68,15 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
 
     InMemoryDataTree(final TreeNode rootNode, final DataTreeConfiguration treeConfig,
             final SchemaContext schemaContext, final DataSchemaNode rootSchemaNode, final boolean maskMandatory) {
+        this(rootNode, treeConfig, schemaContext, rootSchemaNode, maskMandatory, null);
+    }
+
+    InMemoryDataTree(final TreeNode rootNode, final DataTreeConfiguration treeConfig,
+            final SchemaContext schemaContext, final DataSchemaNode rootSchemaNode, final boolean maskMandatory,
+            final @Nullable OffHeapTiering tiering) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
         this.maskMandatory = maskMandatory;
+        sweeper = tiering == null ? null : new ColdSubtreeSweeper(tiering);
 
         state = DataTreeState.createInitial(rootNode).withSchemaContext(schemaContext, getOperation(rootSchemaNode));
     }
@@ -138,7 +155,7 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
 
             final TreeNode oldRoot = c.getBeforeRoot();
-            if (oldRoot != currentRoot) {
+            if (oldRoot != currentRoot && !isSweepOf(currentRoot, oldRoot)) {
                 final String oldStr = simpleToString(oldRoot);
                 final String currentStr = simpleToString(currentRoot);
                 throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr
@@ -148,6 +165,80 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             newState = currentState.withRoot(newRoot);
             LOG.trace("Updated state from {} to {}", currentState, newState);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+
+        committed(newRoot);
+    }
+
+    @Override
+    public InMemoryDataTreeBulkLoader newBulkLoader() {
+        final DataTreeState current = state;
+        final ModificationApplyOperation operation = current.getOperation();
+        checkState(operation != null, "Data tree %s does not have a SchemaContext", this);
+        return new InMemoryDataTreeBulkLoader(this, current.getRoot(), operation);
+    }
+
+    void commitBulkLoad(final TreeNode baseRoot, final TreeNode newRoot)
+            throws ConflictingModificationAppliedException {
+        DataTreeState currentState;
+        DataTreeState newState;
+        do {
+            currentState = state;
+            if (baseRoot != currentState.getRoot() && !isSweepOf(currentState.getRoot(), baseRoot)) {
+                throw new ConflictingModificationAppliedException(getRootPath(),
+                    "Data tree has been modified while bulk load was in progress");
+            }
+
+            newState = currentState.withRoot(newRoot);
+            LOG.trace("Bulk-loaded state from {} to {}", currentState, newState);
+        } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+
+        committed(newRoot);
+    }
+
+    @Override
+    public GroupCommitResult commitGroup(final List<? extends DataTreeModification> modifications) {
+        final InMemoryDataTreeGroupCommit group = new InMemoryDataTreeGroupCommit(getRootPath(), modifications);
+
+        DataTreeState currentState;
+        TreeNode newRoot;
+        do {
+            currentState = state;
+            newRoot = group.execute(currentState.newSnapshot());
+            if (newRoot == currentState.getRoot()) {
+                // Nothing was committed
+                break;
+            }
+            LOG.trace("Group-committed state {} to {}", currentState, newRoot);
+        } while (!STATE_UPDATER.compareAndSet(this, currentState, currentState.withRoot(newRoot)));
+
+        if (newRoot != currentState.getRoot()) {
+            committed(newRoot);
+        }
+        return group.toResult(currentState.getRoot(), newRoot);
+    }
+
+    /**
+     * Replace the root node with an equivalent one, as long as the tree has not been modified. This is used to demote
+     * cold subtrees, which does not change data and hence does not constitute a commit.
+     *
+     * @param expectedRoot Expected current root node
+     * @param newRoot New root node
+     * @return True if the root has been replaced
+     */
+    boolean replaceRoot(final TreeNode expectedRoot, final TreeNode newRoot) {
+        final DataTreeState currentState = state;
+        return currentState.getRoot() == expectedRoot
+                && STATE_UPDATER.compareAndSet(this, currentState, currentState.withRoot(newRoot));
+    }
+
+    private boolean isSweepOf(final TreeNode currentRoot, final TreeNode baseRoot) {
+        return sweeper != null && sweeper.isSweepOf(currentRoot, baseRoot);
+    }
+
+    private void committed(final TreeNode newRoot) {
+        if (sweeper != null) {
+            sweeper.committed(this, newRoot);
+        }
     }
 
     private static String simpleToString(final Object obj) {
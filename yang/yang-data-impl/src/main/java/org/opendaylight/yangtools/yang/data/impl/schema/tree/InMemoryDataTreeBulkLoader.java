@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeBulkLoader;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+
+/**
+ * A {@link DataTreeBulkLoader} for {@link InMemoryDataTree}. Each node is verified against its
+ * {@link ModificationApplyOperation} as soon as it is finished, so that the whole tree is validated in the same pass
+ * which builds it. The resulting data is then installed as a single {@link TreeNode}, whose children are instantiated
+ * on demand.
+ */
+final class InMemoryDataTreeBulkLoader implements DataTreeBulkLoader {
+    /**
+     * Stream writer which tracks the {@link ModificationApplyOperation} corresponding to each open node.
+     */
+    private static final class Writer extends ImmutableNormalizedNodeStreamWriter {
+        private final Deque<ModificationApplyOperation> operations = new ArrayDeque<>();
+
+        Writer(final NormalizedNodeContainerBuilder<?, ?, ?, ?> rootBuilder,
+                final ModificationApplyOperation rootOperation) {
+            super(rootBuilder);
+            operations.push(rootOperation);
+        }
+
+        boolean isAtRoot() {
+            return operations.size() == 1;
+        }
+
+        @Override
+        protected void writeChild(final NormalizedNode<?, ?> child) {
+            childOperation(child.getIdentifier()).shallowVerifyStructure(child);
+            super.writeChild(child);
+        }
+
+        @Override
+        public void endNode() {
+            checkState(!isAtRoot(), "Root node cannot be ended");
+            // Pop the operation first, so that writeChild() finds the parent operation
+            operations.pop();
+            super.endNode();
+        }
+
+        @Override
+        public void startLeafSet(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startLeafSet(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startOrderedLeafSet(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startContainerNode(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startContainerNode(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startYangModeledAnyXmlNode(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startUnkeyedList(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startUnkeyedListItem(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startMapNode(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startMapNode(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(identifier);
+            super.startMapEntryNode(identifier, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startOrderedMapNode(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) {
+            final ModificationApplyOperation op = childOperation(name);
+            super.startChoiceNode(name, childSizeHint);
+            operations.push(op);
+        }
+
+        @Override
+        public void startAugmentationNode(final AugmentationIdentifier identifier) {
+            final ModificationApplyOperation op = childOperation(identifier);
+            super.startAugmentationNode(identifier);
+            operations.push(op);
+        }
+
+        private ModificationApplyOperation childOperation(final PathArgument childId) {
+            final ModificationApplyOperation parent = operations.peek();
+            final Optional<ModificationApplyOperation> childOp = parent.getChild(childId);
+            if (!childOp.isPresent()) {
+                throw new SchemaValidationFailedException(String.format(
+                    "Node %s is not a valid child of %s according to the schema.", childId, parent));
+            }
+            return childOp.get();
+        }
+    }
+
+    private final NormalizedNodeContainerBuilder<?, ?, ?, ?> rootBuilder;
+    private final ModificationApplyOperation rootOperation;
+    private final InMemoryDataTree tree;
+    private final TreeNode baseRoot;
+    private final Writer writer;
+
+    private boolean committed;
+
+    InMemoryDataTreeBulkLoader(final InMemoryDataTree tree, final TreeNode baseRoot,
+            final ModificationApplyOperation rootOperation) {
+        this.tree = requireNonNull(tree);
+        this.baseRoot = requireNonNull(baseRoot);
+        this.rootOperation = requireNonNull(rootOperation);
+        rootBuilder = createRootBuilder(baseRoot.getData());
+        writer = new Writer(rootBuilder, rootOperation);
+    }
+
+    @Override
+    public NormalizedNodeStreamWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void commit() throws DataValidationFailedException {
+        checkState(!committed, "Bulk load %s has already been committed", this);
+        checkState(writer.isAtRoot(), "Bulk load %s has unfinished nodes", this);
+        committed = true;
+
+        final NormalizedNode<?, ?> data = rootBuilder.build();
+        rootOperation.shallowVerifyStructure(data);
+        tree.commitBulkLoad(baseRoot, TreeNodeFactory.createTreeNode(data, baseRoot.getSubtreeVersion().next()));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("tree", tree).add("committed", committed).toString();
+    }
+
+    private static NormalizedNodeContainerBuilder<?, ?, ?, ?> createRootBuilder(final NormalizedNode<?, ?> root) {
+        if (root instanceof ContainerNode) {
+            return ImmutableContainerNodeBuilder.create().withNodeIdentifier(((ContainerNode) root).getIdentifier());
+        }
+        if (root instanceof MapEntryNode) {
+            return ImmutableMapEntryNodeBuilder.create().withNodeIdentifier(((MapEntryNode) root).getIdentifier());
+        }
+        throw new IllegalStateException("Unsupported root node " + root);
+    }
+}
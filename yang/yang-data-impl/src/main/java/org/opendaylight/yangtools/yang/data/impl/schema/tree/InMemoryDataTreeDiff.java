@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+
+/**
+ * Utility methods for computing the difference between two data tree states as a {@link DataTreeCandidate}.
+ *
+ * <p>
+ * The resulting candidate is computed lazily as it is being traversed. Subtrees shared by the two states are pruned
+ * based on {@link TreeNode} identity and subtree {@link Version}, hence the cost of traversing the difference of two
+ * snapshots of the same data tree is proportional to the number of changed paths, not to the size of data.
+ * Reported {@code SUBTREE_MODIFIED} nodes may contain children which turn out to be {@code UNMODIFIED} when they are
+ * compared by content.
+ */
+@Beta
+public final class InMemoryDataTreeDiff {
+    private InMemoryDataTreeDiff() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Compute the difference between two snapshots of an {@link InMemoryDataTreeFactory}-created data tree.
+     *
+     * @param before Snapshot of the original state
+     * @param after Snapshot of the resulting state
+     * @return A {@link DataTreeCandidate} rooted at {@link YangInstanceIdentifier#EMPTY}
+     * @throws IllegalArgumentException if any of the snapshots has not been produced by an in-memory data tree
+     */
+    public static @NonNull DataTreeCandidate diff(final DataTreeSnapshot before, final DataTreeSnapshot after) {
+        return diff(rootNode(before), rootNode(after));
+    }
+
+    /**
+     * Compute the difference between two data tree roots.
+     *
+     * @param before Original root node
+     * @param after Resulting root node
+     * @return A {@link DataTreeCandidate} rooted at {@link YangInstanceIdentifier#EMPTY}
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull DataTreeCandidate diff(final @NonNull TreeNode before, final @NonNull TreeNode after) {
+        return DataTreeCandidates.newDataTreeCandidate(YangInstanceIdentifier.EMPTY,
+            TreeNodeDiffCandidateNode.rootNode(before, after));
+    }
+
+    private static TreeNode rootNode(final DataTreeSnapshot snapshot) {
+        checkArgument(snapshot instanceof InMemoryDataTreeSnapshot, "Unsupported snapshot %s", snapshot);
+        return ((InMemoryDataTreeSnapshot) snapshot).getRootNode();
+    }
+}
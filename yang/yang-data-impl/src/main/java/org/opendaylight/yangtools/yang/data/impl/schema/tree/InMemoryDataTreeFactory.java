@@ -7,7 +7,13 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import java.util.Collection;
+import org.eclipse.jdt.annotation.Nullable;
 import org.kohsuke.MetaInfServices;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
@@ -48,13 +54,13 @@ public final class InMemoryDataTreeFactory implements DataTreeFactory {
 
     @Override
     public DataTree create(final DataTreeConfiguration treeConfig, final SchemaContext initialSchemaContext) {
-        return create(treeConfig, initialSchemaContext, true);
+        return create(treeConfig, initialSchemaContext, true, null);
     }
 
     @Override
     public DataTree create(final DataTreeConfiguration treeConfig, final SchemaContext initialSchemaContext,
             final NormalizedNodeContainer<?, ?, ?> initialRoot) throws DataValidationFailedException {
-        final DataTree ret = create(treeConfig, initialSchemaContext, false);
+        final DataTree ret = create(treeConfig, initialSchemaContext, false, null);
 
         final DataTreeModification mod = ret.takeSnapshot().newModification();
         mod.write(YangInstanceIdentifier.EMPTY, initialRoot);
@@ -67,12 +73,60 @@ public final class InMemoryDataTreeFactory implements DataTreeFactory {
     }
 
     private static DataTree create(final DataTreeConfiguration treeConfig, final SchemaContext initialSchemaContext,
-            final boolean maskMandatory) {
+            final boolean maskMandatory, final @Nullable OffHeapTiering tiering) {
         final DataSchemaNode rootSchemaNode = getRootSchemaNode(initialSchemaContext, treeConfig.getRootPath());
         final NormalizedNode<?, ?> rootDataNode = createRoot((DataNodeContainer)rootSchemaNode,
             treeConfig.getRootPath());
         return new InMemoryDataTree(TreeNodeFactory.createTreeNode(rootDataNode, Version.initial()), treeConfig,
-            initialSchemaContext, rootSchemaNode, maskMandatory);
+            initialSchemaContext, rootSchemaNode, maskMandatory, tiering);
+    }
+
+    /**
+     * Create a new {@link DataTree} partitioned into independent shards. Each shard is rooted at one of the specified
+     * prefixes, which have to identify non-overlapping container nodes below the configured root path. The remainder
+     * of the tree is held in a default shard. Transactions confined to a single shard are committed without
+     * coordinating with other shards.
+     *
+     * <p>
+     * Shard roots always exist: they are read as empty containers and deleting them clears their contents.
+     *
+     * @param treeConfig Tree configuration
+     * @param initialSchemaContext Initial schema context
+     * @param shardPrefixes Absolute paths to shard roots
+     * @return A new sharded data tree
+     * @throws IllegalArgumentException if a prefix does not identify a container below the root path or if prefixes
+     *                                  overlap
+     */
+    @Beta
+    public DataTree createSharded(final DataTreeConfiguration treeConfig, final SchemaContext initialSchemaContext,
+            final Collection<YangInstanceIdentifier> shardPrefixes) {
+        final ShardLayout layout = new ShardLayout(treeConfig.getRootPath(), shardPrefixes);
+        final InMemoryDataTree[] shards = new InMemoryDataTree[layout.size()];
+        shards[0] = (InMemoryDataTree) create(treeConfig, initialSchemaContext, true, null);
+        for (int i = 1; i < shards.length; ++i) {
+            final DataTreeConfiguration shardConfig = treeConfig.copyBuilder()
+                    .setRootPath(YangInstanceIdentifier.create(Iterables.concat(
+                        treeConfig.getRootPath().getPathArguments(), layout.prefix(i).getPathArguments())))
+                    .build();
+            shards[i] = (InMemoryDataTree) create(shardConfig, initialSchemaContext, true, null);
+        }
+        return new ShardedDataTree(layout, shards);
+    }
+
+    /**
+     * Create a new {@link DataTree} which automatically demotes cold subtrees into an off-heap storage. Demoted
+     * subtrees remain accessible and modifiable as usual, they are materialized on access.
+     *
+     * @param treeConfig Tree configuration
+     * @param initialSchemaContext Initial schema context
+     * @param tiering Tiering configuration
+     * @return A new tiered data tree
+     * @throws NullPointerException if any argument is null
+     */
+    @Beta
+    public DataTree createTiered(final DataTreeConfiguration treeConfig, final SchemaContext initialSchemaContext,
+            final OffHeapTiering tiering) {
+        return create(treeConfig, initialSchemaContext, true, requireNonNull(tiering));
     }
 
     private static DataSchemaNode getRootSchemaNode(final SchemaContext schemaContext,
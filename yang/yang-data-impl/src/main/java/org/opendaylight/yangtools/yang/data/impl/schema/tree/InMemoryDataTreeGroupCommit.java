@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.VerifyException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.GroupCommitResult;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single execution of a group commit. Modifications are validated in order against the state left by their accepted
+ * predecessors. Consecutive modifications which do not touch overlapping subtrees form a segment, whose operations
+ * are replayed into a single merged modification, so that the nodes shared by their paths are rebuilt only once.
+ * Whenever a modification overlaps with the current segment, the segment is applied first, so the modification is
+ * validated against the actual state it will be applied to.
+ */
+final class InMemoryDataTreeGroupCommit {
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTreeGroupCommit.class);
+
+    private final List<Integer> segment = new ArrayList<>();
+    private final List<InMemoryDataTreeModification> modifications;
+    private final YangInstanceIdentifier rootPath;
+    private final Exception[] failures;
+
+    private InMemoryDataTreeSnapshot segmentBase;
+    private Footprint footprint;
+    private boolean executed;
+
+    InMemoryDataTreeGroupCommit(final YangInstanceIdentifier rootPath,
+            final List<? extends DataTreeModification> modifications) {
+        this.rootPath = requireNonNull(rootPath);
+
+        final List<InMemoryDataTreeModification> mods = new ArrayList<>(modifications.size());
+        for (DataTreeModification mod : modifications) {
+            checkArgument(mod instanceof InMemoryDataTreeModification, "Invalid modification class %s",
+                mod.getClass());
+            final InMemoryDataTreeModification m = (InMemoryDataTreeModification) mod;
+            checkArgument(m.isSealed(), "Attempted to commit unsealed modification %s", m);
+            mods.add(m);
+        }
+        this.modifications = mods;
+        this.failures = new Exception[mods.size()];
+    }
+
+    /**
+     * Process all modifications on top of a particular snapshot. This method can be invoked multiple times, each
+     * invocation discarding the results of the previous one. Since validating and applying a modification leaves
+     * state in its {@link ModifiedNode}s, subsequent invocations operate on copies of the modifications.
+     *
+     * @param base Base snapshot
+     * @return Resulting root node
+     */
+    @NonNull TreeNode execute(final InMemoryDataTreeSnapshot base) {
+        if (executed) {
+            modifications.replaceAll(InMemoryDataTreeModification::copy);
+        }
+        executed = true;
+
+        Arrays.fill(failures, null);
+        segmentBase = requireNonNull(base);
+        footprint = new Footprint();
+        segment.clear();
+
+        for (int i = 0; i < failures.length; ++i) {
+            final InMemoryDataTreeModification mod = modifications.get(i);
+            final ModifiedNode root = mod.getRootModification();
+            if (root.getOperation() == LogicalOperation.NONE) {
+                continue;
+            }
+
+            if (footprint.overlaps(root)) {
+                flushSegment();
+            }
+
+            try {
+                mod.getStrategy().checkApplicable(new ModificationPath(rootPath), root,
+                    Optional.of(segmentBase.getRootNode()), mod.getVersion());
+            } catch (DataValidationFailedException e) {
+                LOG.debug("Modification {} failed to validate", mod, e);
+                failures[i] = e;
+                continue;
+            }
+
+            footprint.record(root);
+            segment.add(i);
+        }
+
+        flushSegment();
+        return segmentBase.getRootNode();
+    }
+
+    @NonNull GroupCommitResult toResult(final TreeNode before, final TreeNode after) {
+        return new Result(InMemoryDataTreeDiff.diff(before, after), Arrays.asList(failures.clone()));
+    }
+
+    private void flushSegment() {
+        final TreeNode newRoot;
+        switch (segment.size()) {
+            case 0:
+                return;
+            case 1:
+                newRoot = applySequentially();
+                break;
+            default:
+                newRoot = applyMerged();
+        }
+
+        LOG.trace("Applied segment of {} modifications", segment.size());
+        segmentBase = segmentBase.withRootNode(newRoot);
+        footprint = new Footprint();
+        segment.clear();
+    }
+
+    private TreeNode applyMerged() {
+        final InMemoryDataTreeModification merged = segmentBase.newModification();
+        try {
+            try (DataTreeModificationCursor cursor = merged.createCursor(YangInstanceIdentifier.EMPTY)) {
+                for (Integer index : segment) {
+                    modifications.get(index).applyToCursor(cursor);
+                }
+            }
+            merged.ready();
+            return apply(merged, segmentBase.getRootNode());
+        } catch (IllegalArgumentException | IllegalStateException | VerifyException e) {
+            // Isolate the offending modification(s)
+            LOG.debug("Failed to apply merged segment of {} modifications, applying them one-by-one", segment.size(),
+                e);
+            return applySequentially();
+        }
+    }
+
+    private TreeNode applySequentially() {
+        TreeNode current = segmentBase.getRootNode();
+        for (Integer index : segment) {
+            try {
+                current = apply(modifications.get(index), current);
+            } catch (IllegalArgumentException | IllegalStateException | VerifyException e) {
+                LOG.debug("Modification {} failed to apply", modifications.get(index), e);
+                failures[index] = e;
+            }
+        }
+        return current;
+    }
+
+    private static TreeNode apply(final InMemoryDataTreeModification mod, final TreeNode currentRoot) {
+        final Optional<TreeNode> newRoot = mod.getStrategy().apply(mod.getRootModification(),
+            Optional.of(currentRoot), mod.getVersion());
+        checkState(newRoot.isPresent(), "Apply strategy failed to produce root node for modification %s", mod);
+        return newRoot.get();
+    }
+
+    /**
+     * Set of paths affected by a segment. A node is terminal if it is written, merged or deleted, in which case
+     * its entire subtree is considered to be affected.
+     */
+    private static final class Footprint {
+        private final Map<PathArgument, Footprint> children = new HashMap<>();
+        private boolean terminal;
+
+        boolean overlaps(final ModifiedNode node) {
+            if (node.getOperation() == LogicalOperation.NONE || !terminal && children.isEmpty()) {
+                return false;
+            }
+            if (terminal || node.getOperation() != LogicalOperation.TOUCH) {
+                return true;
+            }
+
+            for (ModifiedNode child : node.getChildren()) {
+                final Footprint footprint = children.get(child.getIdentifier());
+                if (footprint != null && footprint.overlaps(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void record(final ModifiedNode node) {
+            switch (node.getOperation()) {
+                case NONE:
+                    break;
+                case TOUCH:
+                    if (!terminal) {
+                        for (ModifiedNode child : node.getChildren()) {
+                            children.computeIfAbsent(child.getIdentifier(), key -> new Footprint()).record(child);
+                        }
+                    }
+                    break;
+                default:
+                    terminal = true;
+                    children.clear();
+            }
+        }
+    }
+
+    private static final class Result implements GroupCommitResult {
+        private final @NonNull DataTreeCandidate candidate;
+        private final List<Exception> failures;
+
+        Result(final DataTreeCandidate candidate, final List<Exception> failures) {
+            this.candidate = requireNonNull(candidate);
+            this.failures = failures;
+        }
+
+        @Override
+        public DataTreeCandidate getCandidate() {
+            return candidate;
+        }
+
+        @Override
+        public int size() {
+            return failures.size();
+        }
+
+        @Override
+        public Optional<Exception> getFailure(final int index) {
+            return Optional.ofNullable(failures.get(index));
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("size", size()).add("candidate", candidate).toString();
+        }
+    }
+}
@@ -214,6 +214,37 @@ final class InMemoryDataTreeModification extends AbstractCursorAware implements
         return version;
     }
 
+    /**
+     * Create a sealed copy of this modification, based on the same snapshot. Applying a modification leaves state
+     * in its {@link ModifiedNode}s, which the copy does not share.
+     *
+     * @return A sealed copy
+     * @throws IllegalStateException if this modification is not sealed
+     */
+    InMemoryDataTreeModification copy() {
+        checkState(sealed == 1, "Attempted to copy an unsealed modification");
+
+        final InMemoryDataTreeModification ret = snapshot.newModification();
+        switch (rootNode.getOperation()) {
+            case DELETE:
+                ret.delete(YangInstanceIdentifier.EMPTY);
+                break;
+            case MERGE:
+                ret.merge(YangInstanceIdentifier.EMPTY, rootNode.getWrittenValue());
+                break;
+            case WRITE:
+                ret.write(YangInstanceIdentifier.EMPTY, rootNode.getWrittenValue());
+                break;
+            default:
+                break;
+        }
+        try (DataTreeModificationCursor cursor = ret.createCursor(YangInstanceIdentifier.EMPTY)) {
+            applyToCursor(cursor);
+        }
+        ret.ready();
+        return ret;
+    }
+
     boolean isSealed() {
         return sealed == 1;
     }
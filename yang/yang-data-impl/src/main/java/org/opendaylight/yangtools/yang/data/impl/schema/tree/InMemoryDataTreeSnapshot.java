@@ -39,6 +39,10 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
         return rootNode;
     }
 
+    InMemoryDataTreeSnapshot withRootNode(final TreeNode newRootNode) {
+        return new InMemoryDataTreeSnapshot(schemaContext, newRootNode, applyOper);
+    }
+
     @Override
     public SchemaContext getSchemaContext() {
         return schemaContext;
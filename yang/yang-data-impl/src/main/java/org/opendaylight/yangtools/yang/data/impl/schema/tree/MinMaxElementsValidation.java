@@ -100,6 +100,12 @@ final class MinMaxElementsValidation<T extends DataSchemaNode & ElementCountCons
         checkChildren(modification);
     }
 
+    @Override
+    void shallowVerifyStructure(final NormalizedNode<?, ?> modification) {
+        delegate.shallowVerifyStructure(modification);
+        checkChildren(modification);
+    }
+
     @Override
     public Optional<ModificationApplyOperation> getChild(final PathArgument child) {
         return delegate.getChild(child);
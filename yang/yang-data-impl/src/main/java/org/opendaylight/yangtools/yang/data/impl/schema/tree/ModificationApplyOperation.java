@@ -89,6 +89,18 @@ abstract class ModificationApplyOperation implements StoreTreeNode<ModificationA
      */
     abstract void fullVerifyStructure(NormalizedNode<?, ?> modification);
 
+    /**
+     * Performs a structural verification of a node whose children have already been verified, such as when the node
+     * is being assembled from a stream of events. Unlike {@link #fullVerifyStructure(NormalizedNode)} this method
+     * does not descend into children, but it does enforce constraints placed on the children, such as presence of
+     * mandatory nodes.
+     *
+     * @param modification data to be verified.
+     * @throws IllegalArgumentException If provided NodeModification does not adhere to the
+     *         structure.
+     */
+    abstract void shallowVerifyStructure(NormalizedNode<?, ?> modification);
+
     /**
      * Return the tracking policy for this node's children.
      *
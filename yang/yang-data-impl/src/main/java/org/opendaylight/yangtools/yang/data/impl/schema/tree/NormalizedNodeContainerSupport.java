@@ -15,6 +15,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapStorage;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 
 final class NormalizedNodeContainerSupport<K extends PathArgument, T extends NormalizedNode<K, ?>> {
@@ -39,7 +40,8 @@ final class NormalizedNodeContainerSupport<K extends PathArgument, T extends Nor
     }
 
     NormalizedNodeContainerBuilder<?, ?, ?, T> createBuilder(final NormalizedNode<?, ?> original) {
-        return copyBuilder.apply(cast(original));
+        // Builders require on-heap nodes, placeholders of demoted subtrees need to be materialized first
+        return copyBuilder.apply(cast(OffHeapStorage.materialize(original)));
     }
 
     NormalizedNode<?, ?> createEmptyValue(final NormalizedNode<?, ?> original) {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapStorage;
+
+/**
+ * Configuration of automatic demotion of cold subtrees into an {@link OffHeapStorage}, as performed by data trees
+ * created through {@link InMemoryDataTreeFactory#createTiered}.
+ *
+ * <p>
+ * Subtree age is measured in commits: a subtree is cold when none of the last {@link #getColdAge()} commits has
+ * modified it. Every {@link #getSweepInterval()} commits the data tree is swept for cold subtrees which retain at least
+ * {@link #getMinimumSize()} bytes, and those are replaced by their off-heap placeholders. Sweeps are performed
+ * asynchronously on {@link #getExecutor()}, so that they do not delay the commit which triggered them.
+ */
+@Beta
+public final class OffHeapTiering implements Immutable {
+    private static final class DefaultExecutorHolder {
+        static final Executor INSTANCE = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("cold-subtree-sweeper-%d").setDaemon(true).build());
+    }
+
+    private final OffHeapStorage storage;
+    private final Executor executor;
+    private final int sweepInterval;
+    private final int coldAge;
+    private final long minimumSize;
+
+    OffHeapTiering(final Builder builder) {
+        storage = builder.storage;
+        executor = builder.executor != null ? builder.executor : DefaultExecutorHolder.INSTANCE;
+        sweepInterval = builder.sweepInterval;
+        coldAge = builder.coldAge;
+        minimumSize = builder.minimumSize;
+    }
+
+    public static Builder builder(final OffHeapStorage storage) {
+        return new Builder(storage);
+    }
+
+    public OffHeapStorage getStorage() {
+        return storage;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public int getColdAge() {
+        return coldAge;
+    }
+
+    public long getMinimumSize() {
+        return minimumSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("storage", storage).add("executor", executor)
+                .add("interval", sweepInterval).add("coldAge", coldAge).add("minimumSize", minimumSize).toString();
+    }
+
+    public static final class Builder implements org.opendaylight.yangtools.concepts.Builder<OffHeapTiering> {
+        private final OffHeapStorage storage;
+        private Executor executor;
+        private int sweepInterval = 1000;
+        private int coldAge = 10000;
+        private long minimumSize = 4096;
+
+        Builder(final OffHeapStorage storage) {
+            this.storage = requireNonNull(storage);
+        }
+
+        /**
+         * Set the executor running sweeps. Defaults to a single daemon thread shared by all data trees.
+         *
+         * @param executor Sweep executor
+         * @return This builder
+         * @throws NullPointerException if executor is null
+         */
+        public Builder setExecutor(final Executor executor) {
+            this.executor = requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Set the number of commits between sweeps. Defaults to 1000.
+         *
+         * @param sweepInterval Number of commits
+         * @return This builder
+         * @throws IllegalArgumentException if sweepInterval is not positive
+         */
+        public Builder setSweepInterval(final int sweepInterval) {
+            checkArgument(sweepInterval > 0, "Invalid sweep interval %s", sweepInterval);
+            this.sweepInterval = sweepInterval;
+            return this;
+        }
+
+        /**
+         * Set the number of commits which need to leave a subtree unmodified before it is considered cold. Defaults
+         * to 10000.
+         *
+         * @param coldAge Number of commits
+         * @return This builder
+         * @throws IllegalArgumentException if coldAge is negative
+         */
+        public Builder setColdAge(final int coldAge) {
+            checkArgument(coldAge >= 0, "Invalid cold age %s", coldAge);
+            this.coldAge = coldAge;
+            return this;
+        }
+
+        /**
+         * Set the minimum estimated retained size of a demoted subtree. Defaults to 4096 bytes.
+         *
+         * @param minimumSize Size in bytes
+         * @return This builder
+         * @throws IllegalArgumentException if minimumSize is negative
+         */
+        public Builder setMinimumSize(final long minimumSize) {
+            checkArgument(minimumSize >= 0, "Invalid minimum size %s", minimumSize);
+            this.minimumSize = minimumSize;
+            return this;
+        }
+
+        @Override
+        public OffHeapTiering build() {
+            return new OffHeapTiering(this);
+        }
+    }
+}
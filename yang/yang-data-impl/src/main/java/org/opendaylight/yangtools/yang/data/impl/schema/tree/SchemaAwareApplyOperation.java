@@ -145,6 +145,12 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
         verifyValueChildren(writtenValue);
     }
 
+    @Override
+    final void shallowVerifyStructure(final NormalizedNode<?, ?> writtenValue) {
+        verifyValue(writtenValue);
+        verifyValueConstraints(writtenValue);
+    }
+
     /**
      * Verify the a written value, without performing deeper tree validation.
      *
@@ -162,6 +168,17 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
         // Defaults to no-op
     }
 
+    /**
+     * Verify the constraints placed on the children of a written value, assuming the children themselves have already
+     * been verified. This method is invoked after {@link #verifyValue(NormalizedNode)}. Default implementation does
+     * nothing.
+     *
+     * @param writtenValue Written value
+     */
+    void verifyValueConstraints(final NormalizedNode<?, ?> writtenValue) {
+        // Defaults to no-op
+    }
+
     protected void checkMergeApplicable(final ModificationPath path, final NodeModification modification,
             final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
         final Optional<TreeNode> original = modification.getOriginal();
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+/**
+ * Partitioning of a {@link ShardedDataTree} into shards. Shard {@code 0} is the default shard, which is rooted at the
+ * tree's root and holds all data not covered by any other shard. All other shards are rooted at container nodes
+ * identified by their prefixes. Prefixes are kept relative to the tree's root and are guaranteed not to overlap.
+ */
+final class ShardLayout {
+    private final @NonNull YangInstanceIdentifier rootPath;
+    private final YangInstanceIdentifier[] prefixes;
+
+    ShardLayout(final YangInstanceIdentifier rootPath, final Collection<YangInstanceIdentifier> shardPrefixes) {
+        this.rootPath = requireNonNull(rootPath);
+        prefixes = new YangInstanceIdentifier[shardPrefixes.size() + 1];
+        prefixes[0] = YangInstanceIdentifier.EMPTY;
+
+        int offset = 1;
+        for (YangInstanceIdentifier prefix : shardPrefixes) {
+            final Optional<YangInstanceIdentifier> relative = prefix.relativeTo(rootPath);
+            checkArgument(relative.isPresent() && !relative.get().isEmpty(), "Prefix %s is not a descendant of %s",
+                prefix, rootPath);
+            for (PathArgument arg : relative.get().getPathArguments()) {
+                checkArgument(arg instanceof NodeIdentifier, "Prefix %s does not identify a container", prefix);
+            }
+            for (int i = 1; i < offset; ++i) {
+                checkArgument(!prefixes[i].contains(relative.get()) && !relative.get().contains(prefixes[i]),
+                    "Prefix %s overlaps with %s", prefix, prefixes[i]);
+            }
+            prefixes[offset++] = relative.get();
+        }
+    }
+
+    /**
+     * Return the absolute path of the tree's root, which is where the default shard is rooted. All other shards are
+     * rooted below it.
+     *
+     * @return Root path
+     */
+    @NonNull YangInstanceIdentifier rootPath() {
+        return rootPath;
+    }
+
+    int size() {
+        return prefixes.length;
+    }
+
+    @NonNull YangInstanceIdentifier prefix(final int shard) {
+        return prefixes[shard];
+    }
+
+    /**
+     * Return the shard holding the node at specified path.
+     *
+     * @param path Path relative to the tree root
+     * @return Shard index
+     */
+    int shardOf(final YangInstanceIdentifier path) {
+        for (int i = 1; i < prefixes.length; ++i) {
+            if (prefixes[i].contains(path)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Return the shards rooted strictly below a path in the default shard.
+     *
+     * @param path Path relative to the tree root, which is not covered by any shard
+     * @return Shard indices, empty if there are no such shards
+     */
+    int[] shardsBelow(final YangInstanceIdentifier path) {
+        int count = 0;
+        final int[] tmp = new int[prefixes.length];
+        for (int i = 1; i < prefixes.length; ++i) {
+            if (path.contains(prefixes[i])) {
+                tmp[count++] = i;
+            }
+        }
+
+        final int[] ret = new int[count];
+        System.arraycopy(tmp, 0, ret, 0, count);
+        return ret;
+    }
+
+    @NonNull YangInstanceIdentifier toShardPath(final int shard, final YangInstanceIdentifier path) {
+        return path.relativeTo(prefixes[shard]).get();
+    }
+
+    @NonNull List<PathArgument> pathBelow(final int shard, final YangInstanceIdentifier path) {
+        final List<PathArgument> args = prefixes[shard].getPathArguments();
+        return args.subList(path.getPathArguments().size(), args.size());
+    }
+
+    @NonNull ContainerNode emptyRoot(final int shard) {
+        return ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier((NodeIdentifier) prefixes[shard].getLastPathArgument()).build();
+    }
+
+    /**
+     * Read a node, assembling it from the data held by individual shards if need be.
+     *
+     * @param views Per-shard views of data
+     * @param path Path relative to the tree root
+     * @return Node data, if present
+     */
+    Optional<NormalizedNode<?, ?>> readNode(final DataTreeSnapshot[] views, final YangInstanceIdentifier path) {
+        final int shard = shardOf(path);
+        if (shard != 0) {
+            return views[shard].readNode(toShardPath(shard, path));
+        }
+
+        Optional<NormalizedNode<?, ?>> ret = views[0].readNode(path);
+        for (int below : shardsBelow(path)) {
+            ret = Optional.of(overlay(path.getLastPathArgument(), ret, pathBelow(below, path), 0,
+                views[below].readNode(YangInstanceIdentifier.EMPTY).get()));
+        }
+        return ret;
+    }
+
+    /**
+     * Extract the data belonging to a shard from a node.
+     *
+     * @param data Node data
+     * @param path Path of the node, relative to the tree root
+     * @param shard Shard rooted below the node
+     * @return Shard root data, if present
+     */
+    Optional<NormalizedNode<?, ?>> extract(final NormalizedNode<?, ?> data, final YangInstanceIdentifier path,
+            final int shard) {
+        return NormalizedNodes.findNode(data, pathBelow(shard, path));
+    }
+
+    /**
+     * Remove the data belonging to a set of shards from a node.
+     *
+     * @param data Node data
+     * @param path Path of the node, relative to the tree root
+     * @param shards Shards rooted below the node
+     * @return Node data without the shards' data
+     */
+    NormalizedNode<?, ?> prune(final NormalizedNode<?, ?> data, final YangInstanceIdentifier path,
+            final int[] shards) {
+        NormalizedNode<?, ?> ret = data;
+        for (int shard : shards) {
+            ret = remove(ret, pathBelow(shard, path), 0);
+        }
+        return ret;
+    }
+
+    static @NonNull NormalizedNode<?, ?> overlay(final PathArgument identifier,
+            final Optional<NormalizedNode<?, ?>> base, final List<PathArgument> path, final int offset,
+            final NormalizedNode<?, ?> data) {
+        if (offset == path.size()) {
+            return data;
+        }
+
+        final PathArgument childId = path.get(offset);
+        if (!base.isPresent()) {
+            return rebuild(null, (NodeIdentifier) identifier, childId,
+                overlay(childId, Optional.empty(), path, offset + 1, data));
+        }
+
+        final ContainerNode container = checkContainer(base.get());
+        final Optional<NormalizedNode<?, ?>> child = container.getChild(childId).map(NormalizedNode.class::cast);
+        return rebuild(container, container.getIdentifier(), childId, overlay(childId, child, path, offset + 1, data));
+    }
+
+    private static NormalizedNode<?, ?> remove(final NormalizedNode<?, ?> data, final List<PathArgument> path,
+            final int offset) {
+        final ContainerNode container = checkContainer(data);
+        final PathArgument childId = path.get(offset);
+        final Optional<DataContainerChild<? extends PathArgument, ?>> child = container.getChild(childId);
+        if (!child.isPresent()) {
+            return data;
+        }
+
+        return rebuild(container, container.getIdentifier(), childId,
+            offset == path.size() - 1 ? null : remove(child.get(), path, offset + 1));
+    }
+
+    private static ContainerNode checkContainer(final NormalizedNode<?, ?> data) {
+        checkArgument(data instanceof ContainerNode, "Unexpected non-container node %s", data);
+        return (ContainerNode) data;
+    }
+
+    private static ContainerNode rebuild(final ContainerNode container, final NodeIdentifier identifier,
+            final PathArgument childId, final NormalizedNode<?, ?> child) {
+        final List<DataContainerChild<? extends PathArgument, ?>> children = new ArrayList<>();
+        if (container != null) {
+            for (DataContainerChild<? extends PathArgument, ?> existing : container.getValue()) {
+                if (!childId.equals(existing.getIdentifier())) {
+                    children.add(existing);
+                }
+            }
+        }
+        if (child != null) {
+            children.add((DataContainerChild<?, ?>) child);
+        }
+
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder =
+                ImmutableContainerNodeBuilder.create(children.size()).withNodeIdentifier(identifier);
+        children.forEach(builder::withChild);
+        return builder.build();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A {@link DataTreeCandidateNode} of a {@link ShardedDataTree} node, which is an ancestor of one or more shards. It
+ * combines the default shard's candidate node with the root candidate nodes of the shards below it.
+ */
+final class ShardedCandidateNode implements DataTreeCandidateNode {
+    private final DataTreeCandidateNode[] shardRoots;
+    private final @Nullable DataTreeCandidateNode base;
+    private final YangInstanceIdentifier path;
+    private final PathArgument identifier;
+    private final ShardLayout layout;
+
+    // Lazily computed
+    private Map<PathArgument, DataTreeCandidateNode> overlays;
+
+    private ShardedCandidateNode(final ShardLayout layout, final DataTreeCandidateNode[] shardRoots,
+            final YangInstanceIdentifier path, final PathArgument identifier,
+            final @Nullable DataTreeCandidateNode base) {
+        this.layout = requireNonNull(layout);
+        this.shardRoots = requireNonNull(shardRoots);
+        this.path = requireNonNull(path);
+        this.identifier = requireNonNull(identifier);
+        this.base = base;
+    }
+
+    static DataTreeCandidateNode rootNode(final ShardLayout layout, final DataTreeCandidateNode[] shardRoots) {
+        return new ShardedCandidateNode(layout, shardRoots, YangInstanceIdentifier.EMPTY,
+            shardRoots[0].getIdentifier(), shardRoots[0]);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        final Map<PathArgument, DataTreeCandidateNode> local = overlays();
+        final List<DataTreeCandidateNode> ret = new ArrayList<>();
+        if (isBaseModified()) {
+            for (DataTreeCandidateNode child : base.getChildNodes()) {
+                if (!local.containsKey(child.getIdentifier())) {
+                    ret.add(child);
+                }
+            }
+        }
+        for (DataTreeCandidateNode overlay : local.values()) {
+            if (overlay.getModificationType() != ModificationType.UNMODIFIED) {
+                ret.add(overlay);
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+        final DataTreeCandidateNode overlay = overlays().get(childIdentifier);
+        if (overlay != null) {
+            return overlay.getModificationType() != ModificationType.UNMODIFIED ? overlay : null;
+        }
+        return isBaseModified() ? base.getModifiedChild(childIdentifier) : null;
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        if (base != null) {
+            switch (base.getModificationType()) {
+                case UNMODIFIED:
+                    break;
+                case WRITE:
+                    return ModificationType.WRITE;
+                default:
+                    return ModificationType.SUBTREE_MODIFIED;
+            }
+        }
+
+        for (DataTreeCandidateNode overlay : overlays().values()) {
+            if (overlay.getModificationType() != ModificationType.UNMODIFIED) {
+                return ModificationType.SUBTREE_MODIFIED;
+            }
+        }
+        return ModificationType.UNMODIFIED;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return assembleData(DataTreeCandidateNode::getDataBefore);
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return assembleData(DataTreeCandidateNode::getDataAfter);
+    }
+
+    private boolean isBaseModified() {
+        // Unmodified nodes may report their children as unmodified nodes, which we do not want to expose
+        return base != null && base.getModificationType() != ModificationType.UNMODIFIED;
+    }
+
+    private Optional<NormalizedNode<?, ?>> assembleData(
+            final Function<DataTreeCandidateNode, Optional<NormalizedNode<?, ?>>> accessor) {
+        Optional<NormalizedNode<?, ?>> ret = base != null ? accessor.apply(base)
+                : NormalizedNodes.findNode(accessor.apply(shardRoots[0]), path.getPathArguments());
+        for (int shard : layout.shardsBelow(path)) {
+            final Optional<NormalizedNode<?, ?>> shardData = accessor.apply(shardRoots[shard]);
+            if (shardData.isPresent()) {
+                ret = Optional.of(ShardLayout.overlay(identifier, ret, layout.pathBelow(shard, path), 0,
+                    shardData.get()));
+            }
+        }
+        return ret;
+    }
+
+    private Map<PathArgument, DataTreeCandidateNode> overlays() {
+        Map<PathArgument, DataTreeCandidateNode> ret = overlays;
+        if (ret == null) {
+            ret = new LinkedHashMap<>();
+            for (int shard : layout.shardsBelow(path)) {
+                final List<PathArgument> below = layout.pathBelow(shard, path);
+                final PathArgument childId = below.get(0);
+                if (below.size() == 1) {
+                    ret.put(childId, shardRoots[shard]);
+                } else if (!ret.containsKey(childId)) {
+                    ret.put(childId, new ShardedCandidateNode(layout, shardRoots, path.node(childId), childId,
+                        base == null ? null : base.getModifiedChild(childId)));
+                }
+            }
+            overlays = ret;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DataTree} partitioned into a number of independent {@link InMemoryDataTree} shards, each rooted at a
+ * configured prefix. Transactions confined to a single shard are committed through that shard only, hence commits to
+ * different shards proceed in parallel. Transactions spanning multiple shards lock the affected shards in a fixed
+ * order, verify that all shard candidates are still applicable and only then commit them.
+ *
+ * <p>
+ * Each shard has a version, which counts the commits applied to that shard. A commit publishes the shard's new state
+ * together with its version, hence snapshots are assembled from per-shard snapshots and carry a vector of versions
+ * identifying the exact state of each shard. Cross-shard commits are bracketed by a pair of counters, which allows
+ * snapshots to be captured optimistically and retried if a cross-shard commit has been in progress, so that each
+ * cross-shard commit is visible either in all shards of a snapshot, or in none of them. Should optimistic capture fail
+ * repeatedly, all shards are locked while the snapshot is being captured.
+ */
+final class ShardedDataTree implements DataTree {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedDataTree.class);
+    private static final int OPTIMISTIC_SNAPSHOT_ATTEMPTS = 16;
+
+    private final AtomicLong crossShardStarted = new AtomicLong();
+    private final AtomicLong crossShardFinished = new AtomicLong();
+    private final AtomicReferenceArray<ShardState> states;
+    private final InMemoryDataTree[] shards;
+    private final ReentrantLock[] locks;
+    private final ShardLayout layout;
+
+    ShardedDataTree(final ShardLayout layout, final InMemoryDataTree[] shards) {
+        this.layout = requireNonNull(layout);
+        this.shards = requireNonNull(shards);
+        checkArgument(shards.length == layout.size(), "Shards %s do not match layout", Arrays.toString(shards));
+
+        locks = new ReentrantLock[shards.length];
+        states = new AtomicReferenceArray<>(shards.length);
+        for (int i = 0; i < locks.length; ++i) {
+            locks[i] = new ReentrantLock();
+            states.set(i, new ShardState(shards[i].takeSnapshot(), 0));
+        }
+    }
+
+    /**
+     * Committed state of a shard, published under the shard's lock.
+     */
+    private static final class ShardState {
+        final DataTreeSnapshot snapshot;
+        final long version;
+
+        ShardState(final DataTreeSnapshot snapshot, final long version) {
+            this.snapshot = requireNonNull(snapshot);
+            this.version = version;
+        }
+    }
+
+    @Override
+    public ShardedDataTreeSnapshot takeSnapshot() {
+        for (int i = 0; i < OPTIMISTIC_SNAPSHOT_ATTEMPTS; ++i) {
+            final long finished = crossShardFinished.get();
+            final long started = crossShardStarted.get();
+            if (started == finished) {
+                final ShardedDataTreeSnapshot snapshot = captureSnapshot();
+                if (crossShardStarted.get() == started) {
+                    return snapshot;
+                }
+            }
+            Thread.yield();
+        }
+
+        LOG.debug("Failed to capture snapshot optimistically, locking all shards");
+        lockAll();
+        try {
+            return captureSnapshot();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public void setSchemaContext(final SchemaContext newSchemaContext) {
+        lockAll();
+        try {
+            for (int i = 0; i < shards.length; ++i) {
+                shards[i].setSchemaContext(newSchemaContext);
+                // Data has not changed, hence the version remains the same
+                states.set(i, new ShardState(shards[i].takeSnapshot(), states.get(i).version));
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public void validate(final DataTreeModification modification) throws DataValidationFailedException {
+        ShardedDataTreeCandidate.validate(layout, shards, modification);
+    }
+
+    @Override
+    public DataTreeCandidateTip prepare(final DataTreeModification modification) {
+        return ShardedDataTreeCandidate.prepare(layout, shards, modification);
+    }
+
+    @Override
+    public void commit(final DataTreeCandidate candidate) {
+        checkArgument(candidate instanceof ShardedDataTreeCandidate, "Invalid candidate class %s",
+            candidate.getClass());
+        final ShardedDataTreeCandidate c = (ShardedDataTreeCandidate) candidate;
+        checkArgument(c.getLayout() == layout, "Candidate %s belongs to a different tree", c);
+
+        int count = 0;
+        final int[] involved = new int[shards.length];
+        for (int i = 0; i < shards.length; ++i) {
+            final DataTreeCandidate shardCandidate = c.getCandidate(i);
+            if (shardCandidate != null && !(shardCandidate instanceof NoopDataTreeCandidate)) {
+                involved[count++] = i;
+            }
+        }
+
+        switch (count) {
+            case 0:
+                return;
+            case 1:
+                commitLocal(involved[0], c.getCandidate(involved[0]));
+                return;
+            default:
+                commitDistributed(c, Arrays.copyOf(involved, count));
+        }
+    }
+
+    @Override
+    public YangInstanceIdentifier getRootPath() {
+        return layout.rootPath();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("root", layout.rootPath()).add("shards", shards.length)
+                .toString();
+    }
+
+    private void commitLocal(final int shard, final DataTreeCandidate candidate) {
+        final ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            shards[shard].commit(candidate);
+            publish(shard);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commitDistributed(final ShardedDataTreeCandidate candidate, final int[] involved) {
+        // Locks are acquired in ascending order, hence we cannot deadlock with other cross-shard commits
+        for (int shard : involved) {
+            locks[shard].lock();
+        }
+
+        try {
+            // Phase one: make sure all shards can commit
+            for (int shard : involved) {
+                final InMemoryDataTreeCandidate shardCandidate =
+                        (InMemoryDataTreeCandidate) candidate.getCandidate(shard);
+                checkState(shardCandidate.getBeforeRoot() == shards[shard].getTipRoot(),
+                    "Shard %s has been modified since candidate %s was prepared", layout.prefix(shard), candidate);
+            }
+
+            // Phase two: commit all shards
+            crossShardStarted.incrementAndGet();
+            try {
+                for (int shard : involved) {
+                    shards[shard].commit(candidate.getCandidate(shard));
+                    publish(shard);
+                }
+            } finally {
+                crossShardFinished.incrementAndGet();
+            }
+        } finally {
+            for (int i = involved.length - 1; i >= 0; --i) {
+                locks[involved[i]].unlock();
+            }
+        }
+    }
+
+    // Invoked with the shard's lock held
+    private void publish(final int shard) {
+        states.set(shard, new ShardState(shards[shard].takeSnapshot(), states.get(shard).version + 1));
+    }
+
+    private ShardedDataTreeSnapshot captureSnapshot() {
+        final DataTreeSnapshot[] snapshots = new DataTreeSnapshot[shards.length];
+        final long[] versions = new long[shards.length];
+        for (int i = 0; i < shards.length; ++i) {
+            final ShardState state = states.get(i);
+            snapshots[i] = state.snapshot;
+            versions[i] = state.version;
+        }
+        return new ShardedDataTreeSnapshot(layout, snapshots, versions);
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; --i) {
+            locks[i].unlock();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+
+/**
+ * A candidate produced by {@link ShardedDataTree}. It holds a candidate for each shard modified by the transaction
+ * and acts as a tip for chaining further transactions on top of it.
+ */
+final class ShardedDataTreeCandidate implements DataTreeCandidateTip {
+    private final DataTreeCandidateTip[] candidates;
+    private final DataTreeCandidateNode[] shardRoots;
+    private final DataTreeTip[] tips;
+    private final ShardLayout layout;
+
+    // Lazily instantiated
+    private DataTreeCandidateNode rootNode;
+
+    private ShardedDataTreeCandidate(final ShardLayout layout, final DataTreeTip[] parentTips,
+            final ShardedDataTreeModification modification) {
+        this.layout = requireNonNull(layout);
+        candidates = new DataTreeCandidateTip[parentTips.length];
+        shardRoots = new DataTreeCandidateNode[parentTips.length];
+        // Copy with an explicit component type, as parentTips may be an array of a DataTreeTip subclass
+        tips = Arrays.copyOf(parentTips, parentTips.length, DataTreeTip[].class);
+
+        for (int i = 0; i < parentTips.length; ++i) {
+            final DataTreeModification shardMod = modification.getModification(i);
+            if (shardMod != null) {
+                final DataTreeCandidateTip candidate = parentTips[i].prepare(shardMod);
+                candidates[i] = candidate;
+                shardRoots[i] = candidate.getRootNode();
+                tips[i] = candidate;
+            } else {
+                shardRoots[i] = DataTreeCandidateNodes.unmodified(tipData(parentTips[i]));
+            }
+        }
+    }
+
+    @Override
+    public void validate(final DataTreeModification modification) throws DataValidationFailedException {
+        validate(layout, tips, modification);
+    }
+
+    static void validate(final ShardLayout layout, final DataTreeTip[] tips, final DataTreeModification modification)
+            throws DataValidationFailedException {
+        final ShardedDataTreeModification m = checkedCast(layout, modification);
+        for (int i = 0; i < tips.length; ++i) {
+            final DataTreeModification shardMod = m.getModification(i);
+            if (shardMod != null) {
+                tips[i].validate(shardMod);
+            }
+        }
+    }
+
+    @Override
+    public ShardedDataTreeCandidate prepare(final DataTreeModification modification) {
+        return prepare(layout, tips, modification);
+    }
+
+    static ShardedDataTreeCandidate prepare(final ShardLayout layout, final DataTreeTip[] tips,
+            final DataTreeModification modification) {
+        return new ShardedDataTreeCandidate(layout, tips, checkedCast(layout, modification));
+    }
+
+    ShardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Return the candidate of a particular shard.
+     *
+     * @param shard Shard index
+     * @return Shard candidate, or null if the shard is not modified by this candidate
+     */
+    DataTreeCandidate getCandidate(final int shard) {
+        return candidates[shard];
+    }
+
+    @Override
+    public DataTreeCandidateNode getRootNode() {
+        DataTreeCandidateNode ret = rootNode;
+        if (ret == null) {
+            ret = ShardedCandidateNode.rootNode(layout, shardRoots);
+            rootNode = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Return the path of this candidate's root node. The root node combines the candidates of all shards, hence its
+     * path is the common root of all shard candidates, which is the root path of the tree.
+     *
+     * @return Root path of the tree
+     */
+    @Override
+    public YangInstanceIdentifier getRootPath() {
+        return layout.rootPath();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("candidates", Arrays.toString(candidates)).toString();
+    }
+
+    private static ShardedDataTreeModification checkedCast(final ShardLayout layout,
+            final DataTreeModification modification) {
+        checkArgument(modification instanceof ShardedDataTreeModification, "Invalid modification class %s",
+            modification.getClass());
+        final ShardedDataTreeModification m = (ShardedDataTreeModification) modification;
+        checkArgument(m.getLayout() == layout, "Modification %s belongs to a different tree", m);
+        checkArgument(m.isSealed(), "Attempted to use unsealed modification %s", m);
+        return m;
+    }
+
+    private static NormalizedNode<?, ?> tipData(final DataTreeTip tip) {
+        if (tip instanceof DataTreeCandidate) {
+            return ((DataTreeCandidate) tip).getRootNode().getDataAfter().get();
+        }
+        return ((DataTree) tip).takeSnapshot().readNode(YangInstanceIdentifier.EMPTY).get();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A modification of a {@link ShardedDataTree}. Operations are routed to per-shard modifications, which are
+ * instantiated on first access. Operations targeting an ancestor of a shard's prefix are split between the default
+ * shard and the affected shards. Shard roots are never deleted, they are replaced with empty containers instead.
+ */
+final class ShardedDataTreeModification implements DataTreeModification {
+    private final DataTreeModification[] modifications;
+    private final DataTreeSnapshot[] views;
+    private final DataTreeSnapshot[] base;
+    private final boolean[] rootModified;
+    private final ShardLayout layout;
+
+    private boolean sealed;
+
+    ShardedDataTreeModification(final ShardLayout layout, final DataTreeSnapshot[] base) {
+        this.layout = requireNonNull(layout);
+        this.base = requireNonNull(base);
+        views = base.clone();
+        modifications = new DataTreeModification[base.length];
+        rootModified = new boolean[base.length];
+    }
+
+    ShardLayout getLayout() {
+        return layout;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Return the modification of a particular shard.
+     *
+     * @param shard Shard index
+     * @return Shard modification, or null if the shard has not been modified
+     */
+    DataTreeModification getModification(final int shard) {
+        return modifications[shard];
+    }
+
+    @Override
+    public void write(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        final int shard = layout.shardOf(path);
+        if (shard != 0) {
+            writeShard(shard, layout.toShardPath(shard, path), data);
+            return;
+        }
+
+        final int[] below = layout.shardsBelow(path);
+        for (int i : below) {
+            final Optional<NormalizedNode<?, ?>> shardData = layout.extract(data, path, i);
+            writeShard(i, YangInstanceIdentifier.EMPTY, shardData.isPresent() ? shardData.get() : layout.emptyRoot(i));
+        }
+        modification(0).write(path, below.length == 0 ? data : layout.prune(data, path, below));
+    }
+
+    @Override
+    public void merge(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        final int shard = layout.shardOf(path);
+        if (shard != 0) {
+            final YangInstanceIdentifier shardPath = layout.toShardPath(shard, path);
+            modification(shard).merge(shardPath, data);
+            rootModified[shard] |= shardPath.isEmpty();
+            return;
+        }
+
+        final int[] below = layout.shardsBelow(path);
+        for (int i : below) {
+            final Optional<NormalizedNode<?, ?>> shardData = layout.extract(data, path, i);
+            if (shardData.isPresent()) {
+                modification(i).merge(YangInstanceIdentifier.EMPTY, shardData.get());
+                rootModified[i] = true;
+            }
+        }
+        modification(0).merge(path, below.length == 0 ? data : layout.prune(data, path, below));
+    }
+
+    @Override
+    public void delete(final YangInstanceIdentifier path) {
+        final int shard = layout.shardOf(path);
+        if (shard != 0) {
+            final YangInstanceIdentifier shardPath = layout.toShardPath(shard, path);
+            if (shardPath.isEmpty()) {
+                writeShard(shard, shardPath, layout.emptyRoot(shard));
+            } else {
+                modification(shard).delete(shardPath);
+            }
+            return;
+        }
+
+        for (int i : layout.shardsBelow(path)) {
+            writeShard(i, YangInstanceIdentifier.EMPTY, layout.emptyRoot(i));
+        }
+        modification(0).delete(path);
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+        return layout.readNode(views, path);
+    }
+
+    @Override
+    public void ready() {
+        checkState(!sealed, "Attempted to seal an already-sealed modification %s", this);
+        sealed = true;
+        for (DataTreeModification mod : modifications) {
+            if (mod != null) {
+                mod.ready();
+            }
+        }
+    }
+
+    @Override
+    public void applyToCursor(final DataTreeModificationCursor cursor) {
+        if (modifications[0] != null) {
+            modifications[0].applyToCursor(cursor);
+        }
+
+        for (int i = 1; i < modifications.length; ++i) {
+            final DataTreeModification mod = modifications[i];
+            if (mod == null) {
+                continue;
+            }
+
+            final List<PathArgument> prefix = layout.prefix(i).getPathArguments();
+            if (rootModified[i]) {
+                // Shard root has been replaced, which is not reflected by the shard's modification cursor replay
+                final List<PathArgument> parent = prefix.subList(0, prefix.size() - 1);
+                cursor.enter(parent);
+                cursor.write(prefix.get(prefix.size() - 1), mod.readNode(YangInstanceIdentifier.EMPTY).get());
+                cursor.exit(parent.size());
+            } else {
+                cursor.enter(prefix);
+                mod.applyToCursor(cursor);
+                cursor.exit(prefix.size());
+            }
+        }
+    }
+
+    @Override
+    public ShardedDataTreeModification newModification() {
+        checkState(sealed, "Attempted to chain on an unsealed modification");
+        return new ShardedDataTreeModification(layout, views.clone());
+    }
+
+    @Override
+    public SchemaContext getSchemaContext() {
+        return base[0].getSchemaContext();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("modifications", Arrays.toString(modifications))
+                .add("sealed", sealed).toString();
+    }
+
+    private void writeShard(final int shard, final YangInstanceIdentifier shardPath, final NormalizedNode<?, ?> data) {
+        modification(shard).write(shardPath, data);
+        rootModified[shard] |= shardPath.isEmpty();
+    }
+
+    private DataTreeModification modification(final int shard) {
+        checkState(!sealed, "Attempted to modify a sealed modification %s", this);
+        DataTreeModification ret = modifications[shard];
+        if (ret == null) {
+            ret = base[shard].newModification();
+            modifications[shard] = ret;
+            views[shard] = ret;
+        }
+        return ret;
+    }
+}
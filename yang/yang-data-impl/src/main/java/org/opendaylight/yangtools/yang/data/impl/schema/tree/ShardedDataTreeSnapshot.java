@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A snapshot of a {@link ShardedDataTree}. It is formed by per-shard snapshots, which have been captured such that
+ * each cross-shard commit is either visible in all of them, or in none of them. Each shard snapshot is accompanied by
+ * its version, which is the number of commits applied to the shard when the snapshot was captured.
+ */
+final class ShardedDataTreeSnapshot implements DataTreeSnapshot {
+    private final DataTreeSnapshot[] shards;
+    private final long[] versions;
+    private final ShardLayout layout;
+
+    ShardedDataTreeSnapshot(final ShardLayout layout, final DataTreeSnapshot[] shards, final long[] versions) {
+        this.layout = requireNonNull(layout);
+        this.shards = requireNonNull(shards);
+        this.versions = requireNonNull(versions);
+    }
+
+    /**
+     * Return the version of a shard captured in this snapshot.
+     *
+     * @param shard Shard index
+     * @return Number of commits applied to the shard
+     */
+    long getVersion(final int shard) {
+        return versions[shard];
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+        return layout.readNode(shards, path);
+    }
+
+    @Override
+    public ShardedDataTreeModification newModification() {
+        return new ShardedDataTreeModification(layout, shards);
+    }
+
+    @Override
+    public SchemaContext getSchemaContext() {
+        return shards[0].getSchemaContext();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("shards", Arrays.toString(shards))
+                .add("versions", Arrays.toString(versions)).toString();
+    }
+}
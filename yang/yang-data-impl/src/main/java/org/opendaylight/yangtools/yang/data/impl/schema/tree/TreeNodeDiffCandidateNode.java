@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+
+/**
+ * A {@link DataTreeCandidateNode} describing the difference between two {@link TreeNode}s. Children are compared
+ * lazily, when they are requested. Subtrees which are shared between the two nodes, as indicated by {@link TreeNode}
+ * identity, data identity or subtree version, are reported as unmodified without being traversed.
+ */
+abstract class TreeNodeDiffCandidateNode implements DataTreeCandidateNode {
+    private final @Nullable TreeNode oldMeta;
+    private final @Nullable TreeNode newMeta;
+
+    // Lazily computed
+    private ModificationType modificationType;
+
+    TreeNodeDiffCandidateNode(final @Nullable TreeNode oldMeta, final @Nullable TreeNode newMeta) {
+        this.oldMeta = oldMeta;
+        this.newMeta = newMeta;
+    }
+
+    static @NonNull DataTreeCandidateNode rootNode(final @NonNull TreeNode oldRoot, final @NonNull TreeNode newRoot) {
+        return new RootNode(requireNonNull(oldRoot), requireNonNull(newRoot));
+    }
+
+    final @Nullable TreeNode getOldMeta() {
+        return oldMeta;
+    }
+
+    final @Nullable TreeNode getNewMeta() {
+        return newMeta;
+    }
+
+    @Override
+    public final Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return oldMeta == null ? Optional.empty() : Optional.of(oldMeta.getData());
+    }
+
+    @Override
+    public final Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return newMeta == null ? Optional.empty() : Optional.of(newMeta.getData());
+    }
+
+    @Override
+    public final ModificationType getModificationType() {
+        ModificationType ret = modificationType;
+        if (ret == null) {
+            ret = computeModificationType();
+            modificationType = ret;
+        }
+        return ret;
+    }
+
+    @Override
+    public final Collection<DataTreeCandidateNode> getChildNodes() {
+        switch (getModificationType()) {
+            case DELETE:
+                return containerChildren(oldMeta, null);
+            case SUBTREE_MODIFIED:
+            case WRITE:
+                return containerChildren(oldMeta, newMeta);
+            case UNMODIFIED:
+                return ImmutableList.of();
+            default:
+                throw new IllegalStateException("Unhandled modification type " + getModificationType());
+        }
+    }
+
+    @Override
+    public final DataTreeCandidateNode getModifiedChild(final PathArgument identifier) {
+        if (getModificationType() == ModificationType.UNMODIFIED) {
+            return null;
+        }
+
+        final TreeNode oldChild = childMeta(oldMeta, identifier);
+        final TreeNode newChild = childMeta(newMeta, identifier);
+        if (oldChild == null && newChild == null || isShared(oldChild, newChild)) {
+            return null;
+        }
+        return new ChildNode(oldChild, newChild);
+    }
+
+    @Override
+    public final String toString() {
+        return this.getClass().getSimpleName() + "{oldMeta = " + oldMeta + ", newMeta = " + newMeta + "}";
+    }
+
+    private ModificationType computeModificationType() {
+        if (newMeta == null) {
+            return oldMeta == null ? ModificationType.UNMODIFIED : ModificationType.DELETE;
+        }
+        if (oldMeta == null) {
+            return ModificationType.WRITE;
+        }
+        if (isShared(oldMeta, newMeta)) {
+            return ModificationType.UNMODIFIED;
+        }
+
+        final NormalizedNode<?, ?> oldData = oldMeta.getData();
+        final NormalizedNode<?, ?> newData = newMeta.getData();
+        if (isUnorderedContainer(oldData) && isUnorderedContainer(newData)) {
+            // We will be reporting differing children only
+            return ModificationType.SUBTREE_MODIFIED;
+        }
+
+        // Leaf nodes and ordered containers: we need to compare content
+        return oldData.equals(newData) ? ModificationType.UNMODIFIED : ModificationType.WRITE;
+    }
+
+    private static Collection<DataTreeCandidateNode> containerChildren(final @Nullable TreeNode oldMeta,
+            final @Nullable TreeNode newMeta) {
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> oldData = container(oldMeta);
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> newData = container(newMeta);
+        if (oldData == null && newData == null) {
+            return ImmutableList.of();
+        }
+
+        final List<DataTreeCandidateNode> ret = new ArrayList<>();
+        if (newData != null) {
+            for (NormalizedNode<?, ?> child : newData.getValue()) {
+                final PathArgument id = child.getIdentifier();
+                final TreeNode oldChild = childMeta(oldMeta, id);
+                final TreeNode newChild = childMeta(newMeta, id);
+                if (!isShared(oldChild, newChild)) {
+                    ret.add(new ChildNode(oldChild, newChild));
+                }
+            }
+        }
+        if (oldData != null) {
+            for (NormalizedNode<?, ?> child : oldData.getValue()) {
+                final PathArgument id = child.getIdentifier();
+                if (newData == null || !newData.getChild(id).isPresent()) {
+                    ret.add(new ChildNode(childMeta(oldMeta, id), null));
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static boolean isShared(final @Nullable TreeNode oldMeta, final @Nullable TreeNode newMeta) {
+        // Subtree versions are unique, hence if they match the subtrees are the same
+        return oldMeta == newMeta || oldMeta != null && newMeta != null && (oldMeta.getData() == newMeta.getData()
+                || oldMeta.getSubtreeVersion().equals(newMeta.getSubtreeVersion()));
+    }
+
+    private static boolean isUnorderedContainer(final NormalizedNode<?, ?> data) {
+        return data instanceof NormalizedNodeContainer && !(data instanceof OrderedNodeContainer);
+    }
+
+    private static @Nullable TreeNode childMeta(final @Nullable TreeNode parent, final PathArgument id) {
+        return parent == null ? null : parent.getChild(id).orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> container(
+            final @Nullable TreeNode meta) {
+        if (meta != null) {
+            final NormalizedNode<?, ?> data = meta.getData();
+            if (data instanceof NormalizedNodeContainer) {
+                return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data;
+            }
+        }
+        return null;
+    }
+
+    private static final class ChildNode extends TreeNodeDiffCandidateNode {
+        ChildNode(final @Nullable TreeNode oldMeta, final @Nullable TreeNode newMeta) {
+            super(oldMeta, newMeta);
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            final TreeNode meta = getNewMeta();
+            return meta != null ? meta.getIdentifier() : getOldMeta().getIdentifier();
+        }
+    }
+
+    private static final class RootNode extends TreeNodeDiffCandidateNode {
+        RootNode(final TreeNode oldMeta, final TreeNode newMeta) {
+            super(oldMeta, newMeta);
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            throw new IllegalStateException("Attempted to get identifier of the root node");
+        }
+    }
+}
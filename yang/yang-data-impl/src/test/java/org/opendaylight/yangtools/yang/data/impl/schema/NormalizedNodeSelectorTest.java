@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeSelector;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+
+public class NormalizedNodeSelectorTest {
+    private static final QName TOP = QName.create("urn:selector", "top");
+    private static final QName NAME = QName.create(TOP, "name");
+    private static final QName INNER = QName.create(TOP, "inner");
+    private static final QName DEEP = QName.create(TOP, "deep");
+    private static final QName VALUE = QName.create(TOP, "value");
+    private static final QName ITEM = QName.create(TOP, "item");
+    private static final QName ID = QName.create(TOP, "id");
+    private static final QName CHOICE = QName.create(TOP, "choice");
+    private static final QName CHOICE_LEAF = QName.create(TOP, "choice-leaf");
+
+    private static ContainerNode container(final QName name, final DataContainerChild<?, ?>... children) {
+        final DataContainerNodeBuilder<NodeIdentifier, ContainerNode> builder = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(name));
+        for (DataContainerChild<?, ?> child : children) {
+            builder.withChild(child);
+        }
+        return builder.build();
+    }
+
+    private static MapEntryNode entry(final int id, final DataContainerChild<?, ?>... children) {
+        final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> builder = Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(ITEM, ID, id))
+                .withChild(ImmutableNodes.leafNode(ID, id));
+        for (DataContainerChild<?, ?> child : children) {
+            builder.withChild(child);
+        }
+        return builder.build();
+    }
+
+    private static ContainerNode data() {
+        return container(TOP,
+            ImmutableNodes.leafNode(NAME, "top"),
+            container(INNER, ImmutableNodes.leafNode(VALUE, "v"), container(DEEP, ImmutableNodes.leafNode(VALUE, "d"))),
+            ImmutableNodes.mapNodeBuilder(ITEM)
+                .withChild(entry(1, ImmutableNodes.leafNode(NAME, "one"),
+                    container(INNER, ImmutableNodes.leafNode(VALUE, "x"))))
+                .withChild(entry(2, ImmutableNodes.leafNode(NAME, "two"))).build(),
+            Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(CHOICE))
+                .withChild(ImmutableNodes.leafNode(CHOICE_LEAF, "c")).build());
+    }
+
+    private static NormalizedNode<?, ?> write(final NormalizedNodeSelector selector) throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                ImmutableNormalizedNodeStreamWriter.from(result), selector)) {
+            writer.write(data());
+        }
+        return result.getResult();
+    }
+
+    @Test
+    public void testAll() throws IOException {
+        assertEquals(data(), write(NormalizedNodeSelector.ALL));
+    }
+
+    @Test
+    public void testDepth() throws IOException {
+        assertEquals(container(TOP), write(NormalizedNodeSelector.builder().setMaxDepth(1).build()));
+        assertEquals(container(TOP,
+            ImmutableNodes.leafNode(NAME, "top"),
+            container(INNER),
+            ImmutableNodes.mapNodeBuilder(ITEM).withChild(entry(1)).withChild(entry(2)).build(),
+            Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(CHOICE))
+                .withChild(ImmutableNodes.leafNode(CHOICE_LEAF, "c")).build()),
+            write(NormalizedNodeSelector.builder().setMaxDepth(2).build()));
+    }
+
+    @Test
+    public void testFields() throws IOException {
+        assertEquals(container(TOP,
+            ImmutableNodes.mapNodeBuilder(ITEM)
+                .withChild(entry(1, ImmutableNodes.leafNode(NAME, "one")))
+                .withChild(entry(2, ImmutableNodes.leafNode(NAME, "two"))).build()),
+            write(NormalizedNodeSelector.builder().addField(ITEM, NAME).build()));
+        assertEquals(container(TOP,
+            container(INNER, container(DEEP, ImmutableNodes.leafNode(VALUE, "d"))),
+            Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(CHOICE))
+                .withChild(ImmutableNodes.leafNode(CHOICE_LEAF, "c")).build()),
+            write(NormalizedNodeSelector.builder().addField(INNER, DEEP).addField(CHOICE_LEAF).build()));
+    }
+
+    @Test
+    public void testFieldsAndDepth() throws IOException {
+        assertEquals(container(TOP,
+            ImmutableNodes.leafNode(NAME, "top"),
+            container(INNER, ImmutableNodes.leafNode(VALUE, "v"), container(DEEP))),
+            write(NormalizedNodeSelector.builder().addField(NAME).addField(INNER).setMaxDepth(3).build()));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.leafNode;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.ImmutableOffsetMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
+
+public class NormalizedNodeUpdatesTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:test:updates", "root");
+    private static final QName LIST = QName.create(ROOT, "list");
+    private static final QName ORDERED = QName.create(ROOT, "ordered");
+    private static final QName ID = QName.create(ROOT, "id");
+    private static final QName CONT = QName.create(ROOT, "cont");
+    private static final QName LEAF = QName.create(ROOT, "leaf");
+    private static final QName OTHER = QName.create(ROOT, "other");
+    private static final QName SIBLING = QName.create(ROOT, "sibling");
+
+    private static final YangInstanceIdentifier ENTRY_PATH = YangInstanceIdentifier.builder().node(LIST)
+            .nodeWithKey(LIST, ID, 1).build();
+    private static final YangInstanceIdentifier LEAF_PATH = ENTRY_PATH.node(CONT).node(LEAF);
+
+    private static MapEntryNode entry(final QName list, final int id) {
+        return mapEntryBuilder(list, ID, id)
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONT))
+                    .withChild(leafNode(LEAF, "leaf-" + id))
+                    .withChild(leafNode(OTHER, "other-" + id))
+                    .build())
+                .build();
+    }
+
+    private static ContainerNode createRoot() {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.mapNodeBuilder(LIST).withChild(entry(LIST, 1)).withChild(entry(LIST, 2))
+                    .build())
+                .withChild(Builders.orderedMapBuilder().withNodeIdentifier(new NodeIdentifier(ORDERED))
+                    .withChild(entry(ORDERED, 3)).withChild(entry(ORDERED, 1)).withChild(entry(ORDERED, 2)).build())
+                .withChild(leafNode(SIBLING, "sibling"))
+                .build();
+    }
+
+    private static NormalizedNode<?, ?> find(final NormalizedNode<?, ?> root, final YangInstanceIdentifier path) {
+        return NormalizedNodes.findNode(root, path).get();
+    }
+
+    @Test
+    public void testUpdateSharesUntouchedNodes() {
+        final ContainerNode root = createRoot();
+        final NormalizedNode<?, ?> updated = NormalizedNodeUpdates.update(root, LEAF_PATH,
+            current -> Optional.of(leafNode(LEAF, current.get().getValue() + "-updated")));
+
+        assertEquals("leaf-1-updated", find(updated, LEAF_PATH).getValue());
+        assertEquals("leaf-1", find(root, LEAF_PATH).getValue());
+
+        // The spine is rebuilt ...
+        assertNotSame(root, updated);
+        assertNotSame(find(root, ENTRY_PATH), find(updated, ENTRY_PATH));
+
+        // ... everything else is shared
+        final YangInstanceIdentifier otherPath = ENTRY_PATH.node(CONT).node(OTHER);
+        assertSame(find(root, otherPath), find(updated, otherPath));
+        final YangInstanceIdentifier secondEntry = YangInstanceIdentifier.builder().node(LIST)
+                .nodeWithKey(LIST, ID, 2).build();
+        assertSame(find(root, secondEntry), find(updated, secondEntry));
+        final YangInstanceIdentifier ordered = YangInstanceIdentifier.of(ORDERED);
+        assertSame(find(root, ordered), find(updated, ordered));
+        final YangInstanceIdentifier sibling = YangInstanceIdentifier.of(SIBLING);
+        assertSame(find(root, sibling), find(updated, sibling));
+
+        // Children representation is retained
+        assertTrue(((AbstractImmutableDataContainerNode<?>) updated).getChildren() instanceof ImmutableOffsetMap);
+        assertTrue(((AbstractImmutableDataContainerNode<?>) find(updated, ENTRY_PATH.node(CONT))).getChildren()
+            instanceof ImmutableOffsetMap);
+    }
+
+    @Test
+    public void testUnchangedUpdate() {
+        final ContainerNode root = createRoot();
+        assertSame(root, NormalizedNodeUpdates.update(root, LEAF_PATH, current -> current));
+        assertSame(root, NormalizedNodeUpdates.delete(root, ENTRY_PATH.node(CONT).node(SIBLING)));
+    }
+
+    @Test
+    public void testPutAndDelete() {
+        final ContainerNode root = createRoot();
+        final YangInstanceIdentifier newPath = ENTRY_PATH.node(CONT).node(SIBLING);
+        final LeafNode<String> newLeaf = leafNode(SIBLING, "new");
+
+        final NormalizedNode<?, ?> added = NormalizedNodeUpdates.put(root, newPath, newLeaf);
+        assertSame(newLeaf, find(added, newPath));
+        assertFalse(NormalizedNodes.findNode(root, newPath).isPresent());
+
+        final NormalizedNode<?, ?> removed = NormalizedNodeUpdates.delete(added, ENTRY_PATH);
+        assertFalse(NormalizedNodes.findNode(removed, ENTRY_PATH).isPresent());
+        assertEquals(1, ((MapNode) find(removed, YangInstanceIdentifier.of(LIST))).getValue().size());
+    }
+
+    @Test
+    public void testOrderedMapRetainsOrder() {
+        final ContainerNode root = createRoot();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder().node(ORDERED)
+                .nodeWithKey(ORDERED, ID, 1).node(CONT).node(LEAF).build();
+
+        final NormalizedNode<?, ?> updated = NormalizedNodeUpdates.put(root, path, leafNode(LEAF, "updated"));
+        assertEquals("updated", find(updated, path).getValue());
+
+        final OrderedMapNode map = (OrderedMapNode) find(updated, YangInstanceIdentifier.of(ORDERED));
+        final ImmutableList.Builder<Object> ids = ImmutableList.builder();
+        for (MapEntryNode entry : map.getValue()) {
+            ids.add(entry.getIdentifier().getKeyValues().get(ID));
+        }
+        assertEquals(ImmutableList.of(3, 1, 2), ids.build());
+    }
+
+    @Test
+    public void testRootUpdate() {
+        final ContainerNode root = createRoot();
+        final ContainerNode replacement = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+                .build();
+        assertSame(replacement, NormalizedNodeUpdates.put(root, YangInstanceIdentifier.EMPTY, replacement));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingParent() {
+        NormalizedNodeUpdates.put(createRoot(), YangInstanceIdentifier.builder().node(LIST).nodeWithKey(LIST, ID, 5)
+            .node(CONT).build(), leafNode(CONT, "foo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedIdentifier() {
+        NormalizedNodeUpdates.put(createRoot(), LEAF_PATH, leafNode(OTHER, "foo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveRoot() {
+        NormalizedNodeUpdates.delete(createRoot(), YangInstanceIdentifier.EMPTY);
+    }
+
+    @Test
+    public void testEntryKeyPath() {
+        final ContainerNode root = createRoot();
+        final MapEntryNode replacement = entry(LIST, 1);
+        final NormalizedNode<?, ?> updated = NormalizedNodeUpdates.put(root, ENTRY_PATH, replacement);
+        assertSame(replacement, find(updated, ENTRY_PATH));
+        assertEquals(new NodeIdentifierWithPredicates(LIST, ID, 1), replacement.getIdentifier());
+    }
+}
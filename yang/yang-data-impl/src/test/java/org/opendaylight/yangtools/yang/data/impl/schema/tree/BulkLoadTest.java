@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BulkLoadAwareDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeBulkLoader;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class BulkLoadTest extends AbstractTestModelTest {
+    private static final NodeIdentifierWithPredicates ENTRY_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+
+    private BulkLoadAwareDataTree dataTree;
+
+    @Before
+    public void before() {
+        dataTree = (BulkLoadAwareDataTree) new InMemoryDataTreeFactory().create(
+            DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+    }
+
+    @Test
+    public void testBulkLoad() throws DataValidationFailedException, IOException {
+        final DataTreeBulkLoader loader = dataTree.newBulkLoader();
+        final NormalizedNodeStreamWriter writer = loader.getWriter();
+        writer.startContainerNode(new NodeIdentifier(TestModel.TEST_QNAME), 1);
+        writer.startMapNode(new NodeIdentifier(TestModel.OUTER_LIST_QNAME), 1);
+        writer.startMapEntryNode(ENTRY_ID, 1);
+        writer.leafNode(new NodeIdentifier(TestModel.ID_QNAME), 1);
+        writer.endNode();
+        writer.endNode();
+        writer.endNode();
+        loader.commit();
+
+        final YangInstanceIdentifier entryPath = TestModel.OUTER_LIST_PATH.node(ENTRY_ID);
+        final Optional<NormalizedNode<?, ?>> entry = dataTree.takeSnapshot().readNode(entryPath);
+        assertTrue(entry.isPresent());
+        assertEquals(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1), entry.get());
+    }
+
+    @Test(expected = SchemaValidationFailedException.class)
+    public void testUnknownChild() throws IOException {
+        final NormalizedNodeStreamWriter writer = dataTree.newBulkLoader().getWriter();
+        writer.startContainerNode(new NodeIdentifier(QName.create(TestModel.TEST_QNAME, "unknown")), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnfinishedNodes() throws DataValidationFailedException, IOException {
+        final DataTreeBulkLoader loader = dataTree.newBulkLoader();
+        loader.getWriter().startContainerNode(new NodeIdentifier(TestModel.TEST_QNAME), 0);
+        loader.commit();
+    }
+
+    @Test
+    public void testConflictingCommit() throws DataValidationFailedException, IOException {
+        final DataTreeBulkLoader loader = dataTree.newBulkLoader();
+        loader.getWriter().startContainerNode(new NodeIdentifier(TestModel.TEST_QNAME), 0);
+        loader.getWriter().endNode();
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+
+        try {
+            loader.commit();
+            fail("Conflicting bulk load should have failed");
+        } catch (ConflictingModificationAppliedException e) {
+            assertFalse(dataTree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).isPresent());
+        }
+    }
+}
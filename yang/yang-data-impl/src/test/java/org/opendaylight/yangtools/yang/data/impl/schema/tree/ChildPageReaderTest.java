@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.CursorAwareDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreePage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreePageRequest;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+
+public class ChildPageReaderTest extends AbstractTestModelTest {
+    private static MapEntryNode entry(final int id) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(entryId(id))
+                .withChild(ImmutableNodes.leafNode(TestModel.ID_QNAME, id))
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "name" + id)).build();
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static MapNode createList(final int... ids) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder =
+                ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME);
+        for (int id : ids) {
+            builder.withChild(entry(id));
+        }
+        return builder.build();
+    }
+
+    private static MapNode createOrderedList(final int... ids) {
+        final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = Builders.orderedMapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        for (int id : ids) {
+            builder.withChild(entry(id));
+        }
+        return builder.build();
+    }
+
+    private static void assertPage(final DataTreePage page, final boolean hasMore, final int... ids) {
+        final ImmutableList.Builder<PathArgument> expected = ImmutableList.builder();
+        for (int id : ids) {
+            expected.add(entryId(id));
+        }
+        final ImmutableList.Builder<PathArgument> actual = ImmutableList.builder();
+        for (NormalizedNode<?, ?> child : page.getChildren()) {
+            actual.add(child.getIdentifier());
+        }
+        assertEquals(expected.build(), actual.build());
+        assertEquals(hasMore, page.hasMore());
+    }
+
+    @Test
+    public void testUnorderedPaging() {
+        final MapNode list = createList(5, 3, 9, 1, 7);
+        final DataTreePage first = ChildPageReader.readPage(list, DataTreePageRequest.builder().setLimit(2).build());
+        assertPage(first, true, 1, 3);
+        assertEquals(Optional.of(entryId(3)), first.getLastIdentifier());
+
+        final DataTreePage second = ChildPageReader.readPage(list, DataTreePageRequest.builder()
+            .setStartAfter(first.getLastIdentifier().get()).setLimit(2).build());
+        assertPage(second, true, 5, 7);
+
+        final DataTreePage third = ChildPageReader.readPage(list, DataTreePageRequest.builder()
+            .setStartAfter(second.getLastIdentifier().get()).setLimit(2).build());
+        assertPage(third, false, 9);
+    }
+
+    @Test
+    public void testUnorderedKeyRange() {
+        final MapNode list = createList(5, 3, 9, 1, 7);
+
+        // Start and end do not need to exist
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setStartAfter(entryId(2))
+            .setEndBefore(entryId(8)).build()), false, 3, 5, 7);
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setStartAfter(entryId(2))
+            .setEndBefore(entryId(8)).setOffset(1).setLimit(1).build()), true, 5);
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setOffset(10).build()), false);
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setStartAfter(entryId(8))
+            .setEndBefore(entryId(2)).build()), false);
+    }
+
+    @Test
+    public void testOrderedPaging() {
+        final MapNode list = createOrderedList(5, 3, 9, 1, 7);
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setLimit(2).build()), true, 5, 3);
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setStartAfter(entryId(3))
+            .setEndBefore(entryId(7)).build()), false, 9, 1);
+        assertPage(ChildPageReader.readPage(list, DataTreePageRequest.builder().setOffset(3).build()), false, 1, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOrderedMissingStart() {
+        ChildPageReader.readPage(createOrderedList(1, 2),
+            DataTreePageRequest.builder().setStartAfter(entryId(3)).build());
+    }
+
+    @Test
+    public void testFields() {
+        final DataTreePage page = ChildPageReader.readPage(createList(1, 2), DataTreePageRequest.builder()
+            .setFields(ImmutableList.of(new NodeIdentifier(TestModel.VALUE_QNAME))).build());
+        assertPage(page, false, 1, 2);
+        for (NormalizedNode<?, ?> child : page.getChildren()) {
+            final MapEntryNode entry = (MapEntryNode) child;
+            assertTrue(entry.getChild(new NodeIdentifier(TestModel.ID_QNAME)).isPresent());
+            assertFalse(entry.getChild(new NodeIdentifier(TestModel.NAME_QNAME)).isPresent());
+        }
+    }
+
+    @Test
+    public void testCursorPaging() throws DataValidationFailedException {
+        final DataTree tree = createTree(3, 1, 2);
+
+        try (DataTreeSnapshotCursor cursor = ((CursorAwareDataTreeSnapshot) tree.takeSnapshot())
+                .openCursor(TestModel.TEST_PATH).get()) {
+            final Optional<DataTreePage> page = cursor.readChildren(
+                TestModel.OUTER_LIST_PATH.getLastPathArgument(), DataTreePageRequest.builder().setLimit(2).build());
+            assertPage(page.get(), true, 1, 2);
+            assertFalse(cursor.readChildren(new NodeIdentifier(TestModel.INNER_CONTAINER_QNAME),
+                DataTreePageRequest.builder().build()).isPresent());
+        }
+    }
+
+    @Test
+    public void testResumeAfterModification() throws DataValidationFailedException {
+        final DataTree tree = createTree(8, 2, 6, 4, 1, 9, 3, 7, 5);
+        final DataTreePage first = readPage(tree, DataTreePageRequest.builder().setLimit(3).build());
+        assertPage(first, true, 1, 2, 3);
+
+        // Remove the last child of the page, add children both before and after it and remove one following it
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(TestModel.OUTER_LIST_PATH.node(entryId(3)));
+        mod.delete(TestModel.OUTER_LIST_PATH.node(entryId(5)));
+        mod.write(TestModel.OUTER_LIST_PATH.node(entryId(0)), entry(0));
+        mod.write(TestModel.OUTER_LIST_PATH.node(entryId(10)), entry(10));
+        commit(tree, mod);
+
+        final DataTreePage second = readPage(tree, DataTreePageRequest.builder()
+            .setStartAfter(first.getLastIdentifier().get()).setLimit(3).build());
+        assertPage(second, true, 4, 6, 7);
+        final DataTreePage third = readPage(tree, DataTreePageRequest.builder()
+            .setStartAfter(second.getLastIdentifier().get()).setLimit(3).build());
+        assertPage(third, false, 8, 9, 10);
+    }
+
+    private static DataTree createTree(final int... ids) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, createList(ids));
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    // Each page is read from a fresh snapshot
+    private static DataTreePage readPage(final DataTree tree, final DataTreePageRequest request) {
+        try (DataTreeSnapshotCursor cursor = ((CursorAwareDataTreeSnapshot) tree.takeSnapshot())
+                .openCursor(TestModel.TEST_PATH).get()) {
+            return cursor.readChildren(TestModel.OUTER_LIST_PATH.getLastPathArgument(), request).get();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.GroupCommitAwareDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.GroupCommitResult;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class GroupCommitTest extends AbstractTestModelTest {
+    private static final NodeIdentifierWithPredicates ENTRY_1_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final NodeIdentifierWithPredicates ENTRY_2_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+    private static final YangInstanceIdentifier ENTRY_1_PATH = TestModel.OUTER_LIST_PATH.node(ENTRY_1_ID);
+    private static final YangInstanceIdentifier ENTRY_2_PATH = TestModel.OUTER_LIST_PATH.node(ENTRY_2_ID);
+
+    private GroupCommitAwareDataTree dataTree;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        dataTree = (GroupCommitAwareDataTree) new InMemoryDataTreeFactory().create(
+            DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        // Empty lists disappear, make sure ours is present
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 0)).build());
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, id));
+    }
+
+    private static DataTreeModification writeEntry(final DataTreeSnapshot snapshot, final int id) {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        mod.ready();
+        return mod;
+    }
+
+    @Test
+    public void testDisjointModifications() {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final GroupCommitResult result = dataTree.commitGroup(ImmutableList.of(writeEntry(snapshot, 1),
+            writeEntry(snapshot, 2)));
+
+        assertEquals(2, result.size());
+        assertTrue(result.isCommitted(0));
+        assertTrue(result.isCommitted(1));
+
+        final DataTreeSnapshot after = dataTree.takeSnapshot();
+        assertTrue(after.readNode(ENTRY_1_PATH).isPresent());
+        assertTrue(after.readNode(ENTRY_2_PATH).isPresent());
+
+        final DataTreeCandidateNode list = result.getCandidate().getRootNode()
+                .getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME))
+                .getModifiedChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+        assertEquals(ModificationType.WRITE, list.getModifiedChild(ENTRY_1_ID).getModificationType());
+        assertEquals(ModificationType.WRITE, list.getModifiedChild(ENTRY_2_ID).getModificationType());
+    }
+
+    @Test
+    public void testConflictingModifications() {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final DataTreeModification delete = snapshot.newModification();
+        delete.delete(ENTRY_2_PATH);
+        delete.ready();
+
+        final GroupCommitResult result = dataTree.commitGroup(ImmutableList.of(writeEntry(snapshot, 1),
+            writeEntry(snapshot, 1), writeEntry(snapshot, 2), delete));
+
+        assertEquals(4, result.size());
+        assertTrue(result.isCommitted(0));
+        assertFalse(result.isCommitted(1));
+        assertTrue(result.getFailure(1).get() instanceof ConflictingModificationAppliedException);
+        assertTrue(result.isCommitted(2));
+        assertTrue(result.isCommitted(3));
+
+        final DataTreeSnapshot after = dataTree.takeSnapshot();
+        assertTrue(after.readNode(ENTRY_1_PATH).isPresent());
+        assertEquals(Optional.empty(), after.readNode(ENTRY_2_PATH));
+    }
+
+    @Test
+    public void testReexecution() throws DataValidationFailedException {
+        final InMemoryDataTreeSnapshot snapshot = (InMemoryDataTreeSnapshot) dataTree.takeSnapshot();
+        final InMemoryDataTreeGroupCommit group = new InMemoryDataTreeGroupCommit(YangInstanceIdentifier.EMPTY,
+            ImmutableList.of(writeEntry(snapshot, 1), writeEntry(snapshot, 2)));
+        group.execute(snapshot);
+
+        // A concurrent commit, which would make the tree reject the result of the first execution
+        final DataTreeModification concurrent = writeEntry(dataTree.takeSnapshot(), 3);
+        dataTree.validate(concurrent);
+        dataTree.commit(dataTree.prepare(concurrent));
+
+        final InMemoryDataTreeSnapshot base = (InMemoryDataTreeSnapshot) dataTree.takeSnapshot();
+        final TreeNode root = group.execute(base);
+        for (YangInstanceIdentifier path : ImmutableList.of(ENTRY_1_PATH, ENTRY_2_PATH, entryPath(3))) {
+            assertTrue(NormalizedNodes.findNode(root.getData(), path).isPresent());
+        }
+
+        final GroupCommitResult result = group.toResult(base.getRootNode(), root);
+        assertTrue(result.isCommitted(0));
+        assertTrue(result.isCommitted(1));
+        assertEquals(ModificationType.WRITE, result.getCandidate().getRootNode()
+            .getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME))
+            .getModifiedChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME))
+            .getModifiedChild(ENTRY_1_ID).getModificationType());
+    }
+
+    @Test
+    public void testConcurrentCommits() throws InterruptedException, ExecutionException {
+        final int threads = 4;
+        final int groups = 25;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; ++t) {
+                final int base = (t + 1) * 1000;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int committed = 0;
+                    for (int i = 0; i < groups; ++i) {
+                        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+                        final GroupCommitResult result = dataTree.commitGroup(ImmutableList.of(
+                            writeEntry(snapshot, base + 2 * i), writeEntry(snapshot, base + 2 * i + 1)));
+                        for (int j = 0; j < result.size(); ++j) {
+                            if (result.isCommitted(j)) {
+                                committed++;
+                            }
+                        }
+                    }
+                    return committed;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> future : futures) {
+                assertEquals(2 * groups, future.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final DataTreeSnapshot after = dataTree.takeSnapshot();
+        for (int t = 0; t < threads; ++t) {
+            for (int i = 0; i < 2 * groups; ++i) {
+                assertTrue(after.readNode(entryPath((t + 1) * 1000 + i)).isPresent());
+            }
+        }
+        assertEquals(threads * groups * 2 + 1,
+            ((MapNode) after.readNode(TestModel.OUTER_LIST_PATH).get()).getValue().size());
+    }
+
+    @Test
+    public void testEmptyGroup() {
+        final DataTreeSnapshot before = dataTree.takeSnapshot();
+        final GroupCommitResult result = dataTree.commitGroup(ImmutableList.of());
+        assertEquals(0, result.size());
+        assertEquals(ModificationType.UNMODIFIED, result.getCandidate().getRootNode().getModificationType());
+        assertEquals(before.readNode(TestModel.TEST_PATH), dataTree.takeSnapshot().readNode(TestModel.TEST_PATH));
+    }
+}
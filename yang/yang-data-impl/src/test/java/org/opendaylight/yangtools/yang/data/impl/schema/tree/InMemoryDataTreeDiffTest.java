@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDataTreeDiffTest extends AbstractTestModelTest {
+    private static final NodeIdentifierWithPredicates ENTRY_1_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final NodeIdentifierWithPredicates ENTRY_2_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+    private static final NodeIdentifierWithPredicates ENTRY_3_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3);
+
+    private DataTree dataTree;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .build());
+        commit(mod);
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    @Test
+    public void testUnmodified() {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final DataTreeCandidateNode root = InMemoryDataTreeDiff.diff(snapshot, snapshot).getRootNode();
+        assertEquals(ModificationType.UNMODIFIED, root.getModificationType());
+        assertTrue(root.getChildNodes().isEmpty());
+    }
+
+    @Test
+    public void testDiff() throws DataValidationFailedException {
+        final DataTreeSnapshot before = dataTree.takeSnapshot();
+
+        final DataTreeModification mod = before.newModification();
+        mod.delete(TestModel.OUTER_LIST_PATH.node(ENTRY_1_ID));
+        mod.write(TestModel.OUTER_LIST_PATH.node(ENTRY_3_ID),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        commit(mod);
+
+        final DataTreeCandidateNode root = InMemoryDataTreeDiff.diff(before, dataTree.takeSnapshot()).getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(1, root.getChildNodes().size());
+
+        final DataTreeCandidateNode list = root.getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME))
+                .getModifiedChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+
+        final Collection<DataTreeCandidateNode> entries = list.getChildNodes();
+        assertEquals(2, entries.size());
+        assertEquals(ModificationType.DELETE, list.getModifiedChild(ENTRY_1_ID).getModificationType());
+        assertEquals(ModificationType.WRITE, list.getModifiedChild(ENTRY_3_ID).getModificationType());
+        assertNull(list.getModifiedChild(ENTRY_2_ID));
+    }
+}
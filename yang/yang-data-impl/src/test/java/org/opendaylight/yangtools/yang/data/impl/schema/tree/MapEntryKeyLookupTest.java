@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+
+public class MapEntryKeyLookupTest extends AbstractTestModelTest {
+    private static final MapEntryNode ENTRY_1 = ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+        TestModel.ID_QNAME, 1);
+    private static final MapEntryNode ENTRY_2 = ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+        TestModel.ID_QNAME, 2);
+    private static final MapEntryNode ENTRY_3 = ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+        TestModel.ID_QNAME, 3);
+
+    @Test
+    public void testMapNodeLookup() {
+        final MapNode list = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(ENTRY_1)
+                .withChild(ENTRY_2).build();
+        assertSame(ENTRY_1, list.findChildByKey(1).get());
+        assertSame(ENTRY_2, list.findChildByKey(2).get());
+        assertFalse(list.findChildByKey(3).isPresent());
+        assertFalse(list.findChildByKey("1").isPresent());
+    }
+
+    @Test
+    public void testOrderedMapNodeLookup() {
+        final MapNode list = Builders.orderedMapBuilder().withNodeIdentifier(new NodeIdentifier(
+            TestModel.OUTER_LIST_QNAME)).withChild(ENTRY_2).withChild(ENTRY_1).build();
+        assertSame(ENTRY_1, list.findChildByKey(1).get());
+        assertSame(ENTRY_2, list.findChildByKey(2).get());
+        assertFalse(list.findChildByKey(3).isPresent());
+    }
+
+    @Test
+    public void testMapNodeLookupAfterModification() {
+        final MapNode list = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(ENTRY_1)
+                .withChild(ENTRY_2).build();
+        assertSame(ENTRY_1, list.findChildByKey(1).get());
+
+        final MapNode modified = ImmutableMapNodeBuilder.create(list).withChild(ENTRY_3)
+                .withoutChild(ENTRY_1.getIdentifier()).build();
+        assertFalse(modified.findChildByKey(1).isPresent());
+        assertSame(ENTRY_2, modified.findChildByKey(2).get());
+        assertSame(ENTRY_3, modified.findChildByKey(3).get());
+
+        // The original node is not affected
+        assertSame(ENTRY_1, list.findChildByKey(1).get());
+        assertFalse(list.findChildByKey(3).isPresent());
+    }
+
+    @Test
+    public void testOrderedMapNodeLookupAfterModification() {
+        final OrderedMapNode list = Builders.orderedMapBuilder().withNodeIdentifier(new NodeIdentifier(
+            TestModel.OUTER_LIST_QNAME)).withChild(ENTRY_2).withChild(ENTRY_1).build();
+        assertSame(ENTRY_1, list.findChildByKey(1).get());
+
+        final CollectionNodeBuilder<MapEntryNode, OrderedMapNode> builder = ImmutableOrderedMapNodeBuilder.create(
+            list);
+        final MapNode first = builder.withChild(ENTRY_3).build();
+        final MapNode second = builder.withoutChild(ENTRY_2.getIdentifier()).build();
+        assertSame(ENTRY_2, first.findChildByKey(2).get());
+        assertSame(ENTRY_3, first.findChildByKey(3).get());
+        assertFalse(second.findChildByKey(2).isPresent());
+        assertSame(ENTRY_3, second.findChildByKey(3).get());
+        assertFalse(list.findChildByKey(3).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookupAfterAddingMultipleKeys() {
+        final MapNode list = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(ENTRY_1).build();
+        assertSame(ENTRY_1, list.findChildByKey(1).get());
+
+        final QName otherKey = QName.create(TestModel.TEST_QNAME, "other");
+        final MapEntryNode entry = Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(
+            TestModel.OUTER_LIST_QNAME, ImmutableMap.of(TestModel.ID_QNAME, 2, otherKey, 2))).build();
+        ImmutableMapNodeBuilder.create(list).withChild(entry).build().findChildByKey(1);
+    }
+
+    @Test
+    public void testEmptyLookup() {
+        assertFalse(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build().findChildByKey(1).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultipleKeysLookup() {
+        final QName otherKey = QName.create(TestModel.TEST_QNAME, "other");
+        final MapEntryNode entry = Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(
+            TestModel.OUTER_LIST_QNAME, ImmutableMap.of(TestModel.ID_QNAME, 1, otherKey, 1))).build();
+        ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(entry).build().findChildByKey(1);
+    }
+
+    @Test
+    public void testSnapshotLookup() throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder =
+                ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, builder.withChild(ENTRY_1).withChild(ENTRY_2).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        assertEquals(ENTRY_2, snapshot.readEntry(TestModel.OUTER_LIST_PATH, 2).get());
+        assertFalse(snapshot.readEntry(TestModel.OUTER_LIST_PATH, 3).isPresent());
+        assertFalse(snapshot.readEntry(TestModel.OUTER_LIST_PATH.node(TestModel.INNER_LIST_QNAME), 1).isPresent());
+
+        final TreeNode list = ((InMemoryDataTreeSnapshot) snapshot).getRootNode()
+                .getChild(TestModel.TEST_PATH.getLastPathArgument()).get()
+                .getChild(TestModel.OUTER_LIST_PATH.getLastPathArgument()).get();
+        assertEquals(ENTRY_1, list.findChildByKey(1).get().getData());
+        assertFalse(list.findChildByKey(3).isPresent());
+    }
+
+    @Test
+    public void testSnapshotLookupAfterModification() throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ENTRY_1).withChild(ENTRY_2).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        assertEquals(ENTRY_1, tree.takeSnapshot().readEntry(TestModel.OUTER_LIST_PATH, 1).get());
+
+        final DataTreeModification update = tree.takeSnapshot().newModification();
+        update.write(TestModel.OUTER_LIST_PATH.node(ENTRY_3.getIdentifier()), ENTRY_3);
+        update.delete(TestModel.OUTER_LIST_PATH.node(ENTRY_1.getIdentifier()));
+        update.ready();
+        tree.validate(update);
+        tree.commit(tree.prepare(update));
+
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        assertFalse(snapshot.readEntry(TestModel.OUTER_LIST_PATH, 1).isPresent());
+        assertEquals(ENTRY_2, snapshot.readEntry(TestModel.OUTER_LIST_PATH, 2).get());
+        assertEquals(ENTRY_3, snapshot.readEntry(TestModel.OUTER_LIST_PATH, 3).get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSnapshotLookupNotList() throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        tree.takeSnapshot().readEntry(TestModel.TEST_PATH, 1);
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapStorage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.SubtreeCodec;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+public class OffHeapStorageTest extends AbstractTestModelTest {
+    private static final NodeIdentifierWithPredicates ENTRY_1_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final YangInstanceIdentifier ENTRY_1_PATH = TestModel.OUTER_LIST_PATH.node(ENTRY_1_ID);
+    private static final NodeIdentifierWithPredicates ENTRY_2_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+    private static final NodeIdentifierWithPredicates ENTRY_3_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3);
+
+    private static final MapNode OUTER_LIST = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .build();
+
+    private OffHeapStorage storage;
+    private DataTree tree;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        storage = OffHeapStorage.direct(BinarySubtreeCodec.create(), 4096, 1);
+        tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, OUTER_LIST);
+        commit(mod);
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private void demote(final YangInstanceIdentifier path) throws DataValidationFailedException, IOException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(path, storage.demote(tree.takeSnapshot().readNode(path).get()));
+        commit(mod);
+    }
+
+    private static DataTreeModification writeInnerValue(final DataTree dataTree, final String value) {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.INNER_VALUE_PATH, ImmutableNodes.leafNode(TestModel.VALUE_QNAME, value));
+        mod.ready();
+        return mod;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final NormalizedNode<?, ?> demoted = storage.demote(OUTER_LIST);
+        assertTrue(demoted instanceof MapNode);
+        assertTrue(OffHeapStorage.isDemoted(demoted));
+        assertFalse(OffHeapStorage.canDemote(demoted));
+        assertEquals(OUTER_LIST.getIdentifier(), demoted.getIdentifier());
+        assertEquals(OUTER_LIST.getValue().size(), ((MapNode) demoted).getValue().size());
+        assertEquals(OUTER_LIST.getChild(ENTRY_1_ID), ((MapNode) demoted).getChild(ENTRY_1_ID));
+        assertTrue(storage.getStoredBytes() > 0);
+    }
+
+    @Test
+    public void testValueEquality() throws IOException {
+        final NormalizedNode<?, ?> demoted = storage.demote(OUTER_LIST);
+        assertEquals(OUTER_LIST.hashCode(), demoted.hashCode());
+        assertEquals(OUTER_LIST, demoted);
+        assertEquals(demoted, OUTER_LIST);
+        assertEquals(demoted, storage.demote(OUTER_LIST));
+
+        final MapNode other = ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+                .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+                .build();
+        assertFalse(other.equals(demoted));
+        assertFalse(demoted.equals(other));
+    }
+
+    @Test
+    public void testShallowMaterialization() throws IOException {
+        storage = OffHeapStorage.direct(BinarySubtreeCodec.create(), 4096, 10);
+        final NormalizedNode<?, ?> demoted = storage.demote(OUTER_LIST);
+
+        final NormalizedNode<?, ?> list = OffHeapStorage.materialize(demoted);
+        assertFalse(OffHeapStorage.isDemoted(list));
+        assertEquals(1, storage.getHotNodeCount());
+        for (MapEntryNode entry : ((MapNode) list).getValue()) {
+            assertTrue(OffHeapStorage.isDemoted(entry));
+        }
+
+        // Accessing an entry's content materializes only that entry
+        final MapEntryNode entry = ((MapNode) list).getChild(ENTRY_1_ID).get();
+        assertEquals(Optional.of(ImmutableNodes.leafNode(TestModel.ID_QNAME, 1)),
+            entry.getChild(new NodeIdentifier(TestModel.ID_QNAME)));
+        assertEquals(2, storage.getHotNodeCount());
+    }
+
+    @Test
+    public void testAttributesAndValues() throws IOException, SAXException {
+        final QName attr = QName.create(TestModel.TEST_QNAME, "attr");
+        final Element anyxml = UntrustedXML.newDocumentBuilder().parse(new InputSource(
+            new StringReader("<foo xmlns=\"urn:test\"><bar>baz</bar></foo>"))).getDocumentElement();
+        final NodeIdentifier anyxmlId = new NodeIdentifier(QName.create(TestModel.TEST_QNAME, "anyxml"));
+        final ContainerNode container = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withAttributes(ImmutableMap.of(attr, "container"))
+                .withChild(Builders.leafBuilder().withNodeIdentifier(new NodeIdentifier(TestModel.NAME_QNAME))
+                    .withValue("foo").withAttributes(ImmutableMap.of(attr, "leaf")).build())
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "one"),
+                    ImmutableSet.of("bit1", "bit2")))
+                .withChild(ImmutableNodes.leafNode(TestModel.TWO_QNAME, TestModel.OUTER_LIST_PATH.node(ENTRY_1_ID)))
+                .withChild(ImmutableNodes.leafNode(TestModel.THREE_QNAME, new BigDecimal("12.345")))
+                .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, TestModel.ID_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.ID_QNAME, Empty.getInstance()))
+                .withChild(ImmutableNodes.leafNode(TestModel.A_NAME_QNAME, new byte[] { 1, 2, 3 }))
+                .withChild(Builders.anyXmlBuilder().withNodeIdentifier(anyxmlId).withValue(new DOMSource(anyxml))
+                    .build())
+                .build();
+
+        final ContainerNode decoded = (ContainerNode) OffHeapStorage.materialize(storage.demote(container));
+        assertEquals(ImmutableMap.of(attr, "container"), decoded.getAttributes());
+        assertEquals(ImmutableMap.of(attr, "leaf"),
+            ((LeafNode<?>) decoded.getChild(new NodeIdentifier(TestModel.NAME_QNAME)).get()).getAttributes());
+        for (NodeIdentifier leaf : new NodeIdentifier[] {
+            new NodeIdentifier(QName.create(TestModel.TEST_QNAME, "one")), new NodeIdentifier(TestModel.TWO_QNAME),
+            new NodeIdentifier(TestModel.THREE_QNAME), new NodeIdentifier(TestModel.VALUE_QNAME),
+            new NodeIdentifier(TestModel.ID_QNAME)
+        }) {
+            assertEquals(container.getChild(leaf), decoded.getChild(leaf));
+        }
+        assertArrayEquals(new byte[] { 1, 2, 3 },
+            (byte[]) decoded.getChild(new NodeIdentifier(TestModel.A_NAME_QNAME)).get().getValue());
+
+        final Element decodedXml = (Element) ((AnyXmlNode) decoded.getChild(anyxmlId).get()).getValue().getNode();
+        assertEquals("urn:test", decodedXml.getNamespaceURI());
+        assertEquals("foo", decodedXml.getLocalName());
+        assertEquals("baz", decodedXml.getTextContent());
+    }
+
+    @Test
+    public void testTransparentRead() throws DataValidationFailedException, IOException {
+        demote(TestModel.OUTER_LIST_PATH);
+
+        final Optional<NormalizedNode<?, ?>> list = tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH);
+        assertTrue(OffHeapStorage.isDemoted(list.get()));
+        assertEquals(OUTER_LIST, list.get());
+        assertEquals(ImmutableNodes.leafNode(TestModel.ID_QNAME, 1),
+            tree.takeSnapshot().readNode(ENTRY_1_PATH.node(TestModel.ID_QNAME)).get());
+
+        storage.evictHotNodes();
+        assertEquals(0, storage.getHotNodeCount());
+        assertEquals(OUTER_LIST.getValue().size(), ((MapNode) list.get()).getValue().size());
+        assertEquals(1, storage.getHotNodeCount());
+    }
+
+    @Test
+    public void testModifyDemoted() throws DataValidationFailedException, IOException {
+        demote(TestModel.OUTER_LIST_PATH);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.OUTER_LIST_PATH.node(ENTRY_3_ID),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        mod.delete(TestModel.OUTER_LIST_PATH.node(ENTRY_2_ID));
+        commit(mod);
+
+        final NormalizedNode<?, ?> list = tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+        assertFalse(OffHeapStorage.isDemoted(list));
+        assertEquals(2, ((MapNode) list).getValue().size());
+        assertTrue(((MapNode) list).getChild(ENTRY_1_ID).isPresent());
+        assertFalse(((MapNode) list).getChild(ENTRY_2_ID).isPresent());
+        assertTrue(((MapNode) list).getChild(ENTRY_3_ID).isPresent());
+    }
+
+    @Test
+    public void testAutomaticTiering() throws DataValidationFailedException {
+        final DataTree tiered = new InMemoryDataTreeFactory().createTiered(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT, OffHeapTiering.builder(storage).setExecutor(MoreExecutors.directExecutor())
+            .setSweepInterval(1).setColdAge(2).setMinimumSize(0).build());
+
+        DataTreeModification mod = tiered.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, OUTER_LIST);
+        mod.ready();
+        tiered.commit(tiered.prepare(mod));
+        tiered.commit(tiered.prepare(writeInnerValue(tiered, "one")));
+        assertFalse(OffHeapStorage.isDemoted(tiered.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get()));
+
+        // The outer list is cold after this commit, prepare another candidate before the sweep
+        final DataTreeCandidateTip candidate = tiered.prepare(writeInnerValue(tiered, "two"));
+        final DataTreeCandidateTip next = candidate.prepare(writeInnerValue(tiered, "three"));
+        tiered.commit(candidate);
+
+        NormalizedNode<?, ?> list = tiered.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+        assertTrue(OffHeapStorage.isDemoted(list));
+        assertEquals(OUTER_LIST, list);
+        assertFalse(OffHeapStorage.isDemoted(tiered.takeSnapshot().readNode(TestModel.INNER_CONTAINER_PATH).get()));
+        assertTrue(storage.getStoredBytes() > 0);
+
+        // Candidates prepared before the sweep can still be committed, demotion is redone by the next sweep
+        tiered.commit(next);
+        list = tiered.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+        assertTrue(OffHeapStorage.isDemoted(list));
+        assertEquals(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "three"),
+            tiered.takeSnapshot().readNode(TestModel.INNER_VALUE_PATH).get());
+
+        // Modifying a demoted subtree promotes it
+        mod = tiered.takeSnapshot().newModification();
+        mod.write(TestModel.OUTER_LIST_PATH.node(ENTRY_3_ID),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        mod.ready();
+        tiered.commit(tiered.prepare(mod));
+        list = tiered.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+        assertFalse(OffHeapStorage.isDemoted(list));
+        assertEquals(3, ((MapNode) list).getValue().size());
+    }
+
+    @Test(timeout = 10000)
+    public void testCommitDuringSweep() throws Exception {
+        // Encoding blocks until released, keeping the sweep running
+        final CountDownLatch encoding = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SubtreeCodec codec = BinarySubtreeCodec.create();
+        final SubtreeCodec blocking = new SubtreeCodec() {
+            @Override
+            public byte[] encode(final NormalizedNode<?, ?> data) throws IOException {
+                encoding.countDown();
+                Uninterruptibles.awaitUninterruptibly(release);
+                return codec.encode(data);
+            }
+
+            @Override
+            public NormalizedNode<?, ?> decode(final ByteBuffer buffer, final NestedSubtreeFactory nested)
+                    throws IOException {
+                return codec.decode(buffer, nested);
+            }
+        };
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final DataTree tiered = new InMemoryDataTreeFactory().createTiered(
+                DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT,
+                OffHeapTiering.builder(OffHeapStorage.direct(blocking, 4096, 1)).setExecutor(executor)
+                .setSweepInterval(1).setColdAge(2).setMinimumSize(0).build());
+
+            final DataTreeModification mod = tiered.takeSnapshot().newModification();
+            mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            mod.write(TestModel.OUTER_LIST_PATH, OUTER_LIST);
+            mod.ready();
+            tiered.commit(tiered.prepare(mod));
+            awaitSweep(executor);
+            tiered.commit(tiered.prepare(writeInnerValue(tiered, "one")));
+            awaitSweep(executor);
+            tiered.commit(tiered.prepare(writeInnerValue(tiered, "two")));
+
+            // The outer list is cold, the sweep is now stuck demoting it, commits still go through
+            encoding.await();
+            tiered.commit(tiered.prepare(writeInnerValue(tiered, "three")));
+            tiered.commit(tiered.prepare(writeInnerValue(tiered, "four")));
+            assertEquals(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "four"),
+                tiered.takeSnapshot().readNode(TestModel.INNER_VALUE_PATH).get());
+
+            // The tree has been modified during the sweep, hence it must not be installed
+            release.countDown();
+            awaitSweep(executor);
+            assertFalse(OffHeapStorage.isDemoted(tiered.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get()));
+            assertEquals(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "four"),
+                tiered.takeSnapshot().readNode(TestModel.INNER_VALUE_PATH).get());
+
+            // Next sweep succeeds
+            tiered.commit(tiered.prepare(writeInnerValue(tiered, "five")));
+            awaitSweep(executor);
+            final NormalizedNode<?, ?> list = tiered.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+            assertTrue(OffHeapStorage.isDemoted(list));
+            assertEquals(OUTER_LIST, list);
+            assertEquals(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "five"),
+                tiered.takeSnapshot().readNode(TestModel.INNER_VALUE_PATH).get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitSweep(final ExecutorService executor) throws Exception {
+        // Sweeps are executed in order, hence any previous sweep has finished once this task runs
+        executor.submit(() -> { }).get();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ShardedDataTreeTest extends AbstractTestModelTest {
+    private static final MapEntryNode ENTRY = ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+        1);
+    private static final ContainerNode TEST_CONTAINER = ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(ENTRY).build())
+            .build();
+    private static final ContainerNode NON_PRESENCE_CONTAINER = ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.NON_PRESENCE_QNAME))
+            .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo"))
+            .build();
+
+    private DataTree dataTree;
+
+    @Before
+    public void before() {
+        dataTree = new InMemoryDataTreeFactory().createSharded(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT, ImmutableList.of(TestModel.TEST_PATH, TestModel.NON_PRESENCE_PATH));
+    }
+
+    private DataTreeCandidate commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
+    @Test
+    public void testShardLocalCommit() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, TEST_CONTAINER);
+        final DataTreeCandidate candidate = commit(mod);
+
+        assertEquals(Optional.of(TEST_CONTAINER), dataTree.takeSnapshot().readNode(TestModel.TEST_PATH));
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(1, root.getChildNodes().size());
+        assertNotNull(root.getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME)));
+        assertNull(root.getModifiedChild(new NodeIdentifier(TestModel.NON_PRESENCE_QNAME)));
+    }
+
+    @Test
+    public void testCrossShardCommit() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, TEST_CONTAINER);
+        mod.write(TestModel.NON_PRESENCE_PATH, NON_PRESENCE_CONTAINER);
+        final DataTreeCandidate candidate = commit(mod);
+
+        final DataTreeModification read = dataTree.takeSnapshot().newModification();
+        assertEquals(Optional.of(TEST_CONTAINER), read.readNode(TestModel.TEST_PATH));
+        assertEquals(Optional.of(NON_PRESENCE_CONTAINER), read.readNode(TestModel.NON_PRESENCE_PATH));
+        assertEquals(2, candidate.getRootNode().getChildNodes().size());
+
+        final Optional<NormalizedNode<?, ?>> root = read.readNode(YangInstanceIdentifier.EMPTY);
+        assertTrue(root.isPresent());
+        assertEquals(Optional.of(TEST_CONTAINER), ((ContainerNode) root.get()).getChild(
+            new NodeIdentifier(TestModel.TEST_QNAME)));
+        assertEquals(root, candidate.getRootNode().getDataAfter());
+    }
+
+    @Test
+    public void testRootWrite() throws DataValidationFailedException {
+        final ContainerNode data = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+                .withChild(TEST_CONTAINER)
+                .withChild(NON_PRESENCE_CONTAINER)
+                .build();
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.EMPTY, data);
+        commit(mod);
+
+        assertEquals(Optional.of(data), dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY));
+        assertEquals(Optional.of(TEST_CONTAINER), dataTree.takeSnapshot().readNode(TestModel.TEST_PATH));
+    }
+
+    @Test
+    public void testShardVersions() throws DataValidationFailedException {
+        final ShardedDataTreeSnapshot initial = (ShardedDataTreeSnapshot) dataTree.takeSnapshot();
+
+        final DataTreeModification local = initial.newModification();
+        local.write(TestModel.TEST_PATH, TEST_CONTAINER);
+        commit(local);
+
+        final ShardedDataTreeSnapshot afterLocal = (ShardedDataTreeSnapshot) dataTree.takeSnapshot();
+        assertEquals(0, afterLocal.getVersion(0));
+        assertEquals(1, afterLocal.getVersion(1));
+        assertEquals(0, afterLocal.getVersion(2));
+
+        final DataTreeModification cross = afterLocal.newModification();
+        cross.delete(TestModel.OUTER_LIST_PATH);
+        cross.write(TestModel.NON_PRESENCE_PATH, NON_PRESENCE_CONTAINER);
+        commit(cross);
+
+        final ShardedDataTreeSnapshot afterCross = (ShardedDataTreeSnapshot) dataTree.takeSnapshot();
+        assertEquals(0, afterCross.getVersion(0));
+        assertEquals(2, afterCross.getVersion(1));
+        assertEquals(1, afterCross.getVersion(2));
+
+        // Snapshots are immutable
+        assertEquals(1, afterLocal.getVersion(1));
+        assertEquals(Optional.empty(), initial.readNode(TestModel.OUTER_LIST_PATH));
+    }
+
+    @Test
+    public void testNonRootTree() throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().createSharded(new DataTreeConfiguration.Builder(
+            TreeType.OPERATIONAL).setRootPath(TestModel.TEST_PATH).build(), SCHEMA_CONTEXT,
+            ImmutableList.of(TestModel.INNER_CONTAINER_PATH));
+        assertEquals(TestModel.TEST_PATH, tree.getRootPath());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.of(TestModel.INNER_CONTAINER_QNAME), ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.INNER_CONTAINER_QNAME)).build());
+        mod.ready();
+        tree.validate(mod);
+        final DataTreeCandidate candidate = tree.prepare(mod);
+        assertEquals(TestModel.TEST_PATH, candidate.getRootPath());
+        assertEquals(TestModel.TEST_QNAME, candidate.getRootNode().getIdentifier().getNodeType());
+        tree.commit(candidate);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testConflictingCrossShardCommit() throws DataValidationFailedException {
+        final DataTreeModification first = dataTree.takeSnapshot().newModification();
+        first.write(TestModel.TEST_PATH, TEST_CONTAINER);
+        first.write(TestModel.NON_PRESENCE_PATH, NON_PRESENCE_CONTAINER);
+        first.ready();
+
+        final DataTreeModification second = dataTree.takeSnapshot().newModification();
+        second.delete(TestModel.TEST_PATH);
+        second.delete(TestModel.NON_PRESENCE_PATH);
+        second.ready();
+
+        final DataTreeCandidate firstCandidate = dataTree.prepare(first);
+        final DataTreeCandidate secondCandidate = dataTree.prepare(second);
+        dataTree.commit(firstCandidate);
+        dataTree.commit(secondCandidate);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeDigest;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeDigests;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+
+public class TreeNodeDigestTest extends AbstractTestModelTest {
+    private static final NodeIdentifierWithPredicates ENTRY_3_ID = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3);
+
+    private static DataTree createTree(final int... ids) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, createList(ids));
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static MapNode createList(final int... ids) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder =
+                ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME);
+        for (int id : ids) {
+            builder.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        }
+        return builder.build();
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static TreeNode rootNode(final DataTree tree) {
+        return ((InMemoryDataTreeSnapshot) tree.takeSnapshot()).getRootNode();
+    }
+
+    @Test
+    public void testEqualTrees() throws DataValidationFailedException {
+        final TreeNode first = rootNode(createTree(1, 2));
+        final TreeNode second = rootNode(createTree(1, 2));
+
+        assertEquals(first.getDigest(), second.getDigest());
+        assertTrue(TreeNodeDigests.findDifferences(first, second).isEmpty());
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws DataValidationFailedException {
+        final DataTree tree = createTree(1, 2);
+        final TreeNodeDigest before = rootNode(tree).getDigest();
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.OUTER_LIST_PATH.node(ENTRY_3_ID),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        commit(tree, mod);
+
+        final TreeNode updated = rootNode(tree);
+        final TreeNode reference = rootNode(createTree(1, 2, 3));
+        assertNotEquals(before, updated.getDigest());
+        assertEquals(reference.getDigest(), updated.getDigest());
+    }
+
+    @Test
+    public void testRepeatedIncrementalUpdate() throws DataValidationFailedException {
+        final DataTree tree = createTree(1);
+        rootNode(tree).getDigest();
+
+        for (int id = 2; id <= 4; ++id) {
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            mod.write(TestModel.OUTER_LIST_PATH.node(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME,
+                TestModel.ID_QNAME, id)), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+            commit(tree, mod);
+        }
+
+        final TreeNode updated = rootNode(tree);
+        assertEquals(TreeNodeDigests.digestOf(updated.getData()), updated.getDigest());
+        assertEquals(rootNode(createTree(1, 2, 3, 4)).getDigest(), updated.getDigest());
+    }
+
+    @Test
+    public void testFindDifferences() throws DataValidationFailedException {
+        final TreeNode first = rootNode(createTree(1, 2));
+        final TreeNode second = rootNode(createTree(1, 2, 3));
+
+        assertEquals(ImmutableList.of(TestModel.OUTER_LIST_PATH.node(ENTRY_3_ID)),
+            TreeNodeDigests.findDifferences(first, second));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.HeapSizeAware;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeSizes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+
+public class TreeNodeSizeTest extends AbstractTestModelTest {
+    private static DataTree createTree(final int... ids) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, createList(ids));
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static MapNode createList(final int... ids) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> builder =
+                ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME);
+        for (int id : ids) {
+            builder.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        }
+        return builder.build();
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static TreeNode rootNode(final DataTree tree) {
+        return ((InMemoryDataTreeSnapshot) tree.takeSnapshot()).getRootNode();
+    }
+
+    // Computes the size without consulting any caches
+    private static long uncachedSize(final NormalizedNode<?, ?> data) {
+        long ret = TreeNodeSizes.shallowSizeOf(data);
+        if (data instanceof NormalizedNodeContainer) {
+            for (Object child : (Collection<?>) data.getValue()) {
+                ret += uncachedSize((NormalizedNode<?, ?>) child);
+            }
+        }
+        return ret;
+    }
+
+    private static void addEntry(final DataTree tree, final int id) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.OUTER_LIST_PATH.node(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, id)), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        commit(tree, mod);
+    }
+
+    private static void removeEntry(final DataTree tree, final int id) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(TestModel.OUTER_LIST_PATH.node(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, id)));
+        commit(tree, mod);
+    }
+
+    @Test
+    public void testRetainedSize() throws DataValidationFailedException {
+        final TreeNode root = rootNode(createTree(1, 2));
+        // The container has not been modified since its creation, hence it retains only its data
+        final TreeNode test = root.getChild(TestModel.TEST_PATH.getLastPathArgument()).get();
+        assertEquals(((HeapSizeAware) test).shallowHeapSize() + uncachedSize(test.getData()),
+            test.getRetainedSize());
+        assertEquals(((HeapSizeAware) root).shallowHeapSize() + TreeNodeSizes.shallowSizeOf(root.getData())
+            + test.getRetainedSize(), root.getRetainedSize());
+        assertTrue(rootNode(createTree(1, 2, 3)).getRetainedSize() > root.getRetainedSize());
+    }
+
+    @Test
+    public void testModifiedTreeNodesAccounted() throws DataValidationFailedException {
+        final DataTree tree = createTree(1, 2);
+        addEntry(tree, 3);
+
+        // The root has been modified, hence it retains TreeNodes of the modified path on top of the data
+        final TreeNode root = rootNode(tree);
+        assertTrue(root.getRetainedSize() > ((HeapSizeAware) root).shallowHeapSize() + uncachedSize(root.getData()));
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws DataValidationFailedException {
+        // Sizes of this tree are maintained incrementally ...
+        final DataTree tree = createTree(1, 2);
+        final long before = rootNode(tree).getRetainedSize();
+        addEntry(tree, 3);
+        final long added = rootNode(tree).getRetainedSize();
+        assertTrue(added > before);
+        addEntry(tree, 4);
+        assertTrue(rootNode(tree).getRetainedSize() > added);
+        removeEntry(tree, 3);
+
+        // ... while this tree undergoes the same modifications and computes its size from scratch
+        final DataTree reference = createTree(1, 2);
+        addEntry(reference, 3);
+        addEntry(reference, 4);
+        removeEntry(reference, 3);
+
+        assertEquals(rootNode(reference).getRetainedSize(), rootNode(tree).getRetainedSize());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Pipeline stage which retains only those leaves and leaf-set entries whose value matches a predicate. Leaves which
+ * act as keys of their parent list entry are always retained.
+ */
+final class FilteringStreamWriter extends PipelineStageWriter {
+    private final Deque<Set<QName>> keys = new ArrayDeque<>();
+    private final BiPredicate<QName, Object> predicate;
+
+    FilteringStreamWriter(final NormalizedNodeStreamWriter delegate, final BiPredicate<QName, Object> predicate) {
+        super(delegate);
+        this.predicate = requireNonNull(predicate);
+    }
+
+    @Override
+    boolean startNode(final PathArgument identifier) {
+        keys.push(identifier instanceof NodeIdentifierWithPredicates
+            ? ((NodeIdentifierWithPredicates) identifier).getKeyValues().keySet() : ImmutableSet.of());
+        return true;
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        final QName qname = name.getNodeType();
+        final Set<QName> parentKeys = keys.peek();
+        if (parentKeys != null && parentKeys.contains(qname) || predicate.test(qname, value)) {
+            delegate.leafNode(name, value);
+        }
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        if (predicate.test(name, value)) {
+            delegate.leafSetEntryNode(name, value);
+        }
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        keys.pop();
+        delegate.endNode();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.function.Predicate;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+
+/**
+ * Pipeline stage which emits a node as the last child of each node matching a predicate.
+ */
+final class InjectingStreamWriter extends PipelineStageWriter {
+    private final BitSet matched = new BitSet();
+    private final Predicate<PathArgument> parent;
+    private final NormalizedNode<?, ?> child;
+
+    private NormalizedNodeWriter childWriter;
+    private int depth;
+
+    InjectingStreamWriter(final NormalizedNodeStreamWriter delegate, final Predicate<PathArgument> parent,
+            final NormalizedNode<?, ?> child) {
+        super(delegate);
+        this.parent = requireNonNull(parent);
+        this.child = requireNonNull(child);
+    }
+
+    @Override
+    boolean startNode(final PathArgument identifier) {
+        matched.set(depth++, parent.test(identifier));
+        return true;
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        if (matched.get(--depth)) {
+            if (childWriter == null) {
+                childWriter = NormalizedNodeWriter.forStreamWriter(delegate);
+            }
+            childWriter.write(child);
+        }
+        delegate.endNode();
+    }
+}
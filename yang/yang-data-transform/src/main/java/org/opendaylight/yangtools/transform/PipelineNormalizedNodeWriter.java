@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.Iterables;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+
+/**
+ * A {@link NormalizedNodeWriter} driving a {@link TransformationPipeline}. It does not visit children of nodes which
+ * are being pruned by any of the pipeline's stages. Key leaves of list entries are emitted first, as required by
+ * RFC6020 XML encoding.
+ */
+final class PipelineNormalizedNodeWriter extends NormalizedNodeWriter {
+    private final SkipTracker tracker;
+
+    PipelineNormalizedNodeWriter(final NormalizedNodeStreamWriter writer, final SkipTracker tracker) {
+        super(writer);
+        this.tracker = requireNonNull(tracker);
+    }
+
+    @Override
+    public NormalizedNodeWriter write(final NormalizedNode<?, ?> node) throws IOException {
+        return tracker.isSkipping() ? this : super.write(node);
+    }
+
+    @Override
+    protected boolean writeMapEntryNode(final MapEntryNode node) throws IOException {
+        getWriter().startMapEntryNode(node.getIdentifier(), childSizeHint(node.getValue()));
+
+        final Set<QName> qnames = node.getIdentifier().getKeyValues().keySet();
+        for (final QName qname : qnames) {
+            final Optional<DataContainerChild<?, ?>> child = node.getChild(new NodeIdentifier(qname));
+            if (child.isPresent()) {
+                write(child.get());
+            }
+        }
+
+        return writeChildren(Iterables.filter(node.getValue(),
+            input -> input instanceof AugmentationNode || !qnames.contains(input.getNodeType())));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * Base class for {@link TransformationPipeline} stages. All events are forwarded to the next stage, with all start
+ * events being routed through {@link #startNode(PathArgument)}, which can be used to track or suppress them.
+ */
+abstract class PipelineStageWriter implements NormalizedNodeStreamWriter {
+    final NormalizedNodeStreamWriter delegate;
+
+    PipelineStageWriter(final NormalizedNodeStreamWriter delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    /**
+     * Invoked for each start event. The event, and its corresponding {@link #endNode()}, is forwarded only if this
+     * method returns true.
+     *
+     * @param identifier Identifier of the node being started
+     * @return True if the event should be forwarded
+     */
+    boolean startNode(final PathArgument identifier) {
+        return true;
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        delegate.leafNode(name, value);
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startLeafSet(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startOrderedLeafSet(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        delegate.leafSetEntryNode(name, value);
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startContainerNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startUnkeyedList(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startUnkeyedListItem(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startMapNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        if (startNode(identifier)) {
+            delegate.startMapEntryNode(identifier, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startOrderedMapNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startChoiceNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        if (startNode(identifier)) {
+            delegate.startAugmentationNode(identifier);
+        }
+    }
+
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        delegate.anyxmlNode(name, value);
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (startNode(name)) {
+            delegate.startYangModeledAnyXmlNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        delegate.endNode();
+    }
+
+    @Override
+    public void nextDataSchemaNode(final DataSchemaNode schema) {
+        delegate.nextDataSchemaNode(schema);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Pipeline stage which drops all nodes matching a predicate, along with their subtrees.
+ */
+final class PruningStreamWriter extends PipelineStageWriter {
+    private final Predicate<PathArgument> predicate;
+    private final SkipTracker tracker;
+
+    // Depth inside the subtree being pruned, 0 when not pruning
+    private int pruneDepth;
+
+    PruningStreamWriter(final NormalizedNodeStreamWriter delegate, final Predicate<PathArgument> predicate,
+            final SkipTracker tracker) {
+        super(delegate);
+        this.predicate = requireNonNull(predicate);
+        this.tracker = requireNonNull(tracker);
+    }
+
+    @Override
+    boolean startNode(final PathArgument identifier) {
+        if (pruneDepth != 0) {
+            pruneDepth++;
+            return false;
+        }
+        if (predicate.test(identifier)) {
+            pruneDepth = 1;
+            tracker.enter();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        if (pruneDepth == 0 && !predicate.test(name)) {
+            delegate.leafNode(name, value);
+        }
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        if (pruneDepth == 0 && !predicate.test(new NodeWithValue<>(name, value))) {
+            delegate.leafSetEntryNode(name, value);
+        }
+    }
+
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        if (pruneDepth == 0 && !predicate.test(name)) {
+            delegate.anyxmlNode(name, value);
+        }
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        if (pruneDepth == 0) {
+            delegate.endNode();
+        } else if (--pruneDepth == 0) {
+            tracker.exit();
+        }
+    }
+}
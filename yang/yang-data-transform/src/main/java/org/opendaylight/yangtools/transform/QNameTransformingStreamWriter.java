@@ -182,7 +182,10 @@ public abstract class QNameTransformingStreamWriter extends ForwardingObject imp
     protected abstract @NonNull QName transform(@NonNull QName key);
 
     private NodeIdentifier transform(final NodeIdentifier name) {
-        return new NodeIdentifier(transform(name.getNodeType()));
+        final QName original = name.getNodeType();
+        final QName transformed = transform(original);
+        // Do not allocate a new identifier if the QName has not changed
+        return transformed == original ? name : new NodeIdentifier(transformed);
     }
 
     private AugmentationIdentifier transform(final AugmentationIdentifier identifier) {
@@ -194,10 +197,16 @@ public abstract class QNameTransformingStreamWriter extends ForwardingObject imp
     }
 
     private NodeIdentifierWithPredicates transform(final NodeIdentifierWithPredicates identifier) {
+        final QName nodeType = identifier.getNodeType();
+        final QName transformedType = transform(nodeType);
+        boolean changed = transformedType != nodeType;
         Map<QName, Object> keyValues = new HashMap<>();
         for (Map.Entry<QName, Object> original : identifier.getKeyValues().entrySet()) {
-            keyValues.put(transform(original.getKey()), original.getValue());
+            final QName key = original.getKey();
+            final QName transformedKey = transform(key);
+            changed |= transformedKey != key;
+            keyValues.put(transformedKey, original.getValue());
         }
-        return new NodeIdentifierWithPredicates(transform(identifier.getNodeType()), keyValues);
+        return changed ? new NodeIdentifierWithPredicates(transformedType, keyValues) : identifier;
     }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+/**
+ * Shared state of a {@link TransformationPipeline} instance, tracking whether any of its stages is currently pruning
+ * a subtree. While that is the case, the driving {@link PipelineNormalizedNodeWriter} does not visit any children.
+ */
+final class SkipTracker {
+    private int pruningStages;
+
+    void enter() {
+        pruningStages++;
+    }
+
+    void exit() {
+        pruningStages--;
+    }
+
+    boolean isSkipping() {
+        return pruningStages != 0;
+    }
+}
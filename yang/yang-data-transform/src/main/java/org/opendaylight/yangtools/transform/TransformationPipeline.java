@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+/**
+ * A composable sequence of {@link NormalizedNode} transformations, which is applied in a single pass over the data.
+ * Each transformation is a {@link NormalizedNodeStreamWriter} stage, which passes transformed events to the next
+ * stage, the last of which feeds the target writer. Unlike chaining {@link NormalizedNodeTransformations}, no
+ * intermediate trees are materialized.
+ *
+ * <p>
+ * Stages are applied in the order in which they were added to the {@link Builder}, each of them seeing the output of
+ * the previous one. Adjacent stages of the same kind are fused into a single stage. When data is written through
+ * {@link #write(NormalizedNodeStreamWriter, NormalizedNode)}, subtrees pruned by any stage are skipped without being
+ * visited.
+ *
+ * <p>
+ * Since stages may drop or add nodes, child size hints passed to the target writer are only approximate.
+ */
+@Beta
+public final class TransformationPipeline implements Immutable {
+    /**
+     * A single stage specification.
+     */
+    private abstract static class Stage {
+        abstract NormalizedNodeStreamWriter createWriter(NormalizedNodeStreamWriter delegate, SkipTracker tracker);
+
+        /**
+         * Fuse this stage with the stage immediately following it.
+         *
+         * @param next Next stage
+         * @return Fused stage, or null if the stages cannot be fused
+         */
+        @Nullable Stage fuse(final Stage next) {
+            return null;
+        }
+    }
+
+    private static final class PruneStage extends Stage {
+        private final Predicate<PathArgument> predicate;
+
+        PruneStage(final Predicate<PathArgument> predicate) {
+            this.predicate = requireNonNull(predicate);
+        }
+
+        @Override
+        NormalizedNodeStreamWriter createWriter(final NormalizedNodeStreamWriter delegate, final SkipTracker tracker) {
+            return new PruningStreamWriter(delegate, predicate, tracker);
+        }
+
+        @Override
+        Stage fuse(final Stage next) {
+            return next instanceof PruneStage ? new PruneStage(predicate.or(((PruneStage) next).predicate)) : null;
+        }
+
+        @Override
+        public String toString() {
+            return "prune";
+        }
+    }
+
+    private static final class FilterStage extends Stage {
+        private final BiPredicate<QName, Object> predicate;
+
+        FilterStage(final BiPredicate<QName, Object> predicate) {
+            this.predicate = requireNonNull(predicate);
+        }
+
+        @Override
+        NormalizedNodeStreamWriter createWriter(final NormalizedNodeStreamWriter delegate, final SkipTracker tracker) {
+            return new FilteringStreamWriter(delegate, predicate);
+        }
+
+        @Override
+        Stage fuse(final Stage next) {
+            return next instanceof FilterStage ? new FilterStage(predicate.and(((FilterStage) next).predicate)) : null;
+        }
+
+        @Override
+        public String toString() {
+            return "filter";
+        }
+    }
+
+    private static final class QNameStage extends Stage {
+        private final Function<QName, QName> function;
+
+        QNameStage(final Function<QName, QName> function) {
+            this.function = requireNonNull(function);
+        }
+
+        @Override
+        NormalizedNodeStreamWriter createWriter(final NormalizedNodeStreamWriter delegate, final SkipTracker tracker) {
+            return QNameTransformingStreamWriter.fromFunction(delegate, function);
+        }
+
+        @Override
+        Stage fuse(final Stage next) {
+            return next instanceof QNameStage ? new QNameStage(function.andThen(((QNameStage) next).function)) : null;
+        }
+
+        @Override
+        public String toString() {
+            return "mapQName";
+        }
+    }
+
+    private static final class ValueStage extends Stage {
+        private final BiFunction<QName, Object, Object> function;
+
+        ValueStage(final BiFunction<QName, Object, Object> function) {
+            this.function = requireNonNull(function);
+        }
+
+        @Override
+        NormalizedNodeStreamWriter createWriter(final NormalizedNodeStreamWriter delegate, final SkipTracker tracker) {
+            return new ValueTransformingStreamWriter(delegate, function);
+        }
+
+        @Override
+        Stage fuse(final Stage next) {
+            if (!(next instanceof ValueStage)) {
+                return null;
+            }
+            final BiFunction<QName, Object, Object> first = function;
+            final BiFunction<QName, Object, Object> second = ((ValueStage) next).function;
+            return new ValueStage((name, value) -> second.apply(name, first.apply(name, value)));
+        }
+
+        @Override
+        public String toString() {
+            return "mapValue";
+        }
+    }
+
+    private static final class InjectStage extends Stage {
+        private final Predicate<PathArgument> parent;
+        private final NormalizedNode<?, ?> child;
+
+        InjectStage(final Predicate<PathArgument> parent, final NormalizedNode<?, ?> child) {
+            this.parent = requireNonNull(parent);
+            this.child = requireNonNull(child);
+        }
+
+        @Override
+        NormalizedNodeStreamWriter createWriter(final NormalizedNodeStreamWriter delegate, final SkipTracker tracker) {
+            return new InjectingStreamWriter(delegate, parent, child);
+        }
+
+        @Override
+        public String toString() {
+            return "inject";
+        }
+    }
+
+    private final ImmutableList<Stage> stages;
+
+    private TransformationPipeline(final ImmutableList<Stage> stages) {
+        this.stages = requireNonNull(stages);
+    }
+
+    public static @NonNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Return a writer which applies this pipeline to events and passes the result to specified writer. This method is
+     * useful when the events are not produced by a {@code NormalizedNodeWriter}, such as when parsing. Pruned subtrees
+     * are still delivered to the returned writer, but are not passed any further. Returned writer may not be used from
+     * multiple threads concurrently.
+     *
+     * @param writer Target writer
+     * @return A writer applying this pipeline
+     * @throws NullPointerException if writer is null
+     */
+    public @NonNull NormalizedNodeStreamWriter decorate(final @NonNull NormalizedNodeStreamWriter writer) {
+        return createWriter(writer, new SkipTracker());
+    }
+
+    /**
+     * Write a node through this pipeline to specified writer. Subtrees pruned by any stage of this pipeline are not
+     * visited.
+     *
+     * @param writer Target writer
+     * @param data Data to write
+     * @throws IOException if the target writer reports it
+     * @throws NullPointerException if any argument is null
+     */
+    public void write(final @NonNull NormalizedNodeStreamWriter writer, final @NonNull NormalizedNode<?, ?> data)
+            throws IOException {
+        final SkipTracker tracker = new SkipTracker();
+        new PipelineNormalizedNodeWriter(createWriter(writer, tracker), tracker).write(data);
+    }
+
+    /**
+     * Apply this pipeline to a node, materializing the result.
+     *
+     * @param data Data to transform
+     * @return Transformed data, or empty if the node itself has been pruned
+     * @throws NullPointerException if data is null
+     */
+    public @NonNull Optional<NormalizedNode<?, ?>> transform(final @NonNull NormalizedNode<?, ?> data) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        try {
+            write(ImmutableNormalizedNodeStreamWriter.from(result), data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to transform " + data, e);
+        }
+        return result.isFinished() ? Optional.of(result.getResult()) : Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("stages", stages).toString();
+    }
+
+    private NormalizedNodeStreamWriter createWriter(final NormalizedNodeStreamWriter writer,
+            final SkipTracker tracker) {
+        NormalizedNodeStreamWriter ret = requireNonNull(writer);
+        for (Stage stage : stages.reverse()) {
+            ret = stage.createWriter(ret, tracker);
+        }
+        return ret;
+    }
+
+    public static final class Builder implements org.opendaylight.yangtools.concepts.Builder<TransformationPipeline> {
+        private final List<Stage> stages = new ArrayList<>();
+
+        Builder() {
+            // Hidden to prevent external instantiation
+        }
+
+        /**
+         * Add a stage which drops nodes matching a predicate, along with their subtrees. The predicate is invoked
+         * with the identifier of each node, including {@code NodeWithValue} identifiers of leaf-set entries.
+         *
+         * @param predicate Predicate selecting nodes to drop
+         * @return This builder
+         */
+        public Builder prune(final Predicate<PathArgument> predicate) {
+            return addStage(new PruneStage(predicate));
+        }
+
+        /**
+         * Add a stage which retains only those leaves and leaf-set entries whose value matches a predicate. The
+         * predicate is invoked with the QName and value of each such node. Leaves acting as list entry keys are
+         * always retained.
+         *
+         * @param predicate Predicate selecting values to retain
+         * @return This builder
+         */
+        public Builder filter(final BiPredicate<QName, Object> predicate) {
+            return addStage(new FilterStage(predicate));
+        }
+
+        /**
+         * Add a stage which replaces QNames of all nodes, including list entry key names and augmentation child
+         * names.
+         *
+         * @param function Mapping function, required to return non-null values
+         * @return This builder
+         */
+        public Builder mapQName(final Function<QName, QName> function) {
+            return addStage(new QNameStage(function));
+        }
+
+        /**
+         * Add a stage which replaces values of leaves and leaf-set entries. List entry key values are replaced as
+         * well, so that they remain consistent with key leaves.
+         *
+         * @param function Mapping function, invoked with the QName and value of each node and required to return
+         *                 non-null values
+         * @return This builder
+         */
+        public Builder mapValue(final BiFunction<QName, Object, Object> function) {
+            return addStage(new ValueStage(function));
+        }
+
+        /**
+         * Add a stage which emits a node as the last child of each node matching a predicate. It is up to the caller
+         * to ensure that the resulting structure is valid.
+         *
+         * @param parent Predicate selecting parent nodes
+         * @param child Node to emit
+         * @return This builder
+         */
+        public Builder inject(final Predicate<PathArgument> parent, final NormalizedNode<?, ?> child) {
+            return addStage(new InjectStage(parent, child));
+        }
+
+        @Override
+        public TransformationPipeline build() {
+            final ImmutableList.Builder<Stage> builder = ImmutableList.builder();
+            Stage prev = null;
+            for (Stage stage : stages) {
+                if (prev == null) {
+                    prev = stage;
+                } else {
+                    final Stage fused = prev.fuse(stage);
+                    if (fused != null) {
+                        prev = fused;
+                    } else {
+                        builder.add(prev);
+                        prev = stage;
+                    }
+                }
+            }
+            if (prev != null) {
+                builder.add(prev);
+            }
+            return new TransformationPipeline(builder.build());
+        }
+
+        private Builder addStage(final Stage stage) {
+            stages.add(stage);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiFunction;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Pipeline stage which rewrites values of leaves and leaf-set entries. List entry key values are rewritten as well,
+ * so that they remain consistent with the key leaves.
+ */
+final class ValueTransformingStreamWriter extends PipelineStageWriter {
+    private final BiFunction<QName, Object, Object> function;
+
+    ValueTransformingStreamWriter(final NormalizedNodeStreamWriter delegate,
+            final BiFunction<QName, Object, Object> function) {
+        super(delegate);
+        this.function = requireNonNull(function);
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        delegate.leafNode(name, transform(name.getNodeType(), value));
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        delegate.leafSetEntryNode(name, transform(name, value));
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        delegate.startMapEntryNode(transform(identifier), childSizeHint);
+    }
+
+    private Object transform(final QName name, final Object value) {
+        return verifyNotNull(function.apply(name, value), "Function %s returned null for %s value %s", function, name,
+            value);
+    }
+
+    private NodeIdentifierWithPredicates transform(final NodeIdentifierWithPredicates identifier) {
+        final Map<QName, Object> original = identifier.getKeyValues();
+        Map<QName, Object> keyValues = null;
+        for (Entry<QName, Object> entry : original.entrySet()) {
+            final Object value = entry.getValue();
+            final Object transformed = transform(entry.getKey(), value);
+            if (transformed != value && keyValues == null) {
+                keyValues = new LinkedHashMap<>(original);
+            }
+            if (keyValues != null) {
+                keyValues.put(entry.getKey(), transformed);
+            }
+        }
+        return keyValues == null ? identifier : new NodeIdentifierWithPredicates(identifier.getNodeType(), keyValues);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+public class TransformationPipelineTest {
+    private static final QNameModule FOO = QNameModule.create(URI.create("foo"));
+    private static final QNameModule BAR = QNameModule.create(URI.create("bar"));
+
+    private static final Function<QName, QName> FOO_TO_BAR =
+        qname -> FOO.equals(qname.getModule()) ? QName.create(BAR, qname.getLocalName()) : qname;
+
+    private static QName foo(final String localName) {
+        return QName.create(FOO, localName);
+    }
+
+    private static QName bar(final String localName) {
+        return QName.create(BAR, localName);
+    }
+
+    private static ContainerNode createData(final Function<String, QName> names, final boolean transformed) {
+        final QName list = names.apply("list");
+        final QName id = names.apply("id");
+        final QName val = names.apply("val");
+        final QName leafList = names.apply("leaf-list");
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(names.apply("root")))
+                .withChild(ImmutableNodes.leafNode(names.apply("a"), transformed ? "X-a" : "a"))
+                .withChild(ImmutableNodes.mapNodeBuilder(list)
+                    .withChild(Builders.mapEntryBuilder().withNodeIdentifier(ImmutableNodes.mapEntry(list, id,
+                        transformed ? "X-1" : "1").getIdentifier())
+                        .withChild(ImmutableNodes.leafNode(id, transformed ? "X-1" : "1"))
+                        .withChild(ImmutableNodes.leafNode(val, transformed ? "X-v" : "v"))
+                        .build())
+                    .build())
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(leafList))
+                    .withChild(Builders.leafSetEntryBuilder()
+                        .withNodeIdentifier(new NodeWithValue<>(leafList, transformed ? "X-e" : "e"))
+                        .withValue(transformed ? "X-e" : "e").build())
+                    .build())
+                .withChild(transformed ? ImmutableNodes.leafNode(names.apply("injected"), "X-i")
+                    : ImmutableNodes.leafNode(names.apply("secret"), "secret"))
+                .build();
+    }
+
+    @Test
+    public void testPipeline() {
+        final ContainerNode original = Builders.containerBuilder(createData(TransformationPipelineTest::foo, false))
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(foo("skip")))
+                    .withChild(ImmutableNodes.leafNode(foo("c"), "c")).build())
+                .build();
+
+        final TransformationPipeline pipeline = TransformationPipeline.builder()
+                .prune(arg -> arg.getNodeType().getLocalName().equals("skip"))
+                .mapQName(FOO_TO_BAR)
+                .filter((qname, value) -> !"secret".equals(value))
+                .inject(arg -> arg.getNodeType().equals(bar("root")), ImmutableNodes.leafNode(bar("injected"), "i"))
+                .mapValue((qname, value) -> "X-" + value)
+                .build();
+
+        assertEquals(createData(TransformationPipelineTest::bar, true), pipeline.transform(original).get());
+    }
+
+    @Test
+    public void testPruneShortCircuit() throws IOException {
+        final ContainerNode original = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(foo("root")))
+                .withChild(ImmutableNodes.leafNode(foo("a"), "a"))
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(foo("skip")))
+                    .withChild(ImmutableNodes.leafNode(foo("b"), "b"))
+                    .withChild(ImmutableNodes.leafNode(foo("c"), "c"))
+                    .withChild(ImmutableNodes.leafNode(foo("d"), "d"))
+                    .build())
+                .build();
+        final ContainerNode expected = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(bar("root")))
+                .withChild(ImmutableNodes.leafNode(bar("a"), "a"))
+                .build();
+
+        final AtomicInteger mappings = new AtomicInteger();
+        final TransformationPipeline pipeline = TransformationPipeline.builder()
+                .mapQName(qname -> {
+                    mappings.incrementAndGet();
+                    return FOO_TO_BAR.apply(qname);
+                })
+                .prune(arg -> arg.getNodeType().equals(bar("skip")))
+                .build();
+
+        // Children of the pruned container are not visited
+        assertEquals(expected, pipeline.transform(original).get());
+        assertEquals(3, mappings.get());
+
+        // A decorated writer sees all events, but produces the same result
+        mappings.set(0);
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        NormalizedNodeWriter.forStreamWriter(pipeline.decorate(ImmutableNormalizedNodeStreamWriter.from(result)))
+            .write(original);
+        assertEquals(expected, result.getResult());
+        assertEquals(6, mappings.get());
+    }
+
+    @Test
+    public void testPruneRoot() {
+        final NormalizedNode<?, ?> data = ImmutableNodes.containerNode(foo("root"));
+        assertFalse(TransformationPipeline.builder().prune(arg -> true).build().transform(data).isPresent());
+    }
+
+    @Test
+    public void testFusion() {
+        final TransformationPipeline pipeline = TransformationPipeline.builder()
+                .mapQName(FOO_TO_BAR).mapQName(FOO_TO_BAR)
+                .prune(arg -> false).prune(arg -> false)
+                .mapValue((qname, value) -> value)
+                .prune(arg -> false)
+                .build();
+        assertEquals("TransformationPipeline{stages=[mapQName, prune, mapValue, prune]}", pipeline.toString());
+    }
+}
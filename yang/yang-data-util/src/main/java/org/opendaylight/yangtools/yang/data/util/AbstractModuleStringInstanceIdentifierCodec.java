@@ -22,6 +22,14 @@ import org.opendaylight.yangtools.yang.model.api.Module;
  */
 @Beta
 public abstract class AbstractModuleStringInstanceIdentifierCodec extends AbstractStringInstanceIdentifierCodec {
+    protected AbstractModuleStringInstanceIdentifierCodec() {
+        this(null);
+    }
+
+    protected AbstractModuleStringInstanceIdentifierCodec(final @Nullable InstanceIdentifierStringCache cache) {
+        super(cache);
+    }
+
     /**
      * Resolve a string prefix into the corresponding module.
      *
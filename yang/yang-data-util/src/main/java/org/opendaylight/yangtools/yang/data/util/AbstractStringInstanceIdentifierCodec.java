@@ -12,6 +12,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import java.util.Map.Entry;
+import java.util.Optional;
 import javax.xml.XMLConstants;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,9 +32,49 @@ import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 @Beta
 public abstract class AbstractStringInstanceIdentifierCodec extends AbstractNamespaceCodec
         implements InstanceIdentifierCodec<String> {
+    private final @Nullable InstanceIdentifierStringCache cache;
+
+    protected AbstractStringInstanceIdentifierCodec() {
+        this(null);
+    }
+
+    /**
+     * Create a codec which uses specified cache. Caching parsing results is only valid if {@link #createQName(String,
+     * String)} and {@link #deserializeKeyValue(DataSchemaNode, String)} yield the same results on each invocation.
+     *
+     * @param cache Cache to use, or null for no caching
+     */
+    protected AbstractStringInstanceIdentifierCodec(final @Nullable InstanceIdentifierStringCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Return the cache used by this codec, if any.
+     *
+     * @return Cache used by this codec
+     */
+    public final Optional<InstanceIdentifierStringCache> getCache() {
+        return Optional.ofNullable(cache);
+    }
 
     @Override
     public final String serialize(final YangInstanceIdentifier data) {
+        final InstanceIdentifierStringCache local = cache;
+        if (local == null) {
+            return serializeIdentifier(data);
+        }
+
+        final String cached = local.getSerialized(data);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String result = serializeIdentifier(data);
+        local.putSerialized(data, result);
+        return result;
+    }
+
+    private String serializeIdentifier(final YangInstanceIdentifier data) {
         final StringBuilder sb = new StringBuilder();
         DataSchemaContextNode<?> current = getDataContextTree().getRoot();
         QNameModule lastModule = null;
@@ -101,6 +142,11 @@ public abstract class AbstractStringInstanceIdentifierCodec extends AbstractName
 
     @Override
     public final YangInstanceIdentifier deserialize(final String data) {
+        final InstanceIdentifierStringCache local = cache;
+        if (local != null && local.cachesParsing()) {
+            return local.parse(this, requireNonNull(data));
+        }
+
         XpathStringParsingPathArgumentBuilder builder = new XpathStringParsingPathArgumentBuilder(this,
             requireNonNull(data));
         return YangInstanceIdentifier.create(builder.build());
@@ -7,12 +7,15 @@
  */
 package org.opendaylight.yangtools.yang.data.util;
 
+import com.google.common.annotations.Beta;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.CachePolicy;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -26,8 +29,15 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
  */
 // FIXME: 3.0.0: @NonNullByDefault
 public final class DataSchemaContextTree {
-    private static final LoadingCache<SchemaContext, DataSchemaContextTree> TREES = CacheBuilder.newBuilder()
-            .weakKeys().weakValues().build(new CacheLoader<SchemaContext, DataSchemaContextTree>() {
+    /*
+     * Keys are weak to force identity lookup. With a bounded policy the trees are strongly referenced, which also
+     * retains their SchemaContext until the tree is evicted.
+     */
+    private static final CachePolicy TREES_POLICY = CachePolicy.fromSystemProperties(
+        "org.opendaylight.yangtools.yang.data.util.schematree.cache", CachePolicy.referenceBased());
+    private static final LoadingCache<SchemaContext, DataSchemaContextTree> TREES =
+            TREES_POLICY.<SchemaContext, DataSchemaContextTree>configure(CacheBuilder.newBuilder().weakKeys(), false)
+            .build(new CacheLoader<SchemaContext, DataSchemaContextTree>() {
                 @Override
                 public DataSchemaContextTree load(final SchemaContext key) throws Exception {
                     return new DataSchemaContextTree(key);
@@ -44,6 +54,29 @@ public final class DataSchemaContextTree {
         return TREES.getUnchecked(ctx);
     }
 
+    /**
+     * Return the policy of the cache used by {@link #from(SchemaContext)}. The policy is configured through system
+     * properties prefixed with {@code org.opendaylight.yangtools.yang.data.util.schematree.cache}, as specified by
+     * {@link CachePolicy#fromSystemProperties(String, CachePolicy)}.
+     *
+     * @return Tree cache policy
+     */
+    @Beta
+    public static @NonNull CachePolicy cachePolicy() {
+        return TREES_POLICY;
+    }
+
+    /**
+     * Return statistics of the cache used by {@link #from(SchemaContext)}. Statistics are recorded only if enabled
+     * by {@link #cachePolicy()}.
+     *
+     * @return Tree cache statistics
+     */
+    @Beta
+    public static @NonNull CacheStats cacheStats() {
+        return TREES.stats();
+    }
+
     /**
      * Find a child node as identified by an absolute {@link YangInstanceIdentifier}.
      *
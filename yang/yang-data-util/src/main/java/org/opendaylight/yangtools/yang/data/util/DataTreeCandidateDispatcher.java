@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.AbstractObjectRegistration;
+import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.util.concurrent.NotificationManager;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Dispatcher of {@link DataTreeCandidate}s to listeners registered at particular paths. Registrations are organized in
+ * a trie keyed by {@link PathArgument}s, hence a single walk of a candidate's modified nodes is sufficient to find all
+ * interested listeners, irrespective of the number of registrations.
+ *
+ * <p>
+ * Each listener receives a candidate rooted at its registration path. If a published candidate is rooted below a
+ * listener's registration path, the listener receives the published candidate as-is. A
+ * {@link NodeIdentifierWithPredicates} with no key values acts as a wildcard, matching all entries of that list.
+ * Listeners matching multiple entries receive one candidate for each modified entry. Candidates are delivered through
+ * a {@link NotificationManager}, typically a
+ * {@link org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager}, in a single batch per listener.
+ *
+ * <p>
+ * This class is thread-safe. Registrations can be made and closed concurrently with publishing candidates.
+ *
+ * @param <L> Listener type
+ */
+@Beta
+public final class DataTreeCandidateDispatcher<L> {
+    private static final class Node<L> {
+        final Map<PathArgument, Node<L>> children = new ConcurrentHashMap<>();
+        final Map<QName, Node<L>> wildcards = new ConcurrentHashMap<>();
+        final Set<Registration<L>> registrations = ConcurrentHashMap.newKeySet();
+        final @Nullable Node<L> parent;
+        final @Nullable PathArgument identifier;
+
+        Node(final @Nullable Node<L> parent, final @Nullable PathArgument identifier) {
+            this.parent = parent;
+            this.identifier = identifier;
+        }
+
+        Node<L> ensureChild(final PathArgument arg) {
+            return isWildcard(arg) ? wildcards.computeIfAbsent(arg.getNodeType(), key -> new Node<>(this, arg))
+                    : children.computeIfAbsent(arg, key -> new Node<>(this, arg));
+        }
+
+        boolean isEmpty() {
+            return registrations.isEmpty() && children.isEmpty() && wildcards.isEmpty();
+        }
+
+        void removeChild(final Node<L> child) {
+            if (isWildcard(child.identifier)) {
+                wildcards.remove(child.identifier.getNodeType(), child);
+            } else {
+                children.remove(child.identifier, child);
+            }
+        }
+    }
+
+    private static final class Registration<L> extends AbstractObjectRegistration<L> {
+        private final DataTreeCandidateDispatcher<L> dispatcher;
+        private final Node<L> node;
+
+        Registration(final DataTreeCandidateDispatcher<L> dispatcher, final Node<L> node, final L instance) {
+            super(instance);
+            this.dispatcher = requireNonNull(dispatcher);
+            this.node = requireNonNull(node);
+        }
+
+        @Override
+        protected void removeRegistration() {
+            dispatcher.removeListener(node, this);
+        }
+    }
+
+    private final NotificationManager<L, DataTreeCandidate> notificationManager;
+    private final Node<L> root = new Node<>(null, null);
+
+    public DataTreeCandidateDispatcher(final NotificationManager<L, DataTreeCandidate> notificationManager) {
+        this.notificationManager = requireNonNull(notificationManager);
+    }
+
+    /**
+     * Register a listener for changes at or below a particular path.
+     *
+     * @param path Registration path, which may contain wildcards
+     * @param listener Listener to register
+     * @return A registration, which needs to be closed to unregister the listener
+     * @throws NullPointerException if any argument is null
+     */
+    public synchronized @NonNull ObjectRegistration<L> registerListener(final YangInstanceIdentifier path,
+            final L listener) {
+        Node<L> node = root;
+        for (PathArgument arg : path.getPathArguments()) {
+            node = node.ensureChild(arg);
+        }
+
+        final Registration<L> reg = new Registration<>(this, node, listener);
+        node.registrations.add(reg);
+        return reg;
+    }
+
+    /**
+     * Deliver a candidate to all listeners registered at its root path, above it, or at any of its modified nodes.
+     *
+     * @param candidate Candidate to publish
+     * @throws NullPointerException if candidate is null
+     */
+    public void publish(final DataTreeCandidate candidate) {
+        final Map<Registration<L>, List<DataTreeCandidate>> matches = new LinkedHashMap<>();
+
+        // Walk down to the candidate root, collecting listeners registered above it
+        List<Node<L>> current = Collections.singletonList(root);
+        for (PathArgument arg : candidate.getRootPath().getPathArguments()) {
+            final List<Node<L>> next = new ArrayList<>(2);
+            for (Node<L> node : current) {
+                addMatches(matches, node, candidate);
+                final Node<L> child = node.children.get(arg);
+                if (child != null) {
+                    next.add(child);
+                }
+                if (arg instanceof NodeIdentifierWithPredicates) {
+                    final Node<L> wildcard = node.wildcards.get(arg.getNodeType());
+                    if (wildcard != null) {
+                        next.add(wildcard);
+                    }
+                }
+            }
+
+            current = next;
+            if (current.isEmpty()) {
+                break;
+            }
+        }
+
+        for (Node<L> node : current) {
+            dispatch(matches, node, candidate.getRootPath(), candidate.getRootNode());
+        }
+        submit(matches);
+    }
+
+    private void dispatch(final Map<Registration<L>, List<DataTreeCandidate>> matches, final Node<L> node,
+            final YangInstanceIdentifier path, final DataTreeCandidateNode candidate) {
+        if (candidate.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        if (!node.registrations.isEmpty()) {
+            addMatches(matches, node, DataTreeCandidates.newDataTreeCandidate(path, candidate));
+        }
+
+        for (Entry<PathArgument, Node<L>> entry : node.children.entrySet()) {
+            final DataTreeCandidateNode child = candidate.getModifiedChild(entry.getKey());
+            if (child != null) {
+                dispatch(matches, entry.getValue(), path.node(entry.getKey()), child);
+            }
+        }
+
+        if (!node.wildcards.isEmpty()) {
+            for (DataTreeCandidateNode child : candidate.getChildNodes()) {
+                final PathArgument childId = child.getIdentifier();
+                if (childId instanceof NodeIdentifierWithPredicates) {
+                    final Node<L> wildcard = node.wildcards.get(childId.getNodeType());
+                    if (wildcard != null) {
+                        dispatch(matches, wildcard, path.node(childId), child);
+                    }
+                }
+            }
+        }
+    }
+
+    private void submit(final Map<Registration<L>, List<DataTreeCandidate>> matches) {
+        for (Entry<Registration<L>, List<DataTreeCandidate>> entry : matches.entrySet()) {
+            final Registration<L> reg = entry.getKey();
+            if (!reg.isClosed()) {
+                notificationManager.submitNotifications(reg.getInstance(), entry.getValue());
+            }
+        }
+    }
+
+    private synchronized void removeListener(final Node<L> node, final Registration<?> reg) {
+        node.registrations.remove(reg);
+
+        // Prune nodes which are no longer needed
+        Node<L> current = node;
+        while (current.parent != null && current.isEmpty()) {
+            current.parent.removeChild(current);
+            current = current.parent;
+        }
+    }
+
+    private static <L> void addMatches(final Map<Registration<L>, List<DataTreeCandidate>> matches,
+            final Node<L> node, final DataTreeCandidate candidate) {
+        for (Registration<L> reg : node.registrations) {
+            matches.computeIfAbsent(reg, key -> new ArrayList<>(1)).add(candidate);
+        }
+    }
+
+    private static boolean isWildcard(final PathArgument arg) {
+        return arg instanceof NodeIdentifierWithPredicates
+                && ((NodeIdentifierWithPredicates) arg).getKeyValues().isEmpty();
+    }
+}
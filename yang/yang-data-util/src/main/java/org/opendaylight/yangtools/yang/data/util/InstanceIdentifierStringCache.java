@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * A bounded, thread-safe cache of {@link YangInstanceIdentifier} string representations, used by
+ * {@link AbstractStringInstanceIdentifierCodec} to avoid repeated serialization and parsing of frequently-used paths.
+ *
+ * <p>
+ * Both directions are kept in separate least-recently-used caches. Parsing additionally remembers, in a separate
+ * bounded cache, the parser state for the parent of each parsed path, so that a miss on {@code /a/b/c[k='x']/e}
+ * resumes from the state recorded while parsing {@code /a/b/c[k='x']/d} instead of starting from the beginning. A
+ * previously-parsed complete path is also used as a parent. Only one prefix is recorded per parse, so that deep paths
+ * do not flood the cache with their intermediate states.
+ *
+ * <p>
+ * Cached parsing results are only valid if the string representation is interpreted in the same way on each
+ * invocation. Codecs whose prefix resolution depends on the invocation context, such as XML codecs resolving prefixes
+ * through a {@link javax.xml.namespace.NamespaceContext}, must use {@link #serializationOnly(long)}.
+ */
+@Beta
+public final class InstanceIdentifierStringCache {
+    /**
+     * Default maximum number of entries in each direction.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final LongAdder prefixResumes = new LongAdder();
+    private final Cache<YangInstanceIdentifier, String> serialized;
+    private final @Nullable Cache<String, ParsedPath> parsed;
+    private final @Nullable Cache<String, ParsedPath> prefixes;
+
+    private InstanceIdentifierStringCache(final long maximumSize, final boolean cacheParsing) {
+        checkArgument(maximumSize > 0, "Invalid maximum size %s", maximumSize);
+        serialized = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+        if (cacheParsing) {
+            parsed = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+            prefixes = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        } else {
+            parsed = null;
+            prefixes = null;
+        }
+    }
+
+    /**
+     * Create a cache for both serialization and parsing, holding at most {@code maximumSize} entries in each
+     * direction, plus at most {@code maximumSize} parsed prefixes.
+     *
+     * @param maximumSize Maximum number of entries in each direction
+     * @return A new cache
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    public static @NonNull InstanceIdentifierStringCache create(final long maximumSize) {
+        return new InstanceIdentifierStringCache(maximumSize, true);
+    }
+
+    /**
+     * Create a cache for serialization only, holding at most {@code maximumSize} entries.
+     *
+     * @param maximumSize Maximum number of entries
+     * @return A new cache
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    public static @NonNull InstanceIdentifierStringCache serializationOnly(final long maximumSize) {
+        return new InstanceIdentifierStringCache(maximumSize, false);
+    }
+
+    /**
+     * Return hit/miss statistics of serialization lookups.
+     *
+     * @return Serialization statistics
+     */
+    public @NonNull CacheStats getSerializationStats() {
+        return serialized.stats();
+    }
+
+    /**
+     * Return hit/miss statistics of parsing lookups. Only lookups of complete strings are accounted here, resumption
+     * from a recorded prefix is reported by {@link #getPrefixResumeCount()}.
+     *
+     * @return Parsing statistics, empty if this cache does not cache parsing
+     */
+    public @NonNull CacheStats getParsingStats() {
+        final Cache<String, ParsedPath> local = parsed;
+        return local != null ? local.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Return the number of parsing misses which were resumed from a recorded prefix.
+     *
+     * @return Number of resumed parses
+     */
+    public long getPrefixResumeCount() {
+        return prefixResumes.sum();
+    }
+
+    /**
+     * Discard all cached entries. Statistics are retained.
+     */
+    public void invalidateAll() {
+        serialized.invalidateAll();
+        final Cache<String, ParsedPath> local = parsed;
+        if (local != null) {
+            local.invalidateAll();
+            requireNonNull(prefixes).invalidateAll();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("serialization", serialized.stats())
+                .add("parsing", getParsingStats()).add("prefixResumes", getPrefixResumeCount()).toString();
+    }
+
+    @Nullable String getSerialized(final YangInstanceIdentifier data) {
+        return serialized.getIfPresent(data);
+    }
+
+    void putSerialized(final YangInstanceIdentifier data, final String str) {
+        serialized.put(data, str);
+    }
+
+    boolean cachesParsing() {
+        return parsed != null;
+    }
+
+    @NonNull YangInstanceIdentifier parse(final AbstractStringInstanceIdentifierCodec codec, final String data) {
+        final Cache<String, ParsedPath> local = requireNonNull(parsed);
+        final ParsedPath hit = local.getIfPresent(data);
+        if (hit != null) {
+            return hit.getIdentifier();
+        }
+
+        final ParsedPath prefix = findPrefix(local, requireNonNull(prefixes), data);
+        if (prefix != null) {
+            prefixResumes.increment();
+        }
+
+        final XpathStringParsingPathArgumentBuilder builder = new XpathStringParsingPathArgumentBuilder(codec, data,
+            prefix, this);
+        final ParsedPath result = builder.toParsedPath(ImmutableList.copyOf(builder.build()));
+        local.put(data, result);
+        return result.getIdentifier();
+    }
+
+    void putPrefix(final String prefix, final ParsedPath path) {
+        requireNonNull(prefixes).put(prefix, path);
+    }
+
+    private static @Nullable ParsedPath findPrefix(final Cache<String, ParsedPath> parsed,
+            final Cache<String, ParsedPath> prefixes, final String data) {
+        // The string itself may have been recorded as a parent of another string
+        final ParsedPath exact = prefixes.getIfPresent(data);
+        if (exact != null) {
+            return exact;
+        }
+
+        // Probe the parent only. A '/' may also appear inside a quoted predicate value, in which case the candidate
+        // has unbalanced quotes and is never found. Lookups through asMap() do not affect statistics.
+        final int slash = data.lastIndexOf('/');
+        if (slash <= 0) {
+            return null;
+        }
+        final String parent = data.substring(0, slash);
+        final ParsedPath prefix = parsed.asMap().get(parent);
+        return prefix != null ? prefix : prefixes.getIfPresent(parent);
+    }
+
+    /**
+     * Parser state after consuming a complete path argument.
+     */
+    static final class ParsedPath {
+        private final @NonNull ImmutableList<PathArgument> arguments;
+        private final @NonNull DataSchemaContextNode<?> node;
+        private final @Nullable QNameModule lastModule;
+        private final int length;
+
+        // Lazily instantiated, racy single-check, as YangInstanceIdentifier is safely publishable
+        private YangInstanceIdentifier identifier;
+
+        ParsedPath(final ImmutableList<PathArgument> arguments, final DataSchemaContextNode<?> node,
+                final @Nullable QNameModule lastModule, final int length) {
+            this.arguments = requireNonNull(arguments);
+            this.node = requireNonNull(node);
+            this.lastModule = lastModule;
+            this.length = length;
+        }
+
+        @NonNull ImmutableList<PathArgument> getArguments() {
+            return arguments;
+        }
+
+        @NonNull DataSchemaContextNode<?> getNode() {
+            return node;
+        }
+
+        @Nullable QNameModule getLastModule() {
+            return lastModule;
+        }
+
+        int getLength() {
+            return length;
+        }
+
+        @NonNull YangInstanceIdentifier getIdentifier() {
+            YangInstanceIdentifier local = identifier;
+            if (local == null) {
+                identifier = local = YangInstanceIdentifier.create(arguments);
+            }
+            return local;
+        }
+    }
+}
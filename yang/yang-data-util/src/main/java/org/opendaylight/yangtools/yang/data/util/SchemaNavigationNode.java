@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Iterables;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.odlext.model.api.YangModeledAnyXmlSchemaNode;
+import org.opendaylight.yangtools.util.CachePolicy;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
+import org.opendaylight.yangtools.yang.model.util.SchemaNodeUtils;
+
+/**
+ * A node in a schema navigation table. It memoizes lookups of children by their QName, with membership in choice
+ * cases resolved ahead of time, and lookups of augmentations by their {@link AugmentationIdentifier}. Tables are
+ * shared by all users rooted at the same node, so that in steady state resolving a child schema costs a single map
+ * lookup.
+ */
+@Beta
+public final class SchemaNavigationNode {
+    /**
+     * A resolved child of a {@link SchemaNavigationNode}.
+     */
+    public static final class Child {
+        private final @NonNull SchemaNode schema;
+        private final @Nullable CaseSchemaNode enclosingCase;
+
+        private volatile SchemaNavigationNode navigation;
+
+        Child(final SchemaNode schema, final @Nullable CaseSchemaNode enclosingCase) {
+            this.schema = requireNonNull(schema);
+            this.enclosingCase = enclosingCase;
+        }
+
+        Child(final SchemaNavigationNode self) {
+            this((SchemaNode) self.getSchema(), null);
+            navigation = self;
+        }
+
+        public @NonNull SchemaNode getSchema() {
+            return schema;
+        }
+
+        /**
+         * Return the navigation node corresponding to this child. For YANG-modeled anyxml nodes this is the schema
+         * of their content.
+         *
+         * @return Navigation node
+         */
+        public @NonNull SchemaNavigationNode getNavigation() {
+            SchemaNavigationNode ret = navigation;
+            if (ret == null) {
+                ret = new SchemaNavigationNode(schema instanceof YangModeledAnyXmlSchemaNode
+                        ? ((YangModeledAnyXmlSchemaNode) schema).getSchemaOfAnyXmlData() : schema);
+                navigation = ret;
+            }
+            return ret;
+        }
+    }
+
+    /*
+     * Keys are weak to force identity lookup. Under the default policy values are soft, so that tables survive
+     * between uses until the JVM runs low on memory. Since a table references its root, the root is retained for
+     * as long as its table is.
+     */
+    private static final CachePolicy ROOTS_POLICY = CachePolicy.fromSystemProperties(
+        "org.opendaylight.yangtools.yang.data.util.schemanavigation.cache", CachePolicy.referenceBased());
+    private static final LoadingCache<DataNodeContainer, SchemaNavigationNode> ROOTS = newCache(ROOTS_POLICY);
+
+    private final ConcurrentMap<QName, Child> children = new ConcurrentHashMap<>();
+    private final @NonNull Object schema;
+
+    private volatile ConcurrentMap<AugmentationIdentifier, SchemaNavigationNode> augmentations;
+
+    private SchemaNavigationNode(final Object schema) {
+        this.schema = requireNonNull(schema);
+    }
+
+    /**
+     * Return the navigation table rooted at specified node.
+     *
+     * @param root Root node
+     * @return Navigation table root
+     * @throws NullPointerException if {@code root} is null
+     */
+    public static @NonNull SchemaNavigationNode forRoot(final DataNodeContainer root) {
+        return ROOTS.getUnchecked(root);
+    }
+
+    /**
+     * Return the policy of the cache used by {@link #forRoot(DataNodeContainer)}. The policy is configured through
+     * system properties prefixed with {@code org.opendaylight.yangtools.yang.data.util.schemanavigation.cache}, as
+     * specified by {@link CachePolicy#fromSystemProperties(String, CachePolicy)}.
+     *
+     * @return Navigation table cache policy
+     */
+    public static @NonNull CachePolicy cachePolicy() {
+        return ROOTS_POLICY;
+    }
+
+    /**
+     * Return statistics of the cache used by {@link #forRoot(DataNodeContainer)}. Statistics are recorded only if
+     * enabled by {@link #cachePolicy()}.
+     *
+     * @return Navigation table cache statistics
+     */
+    public static @NonNull CacheStats cacheStats() {
+        return ROOTS.stats();
+    }
+
+    @VisibleForTesting
+    static LoadingCache<DataNodeContainer, SchemaNavigationNode> newCache(final CachePolicy policy) {
+        return policy.<DataNodeContainer, SchemaNavigationNode>configure(CacheBuilder.newBuilder().weakKeys(), true)
+                .build(new CacheLoader<DataNodeContainer, SchemaNavigationNode>() {
+                    @Override
+                    public SchemaNavigationNode load(final DataNodeContainer key) {
+                        return new SchemaNavigationNode(key);
+                    }
+                });
+    }
+
+    public @NonNull Object getSchema() {
+        return schema;
+    }
+
+    /**
+     * Resolve a child of this node.
+     *
+     * @param qname Child QName
+     * @return Resolved child, or null if no such child exists.
+     * @throws IllegalStateException if this node cannot have children
+     */
+    public @Nullable Child getChild(final QName qname) {
+        final Child existing = children.get(qname);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Child created = createChild(qname);
+        if (created == null) {
+            return null;
+        }
+        final Child raced = children.putIfAbsent(qname, created);
+        return raced == null ? created : raced;
+    }
+
+    /**
+     * Resolve an augmentation of this node.
+     *
+     * @param identifier Augmentation identifier
+     * @return Navigation node for the resolved {@link AugmentationSchemaNode}
+     * @throws IllegalArgumentException if the augmentation cannot be resolved
+     */
+    public @NonNull SchemaNavigationNode getAugmentation(final AugmentationIdentifier identifier) {
+        ConcurrentMap<AugmentationIdentifier, SchemaNavigationNode> local = augmentations;
+        if (local == null) {
+            synchronized (this) {
+                local = augmentations;
+                if (local == null) {
+                    local = new ConcurrentHashMap<>();
+                    augmentations = local;
+                }
+            }
+        }
+
+        final SchemaNavigationNode existing = local.get(identifier);
+        if (existing != null) {
+            return existing;
+        }
+        final SchemaNavigationNode created = new SchemaNavigationNode(createAugmentation(identifier));
+        final SchemaNavigationNode raced = local.putIfAbsent(identifier, created);
+        return raced == null ? created : raced;
+    }
+
+    private @Nullable Child createChild(final QName qname) {
+        if (schema instanceof DataNodeContainer) {
+            final Optional<DataSchemaNode> child = ((DataNodeContainer) schema).findDataChildByName(qname);
+            if (child.isPresent()) {
+                return new Child(child.get(), null);
+            }
+            if (schema instanceof GroupingDefinition || schema instanceof NotificationDefinition) {
+                return new Child(this);
+            }
+            return null;
+        }
+        if (schema instanceof ChoiceSchemaNode) {
+            for (final CaseSchemaNode caze : ((ChoiceSchemaNode) schema).getCases().values()) {
+                final Optional<DataSchemaNode> potential = caze.findDataChildByName(qname);
+                if (potential.isPresent()) {
+                    return new Child(potential.get(), caze);
+                }
+            }
+            return null;
+        }
+
+        throw new IllegalStateException("Unsupported schema type " + schema.getClass() + " on stack.");
+    }
+
+    private AugmentationSchemaNode createAugmentation(final AugmentationIdentifier identifier) {
+        checkArgument(schema instanceof AugmentationTarget, "Augmentation not allowed under %s", schema);
+
+        Object parent = schema;
+        if (parent instanceof ChoiceSchemaNode) {
+            final Child child = getChild(Iterables.get(identifier.getPossibleChildNames(), 0));
+            parent = child == null ? null : child.enclosingCase;
+        }
+        checkArgument(parent instanceof DataNodeContainer, "Augmentation allowed only in DataNodeContainer", parent);
+        final Set<QName> qnames = identifier.getPossibleChildNames();
+        final Optional<AugmentationSchemaNode> augSchema = SchemaNodeUtils.findAugmentation((AugmentationTarget) parent,
+            qnames);
+        checkState(augSchema.isPresent(), "Unknown augmentation node detected, identified by: %s, in: %s", qnames,
+            parent);
+        return EffectiveAugmentationSchema.create(augSchema.get(), (DataNodeContainer) parent);
+    }
+}
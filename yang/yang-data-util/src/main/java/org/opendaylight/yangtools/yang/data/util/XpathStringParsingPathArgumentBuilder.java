@@ -14,12 +14,14 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.util.InstanceIdentifierStringCache.ParsedPath;
 
 /**
  * Iterator which lazily parses {@link PathArgument} from string representation.
@@ -61,26 +63,70 @@ final class XpathStringParsingPathArgumentBuilder implements Builder<List<PathAr
     private final List<PathArgument> product = new ArrayList<>();
     private final AbstractStringInstanceIdentifierCodec codec;
     private final String data;
+    private final @Nullable InstanceIdentifierStringCache cache;
+
+    private final int startOffset;
 
     private DataSchemaContextNode<?> current;
     private QNameModule lastModule;
     private int offset;
 
     XpathStringParsingPathArgumentBuilder(final AbstractStringInstanceIdentifierCodec codec, final String data) {
+        this(codec, data, null, null);
+    }
+
+    /**
+     * Create a builder which resumes parsing after a previously-parsed prefix and records the state before the last
+     * path argument into a cache.
+     *
+     * @param codec Codec performing the parse
+     * @param data String to parse
+     * @param prefix Parsed prefix of {@code data}, or null when starting from the beginning
+     * @param cache Cache to which the state of the parent path is recorded, or null
+     */
+    XpathStringParsingPathArgumentBuilder(final AbstractStringInstanceIdentifierCodec codec, final String data,
+            final @Nullable ParsedPath prefix, final @Nullable InstanceIdentifierStringCache cache) {
         this.codec = requireNonNull(codec);
         this.data = requireNonNull(data);
-        this.current = codec.getDataContextTree().getRoot();
-        this.offset = 0;
+        this.cache = cache;
+        if (prefix != null) {
+            product.addAll(prefix.getArguments());
+            this.current = prefix.getNode();
+            this.lastModule = prefix.getLastModule();
+            this.offset = prefix.getLength();
+        } else {
+            this.current = codec.getDataContextTree().getRoot();
+            this.offset = 0;
+        }
+        this.startOffset = offset;
     }
 
     @Override
     public List<PathArgument> build() {
+        DataSchemaContextNode<?> parentNode = current;
+        QNameModule parentModule = lastModule;
+        int parentOffset = offset;
+        int parentSize = product.size();
         while (!allCharactersConsumed()) {
+            parentNode = current;
+            parentModule = lastModule;
+            parentOffset = offset;
+            parentSize = product.size();
             product.add(computeNextArgument());
         }
+
+        // Record the parent unless it is empty or the prefix we have resumed from
+        if (cache != null && parentOffset > startOffset) {
+            cache.putPrefix(data.substring(0, parentOffset), new ParsedPath(
+                ImmutableList.copyOf(product.subList(0, parentSize)), parentNode, parentModule, parentOffset));
+        }
         return ImmutableList.copyOf(product);
     }
 
+    ParsedPath toParsedPath(final ImmutableList<PathArgument> arguments) {
+        return new ParsedPath(arguments, current, lastModule, offset);
+    }
+
     private PathArgument computeNextArgument() {
         checkValid(SLASH == currentChar(), "Identifier must start with '/'.");
         skipCurrentChar();
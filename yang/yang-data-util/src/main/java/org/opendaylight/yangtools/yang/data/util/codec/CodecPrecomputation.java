@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Result of eagerly computing all codecs for a {@link SchemaContext} into a {@link PrecomputedCodecCache}. Instances
+ * are created via {@link #compute(SchemaContext, Function, Executor, int)}, which walks the data tree, operations and
+ * notifications of a SchemaContext and requests a codec for each {@link TypedDataSchemaNode} it encounters.
+ *
+ * <p>
+ * The set of nodes is split into contiguous slices, each of which is processed by a separate task using its own
+ * {@link LazyCodecCache}. This keeps the tasks independent of each other, so that expensive codec construction, like
+ * pattern compilation and union assembly, can proceed in parallel. Resulting caches are then merged into a single
+ * {@link PrecomputedCodecCache}.
+ *
+ * @param <T> Codec type
+ */
+@Beta
+@ThreadSafe
+public final class CodecPrecomputation<T extends TypeAwareCodec<?, ?, ?>> {
+    private static final Logger LOG = LoggerFactory.getLogger(CodecPrecomputation.class);
+
+    private final @NonNull PrecomputedCodecCache<T> cache;
+    private final int leafCount;
+    private final int taskCount;
+    private final long elapsedNanos;
+
+    private CodecPrecomputation(final PrecomputedCodecCache<T> cache, final int leafCount, final int taskCount,
+            final long elapsedNanos) {
+        this.cache = requireNonNull(cache);
+        this.leafCount = leafCount;
+        this.taskCount = taskCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Compute all codecs for a SchemaContext. The work is split into at most {@code parallelism} tasks, which are
+     * submitted to specified executor. Each task creates its own codec factory through {@code factoryFunction}.
+     *
+     * @param context SchemaContext for which to compute codecs
+     * @param factoryFunction Function returning a codec factory bound to {@code context} and backed by specified
+     *                        cache
+     * @param executor Executor on which to run precomputation tasks
+     * @param parallelism Maximum number of tasks to submit
+     * @param <T> Codec type
+     * @return A future completing with the result of precomputation
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public static <T extends TypeAwareCodec<?, ?, ?>> @NonNull ListenableFuture<CodecPrecomputation<T>> compute(
+            final SchemaContext context,
+            final Function<CodecCache<T>, ? extends AbstractCodecFactory<T>> factoryFunction, final Executor executor,
+            final int parallelism) {
+        checkArgument(parallelism > 0, "Invalid parallelism %s", parallelism);
+        requireNonNull(factoryFunction);
+        requireNonNull(executor);
+
+        final Stopwatch sw = Stopwatch.createStarted();
+        final List<TypedDataSchemaNode> leaves = new ArrayList<>();
+        collectChildren(leaves, context);
+        for (RpcDefinition rpc : context.getOperations()) {
+            collectOperation(leaves, rpc);
+        }
+
+        final int size = leaves.size();
+        final int taskCount = Math.max(1, Math.min(parallelism, size));
+        final int sliceSize = (size + taskCount - 1) / taskCount;
+        final List<ListenableFuture<LazyCodecCache<T>>> futures = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; ++i) {
+            final List<TypedDataSchemaNode> slice = leaves.subList(Math.min(i * sliceSize, size),
+                Math.min((i + 1) * sliceSize, size));
+            final ListenableFutureTask<LazyCodecCache<T>> task = ListenableFutureTask.create(
+                () -> computeSlice(factoryFunction, slice));
+            executor.execute(task);
+            futures.add(task);
+        }
+
+        return Futures.transform(Futures.allAsList(futures), caches -> {
+            final Map<TypeDefinition<?>, T> simple = new IdentityHashMap<>();
+            final Map<TypedDataSchemaNode, T> complex = new IdentityHashMap<>();
+            for (LazyCodecCache<T> sliceCache : caches) {
+                sliceCache.copyTo(simple, complex);
+            }
+
+            final CodecPrecomputation<T> ret = new CodecPrecomputation<>(new PrecomputedCodecCache<>(simple, complex),
+                size, taskCount, sw.elapsed(TimeUnit.NANOSECONDS));
+            LOG.debug("Precomputed codecs for {}: {}", context, ret);
+            return ret;
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Return the resulting cache.
+     *
+     * @return Precomputed codec cache
+     */
+    public @NonNull PrecomputedCodecCache<T> getCache() {
+        return cache;
+    }
+
+    /**
+     * Return the number of schema nodes for which a codec has been requested.
+     *
+     * @return Number of visited nodes
+     */
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * Return the number of distinct codecs held in the resulting cache.
+     *
+     * @return Number of cached codecs
+     */
+    public int getCodecCount() {
+        return cache.simpleSize() + cache.complexSize();
+    }
+
+    /**
+     * Return the number of tasks which have been used to perform the computation.
+     *
+     * @return Number of tasks
+     */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Return the wall-clock time it took to complete the computation.
+     *
+     * @param unit Time unit
+     * @return Elapsed time in specified unit
+     */
+    public long getElapsed(final TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("leaves", leafCount).add("simple", cache.simpleSize())
+                .add("complex", cache.complexSize()).add("tasks", taskCount)
+                .add("elapsed", getElapsed(TimeUnit.MICROSECONDS) + "us").toString();
+    }
+
+    private static <T extends TypeAwareCodec<?, ?, ?>> LazyCodecCache<T> computeSlice(
+            final Function<CodecCache<T>, ? extends AbstractCodecFactory<T>> factoryFunction,
+            final List<TypedDataSchemaNode> slice) {
+        final LazyCodecCache<T> cache = new LazyCodecCache<>();
+        final AbstractCodecFactory<T> factory = factoryFunction.apply(cache);
+        for (TypedDataSchemaNode leaf : slice) {
+            factory.codecFor(leaf);
+        }
+        return cache;
+    }
+
+    private static void collectChildren(final List<TypedDataSchemaNode> leaves, final DataNodeContainer parent) {
+        for (DataSchemaNode child : parent.getChildNodes()) {
+            if (child instanceof TypedDataSchemaNode) {
+                leaves.add((TypedDataSchemaNode) child);
+            } else if (child instanceof DataNodeContainer) {
+                collectChildren(leaves, (DataNodeContainer) child);
+            } else if (child instanceof ChoiceSchemaNode) {
+                for (CaseSchemaNode caze : ((ChoiceSchemaNode) child).getCases().values()) {
+                    collectChildren(leaves, caze);
+                }
+            }
+        }
+
+        if (parent instanceof ActionNodeContainer) {
+            for (ActionDefinition action : ((ActionNodeContainer) parent).getActions()) {
+                collectOperation(leaves, action);
+            }
+        }
+        if (parent instanceof NotificationNodeContainer) {
+            for (NotificationDefinition notif : ((NotificationNodeContainer) parent).getNotifications()) {
+                collectChildren(leaves, notif);
+            }
+        }
+    }
+
+    private static void collectOperation(final List<TypedDataSchemaNode> leaves, final OperationDefinition operation) {
+        collectContainer(leaves, operation.getInput());
+        collectContainer(leaves, operation.getOutput());
+    }
+
+    private static void collectContainer(final List<TypedDataSchemaNode> leaves,
+            final @Nullable ContainerSchemaNode container) {
+        if (container != null) {
+            collectChildren(leaves, container);
+        }
+    }
+}
@@ -46,6 +46,17 @@ public final class LazyCodecCache<T> extends CodecCache<T> {
         return simpleCodecs.computeIfAbsent(type, any -> codec);
     }
 
+    /**
+     * Copy codecs cached in this instance into specified maps, retaining any codecs already present in them.
+     *
+     * @param simple Simple codec map
+     * @param complex Complex codec map
+     */
+    void copyTo(final Map<TypeDefinition<?>, T> simple, final Map<TypedDataSchemaNode, T> complex) {
+        simpleCodecs.forEach(simple::putIfAbsent);
+        complexCodecs.forEach(complex::putIfAbsent);
+    }
+
     public PrecomputedCodecCache<T> toPrecomputed() {
         return new PrecomputedCodecCache<>(simpleCodecs, complexCodecs);
     }
@@ -13,6 +13,7 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import java.util.Map;
 import javax.annotation.concurrent.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 
@@ -22,7 +23,8 @@ import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
  *
  * <p>
  * Instantiation needs to occur through {@link LazyCodecCache#toPrecomputed()} after the lazy cache has been fully
- * populated.
+ * populated, or through {@link CodecPrecomputation#compute(org.opendaylight.yangtools.yang.model.api.SchemaContext,
+ * java.util.function.Function, java.util.concurrent.Executor, int)}.
  *
  * @author Robert Varga
  */
@@ -31,32 +33,62 @@ import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 public final class PrecomputedCodecCache<T> extends CodecCache<T> {
     private final Map<TypeDefinition<?>, T> simpleCodecs;
     private final Map<TypedDataSchemaNode, T> complexCodecs;
+    private final @Nullable SharedCodecCache<T> fallback;
 
     PrecomputedCodecCache(final Map<TypeDefinition<?>, T> simpleCodecs,
             final Map<TypedDataSchemaNode, T> complexCodecs) {
+        this(simpleCodecs, complexCodecs, null);
+    }
+
+    private PrecomputedCodecCache(final Map<TypeDefinition<?>, T> simpleCodecs,
+            final Map<TypedDataSchemaNode, T> complexCodecs, final @Nullable SharedCodecCache<T> fallback) {
         this.simpleCodecs = requireNonNull(simpleCodecs);
         this.complexCodecs = requireNonNull(complexCodecs);
+        this.fallback = fallback;
+    }
+
+    /**
+     * Return a cache sharing precomputed codecs with this cache, which does not fail when it encounters a codec which
+     * has not been precomputed. Such codecs are instead cached in a {@link SharedCodecCache}. This is useful when the
+     * cache is used with schema nodes which are not reachable from the SchemaContext, such as those defined in
+     * {@code yang-data} extensions.
+     *
+     * @return A cache with a lazily-populated fallback
+     */
+    public PrecomputedCodecCache<T> withSharedFallback() {
+        return fallback != null ? this : new PrecomputedCodecCache<>(simpleCodecs, complexCodecs,
+            new SharedCodecCache<>());
     }
 
     @Override
     T lookupComplex(final TypedDataSchemaNode schema) {
         final T ret = complexCodecs.get(schema);
+        if (ret == null && fallback != null) {
+            return fallback.lookupComplex(schema);
+        }
         checkArgument(ret != null, "No codec available for schema %s", schema);
         return ret;
     }
 
     @Override
     T lookupSimple(final TypeDefinition<?> type) {
-        return simpleCodecs.get(type);
+        final T ret = simpleCodecs.get(type);
+        return ret != null || fallback == null ? ret : fallback.lookupSimple(type);
     }
 
     @Override
     T getComplex(final TypedDataSchemaNode schema, final T codec) {
+        if (fallback != null) {
+            return fallback.getComplex(schema, codec);
+        }
         throw new IllegalStateException("Uncached codec for " + schema);
     }
 
     @Override
     T getSimple(final TypeDefinition<?> type, final T codec) {
+        if (fallback != null) {
+            return fallback.getSimple(type, codec);
+        }
         throw new IllegalStateException("Uncached codec for " + type);
     }
 
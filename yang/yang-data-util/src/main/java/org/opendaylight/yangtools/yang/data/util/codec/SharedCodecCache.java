@@ -7,28 +7,80 @@
  */
 package org.opendaylight.yangtools.yang.data.util.codec;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.util.CachePolicy;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 
 /**
- * A thread-safe lazily-populated codec cache. Instances are cached in an internal weak/soft cache.
+ * A thread-safe lazily-populated codec cache. Instances are cached in an internal cache keyed by identity, whose
+ * eviction is governed by a {@link CachePolicy}. The default policy keeps codecs softly referenced and can be changed
+ * through system properties prefixed with {@value #POLICY_PROP_PREFIX}, as specified by
+ * {@link CachePolicy#fromSystemProperties(String, CachePolicy)}.
  *
  * @author Robert Varga
  */
 @Beta
 @ThreadSafe
 public final class SharedCodecCache<T> extends CodecCache<T> {
+    public static final String POLICY_PROP_PREFIX = "org.opendaylight.yangtools.yang.data.util.codec.cache";
+
+    private static final CachePolicy DEFAULT_POLICY = CachePolicy.fromSystemProperties(POLICY_PROP_PREFIX,
+        CachePolicy.referenceBased());
+
     // Weak keys to force identity lookup
-    // Soft values to keep unreferenced codecs around for a bit, but eventually we want them to go away
-    private final Cache<TypeDefinition<?>, T> simpleCodecs = CacheBuilder.newBuilder().weakKeys().softValues().build();
-    private final Cache<TypedDataSchemaNode, T> complexCodecs = CacheBuilder.newBuilder().weakKeys().softValues()
-        .build();
+    // Soft values (by default) to keep unreferenced codecs around for a bit, but eventually we want them to go away
+    private final Cache<TypeDefinition<?>, T> simpleCodecs;
+    private final Cache<TypedDataSchemaNode, T> complexCodecs;
+    private final CachePolicy policy;
+
+    public SharedCodecCache() {
+        this(DEFAULT_POLICY);
+    }
+
+    /**
+     * Create a new cache with specified policy. Under {@link CachePolicy.Eviction#LRU} the maximum weight applies to
+     * simple and complex codecs separately, each codec having unit weight.
+     *
+     * @param policy Cache policy
+     */
+    public SharedCodecCache(final CachePolicy policy) {
+        this.policy = requireNonNull(policy);
+        simpleCodecs = policy.<TypeDefinition<?>, T>configure(CacheBuilder.newBuilder().weakKeys(), true).build();
+        complexCodecs = policy.<TypedDataSchemaNode, T>configure(CacheBuilder.newBuilder().weakKeys(), true).build();
+    }
+
+    public CachePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Return statistics of the cache holding codecs for simple types. Statistics are recorded only if enabled by
+     * {@link #getPolicy()}.
+     *
+     * @return Simple codec cache statistics
+     */
+    public CacheStats getSimpleCodecStats() {
+        return simpleCodecs.stats();
+    }
+
+    /**
+     * Return statistics of the cache holding codecs for complex types, such as leafrefs and unions. Statistics are
+     * recorded only if enabled by {@link #getPolicy()}.
+     *
+     * @return Complex codec cache statistics
+     */
+    public CacheStats getComplexCodecStats() {
+        return complexCodecs.stats();
+    }
 
     @Override
     public T lookupComplex(final TypedDataSchemaNode schema) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+public class DataTreeCandidateDispatcherTest {
+    private static final class TestNode implements DataTreeCandidateNode {
+        private final Map<PathArgument, DataTreeCandidateNode> children;
+        private final ModificationType type;
+        private final PathArgument identifier;
+
+        TestNode(final PathArgument identifier, final ModificationType type, final TestNode... children) {
+            this.identifier = identifier;
+            this.type = type;
+            final ImmutableMap.Builder<PathArgument, DataTreeCandidateNode> builder = ImmutableMap.builder();
+            for (TestNode child : children) {
+                builder.put(child.getIdentifier(), child);
+            }
+            this.children = builder.build();
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public Collection<DataTreeCandidateNode> getChildNodes() {
+            return children.values();
+        }
+
+        @Override
+        public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+            return children.get(childIdentifier);
+        }
+
+        @Override
+        public ModificationType getModificationType() {
+            return type;
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataAfter() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataBefore() {
+            return Optional.empty();
+        }
+    }
+
+    private static final QName FOO = QName.create("urn:test", "foo");
+    private static final QName LIST = QName.create(FOO, "list");
+    private static final QName KEY = QName.create(FOO, "key");
+    private static final QName BAR = QName.create(FOO, "bar");
+
+    private static final NodeIdentifier FOO_ID = new NodeIdentifier(FOO);
+    private static final NodeIdentifier LIST_ID = new NodeIdentifier(LIST);
+    private static final NodeIdentifier BAR_ID = new NodeIdentifier(BAR);
+    private static final NodeIdentifierWithPredicates ENTRY_1_ID = new NodeIdentifierWithPredicates(LIST, KEY, 1);
+    private static final NodeIdentifierWithPredicates ENTRY_2_ID = new NodeIdentifierWithPredicates(LIST, KEY, 2);
+
+    private static final YangInstanceIdentifier FOO_PATH = YangInstanceIdentifier.create(FOO_ID);
+    private static final YangInstanceIdentifier LIST_PATH = FOO_PATH.node(LIST_ID);
+
+    private final List<String> delivered = new ArrayList<>();
+    private DataTreeCandidateDispatcher<Consumer<DataTreeCandidate>> dispatcher;
+
+    @Before
+    public void before() {
+        delivered.clear();
+        dispatcher = new DataTreeCandidateDispatcher<>(QueuedNotificationManager.create(
+            MoreExecutors.directExecutor(), (listener, candidates) -> candidates.forEach(listener), 100, "test"));
+    }
+
+    private Consumer<DataTreeCandidate> listener(final String name) {
+        return candidate -> delivered.add(name + " " + candidate.getRootPath().getLastPathArgument() + " "
+                + candidate.getRootNode().getModificationType());
+    }
+
+    private static DataTreeCandidate candidate() {
+        return DataTreeCandidates.newDataTreeCandidate(YangInstanceIdentifier.EMPTY,
+            new TestNode(FOO_ID, ModificationType.SUBTREE_MODIFIED,
+                new TestNode(FOO_ID, ModificationType.SUBTREE_MODIFIED,
+                    new TestNode(LIST_ID, ModificationType.SUBTREE_MODIFIED,
+                        new TestNode(ENTRY_1_ID, ModificationType.WRITE),
+                        new TestNode(ENTRY_2_ID, ModificationType.DELETE)),
+                    new TestNode(BAR_ID, ModificationType.UNMODIFIED))));
+    }
+
+    @Test
+    public void testExactMatch() {
+        dispatcher.registerListener(LIST_PATH.node(ENTRY_1_ID), listener("entry"));
+        dispatcher.registerListener(FOO_PATH.node(BAR_ID), listener("bar"));
+        dispatcher.publish(candidate());
+        assertEquals(ImmutableList.of("entry " + ENTRY_1_ID + " WRITE"), delivered);
+    }
+
+    @Test
+    public void testWildcardMatch() {
+        dispatcher.registerListener(LIST_PATH.node(new NodeIdentifierWithPredicates(LIST)), listener("any"));
+        dispatcher.publish(candidate());
+        assertEquals(ImmutableList.of("any " + ENTRY_1_ID + " WRITE", "any " + ENTRY_2_ID + " DELETE"), delivered);
+    }
+
+    @Test
+    public void testCandidateBelowRegistration() {
+        dispatcher.registerListener(FOO_PATH, listener("foo"));
+        dispatcher.publish(DataTreeCandidates.newDataTreeCandidate(LIST_PATH.node(ENTRY_2_ID),
+            new TestNode(ENTRY_2_ID, ModificationType.WRITE)));
+        assertEquals(ImmutableList.of("foo " + ENTRY_2_ID + " WRITE"), delivered);
+    }
+
+    @Test
+    public void testUnregister() {
+        final ObjectRegistration<Consumer<DataTreeCandidate>> reg = dispatcher.registerListener(LIST_PATH,
+            listener("list"));
+        dispatcher.publish(candidate());
+        assertEquals(ImmutableList.of("list " + LIST_ID + " SUBTREE_MODIFIED"), delivered);
+
+        reg.close();
+        delivered.clear();
+        dispatcher.publish(candidate());
+        assertTrue(delivered.isEmpty());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.util.Iterator;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class InstanceIdentifierStringCacheTest {
+    private static final QNameModule MODULE = QNameModule.create(URI.create("iid-cache"));
+    private static final QName FOO = QName.create(MODULE, "foo");
+    private static final QName BAR = QName.create(MODULE, "bar");
+    private static final QName NAME = QName.create(MODULE, "name");
+    private static final QName BAZ = QName.create(MODULE, "baz");
+    private static final QName QUX = QName.create(MODULE, "qux");
+
+    private static final String BAZ_STR = "/iid-cache:foo/iid-cache:bar[iid-cache:name='x/y']/iid-cache:baz";
+    private static final String QUX_STR = BAZ_STR + "/iid-cache:qux";
+    private static final YangInstanceIdentifier BAZ_ID = YangInstanceIdentifier.create(new NodeIdentifier(FOO),
+        new NodeIdentifier(BAR), new NodeIdentifierWithPredicates(BAR, ImmutableMap.of(NAME, "x/y")),
+        new NodeIdentifier(BAZ));
+    private static final YangInstanceIdentifier QUX_ID = BAZ_ID.node(QUX);
+
+    private static SchemaContext SCHEMA_CONTEXT;
+
+    private InstanceIdentifierStringCache cache;
+    private TestCodec codec;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = YangParserTestUtils.parseYangResource("/iid-cache.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Before
+    public void before() {
+        cache = InstanceIdentifierStringCache.create(16);
+        codec = new TestCodec(cache);
+    }
+
+    @Test
+    public void testSerialize() {
+        assertEquals(QUX_STR, codec.serialize(QUX_ID));
+        assertSame(codec.serialize(QUX_ID), codec.serialize(QUX_ID));
+        assertEquals(2, cache.getSerializationStats().hitCount());
+        assertEquals(1, cache.getSerializationStats().missCount());
+    }
+
+    @Test
+    public void testDeserialize() {
+        final YangInstanceIdentifier first = codec.deserialize(QUX_STR);
+        assertEquals(QUX_ID, first);
+        assertSame(first, codec.deserialize(QUX_STR));
+        assertEquals(1, cache.getParsingStats().hitCount());
+        assertEquals(1, cache.getParsingStats().missCount());
+        assertEquals(0, cache.getPrefixResumeCount());
+    }
+
+    @Test
+    public void testDeserializeFromPrefix() {
+        assertEquals(BAZ_ID, codec.deserialize(BAZ_STR));
+        assertEquals(QUX_ID, codec.deserialize(QUX_STR));
+        assertEquals(1, cache.getPrefixResumeCount());
+
+        // The parent of QUX_STR is recorded while parsing it, hence BAZ_STR resumes from it
+        cache.invalidateAll();
+        assertEquals(QUX_ID, codec.deserialize(QUX_STR));
+        assertEquals(1, cache.getPrefixResumeCount());
+        assertEquals(BAZ_ID, codec.deserialize(BAZ_STR));
+        assertEquals(2, cache.getPrefixResumeCount());
+        assertEquals(0, cache.getParsingStats().hitCount());
+        assertEquals(4, cache.getParsingStats().missCount());
+    }
+
+    @Test
+    public void testDeserializeRecordsParentOnly() {
+        assertEquals(QUX_ID, codec.deserialize(QUX_STR));
+
+        // Only the parent is recorded, not the intermediate prefixes
+        assertEquals(BAZ_ID.getParent(), codec.deserialize(BAZ_STR.substring(0, BAZ_STR.lastIndexOf('/'))));
+        assertEquals(0, cache.getPrefixResumeCount());
+    }
+
+    @Test
+    public void testDeserializeInvalidSuffix() {
+        codec.deserialize(BAZ_STR);
+        try {
+            codec.deserialize(BAZ_STR + "/iid-cache:nonexistent");
+            fail("Parsing should have failed");
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, cache.getPrefixResumeCount());
+        }
+    }
+
+    @Test
+    public void testSerializationOnly() {
+        final InstanceIdentifierStringCache serializationCache = InstanceIdentifierStringCache.serializationOnly(16);
+        final TestCodec serializationCodec = new TestCodec(serializationCache);
+        assertEquals(QUX_ID, serializationCodec.deserialize(serializationCodec.serialize(QUX_ID)));
+        assertEquals(0, serializationCache.getParsingStats().requestCount());
+        assertEquals(1, serializationCache.getSerializationStats().requestCount());
+    }
+
+    private static final class TestCodec extends AbstractModuleStringInstanceIdentifierCodec {
+        private final DataSchemaContextTree dataContextTree = DataSchemaContextTree.from(SCHEMA_CONTEXT);
+
+        TestCodec(final InstanceIdentifierStringCache cache) {
+            super(cache);
+        }
+
+        @Override
+        protected Module moduleForPrefix(final String prefix) {
+            final Iterator<Module> modules = SCHEMA_CONTEXT.findModules(prefix).iterator();
+            return modules.hasNext() ? modules.next() : null;
+        }
+
+        @Override
+        protected String prefixForNamespace(final URI namespace) {
+            final Iterator<Module> modules = SCHEMA_CONTEXT.findModules(namespace).iterator();
+            return modules.hasNext() ? modules.next().getName() : null;
+        }
+
+        @Override
+        protected DataSchemaContextTree getDataContextTree() {
+            return dataContextTree;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.cache.LoadingCache;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.CachePolicy;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class SchemaNavigationNodeTest {
+    private static final QNameModule MODULE = QNameModule.create(URI.create("dataschemacontext"));
+    private static final QName FOO = QName.create(MODULE, "foo");
+    private static final QName BAZ = QName.create(MODULE, "baz");
+
+    private static SchemaContext SCHEMA_CONTEXT;
+
+    private LoadingCache<DataNodeContainer, SchemaNavigationNode> cache;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = parseSchema();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Before
+    public void before() {
+        cache = SchemaNavigationNode.newCache(CachePolicy.referenceBased().withRecordStats(true));
+    }
+
+    @Test
+    public void testHit() {
+        final SchemaNavigationNode first = cache.getUnchecked(SCHEMA_CONTEXT);
+        assertSame(SCHEMA_CONTEXT, first.getSchema());
+        assertSame(first, cache.getUnchecked(SCHEMA_CONTEXT));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+
+        // Tables are shared along with their memoized children
+        final SchemaNavigationNode.Child foo = first.getChild(FOO);
+        assertSame(foo, cache.getUnchecked(SCHEMA_CONTEXT).getChild(FOO));
+        assertSame(foo.getNavigation().getChild(BAZ), foo.getNavigation().getChild(BAZ));
+    }
+
+    @Test
+    public void testMiss() {
+        final SchemaNavigationNode context = cache.getUnchecked(SCHEMA_CONTEXT);
+        final ContainerSchemaNode foo = (ContainerSchemaNode) SCHEMA_CONTEXT.getDataChildByName(FOO);
+        final SchemaNavigationNode container = cache.getUnchecked(foo);
+        assertNotSame(context, container);
+        assertSame(foo, container.getSchema());
+
+        // Keys are compared by identity, hence an equivalent root is a miss
+        final SchemaContext other = parseSchema();
+        assertNotSame(context, cache.getUnchecked(other));
+        assertEquals(0, cache.stats().hitCount());
+        assertEquals(3, cache.stats().missCount());
+    }
+
+    @Test
+    public void testCollection() {
+        final WeakReference<SchemaNavigationNode> tableRef = new WeakReference<>(cache.getUnchecked(parseSchema()));
+        final WeakReference<Object> rootRef = new WeakReference<>(tableRef.get().getSchema());
+
+        // Soft values are retained until the JVM runs low on memory, which we induce here. The JVM guarantees soft
+        // references are cleared before it throws OutOfMemoryError.
+        final List<byte[]> ballast = new ArrayList<>();
+        try {
+            while (tableRef.get() != null) {
+                ballast.add(new byte[1024 * 1024]);
+            }
+        } catch (OutOfMemoryError e) {
+            // Soft references have been cleared in the process
+        }
+        ballast.clear();
+
+        assertNull(tableRef.get());
+        assertNull(rootRef.get());
+    }
+
+    private static SchemaContext parseSchema() {
+        return YangParserTestUtils.parseYangResource("/dataschemacontext.yang");
+    }
+}
@@ -9,11 +9,16 @@ package org.opendaylight.yangtools.yang.model.util;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DerivableSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -42,6 +47,27 @@ public final class SchemaNodeUtils {
         return previous.orElse(null);
     }
 
+    /**
+     * Find the augmentation of a target which introduces exactly the specified set of children.
+     *
+     * @param target Augmentation target
+     * @param childNames QNames of the children introduced by the augmentation
+     * @return Matching augmentation, or empty if the target has no such augmentation
+     * @throws NullPointerException if any argument is null
+     */
+    public static Optional<AugmentationSchemaNode> findAugmentation(final @NonNull AugmentationTarget target,
+            final @NonNull Set<QName> childNames) {
+        requireNonNull(childNames);
+        for (AugmentationSchemaNode augment : target.getAvailableAugmentations()) {
+            final Collection<DataSchemaNode> children = augment.getChildNodes();
+            if (children.size() == childNames.size()
+                    && children.stream().allMatch(child -> childNames.contains(child.getQName()))) {
+                return Optional.of(augment);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Returns RPC input or output schema based on supplied QName.
      *
@@ -8,16 +8,22 @@
 package org.opendaylight.yangtools.yang.model.util;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.doReturn;
 
+import com.google.common.collect.ImmutableSet;
 import java.util.Optional;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DerivableSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 
@@ -25,6 +31,12 @@ public class SchemaNodeUtilsTest {
 
     @Mock
     private DerivableSchemaNode derivableNode;
+    @Mock
+    private AugmentationTarget target;
+    @Mock
+    private AugmentationSchemaNode augmentation;
+    @Mock
+    private DataSchemaNode child;
 
     @Before
     public void setup() {
@@ -49,6 +61,19 @@ public class SchemaNodeUtilsTest {
         assertThat(originalIfPossible, instanceOf(Optional.class));
     }
 
+    @Test
+    public void testFindAugmentation() {
+        final QName foo = QName.create("foo", "foo");
+        final QName bar = QName.create("foo", "bar");
+        doReturn(foo).when(child).getQName();
+        doReturn(ImmutableSet.of(child)).when(augmentation).getChildNodes();
+        doReturn(ImmutableSet.of(augmentation)).when(target).getAvailableAugmentations();
+
+        assertEquals(Optional.of(augmentation), SchemaNodeUtils.findAugmentation(target, ImmutableSet.of(foo)));
+        assertEquals(Optional.empty(), SchemaNodeUtils.findAugmentation(target, ImmutableSet.of(bar)));
+        assertEquals(Optional.empty(), SchemaNodeUtils.findAugmentation(target, ImmutableSet.of(foo, bar)));
+    }
+
     @Test
     public void testHandleNullGetRootOriginalIfPossible() {
         SchemaNode rootOriginalIfPossible = SchemaNodeUtils
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.validator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static org.opendaylight.yangtools.util.ThreadAllocations.allocatedBytes;
+import static org.opendaylight.yangtools.util.ThreadAllocations.allocatedSince;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.YangConstants;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.DefaultReactors;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validator of multiple module sets, described by {@link ModuleSetManifest}s. Each YANG file is parsed at most once
+ * and the resulting (immutable) parse tree is shared by all module sets referencing it. Module sets are then assembled
+ * in parallel on a fixed-size pool of worker threads.
+ */
+final class BatchValidator implements AutoCloseable {
+    /**
+     * Outcome of validating a single module set.
+     */
+    static final class Result {
+        private final String name;
+        private final File manifest;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+        private final int sources;
+        private final int libSources;
+        private final int modules;
+        private final @Nullable String error;
+
+        Result(final String name, final File manifest, final long elapsedNanos, final long allocatedBytes,
+                final int sources, final int libSources, final int modules, final @Nullable String error) {
+            this.name = requireNonNull(name);
+            this.manifest = requireNonNull(manifest);
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.sources = sources;
+            this.libSources = libSources;
+            this.modules = modules;
+            this.error = error;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        File getManifest() {
+            return manifest;
+        }
+
+        boolean isSuccess() {
+            return error == null;
+        }
+
+        long getElapsedTime(final TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Return the number of bytes allocated by the worker thread while assembling this module set.
+         *
+         * @return Allocated bytes, or -1 if allocation accounting is not available
+         */
+        long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        int getSources() {
+            return sources;
+        }
+
+        int getLibSources() {
+            return libSources;
+        }
+
+        int getModules() {
+            return modules;
+        }
+
+        @Nullable String getError() {
+            return error;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchValidator.class);
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private final LoadingCache<File, YangStatementStreamSource> sourceCache = CacheBuilder.newBuilder().recordStats()
+            .build(new CacheLoader<File, YangStatementStreamSource>() {
+                @Override
+                public YangStatementStreamSource load(final File key) throws Exception {
+                    return YangStatementStreamSource.create(YangTextSchemaSource.forFile(key));
+                }
+            });
+    private final LoadingCache<File, String> moduleNameCache = CacheBuilder.newBuilder()
+            .build(new CacheLoader<File, String>() {
+                @Override
+                public String load(final File key) throws IOException {
+                    return WHITESPACES.matcher(SystemTestUtils.getModelNameFromFile(key)).replaceAll("");
+                }
+            });
+    private final ExecutorService executor;
+    private final int jobs;
+
+    BatchValidator(final int jobs) {
+        checkArgument(jobs > 0, "Invalid number of jobs %s", jobs);
+        this.jobs = jobs;
+        executor = Executors.newFixedThreadPool(jobs,
+            new ThreadFactoryBuilder().setNameFormat("yang-validator-%d").setDaemon(true).build());
+    }
+
+    int getJobs() {
+        return jobs;
+    }
+
+    /**
+     * Validate specified module sets.
+     *
+     * @param manifests Module set manifests
+     * @return Results, in the order of manifests
+     * @throws InterruptedException if interrupted while waiting for results
+     */
+    List<Result> validate(final List<File> manifests) throws InterruptedException {
+        final List<Future<Result>> futures = new ArrayList<>(manifests.size());
+        for (File manifest : manifests) {
+            futures.add(executor.submit(() -> validateManifest(manifest)));
+        }
+
+        final List<Result> results = new ArrayList<>(futures.size());
+        for (Future<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unexpected validation failure", e);
+            }
+        }
+        return results;
+    }
+
+    long getSharedSourceCount() {
+        return sourceCache.size();
+    }
+
+    CacheStats getSourceCacheStats() {
+        return sourceCache.stats();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private Result validateManifest(final File manifestFile) {
+        final Stopwatch sw = Stopwatch.createStarted();
+        final long startBytes = allocatedBytes();
+        String name = manifestFile.getName();
+        int sourceCount = 0;
+        int libCount = 0;
+        try {
+            final ModuleSetManifest manifest = ModuleSetManifest.load(manifestFile);
+            name = manifest.getName();
+            LOG.debug("Validating {}", manifest);
+
+            final Set<File> libFiles = new LinkedHashSet<>();
+            for (String dir : manifest.getLibDirs()) {
+                for (File file : SystemTestUtils.getYangFiles(dir, manifest.isRecursive())) {
+                    libFiles.add(file.getCanonicalFile());
+                }
+            }
+
+            final Set<File> testFiles = new LinkedHashSet<>();
+            for (String module : manifest.getModules()) {
+                testFiles.add(module.endsWith(YangConstants.RFC6020_YANG_FILE_EXTENSION)
+                        ? new File(module).getCanonicalFile() : findModule(libFiles, module));
+            }
+            checkArgument(!testFiles.isEmpty(), "No yang sources");
+            libFiles.removeAll(testFiles);
+
+            final BuildAction build = DefaultReactors.defaultReactor().newBuild();
+            final Set<QName> supportedFeatures = manifest.getSupportedFeatures();
+            if (supportedFeatures != null) {
+                build.setSupportedFeatures(supportedFeatures);
+            }
+            for (File file : testFiles) {
+                build.addSource(sourceCache.get(file));
+            }
+            for (File file : libFiles) {
+                build.addLibSources(sourceCache.get(file));
+            }
+            sourceCount = testFiles.size();
+            libCount = libFiles.size();
+
+            final SchemaContext context = build.buildEffective();
+            return new Result(name, manifestFile, sw.elapsed(TimeUnit.NANOSECONDS), allocatedSince(startBytes),
+                sourceCount, libCount, context.getModules().size(), null);
+        } catch (Exception e) {
+            final Throwable cause = e instanceof ExecutionException || e instanceof UncheckedExecutionException
+                    ? e.getCause() : e;
+            LOG.debug("Module set {} failed validation", name, cause);
+            return new Result(name, manifestFile, sw.elapsed(TimeUnit.NANOSECONDS), allocatedSince(startBytes),
+                sourceCount, libCount, 0, String.valueOf(cause));
+        }
+    }
+
+    private File findModule(final Set<File> libFiles, final String moduleName) throws IOException {
+        for (File file : libFiles) {
+            if (moduleName.equals(moduleNameCache.getUnchecked(file))) {
+                return file;
+            }
+        }
+        throw new FileNotFoundException("Model with specific module-name does not exist : " + moduleName);
+    }
+
+    /**
+     * Write validation results as a JSON document.
+     *
+     * @param path Output file, overwritten if it exists
+     * @param results Validation results
+     * @param elapsed Total elapsed time
+     * @throws IOException if an I/O error occurs
+     */
+    void writeResults(final Path path, final List<Result> results, final Stopwatch elapsed) throws IOException {
+        final CacheStats stats = getSourceCacheStats();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.append("{\n  \"jobs\": ").append(String.valueOf(jobs))
+                .append(",\n  \"elapsedMillis\": ").append(String.valueOf(elapsed.elapsed(TimeUnit.MILLISECONDS)))
+                .append(",\n  \"sharedSources\": ").append(String.valueOf(getSharedSourceCount()))
+                .append(",\n  \"sourceCacheHits\": ").append(String.valueOf(stats.hitCount()))
+                .append(",\n  \"sourceCacheMisses\": ").append(String.valueOf(stats.missCount()))
+                .append(",\n  \"moduleSets\": [");
+
+            boolean first = true;
+            for (Result result : results) {
+                writer.append(first ? "\n" : ",\n").append("    {\"name\": ");
+                first = false;
+                appendString(writer, result.getName());
+                writer.append(", \"manifest\": ");
+                appendString(writer, result.getManifest().getPath());
+                writer.append(", \"success\": ").append(String.valueOf(result.isSuccess()))
+                    .append(", \"elapsedMillis\": ")
+                    .append(String.valueOf(result.getElapsedTime(TimeUnit.MILLISECONDS)))
+                    .append(", \"sources\": ").append(String.valueOf(result.getSources()))
+                    .append(", \"libSources\": ").append(String.valueOf(result.getLibSources()))
+                    .append(", \"modules\": ").append(String.valueOf(result.getModules()));
+                if (result.getAllocatedBytes() >= 0) {
+                    writer.append(", \"allocatedBytes\": ").append(String.valueOf(result.getAllocatedBytes()));
+                }
+                final String error = result.getError();
+                if (error != null) {
+                    writer.append(", \"error\": ");
+                    appendString(writer, error);
+                }
+                writer.append('}');
+            }
+            writer.append("\n  ]\n}\n");
+        }
+    }
+
+    private static void appendString(final Writer writer, final String str) throws IOException {
+        writer.append('"');
+        for (int i = 0; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            switch (ch) {
+                case '"':
+                    writer.append("\\\"");
+                    break;
+                case '\\':
+                    writer.append("\\\\");
+                    break;
+                case '\n':
+                    writer.append("\\n");
+                    break;
+                case '\r':
+                    writer.append("\\r");
+                    break;
+                case '\t':
+                    writer.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        writer.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        writer.append(ch);
+                    }
+            }
+        }
+        writer.append('"');
+    }
+}
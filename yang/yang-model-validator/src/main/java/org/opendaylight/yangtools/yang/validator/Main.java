@@ -12,13 +12,22 @@ import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.FileAppender;
 import com.google.common.base.Stopwatch;
+import com.google.common.cache.CacheStats;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -27,8 +36,12 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.OptionGroup;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.ReactorProfile;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.ReactorProfile.Measurement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,13 +62,24 @@ import org.slf4j.LoggerFactory;
  *  -v, --verbose         shows details about the results of test running.
  *  -o, --output          path to output file for logs. Output file will be overwritten.
  *  -m, --module-name     validate yang by module name.
+ *  -P, --profile         print reactor profiling information.
+ *  -b, --batch &lt;arg&gt;     validate module set described by a manifest, can be specified multiple times.
+ *  -j, --jobs &lt;arg&gt;      number of module sets validated concurrently in batch mode.
+ *  -R, --results &lt;arg&gt;   path to output file for batch mode results in JSON format.
  */
 @SuppressWarnings({"checkstyle:LoggerMustBeSlf4j", "checkstyle:LoggerFactoryClassParameter"})
 public final class Main {
     private static final Logger LOG = LoggerFactory.getLogger(Main.class);
     private static final ch.qos.logback.classic.Logger LOG_ROOT =
             (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME);
+    private static final ch.qos.logback.classic.Logger PROFILE_LOG =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Main.class.getName() + ".profile");
+    private static final ch.qos.logback.classic.Logger BATCH_LOG =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Main.class.getName() + ".batch");
     private static final int MB = 1024 * 1024;
+    private static final int PROFILE_TOP_STATEMENTS = 20;
+    private static final Comparator<Entry<?, Measurement>> BY_ELAPSED =
+            Comparator.comparingLong(entry -> entry.getValue().getElapsedTime(TimeUnit.NANOSECONDS));
 
     private static final Option FEATURE = new Option("f", "features", true,
         "features is a string in the form [feature(,feature)*] and feature is a string in the form "
@@ -71,6 +95,15 @@ public final class Main {
             "path is a colon (:) separated list of directories to search for yang modules.");
     private static final Option RECURSIVE = new Option("r", "recursive", false,
             "recursive search of directories specified by -p option.");
+    private static final Option PROFILE = new Option("P", "profile", false,
+            "print reactor profiling information.");
+    private static final Option BATCH = new Option("b", "batch", true,
+            "validate module set described by a manifest, can be specified multiple times. A manifest is a properties "
+                    + "file with keys name, path, recursive, modules and features.");
+    private static final Option JOBS = new Option("j", "jobs", true,
+            "number of module sets validated concurrently in batch mode, defaults to number of processors.");
+    private static final Option RESULTS = new Option("R", "results", true,
+            "path to output file for batch mode results in JSON format. Output file will be overwritten.");
 
     private static final Option DEBUG = new Option("d", "debug", false, "add debug output");
     private static final Option QUIET = new Option("q", "quiet", false, "completely suppress output.");
@@ -96,6 +129,10 @@ public final class Main {
         options.addOption(OUTPUT);
         options.addOption(MODULE_NAME);
         options.addOption(FEATURE);
+        options.addOption(PROFILE);
+        options.addOption(BATCH);
+        options.addOption(JOBS);
+        options.addOption(RESULTS);
         return options;
     }
 
@@ -123,6 +160,16 @@ public final class Main {
             LOG_ROOT.detachAndStopAllAppenders();
         }
 
+        final String[] batchValues = arguments.getOptionValues(BATCH.getLongOpt());
+        if (batchValues != null) {
+            if (!arguments.hasOption(QUIET.getLongOpt())) {
+                BATCH_LOG.setLevel(Level.INFO);
+            }
+            runBatch(Arrays.asList(batchValues), initJobs(arguments), arguments.getOptionValue(RESULTS.getLongOpt()));
+            LOG_ROOT.getLoggerContext().reset();
+            return;
+        }
+
         final List<String> yangLibDirs = initYangDirsPath(arguments);
         final List<String> yangFiles = new ArrayList<>();
         final String[] moduleNameValues = arguments.getOptionValues(MODULE_NAME.getLongOpt());
@@ -132,8 +179,12 @@ public final class Main {
         yangFiles.addAll(Arrays.asList(arguments.getArgs()));
 
         final Set<QName> supportedFeatures = initSupportedFeatures(arguments);
+        final boolean profile = arguments.hasOption(PROFILE.getLongOpt());
+        if (profile) {
+            PROFILE_LOG.setLevel(Level.INFO);
+        }
 
-        runSystemTest(yangLibDirs, yangFiles, supportedFeatures, arguments.hasOption("recursive"));
+        runSystemTest(yangLibDirs, yangFiles, supportedFeatures, arguments.hasOption("recursive"), profile);
 
         LOG_ROOT.getLoggerContext().reset();
     }
@@ -163,7 +214,7 @@ public final class Main {
     @SuppressFBWarnings({ "DM_EXIT", "DM_GC" })
     @SuppressWarnings("checkstyle:illegalCatch")
     private static void runSystemTest(final List<String> yangLibDirs, final List<String> yangFiles,
-            final Set<QName> supportedFeatures, final boolean recursiveSearch) {
+            final Set<QName> supportedFeatures, final boolean recursiveSearch, final boolean profile) {
         LOG.info("Yang model dirs: {} ", yangLibDirs);
         LOG.info("Yang model files: {} ", yangFiles);
         LOG.info("Supported features: {} ", supportedFeatures);
@@ -174,7 +225,8 @@ public final class Main {
         final Stopwatch stopWatch = Stopwatch.createStarted();
 
         try {
-            context = SystemTestUtils.parseYangSources(yangLibDirs, yangFiles, supportedFeatures, recursiveSearch);
+            context = SystemTestUtils.parseYangSources(yangLibDirs, yangFiles, supportedFeatures, recursiveSearch,
+                profile ? Main::printProfile : null);
         } catch (final Exception e) {
             LOG.error("Failed to create SchemaContext.", e);
             System.exit(1);
@@ -188,6 +240,79 @@ public final class Main {
         printMemoryInfo("after gc");
     }
 
+    @SuppressFBWarnings("DM_EXIT")
+    private static void runBatch(final List<String> manifests, final int jobs, final @Nullable String resultsFile) {
+        LOG.info("Module set manifests: {}", manifests);
+        printMemoryInfo("start");
+
+        final List<File> files = manifests.stream().map(File::new).collect(Collectors.toList());
+        final Stopwatch stopWatch = Stopwatch.createStarted();
+        final List<BatchValidator.Result> results;
+        try (BatchValidator validator = new BatchValidator(jobs)) {
+            try {
+                results = validator.validate(files);
+            } catch (InterruptedException e) {
+                LOG.error("Interrupted while validating module sets", e);
+                System.exit(1);
+                return;
+            }
+            stopWatch.stop();
+
+            for (BatchValidator.Result result : results) {
+                final long allocated = result.getAllocatedBytes();
+                if (result.isSuccess()) {
+                    BATCH_LOG.info("Module set {}: resolved {} modules in {}ms, {} sources, {} libraries{}",
+                        result.getName(), result.getModules(), result.getElapsedTime(TimeUnit.MILLISECONDS),
+                        result.getSources(), result.getLibSources(),
+                        allocated < 0 ? "" : ", " + allocated / MB + "MB allocated");
+                } else {
+                    BATCH_LOG.error("Module set {}: failed in {}ms: {}", result.getName(),
+                        result.getElapsedTime(TimeUnit.MILLISECONDS), result.getError());
+                }
+            }
+
+            final CacheStats stats = validator.getSourceCacheStats();
+            BATCH_LOG.info("Validated {} module sets in {} using {} jobs, {} shared sources parsed, {} source reuses",
+                results.size(), stopWatch, jobs, validator.getSharedSourceCount(), stats.hitCount());
+
+            if (resultsFile != null) {
+                try {
+                    validator.writeResults(Paths.get(resultsFile), results, stopWatch);
+                } catch (IOException e) {
+                    LOG.error("Failed to write results to {}", resultsFile, e);
+                    System.exit(1);
+                }
+            }
+        }
+        printMemoryInfo("end");
+
+        if (!results.stream().allMatch(BatchValidator.Result::isSuccess)) {
+            System.exit(1);
+        }
+    }
+
+    @SuppressFBWarnings("DM_EXIT")
+    private static int initJobs(final CommandLine arguments) {
+        final String value = arguments.getOptionValue(JOBS.getLongOpt());
+        if (value == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        final int jobs;
+        try {
+            jobs = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            LOG.error("Invalid number of jobs {}", value, e);
+            System.exit(1);
+            return 0;
+        }
+        if (jobs < 1) {
+            LOG.error("Invalid number of jobs {}", jobs);
+            System.exit(1);
+        }
+        return jobs;
+    }
+
     private static List<String> initYangDirsPath(final CommandLine arguments) {
         final List<String> yangDirs = new ArrayList<>();
         if (arguments.hasOption("path")) {
@@ -239,6 +364,32 @@ public final class Main {
         formatter.printHelp("yang-system-test [OPTION...] YANG-FILE...", options);
     }
 
+    private static void printProfile(final ReactorProfile profile) {
+        for (Entry<ModelProcessingPhase, Measurement> entry : profile.getPhases().entrySet()) {
+            final ModelProcessingPhase phase = entry.getKey();
+            PROFILE_LOG.info("Phase {}: {}, {} iterations, {} modifier retries", phase,
+                formatMeasurement(entry.getValue()), profile.getIterations().getOrDefault(phase, 0L),
+                profile.getModifierRetries().getOrDefault(phase, 0L));
+        }
+        PROFILE_LOG.info("Effective assembly: {}", formatMeasurement(profile.getEffectiveAssembly()));
+
+        profile.getSources().entrySet().stream().sorted(BY_ELAPSED.reversed())
+            .forEach(entry -> PROFILE_LOG.info("Source {}: {}", entry.getKey(), formatMeasurement(entry.getValue())));
+        profile.getStatements().entrySet().stream().sorted(BY_ELAPSED.reversed()).limit(PROFILE_TOP_STATEMENTS)
+            .forEach(entry -> PROFILE_LOG.info("Statement {}: {} invocations, {}ms self time", entry.getKey(),
+                entry.getValue().getInvocations(), entry.getValue().getElapsedTime(TimeUnit.MILLISECONDS)));
+    }
+
+    private static String formatMeasurement(final Measurement measurement) {
+        final StringBuilder sb = new StringBuilder().append(measurement.getElapsedTime(TimeUnit.MILLISECONDS))
+                .append("ms");
+        final OptionalLong allocated = measurement.getAllocatedBytes();
+        if (allocated.isPresent()) {
+            sb.append(", ").append(allocated.getAsLong() / MB).append("MB allocated");
+        }
+        return sb.toString();
+    }
+
     private static void printMemoryInfo(final String info) {
         LOG.info("Memory INFO [{}]: free {}MB, used {}MB, total {}MB, max {}MB", info,
             Runtime.getRuntime().freeMemory() / MB,
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.validator;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.YangConstants;
+
+/**
+ * A module set to be validated in batch mode. Manifests are property files with the following keys:
+ * <ul>
+ *   <li>{@code name}: name of the module set, defaults to manifest file name</li>
+ *   <li>{@code path}: colon (:) separated list of directories to search for yang modules, defaults to the directory
+ *       containing the manifest</li>
+ *   <li>{@code recursive}: {@code true} if the directories should be searched recursively</li>
+ *   <li>{@code modules}: comma separated list of module names or yang files to validate</li>
+ *   <li>{@code features}: comma separated list of supported features, all features are supported if not present</li>
+ * </ul>
+ * Relative paths are resolved against the directory containing the manifest.
+ */
+final class ModuleSetManifest {
+    private static final Splitter PATH_SPLITTER = Splitter.on(':').trimResults().omitEmptyStrings();
+    private static final Splitter LIST_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    private final File file;
+    private final String name;
+    private final List<String> libDirs;
+    private final List<String> modules;
+    private final @Nullable Set<QName> supportedFeatures;
+    private final boolean recursive;
+
+    private ModuleSetManifest(final File file, final String name, final List<String> libDirs,
+            final List<String> modules, final @Nullable Set<QName> supportedFeatures, final boolean recursive) {
+        this.file = requireNonNull(file);
+        this.name = requireNonNull(name);
+        this.libDirs = requireNonNull(libDirs);
+        this.modules = requireNonNull(modules);
+        this.supportedFeatures = supportedFeatures;
+        this.recursive = recursive;
+    }
+
+    static ModuleSetManifest load(final File file) throws IOException {
+        final Properties props = new Properties();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            props.load(is);
+        }
+
+        final File baseDir = file.getAbsoluteFile().getParentFile();
+        final ImmutableList.Builder<String> libDirs = ImmutableList.builder();
+        for (String dir : PATH_SPLITTER.split(props.getProperty("path", "."))) {
+            libDirs.add(resolve(baseDir, dir));
+        }
+
+        final ImmutableList.Builder<String> modules = ImmutableList.builder();
+        for (String module : LIST_SPLITTER.split(props.getProperty("modules", ""))) {
+            modules.add(module.endsWith(YangConstants.RFC6020_YANG_FILE_EXTENSION) ? resolve(baseDir, module)
+                    : module);
+        }
+
+        final String features = props.getProperty("features");
+        final Set<QName> supportedFeatures;
+        if (features != null) {
+            final ImmutableSet.Builder<QName> builder = ImmutableSet.builder();
+            for (String feature : LIST_SPLITTER.split(features)) {
+                builder.add(QName.create(feature));
+            }
+            supportedFeatures = builder.build();
+        } else {
+            supportedFeatures = null;
+        }
+
+        return new ModuleSetManifest(file, props.getProperty("name", file.getName()), libDirs.build(),
+            modules.build(), supportedFeatures, Boolean.parseBoolean(props.getProperty("recursive", "false")));
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    List<String> getLibDirs() {
+        return libDirs;
+    }
+
+    List<String> getModules() {
+        return modules;
+    }
+
+    @Nullable Set<QName> getSupportedFeatures() {
+        return supportedFeatures;
+    }
+
+    boolean isRecursive() {
+        return recursive;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("name", name).add("file", file)
+                .add("libDirs", libDirs).add("modules", modules).add("features", supportedFeatures)
+                .add("recursive", recursive).toString();
+    }
+
+    private static String resolve(final File baseDir, final String path) {
+        final File file = new File(path);
+        return file.isAbsolute() ? path : new File(baseDir, path).getPath();
+    }
+}
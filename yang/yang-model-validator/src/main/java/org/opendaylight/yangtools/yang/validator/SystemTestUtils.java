@@ -26,9 +26,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.YangConstants;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -36,6 +38,11 @@ import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserException;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.DefaultReactors;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.ReactorProfile;
 
 final class SystemTestUtils {
 
@@ -61,7 +68,8 @@ final class SystemTestUtils {
     };
 
     static SchemaContext parseYangSources(final List<String> yangLibDirs, final List<String> yangTestFiles,
-            final Set<QName> supportedFeatures, final boolean recursiveSearch) throws IOException, YangParserException {
+            final Set<QName> supportedFeatures, final boolean recursiveSearch,
+            final @Nullable Consumer<ReactorProfile> profileConsumer) throws IOException, YangParserException {
         /*
          * Current dir "." should be always present implicitly in the list of
          * directories where dependencies are searched for
@@ -84,7 +92,8 @@ final class SystemTestUtils {
             }
         }
 
-        return parseYangSources(supportedFeatures, testFiles, libFiles);
+        return profileConsumer == null ? parseYangSources(supportedFeatures, testFiles, libFiles)
+                : profileYangSources(supportedFeatures, testFiles, libFiles, profileConsumer);
     }
 
     static SchemaContext parseYangSources(final Set<QName> supportedFeatures, final List<File> testFiles,
@@ -106,6 +115,36 @@ final class SystemTestUtils {
         return parser.buildSchemaContext();
     }
 
+    /*
+     * Profiling is specific to our reactor, hence we need to drive it directly instead of going through
+     * the YangParser API.
+     */
+    private static SchemaContext profileYangSources(final Set<QName> supportedFeatures, final List<File> testFiles,
+            final List<File> libFiles, final Consumer<ReactorProfile> profileConsumer)
+                    throws IOException, YangParserException {
+        checkArgument(!testFiles.isEmpty(), "No yang sources");
+
+        final BuildAction build = DefaultReactors.defaultReactor().newBuild().enableProfiling();
+        if (supportedFeatures != null) {
+            build.setSupportedFeatures(supportedFeatures);
+        }
+
+        for (File file : testFiles) {
+            build.addSource(YangStatementStreamSource.create(YangTextSchemaSource.forFile(file)));
+        }
+        for (File file : libFiles) {
+            build.addLibSources(YangStatementStreamSource.create(YangTextSchemaSource.forFile(file)));
+        }
+
+        try {
+            return build.buildEffective();
+        } catch (ReactorException e) {
+            throw new YangParserException("Failed to assemble sources", e);
+        } finally {
+            build.getProfile().ifPresent(profileConsumer);
+        }
+    }
+
     private static File findInFiles(final List<File> libFiles, final String yangTestFile) throws IOException {
         for (final File file : libFiles) {
             if (WHITESPACES.matcher(getModelNameFromFile(file)).replaceAll("").equals(yangTestFile)) {
@@ -115,7 +154,7 @@ final class SystemTestUtils {
         throw new FileNotFoundException("Model with specific module-name does not exist : " + yangTestFile);
     }
 
-    private static String getModelNameFromFile(final File file) throws IOException {
+    static String getModelNameFromFile(final File file) throws IOException {
         final String fileAsString = readFile(file.getAbsolutePath());
         final Matcher matcher = MODULE_PATTERN.matcher(fileAsString);
         return matcher.find() ? matcher.group(1) : "";
@@ -126,7 +165,7 @@ final class SystemTestUtils {
     }
 
     @SuppressFBWarnings("NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE")
-    private static Collection<File> getYangFiles(final String yangSourcesDirectoryPath, final boolean recursiveSearch)
+    static Collection<File> getYangFiles(final String yangSourcesDirectoryPath, final boolean recursiveSearch)
             throws FileNotFoundException {
         final File testSourcesDir = new File(yangSourcesDirectoryPath);
         if (!testSourcesDir.isDirectory()) {
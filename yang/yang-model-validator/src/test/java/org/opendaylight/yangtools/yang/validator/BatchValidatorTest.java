@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.validator;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.validator.BatchValidator.Result;
+
+public class BatchValidatorTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private BatchValidator validator;
+
+    @Before
+    public void before() throws IOException {
+        writeFile("foo.yang", "module foo { namespace foo; prefix foo; container foo; }");
+        writeFile("bar.yang", "module bar { namespace bar; prefix bar; import foo { prefix foo; }"
+            + " augment /foo:foo { leaf bar { type string; } } }");
+        validator = new BatchValidator(2);
+    }
+
+    @After
+    public void after() {
+        validator.close();
+    }
+
+    private File writeFile(final String name, final String content) throws IOException {
+        final File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(ISO_8859_1));
+        return file;
+    }
+
+    @Test
+    public void testValidSets() throws Exception {
+        final File first = writeFile("first.properties", "modules = bar\n");
+        final File second = writeFile("second.properties", "name = second\nmodules = foo.yang\n");
+        final List<Result> results = validator.validate(ImmutableList.of(first, second));
+        assertEquals(2, results.size());
+
+        final Result bar = results.get(0);
+        assertTrue(bar.getError(), bar.isSuccess());
+        assertEquals("first.properties", bar.getName());
+        assertEquals(first, bar.getManifest());
+        assertEquals(1, bar.getSources());
+        assertEquals(1, bar.getLibSources());
+        assertEquals(2, bar.getModules());
+        assertNull(bar.getError());
+
+        final Result foo = results.get(1);
+        assertTrue(foo.getError(), foo.isSuccess());
+        assertEquals("second", foo.getName());
+        assertEquals(1, foo.getSources());
+        assertEquals(1, foo.getLibSources());
+        assertEquals(1, foo.getModules());
+
+        // Both sets share the two parsed sources. Sets are validated concurrently, hence hits and misses may vary.
+        assertEquals(2, validator.getSharedSourceCount());
+        assertEquals(4, validator.getSourceCacheStats().requestCount());
+    }
+
+    @Test
+    public void testMissingModule() throws Exception {
+        final Result result = validator.validate(ImmutableList.of(writeFile("missing.properties",
+            "modules = baz\n"))).get(0);
+        assertFalse(result.isSuccess());
+        assertEquals(0, result.getModules());
+        assertThat(result.getError(), containsString("FileNotFoundException"));
+        assertThat(result.getError(), containsString("baz"));
+    }
+
+    @Test
+    public void testBrokenModule() throws Exception {
+        writeFile("broken.yang",
+            "module broken { namespace broken; prefix broken; leaf broken { type nonexistent; } }");
+        final Result result = validator.validate(ImmutableList.of(writeFile("broken.properties",
+            "modules = broken.yang\n"))).get(0);
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getSources());
+        assertEquals(2, result.getLibSources());
+        assertEquals(0, result.getModules());
+        assertThat(result.getError(), containsString("SomeModifiersUnresolvedException"));
+    }
+
+    @Test
+    public void testMalformedManifest() throws Exception {
+        final File manifest = writeFile("malformed.properties", "name = malformed\nfeatures = bad feature\n");
+        final Result result = validator.validate(ImmutableList.of(manifest)).get(0);
+        assertFalse(result.isSuccess());
+        // The manifest could not be loaded, hence the name falls back to the file name
+        assertEquals("malformed.properties", result.getName());
+        assertThat(result.getError(), containsString("IllegalArgumentException"));
+    }
+
+    @Test
+    public void testWriteResults() throws Exception {
+        final String name = "q\"b\\n\nr\rt\tc\u0001\u001f\u00e9\u4e2d";  // e-acute, CJK ideograph
+        final List<Result> results = ImmutableList.of(
+            new Result("ok", new File("ok.properties"), 2_000_000, 1024, 1, 2, 3, null),
+            new Result(name, new File("failed.properties"), 0, -1, 0, 0, 0, "error"));
+        final Path path = folder.getRoot().toPath().resolve("results.json");
+        validator.writeResults(path, results, Stopwatch.createUnstarted());
+
+        final String json = new String(Files.readAllBytes(path), UTF_8);
+        assertThat(json, containsString("\"jobs\": 2,\n"));
+        assertThat(json, containsString("\"sharedSources\": 0,\n"));
+        assertThat(json, containsString("{\"name\": \"ok\", \"manifest\": \"ok.properties\", \"success\": true, "
+            + "\"elapsedMillis\": 2, \"sources\": 1, \"libSources\": 2, \"modules\": 3, \"allocatedBytes\": 1024}"));
+        // Control characters are escaped, non-ASCII characters are written as-is
+        final String escaped = "q\\\"b\\\\n\\nr\\rt\\tc\\u0001\\u001f\u00e9\u4e2d";  // e-acute, CJK ideograph
+        assertThat(json, containsString("{\"name\": \"" + escaped + "\", "
+            + "\"manifest\": \"failed.properties\", \"success\": false, \"elapsedMillis\": 0, \"sources\": 0, "
+            + "\"libSources\": 0, \"modules\": 0, \"error\": \"error\"}"));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.validator;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class ModuleSetManifestTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File writeManifest(final String content) throws IOException {
+        final File file = folder.newFile("set.properties");
+        Files.write(file.toPath(), content.getBytes(ISO_8859_1));
+        return file;
+    }
+
+    @Test
+    public void testDefaults() throws IOException {
+        final File file = writeManifest("modules = foo\n");
+        final ModuleSetManifest manifest = ModuleSetManifest.load(file);
+        assertEquals(file, manifest.getFile());
+        assertEquals("set.properties", manifest.getName());
+        assertEquals(ImmutableList.of(new File(folder.getRoot(), ".").getPath()), manifest.getLibDirs());
+        assertEquals(ImmutableList.of("foo"), manifest.getModules());
+        assertNull(manifest.getSupportedFeatures());
+        assertFalse(manifest.isRecursive());
+    }
+
+    @Test
+    public void testAllKeys() throws IOException {
+        final File absolute = folder.newFolder("absolute");
+        final ModuleSetManifest manifest = ModuleSetManifest.load(writeManifest("name = my set\n"
+            + "path = lib : " + absolute.getAbsolutePath() + " : \n"
+            + "recursive = true\n"
+            + "modules = foo, dir/bar.yang,, baz\n"
+            + "features = (urn:foo)one, (urn:foo?revision=2018-01-01)two\n"));
+
+        assertEquals("my set", manifest.getName());
+        assertEquals(ImmutableList.of(new File(folder.getRoot(), "lib").getPath(), absolute.getAbsolutePath()),
+            manifest.getLibDirs());
+        assertEquals(ImmutableList.of("foo", new File(folder.getRoot(), "dir/bar.yang").getPath(), "baz"),
+            manifest.getModules());
+        assertEquals(ImmutableSet.of(QName.create("urn:foo", "one"), QName.create("urn:foo", "2018-01-01", "two")),
+            manifest.getSupportedFeatures());
+        assertTrue(manifest.isRecursive());
+    }
+
+    @Test
+    public void testEmptyFeatures() throws IOException {
+        assertEquals(ImmutableSet.of(), ModuleSetManifest.load(writeManifest("features =\n")).getSupportedFeatures());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedFeature() throws IOException {
+        ModuleSetManifest.load(writeManifest("features = not a qname\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedEscape() throws IOException {
+        ModuleSetManifest.load(writeManifest("modules = \\uXYZW\n"));
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void testMissingFile() throws IOException {
+        ModuleSetManifest.load(new File(folder.getRoot(), "missing.properties"));
+    }
+}
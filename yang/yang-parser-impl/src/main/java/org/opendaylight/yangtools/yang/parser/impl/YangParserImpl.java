@@ -34,6 +34,8 @@ import org.opendaylight.yangtools.yang.model.repo.api.YinDomSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.api.YinTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.api.YinXmlSchemaSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.StatementImage;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.StatementImageStreamSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YinStatementStreamSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YinTextToDomTransformer;
@@ -44,8 +46,8 @@ import org.xml.sax.SAXException;
 
 final class YangParserImpl implements YangParser {
     private static final Collection<Class<? extends SchemaSourceRepresentation>> REPRESENTATIONS = ImmutableList.of(
-        ASTSchemaSource.class, YangTextSchemaSource.class, YinDomSchemaSource.class, YinXmlSchemaSource.class,
-        YinTextSchemaSource.class);
+        ASTSchemaSource.class, StatementImage.class, YangTextSchemaSource.class, YinDomSchemaSource.class,
+        YinXmlSchemaSource.class, YinTextSchemaSource.class);
 
     private final BuildAction buildAction;
 
@@ -132,6 +134,8 @@ final class YangParserImpl implements YangParser {
         requireNonNull(source);
         if (source instanceof ASTSchemaSource) {
             return YangStatementStreamSource.create((ASTSchemaSource) source);
+        } else if (source instanceof StatementImage) {
+            return StatementImageStreamSource.create((StatementImage) source);
         } else if (source instanceof YangTextSchemaSource) {
             return YangStatementStreamSource.create((YangTextSchemaSource) source);
         } else if (source instanceof YinDomSchemaSource) {
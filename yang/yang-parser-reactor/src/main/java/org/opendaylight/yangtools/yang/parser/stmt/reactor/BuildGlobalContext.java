@@ -32,6 +32,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.util.RecursiveObjectLeaker;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -55,6 +56,8 @@ import org.opendaylight.yangtools.yang.parser.spi.meta.SomeModifiersUnresolvedEx
 import org.opendaylight.yangtools.yang.parser.spi.meta.StatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StatementSupportBundle;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContextUtils;
+import org.opendaylight.yangtools.yang.parser.spi.source.LazyEffectiveAssemblyNamespace;
+import org.opendaylight.yangtools.yang.parser.spi.source.LazyEffectiveAssemblyNamespace.LazyEffectiveAssembly;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModulesDeviatedByModules;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModulesDeviatedByModules.SupportedModules;
 import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
@@ -87,6 +90,8 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     private Set<SourceSpecificContext> libSources = new HashSet<>();
     private ModelProcessingPhase currentPhase = ModelProcessingPhase.INIT;
     private ModelProcessingPhase finishedPhase = ModelProcessingPhase.INIT;
+    private EffectiveSharingReport sharingReport = EffectiveSharingReport.EMPTY;
+    private @Nullable ReactorProfiler profiler;
 
     BuildGlobalContext(final ImmutableMap<ModelProcessingPhase, StatementSupportBundle> supports,
             final ImmutableMap<ValidationBundleType, Collection<?>> supportedValidation,
@@ -141,6 +146,24 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
                     ImmutableSetMultimap.copyOf(modulesDeviatedByModules));
     }
 
+    void enableProfiling() {
+        checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Profiling can be enabled in ModelProcessingPhase.INIT only");
+        profiler = new ReactorProfiler();
+    }
+
+    @Nullable ReactorProfiler getProfiler() {
+        return profiler;
+    }
+
+    Optional<ReactorProfile> getProfile() {
+        return profiler == null ? Optional.empty() : Optional.of(profiler.toProfile());
+    }
+
+    void enableLazyEffectiveAssembly() {
+        addToNs(LazyEffectiveAssemblyNamespace.class, LazyEffectiveAssembly.LAZY_EFFECTIVE_ASSEMBLY, new Object());
+    }
+
     @Override
     public StorageNodeType getStorageNodeType() {
         return StorageNodeType.GLOBAL;
@@ -215,10 +238,16 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
 
     private void executePhases() throws ReactorException {
         for (final ModelProcessingPhase phase : PHASE_EXECUTION_ORDER) {
+            if (profiler != null) {
+                profiler.startPhase();
+            }
             startPhase(phase);
             loadPhaseStatements();
             completePhaseActions();
             endPhase(phase);
+            if (profiler != null) {
+                profiler.endPhase(phase);
+            }
         }
     }
 
@@ -229,7 +258,16 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
 
     EffectiveSchemaContext buildEffective() throws ReactorException {
         executePhases();
-        return transformEffective();
+        if (profiler == null) {
+            return transformEffective();
+        }
+
+        profiler.startEffectiveAssembly();
+        try {
+            return transformEffective();
+        } finally {
+            profiler.endEffectiveAssembly();
+        }
     }
 
     private EffectiveModelContext transform() {
@@ -278,9 +316,27 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         }
 
         sealMutableStatements();
+        sharingReport = createSharingReport();
         return EffectiveSchemaContext.create(rootStatements, rootEffectiveStatements);
     }
 
+    EffectiveSharingReport getSharingReport() {
+        return sharingReport;
+    }
+
+    private EffectiveSharingReport createSharingReport() {
+        final ImmutableMap.Builder<SourceIdentifier, EffectiveSharingReport.SourceStatistics> builder =
+                ImmutableMap.builder();
+        for (final SourceSpecificContext source : sources) {
+            source.getSharingStatistics().ifPresent(stats -> {
+                LOG.debug("Source {} shared {} effective statements, saving at least {} bytes",
+                    source.getRootIdentifier(), stats.getSharedStatements(), stats.getEstimatedBytesSaved());
+                builder.put(source.getRootIdentifier(), stats);
+            });
+        }
+        return new EffectiveSharingReport(builder.build());
+    }
+
     private void startPhase(final ModelProcessingPhase phase) {
         checkState(Objects.equals(finishedPhase, phase.getPreviousPhase()));
         startPhaseFor(phase, sources);
@@ -306,7 +362,14 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     private void loadPhaseStatementsFor(final Set<SourceSpecificContext> srcs) throws ReactorException {
         for (final SourceSpecificContext source : srcs) {
             try {
-                source.loadStatements();
+                if (profiler == null) {
+                    source.loadStatements();
+                } else {
+                    profiler.measureSource(source, () -> {
+                        source.loadStatements();
+                        return null;
+                    });
+                }
             } catch (final RuntimeException ex) {
                 throw propagateException(source, ex);
             }
@@ -354,6 +417,12 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return buildFailure;
     }
 
+    private PhaseCompletionProgress tryToCompletePhase(final SourceSpecificContext source) {
+        final ModelProcessingPhase phase = currentPhase;
+        return profiler == null ? source.tryToCompletePhase(phase)
+                : profiler.measureSource(source, () -> source.tryToCompletePhase(phase));
+    }
+
     @SuppressWarnings("checkstyle:illegalCatch")
     private void completePhaseActions() throws ReactorException {
         checkState(currentPhase != null);
@@ -367,13 +436,16 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
 
         boolean progressing = true;
         while (progressing) {
+            if (profiler != null) {
+                profiler.phaseIteration(currentPhase);
+            }
             // We reset progressing to false.
             progressing = false;
             final Iterator<SourceSpecificContext> currentSource = sourcesToProgress.iterator();
             while (currentSource.hasNext()) {
                 final SourceSpecificContext nextSourceCtx = currentSource.next();
                 try {
-                    final PhaseCompletionProgress sourceProgress = nextSourceCtx.tryToCompletePhase(currentPhase);
+                    final PhaseCompletionProgress sourceProgress = tryToCompletePhase(nextSourceCtx);
                     switch (sourceProgress) {
                         case FINISHED:
                             currentSource.remove();
@@ -10,12 +10,14 @@ package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -93,6 +95,8 @@ public final class CrossSourceStatementReactor {
         private final BuildGlobalContext context;
         private boolean supportedFeaturesSet = false;
         private boolean modulesDeviatedByModulesSet = false;
+        private boolean lazyEffectiveAssemblySet = false;
+        private boolean profilingSet = false;
 
         BuildAction(final ImmutableMap<ModelProcessingPhase, StatementSupportBundle> supportedTerminology,
                 final ImmutableMap<ValidationBundleType, Collection<?>> supportedValidation,
@@ -186,6 +190,41 @@ public final class CrossSourceStatementReactor {
             return this;
         }
 
+        /**
+         * Enable lazy assembly of effective statements. In this mode the effective model is available sooner and
+         * retains less memory, as lookup structures derived from effective statements, such as child node maps and
+         * typedef type definitions, are built on first access.
+         *
+         * <p>
+         * Statements which are part of the schema tree are still built and validated during the build, hence lazy
+         * assembly does not change when their errors are reported. Grouping bodies are the only statements whose
+         * construction is deferred: their contents are validated whenever the grouping is instantiated by a uses
+         * statement, but errors confined to a grouping body are reported when it is first accessed.
+         *
+         * @return This build action, for fluent use.
+         */
+        @Beta
+        public @NonNull BuildAction enableLazyEffectiveAssembly() {
+            checkState(!lazyEffectiveAssemblySet, "Lazy effective assembly should be enabled only once.");
+            context.enableLazyEffectiveAssembly();
+            lazyEffectiveAssemblySet = true;
+            return this;
+        }
+
+        /**
+         * Enable collection of profiling information. Collected data is available through {@link #getProfile()}
+         * after the build completes, both when it succeeds and when it fails.
+         *
+         * @return This build action, for fluent use.
+         */
+        @Beta
+        public @NonNull BuildAction enableProfiling() {
+            checkState(!profilingSet, "Profiling should be enabled only once.");
+            context.enableProfiling();
+            profilingSet = true;
+            return this;
+        }
+
         /**
          * Build the effective model context.
          */
@@ -196,5 +235,26 @@ public final class CrossSourceStatementReactor {
         public EffectiveSchemaContext buildEffective() throws ReactorException {
             return context.buildEffective();
         }
+
+        /**
+         * Return the report of effective statements shared between grouping expansions during the last invocation
+         * of {@link #buildEffective()}. If the effective model has not been built, the report is empty.
+         *
+         * @return Effective statement sharing report
+         */
+        @Beta
+        public @NonNull EffectiveSharingReport getEffectiveSharingReport() {
+            return context.getSharingReport();
+        }
+
+        /**
+         * Return profiling information collected so far, if profiling has been enabled via {@link #enableProfiling()}.
+         *
+         * @return Profiling information, or empty if profiling is not enabled
+         */
+        @Beta
+        public @NonNull Optional<ReactorProfile> getProfile() {
+            return context.getProfile();
+        }
     }
 }
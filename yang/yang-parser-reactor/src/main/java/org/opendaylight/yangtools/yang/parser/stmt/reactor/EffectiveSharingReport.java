@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.util.HeapSizes;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+/**
+ * Report of effective statements shared between expansions of the same grouping. Statements whose effective form
+ * depends only on their argument and substatements (for example {@code description}, {@code must} or
+ * {@code config}) are not rebuilt for each {@code uses} and {@code augment} copy, but rather share the effective
+ * instance built for the original statement.
+ *
+ * <p>
+ * Saved memory is estimated from the shallow size of each shared instance, as laid out by {@link HeapSizes}, hence it
+ * is a lower bound of the actual savings.
+ */
+@Beta
+public final class EffectiveSharingReport implements Immutable {
+    /**
+     * Sharing statistics of a single source.
+     */
+    public static final class SourceStatistics implements Immutable {
+        private final int sharedStatements;
+        private final long estimatedBytesSaved;
+
+        SourceStatistics(final int sharedStatements, final long estimatedBytesSaved) {
+            this.sharedStatements = sharedStatements;
+            this.estimatedBytesSaved = estimatedBytesSaved;
+        }
+
+        /**
+         * Return the number of effective statements which were shared instead of being instantiated.
+         *
+         * @return Number of shared effective statements
+         */
+        public int getSharedStatements() {
+            return sharedStatements;
+        }
+
+        /**
+         * Return the estimated number of bytes which have not been allocated due to sharing.
+         *
+         * @return Estimated number of bytes saved
+         */
+        public long getEstimatedBytesSaved() {
+            return estimatedBytesSaved;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("shared", sharedStatements)
+                    .add("bytes", estimatedBytesSaved).toString();
+        }
+    }
+
+    static final EffectiveSharingReport EMPTY = new EffectiveSharingReport(ImmutableMap.of());
+
+    private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(final Class<?> type) {
+            int references = 0;
+            int primitiveBytes = 0;
+            for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+                for (Field field : cls.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        final Class<?> fieldType = field.getType();
+                        if (fieldType.isPrimitive()) {
+                            primitiveBytes += primitiveSize(fieldType);
+                        } else {
+                            references++;
+                        }
+                    }
+                }
+            }
+            return HeapSizes.objectSize(references, primitiveBytes);
+        }
+    };
+
+    private final ImmutableMap<SourceIdentifier, SourceStatistics> sources;
+
+    EffectiveSharingReport(final ImmutableMap<SourceIdentifier, SourceStatistics> sources) {
+        this.sources = requireNonNull(sources);
+    }
+
+    /**
+     * Return sharing statistics for all sources which have shared at least one statement.
+     *
+     * @return Per-source statistics
+     */
+    public @NonNull Map<SourceIdentifier, SourceStatistics> getSources() {
+        return sources;
+    }
+
+    /**
+     * Return sharing statistics for a particular source.
+     *
+     * @param source Source identifier
+     * @return Statistics, or empty if the source has not shared any statements
+     */
+    public @NonNull Optional<SourceStatistics> getSource(final SourceIdentifier source) {
+        return Optional.ofNullable(sources.get(requireNonNull(source)));
+    }
+
+    /**
+     * Return the total number of shared effective statements.
+     *
+     * @return Total number of shared effective statements
+     */
+    public int getSharedStatements() {
+        return sources.values().stream().mapToInt(SourceStatistics::getSharedStatements).sum();
+    }
+
+    /**
+     * Return the total estimated number of bytes saved.
+     *
+     * @return Total estimated number of bytes saved
+     */
+    public long getEstimatedBytesSaved() {
+        return sources.values().stream().mapToLong(SourceStatistics::getEstimatedBytesSaved).sum();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("sources", sources).toString();
+    }
+
+    static long shallowSize(final Object obj) {
+        return SHALLOW_SIZES.get(obj.getClass());
+    }
+
+    private static int primitiveSize(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+}
@@ -20,9 +20,11 @@ import java.util.Iterator;
 import java.util.Set;
 import java.util.function.Function;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ModelActionBuilder;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
 import org.opendaylight.yangtools.yang.parser.spi.meta.NamespaceKeyCriterion;
@@ -39,6 +41,8 @@ final class ModifierImpl implements ModelActionBuilder {
     private static final Logger LOG = LoggerFactory.getLogger(ModifierImpl.class);
 
     private final InferenceContext ctx = new InferenceContext() { };
+    private final @NonNull StatementDefinition owner;
+    private final @Nullable ReactorProfiler profiler;
 
     private final Set<AbstractPrerequisite<?>> unsatisfied = new HashSet<>(1);
     private final Set<AbstractPrerequisite<?>> mutations = new HashSet<>(1);
@@ -46,6 +50,11 @@ final class ModifierImpl implements ModelActionBuilder {
     private InferenceAction action;
     private boolean actionApplied = false;
 
+    ModifierImpl(final @NonNull StatementDefinition owner, final @Nullable ReactorProfiler profiler) {
+        this.owner = requireNonNull(owner);
+        this.profiler = profiler;
+    }
+
     private <D> AbstractPrerequisite<D> addReq(final AbstractPrerequisite<D> prereq) {
         LOG.trace("Modifier {} adding prerequisite {}", this, prereq);
         unsatisfied.add(prereq);
@@ -87,7 +96,14 @@ final class ModifierImpl implements ModelActionBuilder {
 
     private void applyAction() {
         checkState(!actionApplied);
-        action.apply(ctx);
+        if (profiler == null) {
+            action.apply(ctx);
+        } else {
+            profiler.measureStatement(owner, () -> {
+                action.apply(ctx);
+                return null;
+            });
+        }
         actionApplied = true;
     }
 
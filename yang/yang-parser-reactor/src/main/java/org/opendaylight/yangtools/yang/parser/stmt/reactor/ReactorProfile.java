@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+
+/**
+ * Profiling information collected by a {@link CrossSourceStatementReactor.BuildAction} which had profiling enabled.
+ * Statement times and allocations are self measurements, i.e. they do not include nested statements.
+ */
+@Beta
+public final class ReactorProfile implements Immutable {
+    /**
+     * A single measurement: the number of invocations, total wall time and, if the JVM supports it, the number of
+     * bytes allocated by the reactor thread.
+     */
+    public static final class Measurement implements Immutable {
+        private final long invocations;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+
+        Measurement(final long invocations, final long elapsedNanos, final long allocatedBytes) {
+            this.invocations = invocations;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * Return the number of measured invocations.
+         *
+         * @return Number of invocations
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * Return total wall time spent.
+         *
+         * @param unit Requested time unit
+         * @return Elapsed time
+         */
+        public long getElapsedTime(final TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Return the number of bytes allocated, if available.
+         *
+         * @return Allocated bytes, or empty if allocation was not measured
+         */
+        public OptionalLong getAllocatedBytes() {
+            return allocatedBytes < 0 ? OptionalLong.empty() : OptionalLong.of(allocatedBytes);
+        }
+
+        @Override
+        public String toString() {
+            final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this).add("invocations", invocations)
+                    .add("elapsedMillis", getElapsedTime(TimeUnit.MILLISECONDS));
+            if (allocatedBytes >= 0) {
+                helper.add("allocatedBytes", allocatedBytes);
+            }
+            return helper.toString();
+        }
+    }
+
+    private final ImmutableMap<ModelProcessingPhase, Measurement> phases;
+    private final ImmutableMap<ModelProcessingPhase, Long> iterations;
+    private final ImmutableMap<ModelProcessingPhase, Long> modifierRetries;
+    private final ImmutableMap<SourceIdentifier, Measurement> sources;
+    private final ImmutableMap<QName, Measurement> statements;
+    private final Measurement effectiveAssembly;
+
+    ReactorProfile(final ImmutableMap<ModelProcessingPhase, Measurement> phases,
+            final ImmutableMap<ModelProcessingPhase, Long> iterations,
+            final ImmutableMap<ModelProcessingPhase, Long> modifierRetries,
+            final ImmutableMap<SourceIdentifier, Measurement> sources,
+            final ImmutableMap<QName, Measurement> statements, final Measurement effectiveAssembly) {
+        this.phases = requireNonNull(phases);
+        this.iterations = requireNonNull(iterations);
+        this.modifierRetries = requireNonNull(modifierRetries);
+        this.sources = requireNonNull(sources);
+        this.statements = requireNonNull(statements);
+        this.effectiveAssembly = requireNonNull(effectiveAssembly);
+    }
+
+    /**
+     * Return measurements of individual processing phases, in the order they were executed.
+     *
+     * @return Per-phase measurements
+     */
+    public @NonNull Map<ModelProcessingPhase, Measurement> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Return the number of iterations over all sources each phase needed to reach a fixed point.
+     *
+     * @return Per-phase iteration counts
+     */
+    public @NonNull Map<ModelProcessingPhase, Long> getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Return the number of times an inference action was found to have unsatisfied prerequisites and had to be
+     * retried in a later iteration.
+     *
+     * @return Per-phase modifier retry counts
+     */
+    public @NonNull Map<ModelProcessingPhase, Long> getModifierRetries() {
+        return modifierRetries;
+    }
+
+    /**
+     * Return measurements of individual sources, covering statement loading and phase completion.
+     *
+     * @return Per-source measurements
+     */
+    public @NonNull Map<SourceIdentifier, Measurement> getSources() {
+        return sources;
+    }
+
+    /**
+     * Return self time spent in each statement support, covering declaration callbacks, inference actions and
+     * construction of declared and effective statements. Allocation is likewise reported excluding nested statements.
+     *
+     * @return Per-statement measurements, keyed by statement name
+     */
+    public @NonNull Map<QName, Measurement> getStatements() {
+        return statements;
+    }
+
+    /**
+     * Return the measurement of the assembly of effective statements, which occurs after all phases have completed.
+     * If the effective model has not been built, the measurement has no invocations.
+     *
+     * @return Effective assembly measurement
+     */
+    public @NonNull Measurement getEffectiveAssembly() {
+        return effectiveAssembly;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("phases", phases).add("iterations", iterations)
+                .add("modifierRetries", modifierRetries).add("effectiveAssembly", effectiveAssembly).toString();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static org.opendaylight.yangtools.util.ThreadAllocations.allocatedBytes;
+import static org.opendaylight.yangtools.util.ThreadAllocations.allocatedSince;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Supplier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.ReactorProfile.Measurement;
+
+/**
+ * Mutable collector of {@link ReactorProfile} data. Instances are confined to the thread executing the build.
+ */
+final class ReactorProfiler {
+    private static final class Accumulator {
+        private long invocations;
+        private long elapsedNanos;
+        private long allocatedBytes;
+
+        void add(final long nanos, final long bytes) {
+            invocations++;
+            elapsedNanos += nanos;
+            if (bytes >= 0 && allocatedBytes >= 0) {
+                allocatedBytes += bytes;
+            } else {
+                allocatedBytes = -1;
+            }
+        }
+
+        Accumulator merge(final Accumulator other) {
+            final Accumulator ret = new Accumulator();
+            ret.invocations = invocations + other.invocations;
+            ret.elapsedNanos = elapsedNanos + other.elapsedNanos;
+            ret.allocatedBytes = allocatedBytes >= 0 && other.allocatedBytes >= 0
+                    ? allocatedBytes + other.allocatedBytes : -1;
+            return ret;
+        }
+
+        Measurement toMeasurement() {
+            return new Measurement(invocations, elapsedNanos, allocatedBytes);
+        }
+    }
+
+    private final Map<ModelProcessingPhase, Accumulator> phases = new EnumMap<>(ModelProcessingPhase.class);
+    private final Map<ModelProcessingPhase, Long> iterations = new EnumMap<>(ModelProcessingPhase.class);
+    private final Map<ModelProcessingPhase, Long> modifierRetries = new EnumMap<>(ModelProcessingPhase.class);
+    private final Map<SourceSpecificContext, Accumulator> sources = new LinkedHashMap<>();
+    private final Map<StatementDefinition, Accumulator> statements = new HashMap<>();
+    private final Accumulator effectiveAssembly = new Accumulator();
+
+    // Stacks of nested statement time and allocation, used to compute self time and self allocation
+    private long[] nestedNanos = new long[16];
+    private long[] nestedBytes = new long[16];
+    private int depth;
+
+    private long phaseStartNanos;
+    private long phaseStartBytes;
+
+    void startPhase() {
+        phaseStartNanos = System.nanoTime();
+        phaseStartBytes = allocatedBytes();
+    }
+
+    void endPhase(final ModelProcessingPhase phase) {
+        phases.computeIfAbsent(phase, key -> new Accumulator()).add(System.nanoTime() - phaseStartNanos,
+            allocatedSince(phaseStartBytes));
+    }
+
+    void phaseIteration(final ModelProcessingPhase phase) {
+        iterations.merge(phase, 1L, Long::sum);
+    }
+
+    void modifierRetries(final ModelProcessingPhase phase, final long count) {
+        if (count != 0) {
+            modifierRetries.merge(phase, count, Long::sum);
+        }
+    }
+
+    <T> T measureSource(final SourceSpecificContext source, final Supplier<T> action) {
+        final long startNanos = System.nanoTime();
+        final long startBytes = allocatedBytes();
+        try {
+            return action.get();
+        } finally {
+            sources.computeIfAbsent(source, key -> new Accumulator()).add(System.nanoTime() - startNanos,
+                allocatedSince(startBytes));
+        }
+    }
+
+    void startEffectiveAssembly() {
+        phaseStartNanos = System.nanoTime();
+        phaseStartBytes = allocatedBytes();
+    }
+
+    void endEffectiveAssembly() {
+        effectiveAssembly.add(System.nanoTime() - phaseStartNanos, allocatedSince(phaseStartBytes));
+    }
+
+    <T> T measureStatement(final StatementDefinition def, final Supplier<T> action) {
+        if (depth == nestedNanos.length) {
+            nestedNanos = Arrays.copyOf(nestedNanos, depth * 2);
+            nestedBytes = Arrays.copyOf(nestedBytes, depth * 2);
+        }
+        nestedNanos[depth] = 0;
+        nestedBytes[depth] = 0;
+        depth++;
+
+        final long startNanos = System.nanoTime();
+        final long startBytes = allocatedBytes();
+        try {
+            return action.get();
+        } finally {
+            final long elapsed = System.nanoTime() - startNanos;
+            final long allocated = allocatedSince(startBytes);
+            depth--;
+            if (depth != 0) {
+                nestedNanos[depth - 1] += elapsed;
+                nestedBytes[depth - 1] += allocated;
+            }
+            statements.computeIfAbsent(def, key -> new Accumulator()).add(elapsed - nestedNanos[depth],
+                allocated < 0 ? -1 : allocated - nestedBytes[depth]);
+        }
+    }
+
+    ReactorProfile toProfile() {
+        final ImmutableMap.Builder<SourceIdentifier, Measurement> sourceBuilder = ImmutableMap.builder();
+        for (Entry<SourceSpecificContext, Accumulator> entry : sources.entrySet()) {
+            final SourceSpecificContext source = entry.getKey();
+            // Sources which failed to produce a root statement cannot be identified
+            if (source.getRoot() != null) {
+                sourceBuilder.put(source.getRootIdentifier(), entry.getValue().toMeasurement());
+            }
+        }
+
+        // Multiple definitions may share a name, for example YANG version-specific supports
+        final Map<QName, Accumulator> byName = new HashMap<>();
+        statements.forEach((def, acc) -> byName.merge(def.getStatementName(), acc, Accumulator::merge));
+        final ImmutableMap.Builder<QName, Measurement> statementBuilder = ImmutableMap.builder();
+        byName.forEach((name, acc) -> statementBuilder.put(name, acc.toMeasurement()));
+
+        final ImmutableMap.Builder<ModelProcessingPhase, Measurement> phaseBuilder = ImmutableMap.builder();
+        phases.forEach((phase, acc) -> phaseBuilder.put(phase, acc.toMeasurement()));
+
+        return new ReactorProfile(phaseBuilder.build(), ImmutableMap.copyOf(iterations),
+            ImmutableMap.copyOf(modifierRetries), sourceBuilder.build(), statementBuilder.build(),
+            effectiveAssembly.toMeasurement());
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Mutable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -32,6 +33,7 @@ import org.opendaylight.yangtools.yang.common.YangVersion;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
 import org.opendaylight.yangtools.yang.model.api.meta.StatementSource;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.parser.spi.meta.InferenceException;
@@ -87,6 +89,8 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
     private ModelProcessingPhase finishedPhase = ModelProcessingPhase.INIT;
     private ModelProcessingPhase inProgressPhase;
     private RootStatementContext<?, ?, ?> root;
+    private int sharedEffectiveStatements;
+    private long sharedEffectiveBytes;
 
     SourceSpecificContext(final BuildGlobalContext currentContext, final StatementStreamSource source) {
         this.currentContext = requireNonNull(currentContext);
@@ -315,8 +319,9 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
         return hasProgressed ? PhaseCompletionProgress.PROGRESS : PhaseCompletionProgress.NO_PROGRESS;
     }
 
-    private static boolean tryToProgress(final Collection<ModifierImpl> currentPhaseModifiers) {
+    private boolean tryToProgress(final Collection<ModifierImpl> currentPhaseModifiers) {
         boolean hasProgressed = false;
+        long retries = 0;
 
         // Try making forward progress ...
         final Iterator<ModifierImpl> modifier = currentPhaseModifiers.iterator();
@@ -324,18 +329,29 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
             if (modifier.next().tryApply()) {
                 modifier.remove();
                 hasProgressed = true;
+            } else {
+                retries++;
             }
         }
 
+        final ReactorProfiler profiler = getProfiler();
+        if (profiler != null) {
+            profiler.modifierRetries(inProgressPhase, retries);
+        }
         return hasProgressed;
     }
 
-    @NonNull ModelActionBuilder newInferenceAction(final @NonNull ModelProcessingPhase phase) {
-        final ModifierImpl action = new ModifierImpl();
+    @NonNull ModelActionBuilder newInferenceAction(final @NonNull ModelProcessingPhase phase,
+            final @NonNull StatementDefinition owner) {
+        final ModifierImpl action = new ModifierImpl(owner, getProfiler());
         modifiers.put(phase, action);
         return action;
     }
 
+    @Nullable ReactorProfiler getProfiler() {
+        return currentContext.getProfiler();
+    }
+
     @Override
     public String toString() {
         return "SourceSpecificContext [source=" + source + ", current=" + inProgressPhase + ", finished="
@@ -461,4 +477,19 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
     SourceIdentifier getRootIdentifier() {
         return root.getRootIdentifier();
     }
+
+    void recordSharedEffective(final EffectiveStatement<?, ?> shared) {
+        // Substatements of a shared statement are not instantiated for the copy either
+        sharedEffectiveStatements++;
+        sharedEffectiveBytes += EffectiveSharingReport.shallowSize(shared);
+        for (EffectiveStatement<?, ?> substatement : shared.effectiveSubstatements()) {
+            recordSharedEffective(substatement);
+        }
+    }
+
+    Optional<EffectiveSharingReport.SourceStatistics> getSharingStatistics() {
+        return sharedEffectiveStatements == 0 ? Optional.empty()
+                : Optional.of(new EffectiveSharingReport.SourceStatistics(sharedEffectiveStatements,
+                    sharedEffectiveBytes));
+    }
 }
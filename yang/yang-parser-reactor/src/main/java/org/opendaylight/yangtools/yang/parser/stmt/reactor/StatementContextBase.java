@@ -243,6 +243,16 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
     @Override
     public abstract RootStatementContext<?, ?, ?> getRoot();
 
+    /**
+     * Return the profiler attached to the build this statement is part of. The profiler is owned by the build, hence
+     * it is looked up through the root context.
+     *
+     * @return Reactor profiler, or null if profiling is not enabled
+     */
+    final @Nullable ReactorProfiler profiler() {
+        return getRoot().getSourceContext().getProfiler();
+    }
+
     /**
      * Returns the origin of the statement.
      *
@@ -474,7 +484,10 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
         checkArgument(completedPhase == ModelProcessingPhase.FULL_DECLARATION
                 || completedPhase == ModelProcessingPhase.EFFECTIVE_MODEL);
         if (declaredInstance == null) {
-            declaredInstance = definition().getFactory().createDeclared(this);
+            final ReactorProfiler profiler = profiler();
+            declaredInstance = profiler == null ? definition().getFactory().createDeclared(this)
+                    : profiler.measureStatement(getPublicDefinition(),
+                        () -> definition().getFactory().createDeclared(this));
         }
         return declaredInstance;
     }
@@ -482,11 +495,83 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
     @Override
     public E buildEffective() {
         if (effectiveInstance == null) {
-            effectiveInstance = definition().getFactory().createEffective(this);
+            final E shared = findSharedEffective();
+            if (shared != null) {
+                getRoot().getSourceContext().recordSharedEffective(shared);
+                effectiveInstance = shared;
+            } else {
+                final ReactorProfiler profiler = profiler();
+                effectiveInstance = profiler == null ? definition().getFactory().createEffective(this)
+                        : profiler.measureStatement(getPublicDefinition(),
+                            () -> definition().getFactory().createEffective(this));
+            }
         }
         return effectiveInstance;
     }
 
+    /**
+     * Attempt to find an effective statement which can be shared with this copy. Statements in
+     * {@link #CONTEXT_INDEPENDENT_SET} produce equivalent effective statements as long as their argument and their
+     * effective substatements are the same, hence a copy which does not differ from its original in these respects
+     * can reuse the original's effective statement. The comparison is done on statement contexts, so that the copy's
+     * substatements are not instantiated only to be thrown away.
+     *
+     * @return Shared effective statement, or null if this statement has to be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    private @Nullable E findSharedEffective() {
+        if (!(originalCtx instanceof StatementContextBase)) {
+            return null;
+        }
+        final StatementContextBase<?, ?, ?> original = (StatementContextBase<?, ?, ?>) originalCtx;
+        return canShareWith(original) ? (E) original.buildEffective() : null;
+    }
+
+    private boolean canShareWith(final StatementContextBase<?, ?, ?> original) {
+        if (original.definition != definition || !CONTEXT_INDEPENDENT_SET.contains(definition.getPublicView())
+                || !original.isSupportedToBuildEffective()
+                || !Objects.equals(getStatementArgument(), original.getStatementArgument())) {
+            return false;
+        }
+
+        final Iterator<StmtContext<?, ?, ?>> originalSubstatements = buildableSubstatements(original).iterator();
+        for (StmtContext<?, ?, ?> substatement : buildableSubstatements(this)) {
+            if (!originalSubstatements.hasNext()) {
+                return false;
+            }
+            final StmtContext<?, ?, ?> originalSubstatement = originalSubstatements.next();
+            if (substatement != originalSubstatement && !isSharedCopy(substatement, originalSubstatement)) {
+                return false;
+            }
+        }
+        return !originalSubstatements.hasNext();
+    }
+
+    private static boolean isSharedCopy(final StmtContext<?, ?, ?> copy, final StmtContext<?, ?, ?> original) {
+        if (!(copy instanceof StatementContextBase) || !(original instanceof StatementContextBase)) {
+            return false;
+        }
+        // Copies refer to the ultimate original, which is what original's copy would share with
+        final StatementContextBase<?, ?, ?> copyCtx = (StatementContextBase<?, ?, ?>) copy;
+        return copyCtx.originalCtx == original.getOriginalCtx().orElse(original)
+                && copyCtx.canShareWith((StatementContextBase<?, ?, ?>) original);
+    }
+
+    private static List<StmtContext<?, ?, ?>> buildableSubstatements(final StatementContextBase<?, ?, ?> ctx) {
+        final List<StmtContext<?, ?, ?>> ret = new ArrayList<>();
+        for (StmtContext<?, ?, ?> stmt : ctx.declaredSubstatements()) {
+            if (stmt.isSupportedByFeatures() && stmt.isSupportedToBuildEffective()) {
+                ret.add(stmt);
+            }
+        }
+        for (StmtContext<?, ?, ?> stmt : ctx.effectiveSubstatements()) {
+            if (stmt.isSupportedToBuildEffective()) {
+                ret.add(stmt);
+            }
+        }
+        return ret;
+    }
+
     /**
      * tries to execute current {@link ModelProcessingPhase} of source parsing.
      *
@@ -571,7 +656,15 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
      * Ends declared section of current node.
      */
     void endDeclared(final ModelProcessingPhase phase) {
-        definition().onDeclarationFinished(this, phase);
+        final ReactorProfiler profiler = profiler();
+        if (profiler == null) {
+            definition().onDeclarationFinished(this, phase);
+        } else {
+            profiler.measureStatement(getPublicDefinition(), () -> {
+                definition().onDeclarationFinished(this, phase);
+                return null;
+            });
+        }
     }
 
     /**
@@ -675,7 +768,7 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
 
     @Override
     public ModelActionBuilder newInferenceAction(final ModelProcessingPhase phase) {
-        return getRoot().getSourceContext().newInferenceAction(phase);
+        return getRoot().getSourceContext().newInferenceAction(phase, getPublicDefinition());
     }
 
     private static <T> Multimap<ModelProcessingPhase, T> newMultimap() {
@@ -799,6 +892,23 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
         }
     }
 
+    private static final Set<YangStmtMapping> CONTEXT_INDEPENDENT_SET = ImmutableSet.of(
+        YangStmtMapping.CONFIG,
+        YangStmtMapping.DEFAULT,
+        YangStmtMapping.DESCRIPTION,
+        YangStmtMapping.ERROR_APP_TAG,
+        YangStmtMapping.ERROR_MESSAGE,
+        YangStmtMapping.IF_FEATURE,
+        YangStmtMapping.MANDATORY,
+        YangStmtMapping.MAX_ELEMENTS,
+        YangStmtMapping.MIN_ELEMENTS,
+        YangStmtMapping.MUST,
+        YangStmtMapping.ORDERED_BY,
+        YangStmtMapping.PRESENCE,
+        YangStmtMapping.REFERENCE,
+        YangStmtMapping.STATUS,
+        YangStmtMapping.UNITS,
+        YangStmtMapping.WHEN);
     // FIXME: revise this, as it seems to be wrong
     private static final Set<YangStmtMapping> NOCOPY_FROM_GROUPING_SET = ImmutableSet.of(
         YangStmtMapping.DESCRIPTION,
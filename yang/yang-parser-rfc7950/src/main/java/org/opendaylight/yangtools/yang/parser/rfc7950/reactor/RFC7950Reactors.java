@@ -137,6 +137,7 @@ import org.opendaylight.yangtools.yang.parser.spi.source.ImportPrefixToSemVerSou
 import org.opendaylight.yangtools.yang.parser.spi.source.ImportedModuleContext;
 import org.opendaylight.yangtools.yang.parser.spi.source.IncludedModuleContext;
 import org.opendaylight.yangtools.yang.parser.spi.source.IncludedSubmoduleNameToModuleCtx;
+import org.opendaylight.yangtools.yang.parser.spi.source.LazyEffectiveAssemblyNamespace;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModuleCtxToModuleQName;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModuleCtxToSourceIdentifier;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModuleNameToModuleQName;
@@ -165,6 +166,7 @@ public final class RFC7950Reactors {
             .addSupport(ValidationBundlesNamespace.BEHAVIOUR)
             .addSupport(SupportedFeaturesNamespace.BEHAVIOUR)
             .addSupport(ModulesDeviatedByModules.BEHAVIOUR)
+            .addSupport(LazyEffectiveAssemblyNamespace.BEHAVIOUR)
             .build();
 
     private static final StatementSupportBundle PRE_LINKAGE_BUNDLE = StatementSupportBundle.derivedFrom(INIT_BUNDLE)
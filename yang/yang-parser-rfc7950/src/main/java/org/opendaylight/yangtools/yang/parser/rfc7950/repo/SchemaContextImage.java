@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.EffectiveSchemaContext;
+
+/**
+ * A binary image of a complete module set, from which an {@link EffectiveSchemaContext} can be loaded. An image holds
+ * a {@link StatementImage} of each source, together with the supported features and deviations the module set was
+ * built with, so that loading it results in the same effective model.
+ *
+ * <p>
+ * Images are loaded via memory mapping and read in place. Loading an image saves only the cost of lexing, parsing and
+ * argument interpretation of the YANG text. Every {@link #load()} still runs the full reactor: linkage, inference and
+ * effective model build are performed from scratch, as effective statements cross-reference each other across modules
+ * and are not serializable on their own. These phases usually dominate the time needed to obtain a model, hence
+ * loading an image is not substantially cheaper than building the module set from pre-parsed sources.
+ * {@link BuildAction#enableLazyEffectiveAssembly()} defers materialization of grouping bodies and type definitions
+ * until they are accessed, but does not skip any reactor phase.
+ *
+ * <p>
+ * Image layout, all integers are big-endian:
+ * <pre>
+ *   int magic, int format version,
+ *   int supported feature count, or -1 if all features are supported, supported features,
+ *   int deviated module count, or -1 if all deviations are supported, deviated modules,
+ *   int source count, int[source count] source image sizes, source images
+ * </pre>
+ * Each feature is encoded as its module followed by a string holding its local name. Each deviated module is encoded
+ * as the module, followed by an int count of deviating modules and the deviating modules. Modules are encoded as two
+ * strings, holding the namespace and the revision, the latter being empty if the module has no revision. Strings are
+ * encoded as an int byte length followed by UTF-8 bytes.
+ */
+@Beta
+public final class SchemaContextImage {
+    private static final int MAGIC = 0x59534331;
+    private static final int FORMAT_VERSION = 1;
+
+    private final ByteBuffer buffer;
+    private final @NonNull ImmutableList<StatementImage> sources;
+    private final @Nullable ImmutableSet<QName> supportedFeatures;
+    private final @Nullable ImmutableSetMultimap<QNameModule, QNameModule> supportedDeviations;
+
+    private SchemaContextImage(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        checkArgument(buffer.remaining() >= 8 && buffer.getInt() == MAGIC, "Buffer is not a schema context image");
+        final int version = buffer.getInt();
+        checkArgument(version == FORMAT_VERSION, "Unsupported image format version %s", version);
+
+        final int featureCount = buffer.getInt();
+        if (featureCount != -1) {
+            final ImmutableSet.Builder<QName> builder = ImmutableSet.builderWithExpectedSize(featureCount);
+            for (int i = 0; i < featureCount; ++i) {
+                builder.add(QName.create(readModule(buffer), readString(buffer)));
+            }
+            supportedFeatures = builder.build();
+        } else {
+            supportedFeatures = null;
+        }
+
+        final int deviatedCount = buffer.getInt();
+        if (deviatedCount != -1) {
+            final ImmutableSetMultimap.Builder<QNameModule, QNameModule> builder = ImmutableSetMultimap.builder();
+            for (int i = 0; i < deviatedCount; ++i) {
+                final QNameModule deviated = readModule(buffer);
+                final int deviatingCount = buffer.getInt();
+                for (int j = 0; j < deviatingCount; ++j) {
+                    builder.put(deviated, readModule(buffer));
+                }
+            }
+            supportedDeviations = builder.build();
+        } else {
+            supportedDeviations = null;
+        }
+
+        final int[] sizes = new int[buffer.getInt()];
+        for (int i = 0; i < sizes.length; ++i) {
+            sizes[i] = buffer.getInt();
+        }
+        final ImmutableList.Builder<StatementImage> builder = ImmutableList.builderWithExpectedSize(sizes.length);
+        for (int size : sizes) {
+            checkArgument(size <= buffer.remaining(), "Truncated source image");
+            final ByteBuffer source = buffer.duplicate();
+            source.limit(source.position() + size);
+            builder.add(StatementImage.wrap(source));
+            buffer.position(buffer.position() + size);
+        }
+        sources = builder.build();
+        buffer.rewind();
+    }
+
+    /**
+     * Create an image of a module set.
+     *
+     * @param sources Images of all sources in the module set
+     * @param supportedFeatures Supported features, as passed to {@link BuildAction#setSupportedFeatures(Set)}, or
+     *                          null if all features are supported
+     * @param supportedDeviations Supported deviations, as passed to
+     *                            {@link BuildAction#setModulesWithSupportedDeviations(SetMultimap)}, or null if all
+     *                            deviations are supported
+     * @return A new image
+     */
+    public static @NonNull SchemaContextImage create(final Collection<StatementImage> sources,
+            final @Nullable Set<QName> supportedFeatures,
+            final @Nullable SetMultimap<QNameModule, QNameModule> supportedDeviations) {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            if (supportedFeatures != null) {
+                out.writeInt(supportedFeatures.size());
+                for (QName feature : supportedFeatures) {
+                    writeModule(out, feature.getModule());
+                    writeString(out, feature.getLocalName());
+                }
+            } else {
+                out.writeInt(-1);
+            }
+
+            if (supportedDeviations != null) {
+                final Set<QNameModule> deviated = supportedDeviations.keySet();
+                out.writeInt(deviated.size());
+                for (Entry<QNameModule, Collection<QNameModule>> entry : supportedDeviations.asMap().entrySet()) {
+                    writeModule(out, entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (QNameModule deviating : entry.getValue()) {
+                        writeModule(out, deviating);
+                    }
+                }
+            } else {
+                out.writeInt(-1);
+            }
+
+            out.writeInt(sources.size());
+            for (StatementImage source : sources) {
+                out.writeInt(source.size());
+            }
+            for (StatementImage source : sources) {
+                final ByteBuffer data = source.buffer();
+                final byte[] bytes = new byte[data.remaining()];
+                data.get(bytes);
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write to a byte array", e);
+        }
+
+        return new SchemaContextImage(ByteBuffer.wrap(bos.toByteArray()).asReadOnlyBuffer());
+    }
+
+    /**
+     * Load an image from a file. The file is memory-mapped, hence the cost of this operation depends only on the number
+     * of sources and supported features, not on the size of the image.
+     *
+     * @param file File containing the image
+     * @return Loaded image
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file does not contain a valid image
+     */
+    public static @NonNull SchemaContextImage read(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return wrap(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wrap a buffer holding an image. The buffer is accessed in place from its current position and must not be
+     * modified while the image or any effective model loaded from it is in use.
+     *
+     * @param buffer Buffer holding the image
+     * @return Wrapped image
+     * @throws IllegalArgumentException if the buffer does not contain a valid image
+     */
+    public static @NonNull SchemaContextImage wrap(final ByteBuffer buffer) {
+        return new SchemaContextImage(buffer.slice().asReadOnlyBuffer());
+    }
+
+    /**
+     * Write this image to a file.
+     *
+     * @param file Target file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer data = buffer.duplicate();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * Load the effective model of this image, using the {@link RFC7950Reactors#defaultReactor() default reactor}. This
+     * does not parse any YANG text, but runs linkage, inference and effective model build on each invocation.
+     *
+     * @return Effective model
+     * @throws ReactorException if the model cannot be assembled
+     */
+    public @NonNull EffectiveSchemaContext load() throws ReactorException {
+        return load(RFC7950Reactors.defaultReactor());
+    }
+
+    /**
+     * Load the effective model of this image using a particular reactor. Sources are fed to the reactor as pre-parsed
+     * statements, all reactor phases are executed as with any other build.
+     *
+     * @param reactor Reactor to use
+     * @return Effective model
+     * @throws ReactorException if the model cannot be assembled
+     */
+    public @NonNull EffectiveSchemaContext load(final CrossSourceStatementReactor reactor) throws ReactorException {
+        final BuildAction build = reactor.newBuild().enableLazyEffectiveAssembly();
+        for (StatementImage source : sources) {
+            build.addSource(StatementImageStreamSource.create(source));
+        }
+        if (supportedFeatures != null) {
+            build.setSupportedFeatures(supportedFeatures);
+        }
+        if (supportedDeviations != null) {
+            build.setModulesWithSupportedDeviations(supportedDeviations);
+        }
+        return build.buildEffective();
+    }
+
+    /**
+     * Return the images of the sources in this module set.
+     *
+     * @return Source images
+     */
+    public @NonNull ImmutableList<StatementImage> getSources() {
+        return sources;
+    }
+
+    /**
+     * Return the supported features of this module set.
+     *
+     * @return Supported features, or empty if all features are supported
+     */
+    public Optional<Set<QName>> getSupportedFeatures() {
+        return Optional.ofNullable(supportedFeatures);
+    }
+
+    /**
+     * Return the supported deviations of this module set.
+     *
+     * @return Deviated modules mapped to the modules allowed to deviate them, or empty if all deviations are supported
+     */
+    public Optional<SetMultimap<QNameModule, QNameModule>> getModulesWithSupportedDeviations() {
+        return Optional.ofNullable(supportedDeviations);
+    }
+
+    /**
+     * Return the size of this image in bytes.
+     *
+     * @return Image size
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("sources", sources.size()).add("size", size()).toString();
+    }
+
+    private static void writeModule(final DataOutputStream out, final QNameModule module) throws IOException {
+        writeString(out, module.getNamespace().toString());
+        writeString(out, module.getRevision().map(Revision::toString).orElse(""));
+    }
+
+    private static void writeString(final DataOutputStream out, final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static QNameModule readModule(final ByteBuffer buffer) {
+        final URI namespace = URI.create(readString(buffer));
+        final String revision = readString(buffer);
+        return QNameModule.create(namespace, Revision.ofNullable(revision.isEmpty() ? null : revision));
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -44,10 +44,41 @@ class StatementContextVisitor {
         this.prefixes = prefixes;
     }
 
+    /**
+     * Create a visitor for the linkage phase, which resolves extension statements by namespace and local name only.
+     */
+    static StatementContextVisitor linkage(final String sourceName, final StatementWriter writer,
+            final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes, final YangVersion yangVersion) {
+        return new StatementContextVisitor(sourceName, writer, stmtDef, prefixes, yangVersion) {
+            @Override
+            StatementDefinition resolveStatement(final QNameModule module, final String localName) {
+                return stmtDef.getByNamespaceAndLocalName(module.getNamespace(), localName);
+            }
+        };
+    }
+
+    /**
+     * Create a visitor for the full declaration phase, which requires all statements to be resolved.
+     */
+    static StatementContextVisitor full(final String sourceName, final StatementWriter writer,
+            final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes, final YangVersion yangVersion) {
+        return new StatementContextVisitor(sourceName, writer, stmtDef, prefixes, yangVersion) {
+            @Override
+            QName getValidStatementDefinition(final String keywordText, final StatementSourceReference ref) {
+                return SourceException.throwIfNull(super.getValidStatementDefinition(keywordText, ref), ref,
+                    "%s is not a YANG statement or use of extension.", keywordText);
+            }
+        };
+    }
+
     void visit(final StatementContext context) {
         processStatement(0, context);
     }
 
+    void visit(final StatementImage image) {
+        processStatement(0, image, image.root());
+    }
+
     /**
      * Based on identifier read from source and collections of relevant prefixes and statement definitions mappings
      * provided for actual phase, method resolves and returns valid QName for declared statement to be written.
@@ -131,4 +162,43 @@ class StatementContextVisitor {
         writer.endStatement(ref);
         return fullyDefined;
     }
+
+    private boolean processStatement(final int myOffset, final StatementImage image, final int stmt) {
+        final Optional<? extends ResumedStatement> optResumed = writer.resumeStatement(myOffset);
+        final StatementSourceReference ref;
+        if (optResumed.isPresent()) {
+            final ResumedStatement resumed = optResumed.get();
+            if (resumed.isFullyDefined()) {
+                return true;
+            }
+
+            ref = resumed.getSourceReference();
+        } else {
+            ref = DeclarationInTextSource.atPosition(sourceName, image.line(stmt), image.column(stmt));
+            final QName def = getValidStatementDefinition(image.keyword(stmt), ref);
+            if (def == null) {
+                // Substatements are skipped without being decoded
+                return false;
+            }
+
+            final String error = image.argumentError(stmt, yangVersion);
+            if (error != null) {
+                throw new SourceException(error, ref);
+            }
+            writer.startStatement(myOffset, def, image.argument(stmt), ref);
+        }
+
+        int childOffset = 0;
+        boolean fullyDefined = true;
+        final int end = image.endOfSubstatements(stmt);
+        for (int child = image.firstSubstatement(stmt); child < end; child = image.endOfSubstatements(child)) {
+            if (!processStatement(childOffset++, image, child)) {
+                fullyDefined = false;
+            }
+        }
+
+        writer.storeStatement(childOffset, fullyDefined);
+        writer.endStatement(ref);
+        return fullyDefined;
+    }
 }
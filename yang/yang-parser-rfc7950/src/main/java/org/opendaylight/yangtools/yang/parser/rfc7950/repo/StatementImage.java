@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.ArgumentContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.KeywordContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.StatementContext;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.DeclarationInTextSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
+
+/**
+ * A compact binary image of the statement tree of a YANG source, as produced by parsing it. Images can be stored
+ * and loaded back via memory mapping, so that subsequent builds of the same module set do not need to lex and parse
+ * the YANG text. Images are consumed through {@link StatementImageStreamSource}, which is also what YangParser uses
+ * when it is handed an image as a source representation.
+ *
+ * <p>
+ * Note that an image captures the declared statements of a source, not its effective model. The reactor still
+ * performs linkage, inference and effective model assembly on each build, hence images only eliminate the cost
+ * of lexing, parsing and argument interpretation. A complete module set, from which an effective model can be
+ * loaded, is captured by {@link SchemaContextImage}.
+ *
+ * <p>
+ * The image is accessed in place: statements are decoded only as they are visited, each statement records the size
+ * of its subtree so that statements not relevant to a processing phase are skipped without visiting their
+ * substatements, and strings are decoded at most once, on first access.
+ *
+ * <p>
+ * Image layout, all integers are big-endian:
+ * <pre>
+ *   int magic, int format version, int string count,
+ *   int source name string, int source revision string, int symbolic name string,
+ *   int[string count] absolute string offsets,
+ *   strings, each encoded as int byte length followed by UTF-8 bytes,
+ *   root statement
+ * </pre>
+ * Each statement is encoded as:
+ * <pre>
+ *   int keyword string, int argument string, int line, int column, int YANG 1.1 error string,
+ *   int substatements byte length, substatements
+ * </pre>
+ * Absent strings are encoded as -1. Arguments are stored as interpreted by YANG 1.1 rules, unless they are not valid
+ * YANG 1.1 strings, in which case they are stored as interpreted by YANG 1 rules and the error reported by YANG 1.1
+ * interpretation is recorded, so that it can be reported when the image is replayed as a YANG 1.1 source.
+ */
+@Beta
+public final class StatementImage implements SchemaSourceRepresentation {
+    private static final int MAGIC = 0x59534931;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+
+    private static final int KEYWORD_OFFSET = 0;
+    private static final int ARGUMENT_OFFSET = 4;
+    private static final int LINE_OFFSET = 8;
+    private static final int COLUMN_OFFSET = 12;
+    private static final int ERROR_OFFSET = 16;
+    private static final int SUBTREE_OFFSET = 20;
+    private static final int RECORD_SIZE = 24;
+
+    private final ByteBuffer buffer;
+    private final SourceIdentifier identifier;
+    private final String symbolicName;
+    private final String[] strings;
+    private final int stringOffsets;
+    private final int root;
+
+    private StatementImage(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        checkArgument(buffer.remaining() >= HEADER_SIZE && buffer.getInt(0) == MAGIC,
+            "Buffer is not a statement image");
+        final int version = buffer.getInt(4);
+        checkArgument(version == FORMAT_VERSION, "Unsupported image format version %s", version);
+
+        strings = new String[buffer.getInt(8)];
+        stringOffsets = HEADER_SIZE;
+        root = rootOffset();
+        checkArgument(root + RECORD_SIZE <= buffer.limit(), "Image does not contain a statement");
+
+        final String revision = optionalString(buffer.getInt(16));
+        identifier = RevisionSourceIdentifier.create(string(buffer.getInt(12)), Revision.ofNullable(revision));
+        symbolicName = optionalString(buffer.getInt(20));
+    }
+
+    /**
+     * Create an image of a parsed YANG source.
+     *
+     * @param source Parsed source
+     * @return A new image
+     * @throws IllegalArgumentException if the source does not contain a statement
+     */
+    public static StatementImage of(final YangStatementStreamSource source) {
+        final ParserRuleContext ast = source.getYangAST();
+        checkArgument(ast instanceof StatementContext, "Unsupported context class %s for source %s", ast.getClass(),
+            source.getIdentifier());
+        return new Encoder(source.getIdentifier(), source.getSourceName()).encode((StatementContext) ast);
+    }
+
+    /**
+     * Create an image of a YANG text source.
+     *
+     * @param source YANG text source
+     * @return A new image
+     * @throws IOException When we fail to read the source
+     * @throws YangSyntaxErrorException If the source fails basic parsing
+     */
+    public static StatementImage of(final YangTextSchemaSource source) throws IOException,
+            YangSyntaxErrorException {
+        return of(YangStatementStreamSource.create(source));
+    }
+
+    /**
+     * Load an image from a file. The file is memory-mapped, hence the cost of this operation does not depend on
+     * the size of the image.
+     *
+     * @param file File containing the image
+     * @return Loaded image
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file does not contain a valid image
+     */
+    public static StatementImage read(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return wrap(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wrap a buffer holding an image. The buffer is accessed in place from its current position and must not be
+     * modified while the image is in use.
+     *
+     * @param buffer Buffer holding the image
+     * @return Wrapped image
+     * @throws IllegalArgumentException if the buffer does not contain a valid image
+     */
+    public static StatementImage wrap(final ByteBuffer buffer) {
+        return new StatementImage(buffer.slice().asReadOnlyBuffer());
+    }
+
+    /**
+     * Write this image to a file.
+     *
+     * @param file Target file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer data = buffer();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * Return the size of this image in bytes.
+     *
+     * @return Image size
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    @Override
+    public SourceIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public Class<StatementImage> getType() {
+        return StatementImage.class;
+    }
+
+    @Override
+    public Optional<String> getSymbolicName() {
+        return Optional.ofNullable(symbolicName);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("size", size()).toString();
+    }
+
+    /**
+     * Return the content of this image.
+     *
+     * @return A buffer positioned at the start of this image, with limit at its end
+     */
+    ByteBuffer buffer() {
+        final ByteBuffer ret = buffer.duplicate();
+        ret.rewind();
+        return ret;
+    }
+
+    int root() {
+        return root;
+    }
+
+    String keyword(final int stmt) {
+        return string(buffer.getInt(stmt + KEYWORD_OFFSET));
+    }
+
+    String argument(final int stmt) {
+        return optionalString(buffer.getInt(stmt + ARGUMENT_OFFSET));
+    }
+
+    int line(final int stmt) {
+        return buffer.getInt(stmt + LINE_OFFSET);
+    }
+
+    int column(final int stmt) {
+        return buffer.getInt(stmt + COLUMN_OFFSET);
+    }
+
+    /**
+     * Return the error reported when the argument of a statement was interpreted in the context of a particular YANG
+     * version.
+     *
+     * @param stmt Statement offset
+     * @param version YANG version
+     * @return Error message, or null if the argument is valid
+     */
+    String argumentError(final int stmt, final YangVersion version) {
+        return version != YangVersion.VERSION_1_1 ? null : optionalString(buffer.getInt(stmt + ERROR_OFFSET));
+    }
+
+    int firstSubstatement(final int stmt) {
+        return stmt + RECORD_SIZE;
+    }
+
+    int endOfSubstatements(final int stmt) {
+        return stmt + RECORD_SIZE + buffer.getInt(stmt + SUBTREE_OFFSET);
+    }
+
+    private int rootOffset() {
+        final int last = strings.length - 1;
+        if (last < 0) {
+            return stringOffsets;
+        }
+        final int lastString = buffer.getInt(stringOffsets + last * 4);
+        return lastString + 4 + buffer.getInt(lastString);
+    }
+
+    private String optionalString(final int index) {
+        return index == -1 ? null : string(index);
+    }
+
+    private String string(final int index) {
+        // Racy initialization is fine, as strings are immutable and equal
+        String ret = strings[index];
+        if (ret == null) {
+            final int offset = buffer.getInt(stringOffsets + index * 4);
+            final byte[] bytes = new byte[buffer.getInt(offset)];
+            final ByteBuffer data = buffer.duplicate();
+            data.position(offset + 4);
+            data.get(bytes);
+            ret = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Encoder of a parse tree into an image.
+     */
+    private static final class Encoder {
+        private final Map<String, Integer> stringIndices = new HashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private final SourceIdentifier identifier;
+        private final String sourceName;
+        private ByteBuffer statements = ByteBuffer.allocate(4096);
+
+        Encoder(final SourceIdentifier identifier, final String sourceName) {
+            this.identifier = requireNonNull(identifier);
+            this.sourceName = sourceName;
+        }
+
+        StatementImage encode(final StatementContext root) {
+            final int nameIndex = stringIndex(identifier.getName());
+            final int revisionIndex = identifier.getRevision().map(rev -> stringIndex(rev.toString())).orElse(-1);
+            final int symbolicIndex = sourceName == null ? -1 : stringIndex(sourceName);
+            encodeStatement(root);
+
+            int stringSize = 0;
+            for (byte[] bytes : strings) {
+                stringSize += 4 + bytes.length;
+            }
+
+            final int stringData = HEADER_SIZE + strings.size() * 4;
+            final ByteBuffer image = ByteBuffer.allocate(stringData + stringSize + statements.position());
+            image.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(strings.size()).putInt(nameIndex).putInt(revisionIndex)
+                .putInt(symbolicIndex);
+
+            int offset = stringData;
+            for (byte[] bytes : strings) {
+                image.putInt(offset);
+                offset += 4 + bytes.length;
+            }
+            for (byte[] bytes : strings) {
+                image.putInt(bytes.length).put(bytes);
+            }
+
+            statements.flip();
+            image.put(statements);
+            image.flip();
+            return new StatementImage(image.asReadOnlyBuffer());
+        }
+
+        private void encodeStatement(final StatementContext ctx) {
+            final String keyword = ctx.getChild(KeywordContext.class, 0).getText();
+            final int line = ctx.getStart().getLine();
+            final int column = ctx.getStart().getCharPositionInLine();
+
+            final ArgumentContext argumentCtx = ctx.getChild(ArgumentContext.class, 0);
+            final String argument;
+            String error = null;
+            if (argumentCtx != null) {
+                final DeclarationInTextSource ref = DeclarationInTextSource.atPosition(sourceName, line, column);
+                String str;
+                try {
+                    str = ArgumentContextUtils.stringFromStringContext(argumentCtx, YangVersion.VERSION_1_1, ref);
+                } catch (SourceException e) {
+                    // YANG 1 interpretation is more lenient and does not fail
+                    str = ArgumentContextUtils.stringFromStringContext(argumentCtx, YangVersion.VERSION_1, ref);
+                    error = errorMessage(e);
+                }
+                argument = str;
+            } else {
+                argument = null;
+            }
+
+            ensureCapacity(RECORD_SIZE);
+            final int start = statements.position();
+            statements.putInt(stringIndex(keyword)).putInt(argument == null ? -1 : stringIndex(argument))
+                .putInt(line).putInt(column).putInt(error == null ? -1 : stringIndex(error)).putInt(0);
+
+            if (ctx.children != null) {
+                for (ParseTree child : ctx.children) {
+                    if (child instanceof StatementContext) {
+                        encodeStatement((StatementContext) child);
+                    }
+                }
+            }
+
+            statements.putInt(start + SUBTREE_OFFSET, statements.position() - start - RECORD_SIZE);
+        }
+
+        /*
+         * The message is reported again when the image is replayed, with the source reference of the statement,
+         * which is the same one we have used to interpret the argument. Strip it, as it would be appended twice.
+         */
+        private static String errorMessage(final SourceException ex) {
+            final String message = ex.getMessage();
+            final String suffix = " [at " + ex.getSourceReference() + ']';
+            return message.endsWith(suffix) ? message.substring(0, message.length() - suffix.length()) : message;
+        }
+
+        private int stringIndex(final String str) {
+            return stringIndices.computeIfAbsent(str, key -> {
+                strings.add(key.getBytes(StandardCharsets.UTF_8));
+                return strings.size() - 1;
+            });
+        }
+
+        private void ensureCapacity(final int required) {
+            if (statements.remaining() < required) {
+                final ByteBuffer grown = ByteBuffer.allocate(Math.max(statements.capacity() * 2,
+                    statements.position() + required));
+                statements.flip();
+                grown.put(statements);
+                statements = grown;
+            }
+        }
+    }
+}
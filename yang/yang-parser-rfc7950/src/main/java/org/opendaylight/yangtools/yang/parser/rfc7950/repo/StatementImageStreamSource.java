@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.spi.source.PrefixToModule;
+import org.opendaylight.yangtools.yang.parser.spi.source.QNameToStatementDefinition;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
+
+/**
+ * A {@link StatementStreamSource} emitting statements stored in a {@link StatementImage}. It is equivalent to
+ * the {@link YangStatementStreamSource} the image was created from, but does not require the YANG text to be lexed
+ * and parsed.
+ */
+@Beta
+public final class StatementImageStreamSource implements StatementStreamSource {
+    private final StatementImage image;
+    private final String sourceName;
+
+    private StatementImageStreamSource(final StatementImage image) {
+        this.image = requireNonNull(image);
+        this.sourceName = image.getSymbolicName().orElse(null);
+    }
+
+    /**
+     * Create a {@link StatementImageStreamSource} for a {@link StatementImage}.
+     *
+     * @param image StatementImage, must not be null
+     * @return A new {@link StatementImageStreamSource}
+     */
+    public static StatementImageStreamSource create(final StatementImage image) {
+        return new StatementImageStreamSource(image);
+    }
+
+    @Override
+    public void writePreLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef) {
+        new StatementContextVisitor(sourceName, writer, stmtDef, null, YangVersion.VERSION_1).visit(image);
+    }
+
+    @Override
+    public void writeLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule preLinkagePrefixes) {
+        writeLinkage(writer, stmtDef, preLinkagePrefixes, YangVersion.VERSION_1);
+    }
+
+    @Override
+    public void writeLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule preLinkagePrefixes, final YangVersion yangVersion) {
+        StatementContextVisitor.linkage(sourceName, writer, stmtDef, preLinkagePrefixes, yangVersion).visit(image);
+    }
+
+    @Override
+    public void writeLinkageAndStatementDefinitions(final StatementWriter writer,
+            final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes) {
+        writeLinkageAndStatementDefinitions(writer, stmtDef, prefixes, YangVersion.VERSION_1);
+    }
+
+    @Override
+    public void writeLinkageAndStatementDefinitions(final StatementWriter writer,
+            final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes, final YangVersion yangVersion) {
+        new StatementContextVisitor(sourceName, writer, stmtDef, prefixes, yangVersion).visit(image);
+    }
+
+    @Override
+    public void writeFull(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule prefixes) {
+        writeFull(writer, stmtDef, prefixes, YangVersion.VERSION_1);
+    }
+
+    @Override
+    public void writeFull(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule prefixes, final YangVersion yangVersion) {
+        StatementContextVisitor.full(sourceName, writer, stmtDef, prefixes, yangVersion).visit(image);
+    }
+
+    @Override
+    public SourceIdentifier getIdentifier() {
+        return image.getIdentifier();
+    }
+
+    public StatementImage getImage() {
+        return image;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", getIdentifier()).toString();
+    }
+}
@@ -9,11 +9,11 @@ package org.opendaylight.yangtools.yang.parser.rfc7950.stmt;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -33,102 +33,163 @@ import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.YangValidationBund
 import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.choice.ImplicitCaseSchemaNode;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
 import org.opendaylight.yangtools.yang.parser.spi.source.AugmentToChoiceNamespace;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
 
+/**
+ * Base class for effective {@link DataNodeContainer}s. Children are validated for name collisions when the statement
+ * is built, but the lookup structures derived from them are built on first access when lazy assembly has been
+ * requested for the build, see {@link EffectiveStmtUtils#lazyAssemblyMonitor(StmtContext)}.
+ */
 public abstract class AbstractEffectiveDocumentedDataNodeContainer<A, D extends DeclaredStatement<A>>
         extends AbstractSchemaEffectiveDocumentedNode<A, D> implements DataNodeContainer {
 
-    private final ImmutableMap<QName, DataSchemaNode> childNodes;
-    private final ImmutableSet<GroupingDefinition> groupings;
-    private final ImmutableSet<UsesNode> uses;
-    private final ImmutableSet<TypeDefinition<?>> typeDefinitions;
-    private final ImmutableSet<DataSchemaNode> publicChildNodes;
+    /*
+     * All of these are derived from immutable effective substatements. The sets use the racy single-check idiom:
+     * concurrent initialization can at worst result in an equivalent set being built more than once. Child nodes use
+     * double-checked locking, as the map and the set need to share case shorthand instances.
+     */
+    private volatile ImmutableMap<QName, DataSchemaNode> childNodes;
+    private volatile ImmutableSet<GroupingDefinition> groupings;
+    private volatile ImmutableSet<UsesNode> uses;
+    private volatile ImmutableSet<TypeDefinition<?>> typeDefinitions;
+    private volatile ImmutableSet<DataSchemaNode> publicChildNodes;
+
+    // Add case short hand when augmenting choice with short hand
+    private final boolean caseShorthands;
 
     protected AbstractEffectiveDocumentedDataNodeContainer(final StmtContext<A, D, ?> ctx) {
         super(ctx);
 
-        Map<QName, DataSchemaNode> mutableChildNodes = new LinkedHashMap<>();
-        Set<GroupingDefinition> mutableGroupings = new HashSet<>();
-        Set<UsesNode> mutableUses = new HashSet<>();
-        Set<TypeDefinition<?>> mutableTypeDefinitions = new LinkedHashSet<>();
-        Set<DataSchemaNode> mutablePublicChildNodes = new LinkedHashSet<>();
+        caseShorthands = this instanceof AugmentationSchemaNode
+                && Boolean.TRUE.equals(ctx.getFromNamespace(AugmentToChoiceNamespace.class, ctx));
+        checkNameCollisions(ctx.getStatementSourceReference(), ctx.getRoot().getStatementArgument());
+        if (!EffectiveStmtUtils.lazyAssemblyMonitor(ctx).isPresent()) {
+            initialize();
+        }
+    }
+
+    protected AbstractEffectiveDocumentedDataNodeContainer(final EffectiveStatementSnapshot<A, D> snapshot) {
+        super(snapshot);
 
+        // Augmentations are always built from their context
+        caseShorthands = false;
+        checkNameCollisions(snapshot.getStatementSourceReference(), snapshot.getRootArgument());
+        if (!snapshot.isLazyAssembly()) {
+            initialize();
+        }
+    }
+
+    private void checkNameCollisions(final StatementSourceReference ref, final Object rootArgument) {
+        final Set<QName> dataNodeNames = new HashSet<>();
+        final Set<UsesNode> usesNodes = new HashSet<>();
+        final Set<Object> typedefs = new HashSet<>();
+        final Set<GroupingDefinition> groupingDefs = new HashSet<>();
         for (EffectiveStatement<?, ?> stmt : effectiveSubstatements()) {
-            if (stmt instanceof DataSchemaNode) {
-                final DataSchemaNode dataSchemaNode = (DataSchemaNode) stmt;
-                if (mutableChildNodes.containsKey(dataSchemaNode.getQName())) {
-                    throw EffectiveStmtUtils.createNameCollisionSourceException(ctx, stmt);
+            if (stmt instanceof DataSchemaNode && !dataNodeNames.add(((DataSchemaNode) stmt).getQName())
+                    || stmt instanceof UsesNode && !usesNodes.add((UsesNode) stmt)
+                    || stmt instanceof TypedefEffectiveStatement
+                        && !typedefs.add(EffectiveStmtUtils.typedefIdentity((TypedefEffectiveStatement) stmt))
+                    || stmt instanceof GroupingDefinition && !groupingDefs.add((GroupingDefinition) stmt)) {
+                throw EffectiveStmtUtils.createNameCollisionSourceException(ref, rootArgument, stmt);
+            }
+        }
+    }
+
+    private void initialize() {
+        childNodes();
+        groupings();
+        uses();
+        typeDefinitions();
+    }
+
+    private ImmutableMap<QName, DataSchemaNode> childNodes() {
+        ImmutableMap<QName, DataSchemaNode> ret = childNodes;
+        if (ret == null) {
+            synchronized (this) {
+                ret = childNodes;
+                if (ret == null) {
+                    ret = buildChildNodes();
                 }
+            }
+        }
+        return ret;
+    }
 
-                //  Add case short hand when augmenting choice with short hand
-                if (this instanceof AugmentationSchemaNode
-                        && !(stmt instanceof CaseSchemaNode || stmt instanceof ChoiceSchemaNode)
-                        && YangValidationBundles.SUPPORTED_CASE_SHORTHANDS.contains(stmt.statementDefinition())
-                        && Boolean.TRUE.equals(ctx.getFromNamespace(AugmentToChoiceNamespace.class, ctx))) {
+    private ImmutableMap<QName, DataSchemaNode> buildChildNodes() {
+        final Map<QName, DataSchemaNode> mutableChildNodes = new LinkedHashMap<>();
+        for (EffectiveStatement<?, ?> stmt : effectiveSubstatements()) {
+            if (stmt instanceof DataSchemaNode) {
+                final DataSchemaNode dataSchemaNode = (DataSchemaNode) stmt;
+                if (caseShorthands && !(stmt instanceof CaseSchemaNode || stmt instanceof ChoiceSchemaNode)
+                        && YangValidationBundles.SUPPORTED_CASE_SHORTHANDS.contains(stmt.statementDefinition())) {
                     final ImplicitCaseSchemaNode caseShorthand = new ImplicitCaseSchemaNode(dataSchemaNode);
                     mutableChildNodes.put(caseShorthand.getQName(), caseShorthand);
-                    mutablePublicChildNodes.add(caseShorthand);
                 } else {
                     mutableChildNodes.put(dataSchemaNode.getQName(), dataSchemaNode);
-                    mutablePublicChildNodes.add(dataSchemaNode);
-                }
-            }
-            if (stmt instanceof UsesNode) {
-                UsesNode usesNode = (UsesNode) stmt;
-                if (!mutableUses.contains(usesNode)) {
-                    mutableUses.add(usesNode);
-                } else {
-                    throw EffectiveStmtUtils.createNameCollisionSourceException(ctx, stmt);
-                }
-            }
-            if (stmt instanceof TypedefEffectiveStatement) {
-                TypedefEffectiveStatement typeDef = (TypedefEffectiveStatement) stmt;
-                TypeDefinition<?> type = typeDef.getTypeDefinition();
-                if (!mutableTypeDefinitions.contains(type)) {
-                    mutableTypeDefinitions.add(type);
-                } else {
-                    throw EffectiveStmtUtils.createNameCollisionSourceException(ctx, stmt);
-                }
-            }
-            if (stmt instanceof GroupingDefinition) {
-                GroupingDefinition grp = (GroupingDefinition) stmt;
-                if (!mutableGroupings.contains(grp)) {
-                    mutableGroupings.add(grp);
-                } else {
-                    throw EffectiveStmtUtils.createNameCollisionSourceException(ctx, stmt);
                 }
             }
         }
 
-        this.childNodes = ImmutableMap.copyOf(mutableChildNodes);
-        this.groupings = ImmutableSet.copyOf(mutableGroupings);
-        this.publicChildNodes = ImmutableSet.copyOf(mutablePublicChildNodes);
-        this.typeDefinitions = ImmutableSet.copyOf(mutableTypeDefinitions);
-        this.uses = ImmutableSet.copyOf(mutableUses);
+        // Publish the set first, so that it is available to anyone who observes the map
+        publicChildNodes = ImmutableSet.copyOf(mutableChildNodes.values());
+        final ImmutableMap<QName, DataSchemaNode> ret = ImmutableMap.copyOf(mutableChildNodes);
+        childNodes = ret;
+        return ret;
+    }
+
+    private ImmutableSet<TypeDefinition<?>> typeDefinitions() {
+        ImmutableSet<TypeDefinition<?>> ret = typeDefinitions;
+        if (ret == null) {
+            typeDefinitions = ret = ImmutableSet.copyOf(Collections2.transform(
+                allSubstatementsOfType(TypedefEffectiveStatement.class), TypedefEffectiveStatement::getTypeDefinition));
+        }
+        return ret;
+    }
+
+    private ImmutableSet<GroupingDefinition> groupings() {
+        ImmutableSet<GroupingDefinition> ret = groupings;
+        if (ret == null) {
+            groupings = ret = ImmutableSet.copyOf(allSubstatementsOfType(GroupingDefinition.class));
+        }
+        return ret;
+    }
+
+    private ImmutableSet<UsesNode> uses() {
+        ImmutableSet<UsesNode> ret = uses;
+        if (ret == null) {
+            uses = ret = ImmutableSet.copyOf(allSubstatementsOfType(UsesNode.class));
+        }
+        return ret;
     }
 
     @Override
     public final Set<TypeDefinition<?>> getTypeDefinitions() {
-        return typeDefinitions;
+        return typeDefinitions();
     }
 
     @Override
     public final Set<DataSchemaNode> getChildNodes() {
-        return publicChildNodes;
+        ImmutableSet<DataSchemaNode> ret = publicChildNodes;
+        if (ret == null) {
+            childNodes();
+            ret = publicChildNodes;
+        }
+        return ret;
     }
 
     @Override
     public final Set<GroupingDefinition> getGroupings() {
-        return groupings;
+        return groupings();
     }
 
     @Override
     public final Optional<DataSchemaNode> findDataChildByName(final QName name) {
         // Child nodes are keyed by their container name, so we can do a direct lookup
-        return Optional.ofNullable(childNodes.get(requireNonNull(name)));
+        return Optional.ofNullable(childNodes().get(requireNonNull(name)));
     }
 
     @Override
     public Set<UsesNode> getUses() {
-        return uses;
+        return uses();
     }
 }
@@ -37,6 +37,19 @@ public abstract class AbstractEffectiveDocumentedNode<A, D extends DeclaredState
         status = findFirstEffectiveSubstatementArgument(StatusEffectiveStatement.class).orElse(Status.CURRENT);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param snapshot
+     *            snapshot of statement context.
+     */
+    protected AbstractEffectiveDocumentedNode(final EffectiveStatementSnapshot<A, D> snapshot) {
+        super(snapshot);
+        description = findFirstEffectiveSubstatementArgument(DescriptionEffectiveStatement.class).orElse(null);
+        reference = findFirstEffectiveSubstatementArgument(ReferenceEffectiveStatement.class).orElse(null);
+        status = findFirstEffectiveSubstatementArgument(StatusEffectiveStatement.class).orElse(Status.CURRENT);
+    }
+
     @Override
     public final Optional<String> getDescription() {
         return Optional.ofNullable(description);
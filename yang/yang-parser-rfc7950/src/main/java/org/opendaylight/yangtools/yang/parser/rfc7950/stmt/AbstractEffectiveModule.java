@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -86,7 +87,7 @@ public abstract class AbstractEffectiveModule<D extends DeclaredStatement<String
     private final ImmutableMap<QName, DataSchemaNode> childNodes;
     private final ImmutableSet<GroupingDefinition> groupings;
     private final ImmutableSet<UsesNode> uses;
-    private final ImmutableSet<TypeDefinition<?>> typeDefinitions;
+    private final ImmutableList<TypedefEffectiveStatement> typedefs;
     private final ImmutableSet<DataSchemaNode> publicChildNodes;
     private final SemVer semanticVersion;
 
@@ -95,6 +96,9 @@ public abstract class AbstractEffectiveModule<D extends DeclaredStatement<String
     private ImmutableSet<Module> submodules;
     private boolean sealed;
 
+    // Built on first access in lazy assembly mode, see getTypeDefinitions()
+    private volatile ImmutableSet<TypeDefinition<?>> typeDefinitions;
+
     protected AbstractEffectiveModule(final StmtContext<String, D, ? extends EffectiveStatement<String, ?>> ctx) {
         super(ctx);
 
@@ -197,7 +201,8 @@ public abstract class AbstractEffectiveModule<D extends DeclaredStatement<String
         final Map<QName, DataSchemaNode> mutableChildNodes = new LinkedHashMap<>();
         final Set<GroupingDefinition> mutableGroupings = new HashSet<>();
         final Set<UsesNode> mutableUses = new HashSet<>();
-        final Set<TypeDefinition<?>> mutableTypeDefinitions = new LinkedHashSet<>();
+        final Set<Object> typedefIdentities = new HashSet<>();
+        final List<TypedefEffectiveStatement> typedefsInit = new ArrayList<>();
         final Set<DataSchemaNode> mutablePublicChildNodes = new LinkedHashSet<>();
 
         for (final EffectiveStatement<?, ?> effectiveStatement : effectiveSubstatements) {
@@ -247,9 +252,8 @@ public abstract class AbstractEffectiveModule<D extends DeclaredStatement<String
             }
             if (effectiveStatement instanceof TypedefEffectiveStatement) {
                 final TypedefEffectiveStatement typeDef = (TypedefEffectiveStatement) effectiveStatement;
-                final TypeDefinition<?> type = typeDef.getTypeDefinition();
-                if (!mutableTypeDefinitions.contains(type)) {
-                    mutableTypeDefinitions.add(type);
+                if (typedefIdentities.add(EffectiveStmtUtils.typedefIdentity(typeDef))) {
+                    typedefsInit.add(typeDef);
                 } else {
                     throw EffectiveStmtUtils.createNameCollisionSourceException(ctx, effectiveStatement);
                 }
@@ -277,8 +281,11 @@ public abstract class AbstractEffectiveModule<D extends DeclaredStatement<String
         this.childNodes = ImmutableMap.copyOf(mutableChildNodes);
         this.groupings = ImmutableSet.copyOf(mutableGroupings);
         this.publicChildNodes = ImmutableSet.copyOf(mutablePublicChildNodes);
-        this.typeDefinitions = ImmutableSet.copyOf(mutableTypeDefinitions);
+        this.typedefs = ImmutableList.copyOf(typedefsInit);
         this.uses = ImmutableSet.copyOf(mutableUses);
+        if (!EffectiveStmtUtils.lazyAssemblyMonitor(ctx).isPresent()) {
+            typeDefinitions = buildTypeDefinitions();
+        }
 
     }
 
@@ -371,7 +378,16 @@ public abstract class AbstractEffectiveModule<D extends DeclaredStatement<String
 
     @Override
     public final Set<TypeDefinition<?>> getTypeDefinitions() {
-        return typeDefinitions;
+        // Racy single-check: typedefs are immutable, hence concurrent initialization results in an equivalent set
+        ImmutableSet<TypeDefinition<?>> ret = typeDefinitions;
+        if (ret == null) {
+            typeDefinitions = ret = buildTypeDefinitions();
+        }
+        return ret;
+    }
+
+    private ImmutableSet<TypeDefinition<?>> buildTypeDefinitions() {
+        return ImmutableSet.copyOf(Lists.transform(typedefs, TypedefEffectiveStatement::getTypeDefinition));
     }
 
     @Override
@@ -41,38 +41,54 @@ public abstract class AbstractSchemaEffectiveDocumentedNode<A, D extends Declare
     protected AbstractSchemaEffectiveDocumentedNode(final StmtContext<A, D, ?> ctx) {
         super(ctx);
 
-        if (this instanceof SchemaTreeAwareEffectiveStatement) {
-            final StatementSourceReference ref = ctx.getStatementSourceReference();
-            final Map<QName, SchemaTreeEffectiveStatement<?>> schemaChildren = new LinkedHashMap<>();
-            streamEffectiveSubstatements(SchemaTreeEffectiveStatement.class).forEach(child -> {
-                putChild(schemaChildren, child, ref, "schema");
-            });
-            schemaTreeNamespace = ImmutableMap.copyOf(schemaChildren);
+        final StatementSourceReference ref = ctx.getStatementSourceReference();
+        schemaTreeNamespace = createSchemaTreeNamespace(ref);
+        dataTreeNamespace = createDataTreeNamespace(ref);
+    }
 
-            if (this instanceof DataTreeAwareEffectiveStatement && !schemaTreeNamespace.isEmpty()) {
-                final Map<QName, DataTreeEffectiveStatement<?>> dataChildren = new LinkedHashMap<>();
-                boolean sameAsSchema = true;
+    protected AbstractSchemaEffectiveDocumentedNode(final EffectiveStatementSnapshot<A, D> snapshot) {
+        super(snapshot);
 
-                for (SchemaTreeEffectiveStatement<?> child : schemaTreeNamespace.values()) {
-                    if (child instanceof DataTreeEffectiveStatement) {
-                        putChild(dataChildren, (DataTreeEffectiveStatement<?>) child, ref, "data");
-                    } else {
-                        sameAsSchema = false;
-                        putChoiceDataChildren(dataChildren, ref, child);
-                    }
-                }
+        final StatementSourceReference ref = snapshot.getStatementSourceReference();
+        schemaTreeNamespace = createSchemaTreeNamespace(ref);
+        dataTreeNamespace = createDataTreeNamespace(ref);
+    }
+
+    private ImmutableMap<QName, SchemaTreeEffectiveStatement<?>> createSchemaTreeNamespace(
+            final StatementSourceReference ref) {
+        if (!(this instanceof SchemaTreeAwareEffectiveStatement)) {
+            return ImmutableMap.of();
+        }
 
-                // This is a mighty hack to lower memory usage: if we consumed all schema tree children as data nodes,
-                // the two maps are equal and hence we can share the instance.
-                dataTreeNamespace = sameAsSchema ? (ImmutableMap) schemaTreeNamespace
-                        : ImmutableMap.copyOf(dataChildren);
+        final Map<QName, SchemaTreeEffectiveStatement<?>> schemaChildren = new LinkedHashMap<>();
+        streamEffectiveSubstatements(SchemaTreeEffectiveStatement.class).forEach(child -> {
+            putChild(schemaChildren, child, ref, "schema");
+        });
+        return ImmutableMap.copyOf(schemaChildren);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ImmutableMap<QName, DataTreeEffectiveStatement<?>> createDataTreeNamespace(
+            final StatementSourceReference ref) {
+        if (!(this instanceof DataTreeAwareEffectiveStatement) || schemaTreeNamespace.isEmpty()) {
+            return ImmutableMap.of();
+        }
+
+        final Map<QName, DataTreeEffectiveStatement<?>> dataChildren = new LinkedHashMap<>();
+        boolean sameAsSchema = true;
+
+        for (SchemaTreeEffectiveStatement<?> child : schemaTreeNamespace.values()) {
+            if (child instanceof DataTreeEffectiveStatement) {
+                putChild(dataChildren, (DataTreeEffectiveStatement<?>) child, ref, "data");
             } else {
-                dataTreeNamespace = ImmutableMap.of();
+                sameAsSchema = false;
+                putChoiceDataChildren(dataChildren, ref, child);
             }
-        } else {
-            dataTreeNamespace = ImmutableMap.of();
-            schemaTreeNamespace = ImmutableMap.of();
         }
+
+        // This is a mighty hack to lower memory usage: if we consumed all schema tree children as data nodes,
+        // the two maps are equal and hence we can share the instance.
+        return sameAsSchema ? (ImmutableMap) schemaTreeNamespace : ImmutableMap.copyOf(dataChildren);
     }
 
     @Override
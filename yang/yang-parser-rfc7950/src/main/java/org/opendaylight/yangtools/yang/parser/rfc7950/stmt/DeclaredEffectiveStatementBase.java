@@ -32,7 +32,24 @@ public abstract class DeclaredEffectiveStatementBase<A, D extends DeclaredStatem
 
         this.argument = ctx.getStatementArgument();
         this.statementSource = ctx.getStatementSource();
+        this.declaredInstance = declaredInstance(ctx);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param snapshot
+     *            snapshot of statement context.
+     */
+    protected DeclaredEffectiveStatementBase(final EffectiveStatementSnapshot<A, D> snapshot) {
+        super(snapshot);
+
+        this.argument = snapshot.getStatementArgument();
+        this.statementSource = snapshot.getStatementSource();
+        this.declaredInstance = snapshot.getDeclared();
+    }
 
+    static <D extends DeclaredStatement<?>> @NonNull D declaredInstance(final StmtContext<?, D, ?> ctx) {
         /*
          * Share original instance of declared statement between all effective
          * statements which have been copied or derived from this original
@@ -40,7 +57,7 @@ public abstract class DeclaredEffectiveStatementBase<A, D extends DeclaredStatem
          */
         @SuppressWarnings("unchecked")
         final StmtContext<?, D, ?> lookupCtx = (StmtContext<?, D, ?>) ctx.getOriginalCtx().orElse(ctx);
-        declaredInstance = Verify.verifyNotNull(lookupCtx.buildDeclared(),
+        return Verify.verifyNotNull(lookupCtx.buildDeclared(),
             "Statement %s failed to build declared statement", lookupCtx);
     }
 
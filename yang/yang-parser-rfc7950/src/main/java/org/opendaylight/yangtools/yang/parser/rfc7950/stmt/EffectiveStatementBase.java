@@ -36,6 +36,19 @@ public abstract class EffectiveStatementBase<A, D extends DeclaredStatement<A>>
      * @param ctx context of statement.
      */
     protected EffectiveStatementBase(final StmtContext<A, D, ?> ctx) {
+        this.substatements = ImmutableList.copyOf(initSubstatements(collectSubstatements(ctx)));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param snapshot snapshot of statement context.
+     */
+    protected EffectiveStatementBase(final EffectiveStatementSnapshot<A, D> snapshot) {
+        this.substatements = ImmutableList.copyOf(initSubstatements(snapshot.getSubstatements()));
+    }
+
+    static Collection<StmtContext<?, ?, ?>> collectSubstatements(final StmtContext<?, ?, ?> ctx) {
         final Collection<? extends StmtContext<?, ?, ?>> effectiveSubstatements = ctx.effectiveSubstatements();
         final Collection<StmtContext<?, ?, ?>> substatementsInit = new ArrayList<>();
 
@@ -52,8 +65,7 @@ public abstract class EffectiveStatementBase<A, D extends DeclaredStatement<A>>
             }
         }
         substatementsInit.addAll(effectiveSubstatements);
-
-        this.substatements = ImmutableList.copyOf(initSubstatements(substatementsInit));
+        return substatementsInit;
     }
 
     /**
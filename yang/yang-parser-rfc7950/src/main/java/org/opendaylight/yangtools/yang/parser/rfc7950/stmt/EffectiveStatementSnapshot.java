@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.stmt;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.CopyHistory;
+import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
+
+/**
+ * The part of a statement context needed to build an effective statement, captured once the reactor has finished
+ * modifying the context. Unlike the context itself, a snapshot can be retained by effective statements which build
+ * their body on first access, see {@link EffectiveStmtUtils#lazyAssemblyMonitor(StmtContext)}.
+ *
+ * <p>
+ * A snapshot holds the contexts of the statement's substatements, which are needed to build them, but not the
+ * statement's own context.
+ *
+ * @param <A> Argument type
+ * @param <D> Declared statement type
+ */
+@Beta
+public final class EffectiveStatementSnapshot<A, D extends DeclaredStatement<A>> implements Immutable {
+    private final @NonNull ImmutableList<StmtContext<?, ?, ?>> substatements;
+    private final @NonNull StatementSource statementSource;
+    private final @NonNull StatementSourceReference sourceReference;
+    private final @NonNull CopyHistory copyHistory;
+    private final @NonNull D declared;
+    private final SchemaPath schemaPath;
+    private final Object rootArgument;
+    private final A argument;
+    private final boolean lazyAssembly;
+
+    private EffectiveStatementSnapshot(final StmtContext<A, D, ?> ctx) {
+        substatements = ImmutableList.copyOf(EffectiveStatementBase.collectSubstatements(ctx));
+        statementSource = ctx.getStatementSource();
+        sourceReference = ctx.getStatementSourceReference();
+        copyHistory = ctx.getCopyHistory();
+        declared = DeclaredEffectiveStatementBase.declaredInstance(ctx);
+        schemaPath = ctx.getSchemaPath().orElse(null);
+        rootArgument = ctx.getRoot().getStatementArgument();
+        argument = ctx.getStatementArgument();
+        lazyAssembly = EffectiveStmtUtils.lazyAssemblyMonitor(ctx).isPresent();
+    }
+
+    /**
+     * Capture a snapshot of a statement context. Capturing has the same side effects on the context as building
+     * an effective statement from it.
+     *
+     * @param ctx Statement context
+     * @return A snapshot
+     */
+    public static <A, D extends DeclaredStatement<A>> @NonNull EffectiveStatementSnapshot<A, D> of(
+            final StmtContext<A, D, ?> ctx) {
+        return new EffectiveStatementSnapshot<>(requireNonNull(ctx));
+    }
+
+    /**
+     * Return the contexts of declared and effective substatements, in the order in which effective substatements
+     * are to be built.
+     *
+     * @return Substatement contexts
+     */
+    public @NonNull ImmutableList<StmtContext<?, ?, ?>> getSubstatements() {
+        return substatements;
+    }
+
+    public @NonNull StatementSource getStatementSource() {
+        return statementSource;
+    }
+
+    public @NonNull StatementSourceReference getStatementSourceReference() {
+        return sourceReference;
+    }
+
+    public @NonNull CopyHistory getCopyHistory() {
+        return copyHistory;
+    }
+
+    public @NonNull D getDeclared() {
+        return declared;
+    }
+
+    public Optional<SchemaPath> getSchemaPath() {
+        return Optional.ofNullable(schemaPath);
+    }
+
+    public Object getRootArgument() {
+        return rootArgument;
+    }
+
+    public A getStatementArgument() {
+        return argument;
+    }
+
+    public boolean isLazyAssembly() {
+        return lazyAssembly;
+    }
+}
@@ -17,17 +17,22 @@ import java.util.Set;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.YangVersion;
 import org.opendaylight.yangtools.yang.model.api.ElementCountConstraint;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.MaxElementsEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.MinElementsEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.TypeEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.TypedefEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
+import org.opendaylight.yangtools.yang.parser.spi.source.LazyEffectiveAssemblyNamespace;
+import org.opendaylight.yangtools.yang.parser.spi.source.LazyEffectiveAssemblyNamespace.LazyEffectiveAssembly;
 import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
 
 @Beta
 public final class EffectiveStmtUtils {
@@ -40,13 +45,43 @@ public final class EffectiveStmtUtils {
 
     public static SourceException createNameCollisionSourceException(final StmtContext<?, ?, ?> ctx,
             final EffectiveStatement<?, ?> effectiveStatement) {
-        return new SourceException(ctx.getStatementSourceReference(),
+        return createNameCollisionSourceException(ctx.getStatementSourceReference(),
+            ctx.getRoot().getStatementArgument(), effectiveStatement);
+    }
+
+    static SourceException createNameCollisionSourceException(final StatementSourceReference ref,
+            final Object moduleName, final EffectiveStatement<?, ?> effectiveStatement) {
+        return new SourceException(ref,
             "Error in module '%s': cannot add '%s'. Node name collision: '%s' already declared.",
-            ctx.getRoot().getStatementArgument(),
+            moduleName,
             effectiveStatement.argument(),
             effectiveStatement.argument());
     }
 
+    /**
+     * Return an object identifying the type defined by a typedef. Two typedefs with equal identities within a single
+     * parent statement constitute a name collision. Unlike {@link TypedefEffectiveStatement#getTypeDefinition()}, this
+     * method does not require the type definition to be built.
+     *
+     * @param typedef Typedef statement
+     * @return Typedef identity
+     */
+    static Object typedefIdentity(final TypedefEffectiveStatement typedef) {
+        return typedef instanceof SchemaNode ? ((SchemaNode) typedef).getPath() : typedef.getTypeDefinition();
+    }
+
+    /**
+     * Return the monitor guarding lazy materialization of effective statements, if lazy assembly has been requested
+     * for the build which produced specified statement.
+     *
+     * @param ctx Statement context
+     * @return Materialization monitor, or empty if effective statements should be built eagerly
+     */
+    public static Optional<Object> lazyAssemblyMonitor(final StmtContext<?, ?, ?> ctx) {
+        return Optional.ofNullable(ctx.getFromNamespace(LazyEffectiveAssemblyNamespace.class,
+            LazyEffectiveAssembly.LAZY_EFFECTIVE_ASSEMBLY));
+    }
+
     public static Optional<ElementCountConstraint> createElementCountConstraint(final EffectiveStatement<?, ?> stmt) {
         final Integer minElements;
         final Optional<Integer> min = stmt.findFirstEffectiveSubstatementArgument(MinElementsEffectiveStatement.class);
@@ -7,10 +7,13 @@
  */
 package org.opendaylight.yangtools.yang.parser.rfc7950.stmt.grouping;
 
+import java.util.Optional;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.GroupingStatement;
+import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.EffectiveStatementSnapshot;
+import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.EffectiveStmtUtils;
 import org.opendaylight.yangtools.yang.parser.spi.GroupingNamespace;
 import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractQNameStatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
@@ -48,7 +51,10 @@ abstract class AbstractGroupingStatementSupport
     @Override
     public final EffectiveStatement<QName, GroupingStatement> createEffective(
             final StmtContext<QName, GroupingStatement, EffectiveStatement<QName, GroupingStatement>> ctx) {
-        return new GroupingEffectiveStatementImpl(ctx);
+        final Optional<Object> lazyAssembly = EffectiveStmtUtils.lazyAssemblyMonitor(ctx);
+        final EffectiveStatementSnapshot<QName, GroupingStatement> snapshot = EffectiveStatementSnapshot.of(ctx);
+        return lazyAssembly.isPresent() ? new LazyGroupingEffectiveStatement(snapshot, lazyAssembly.get())
+                : new GroupingEffectiveStatementImpl(snapshot);
     }
 
     @Override
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.parser.rfc7950.stmt.grouping;
 
+import static com.google.common.base.Verify.verifyNotNull;
+
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.List;
@@ -23,8 +25,8 @@ import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.GroupingEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.GroupingStatement;
 import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.AbstractEffectiveDocumentedDataNodeContainer;
+import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.EffectiveStatementSnapshot;
 import org.opendaylight.yangtools.yang.parser.spi.meta.CopyType;
-import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
 
 final class GroupingEffectiveStatementImpl
         extends AbstractEffectiveDocumentedDataNodeContainer<QName, GroupingStatement>
@@ -36,13 +38,12 @@ final class GroupingEffectiveStatementImpl
     private final @NonNull ImmutableSet<NotificationDefinition> notifications;
     private final @NonNull ImmutableList<UnknownSchemaNode> unknownNodes;
 
-    GroupingEffectiveStatementImpl(
-            final StmtContext<QName, GroupingStatement, EffectiveStatement<QName, GroupingStatement>> ctx) {
-        super(ctx);
+    GroupingEffectiveStatementImpl(final EffectiveStatementSnapshot<QName, GroupingStatement> snapshot) {
+        super(snapshot);
 
-        qname = ctx.coerceStatementArgument();
-        path = ctx.getSchemaPath().get();
-        addedByUses = ctx.getCopyHistory().contains(CopyType.ADDED_BY_USES);
+        qname = verifyNotNull(snapshot.getStatementArgument());
+        path = snapshot.getSchemaPath().get();
+        addedByUses = snapshot.getCopyHistory().contains(CopyType.ADDED_BY_USES);
 
         final ImmutableSet.Builder<ActionDefinition> actionsBuilder = ImmutableSet.builder();
         final ImmutableSet.Builder<NotificationDefinition> notificationsBuilder = ImmutableSet.builder();
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.stmt.grouping;
+
+import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.api.Status;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UsesNode;
+import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementSource;
+import org.opendaylight.yangtools.yang.model.api.stmt.GroupingEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.GroupingStatement;
+import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.EffectiveStatementSnapshot;
+import org.opendaylight.yangtools.yang.parser.spi.meta.CopyType;
+
+/**
+ * A {@link GroupingDefinition} whose body is materialized on first access. Groupings are not part of the data tree
+ * and their bodies are instantiated separately for each expansion, hence most of them are never accessed directly.
+ * This class retains a snapshot of the grouping's statement context until the body is built and then releases it.
+ * Errors confined to the body are therefore reported on first access.
+ */
+final class LazyGroupingEffectiveStatement implements GroupingDefinition, GroupingEffectiveStatement {
+    private final @NonNull QName qname;
+    private final @NonNull SchemaPath path;
+    private final @NonNull GroupingStatement declared;
+    private final @NonNull StatementSource statementSource;
+    private final @NonNull Object monitor;
+    private final boolean addedByUses;
+
+    // Guarded by monitor, released once delegate is published
+    private EffectiveStatementSnapshot<QName, GroupingStatement> snapshot;
+    private volatile GroupingEffectiveStatementImpl delegate;
+
+    LazyGroupingEffectiveStatement(final EffectiveStatementSnapshot<QName, GroupingStatement> snapshot,
+            final Object monitor) {
+        this.snapshot = snapshot;
+        this.monitor = requireNonNull(monitor);
+        qname = verifyNotNull(snapshot.getStatementArgument());
+        path = snapshot.getSchemaPath().get();
+        declared = snapshot.getDeclared();
+        statementSource = snapshot.getStatementSource();
+        addedByUses = snapshot.getCopyHistory().contains(CopyType.ADDED_BY_USES);
+    }
+
+    private GroupingEffectiveStatementImpl delegate() {
+        GroupingEffectiveStatementImpl ret = delegate;
+        if (ret == null) {
+            // Substatement contexts are not thread-safe, hence all materialization within a build is serialized
+            synchronized (monitor) {
+                ret = delegate;
+                if (ret == null) {
+                    delegate = ret = new GroupingEffectiveStatementImpl(snapshot);
+                    snapshot = null;
+                }
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public QName getQName() {
+        return qname;
+    }
+
+    @Override
+    public SchemaPath getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean isAddedByUses() {
+        return addedByUses;
+    }
+
+    @Override
+    public GroupingStatement getDeclared() {
+        return declared;
+    }
+
+    @Override
+    public StatementDefinition statementDefinition() {
+        return YangStmtMapping.GROUPING;
+    }
+
+    @Override
+    public QName argument() {
+        return qname;
+    }
+
+    @Override
+    public StatementSource getStatementSource() {
+        return statementSource;
+    }
+
+    @Override
+    public <K, V, N extends IdentifierNamespace<K, V>> V get(final Class<N> namespace, final K identifier) {
+        return delegate().get(namespace, identifier);
+    }
+
+    @Override
+    public <K, V, N extends IdentifierNamespace<K, V>> Map<K, V> getAll(final Class<N> namespace) {
+        return delegate().getAll(namespace);
+    }
+
+    @Override
+    public Collection<? extends EffectiveStatement<?, ?>> effectiveSubstatements() {
+        return delegate().effectiveSubstatements();
+    }
+
+    @Override
+    public Optional<String> getDescription() {
+        return delegate().getDescription();
+    }
+
+    @Override
+    public Optional<String> getReference() {
+        return delegate().getReference();
+    }
+
+    @Override
+    public Status getStatus() {
+        return delegate().getStatus();
+    }
+
+    @Override
+    public List<UnknownSchemaNode> getUnknownSchemaNodes() {
+        return delegate().getUnknownSchemaNodes();
+    }
+
+    @Override
+    public Set<TypeDefinition<?>> getTypeDefinitions() {
+        return delegate().getTypeDefinitions();
+    }
+
+    @Override
+    public Set<DataSchemaNode> getChildNodes() {
+        return delegate().getChildNodes();
+    }
+
+    @Override
+    public Set<GroupingDefinition> getGroupings() {
+        return delegate().getGroupings();
+    }
+
+    @Override
+    public Optional<DataSchemaNode> findDataChildByName(final QName name) {
+        return delegate().findDataChildByName(name);
+    }
+
+    @Override
+    public Set<UsesNode> getUses() {
+        return delegate().getUses();
+    }
+
+    @Override
+    public Set<ActionDefinition> getActions() {
+        return delegate().getActions();
+    }
+
+    @Override
+    public Set<NotificationDefinition> getNotifications() {
+        return delegate().getNotifications();
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Objects.hashCode(qname);
+        result = prime * result + Objects.hashCode(path);
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LazyGroupingEffectiveStatement)) {
+            return false;
+        }
+        final LazyGroupingEffectiveStatement other = (LazyGroupingEffectiveStatement) obj;
+        return qname.equals(other.qname) && path.equals(other.path);
+    }
+
+    @Override
+    public String toString() {
+        return LazyGroupingEffectiveStatement.class.getSimpleName() + "[" + "qname=" + qname + "]";
+    }
+}
@@ -40,21 +40,34 @@ final class TypedefEffectiveStatementImpl extends AbstractEffectiveSchemaNode<Ty
         TypedefEffectiveStatement {
     private static final Logger LOG = LoggerFactory.getLogger(TypedefEffectiveStatementImpl.class);
 
-    private final @NonNull TypeDefinition<?> typeDefinition;
+    private final @NonNull TypeEffectiveStatement<?> typeEffectiveStmt;
 
+    private volatile TypeDefinition<?> typeDefinition;
     private volatile TypeEffectiveStatement<TypeStatement> typeStatement;
 
-    TypedefEffectiveStatementImpl(final StmtContext<QName, TypedefStatement, ?> ctx) {
+    TypedefEffectiveStatementImpl(final StmtContext<QName, TypedefStatement, ?> ctx, final boolean lazyType) {
         super(ctx);
 
-        final TypeEffectiveStatement<?> typeEffectiveStmt = firstSubstatementOfType(TypeEffectiveStatement.class);
+        typeEffectiveStmt = firstSubstatementOfType(TypeEffectiveStatement.class);
+        final String dflt = findFirstEffectiveSubstatementArgument(DefaultEffectiveStatement.class).orElse(null);
+        SourceException.throwIf(
+            EffectiveStmtUtils.hasDefaultValueMarkedWithIfFeature(ctx.getRootVersion(), typeEffectiveStmt, dflt),
+            ctx.getStatementSourceReference(),
+            "Typedef '%s' has default value '%s' marked with an if-feature statement.", ctx.getStatementArgument(),
+            dflt);
+
+        // In lazy assembly mode the type definition is built on first access
+        if (!lazyType) {
+            typeDefinition = buildTypeDefinition();
+        }
+    }
+
+    private TypeDefinition<?> buildTypeDefinition() {
         final DerivedTypeBuilder<?> builder = DerivedTypes.derivedTypeBuilder(typeEffectiveStmt.getTypeDefinition(),
-            ctx.getSchemaPath().get());
-        String dflt = null;
+            getPath());
         for (final EffectiveStatement<?, ?> stmt : effectiveSubstatements()) {
             if (stmt instanceof DefaultEffectiveStatement) {
-                dflt = ((DefaultEffectiveStatement) stmt).argument();
-                builder.setDefaultValue(dflt);
+                builder.setDefaultValue(((DefaultEffectiveStatement) stmt).argument());
             } else if (stmt instanceof DescriptionEffectiveStatement) {
                 builder.setDescription(((DescriptionEffectiveStatement)stmt).argument());
             } else if (stmt instanceof ReferenceEffectiveStatement) {
@@ -73,18 +86,22 @@ final class TypedefEffectiveStatementImpl extends AbstractEffectiveSchemaNode<Ty
             }
         }
 
-        SourceException.throwIf(
-            EffectiveStmtUtils.hasDefaultValueMarkedWithIfFeature(ctx.getRootVersion(), typeEffectiveStmt, dflt),
-            ctx.getStatementSourceReference(),
-            "Typedef '%s' has default value '%s' marked with an if-feature statement.", ctx.getStatementArgument(),
-            dflt);
-
-        typeDefinition = builder.build();
+        return builder.build();
     }
 
     @Override
     public TypeDefinition<?> getTypeDefinition() {
-        return typeDefinition;
+        TypeDefinition<?> ret = typeDefinition;
+        if (ret == null) {
+            synchronized (this) {
+                ret = typeDefinition;
+                if (ret == null) {
+                    typeDefinition = ret = buildTypeDefinition();
+                }
+            }
+        }
+
+        return ret;
     }
 
     @Override
@@ -11,6 +11,7 @@ import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.TypedefStatement;
+import org.opendaylight.yangtools.yang.parser.rfc7950.stmt.EffectiveStmtUtils;
 import org.opendaylight.yangtools.yang.parser.spi.TypeNamespace;
 import org.opendaylight.yangtools.yang.parser.spi.meta.AbstractQNameStatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
@@ -63,7 +64,7 @@ public final class TypedefStatementSupport extends
     @Override
     public EffectiveStatement<QName, TypedefStatement> createEffective(
             final StmtContext<QName, TypedefStatement, EffectiveStatement<QName, TypedefStatement>> ctx) {
-        return new TypedefEffectiveStatementImpl(ctx);
+        return new TypedefEffectiveStatementImpl(ctx, EffectiveStmtUtils.lazyAssemblyMonitor(ctx).isPresent());
     }
 
     @Override
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+
+public class SchemaContextImageTest {
+    private static final String[] RESOURCES = {
+        "/model/bar.yang", "/model/baz.yang", "/model/foo.yang", "/model/subfoo.yang"
+    };
+
+    private static YangTextSchemaSource source(final String resource) {
+        return YangTextSchemaSource.forResource(SchemaContextImageTest.class, resource);
+    }
+
+    @Test
+    public void testLoad() throws IOException, YangSyntaxErrorException, ReactorException {
+        final BuildAction fromText = RFC7950Reactors.defaultReactor().newBuild();
+        final List<StatementImage> sources = new ArrayList<>();
+        for (String resource : RESOURCES) {
+            final YangTextSchemaSource text = source(resource);
+            fromText.addSource(YangStatementStreamSource.create(text));
+            sources.add(StatementImage.of(text));
+        }
+        final SchemaContext expected = fromText.buildEffective();
+
+        final Path file = Files.createTempFile("schema-context", ".img");
+        try {
+            SchemaContextImage.create(sources, null, null).writeTo(file);
+
+            final SchemaContextImage image = SchemaContextImage.read(file);
+            assertEquals(RESOURCES.length, image.getSources().size());
+            assertEquals(Optional.empty(), image.getSupportedFeatures());
+            assertEquals(Optional.empty(), image.getModulesWithSupportedDeviations());
+
+            final SchemaContext actual = image.load();
+            assertEquals(expected.getModules().size(), actual.getModules().size());
+            for (Module expectedModule : expected.getModules()) {
+                final Module actualModule = actual.findModule(expectedModule.getQNameModule()).get();
+                assertEquals(expectedModule.getChildNodes().size(), actualModule.getChildNodes().size());
+                assertEquals(expectedModule.getTypeDefinitions().size(), actualModule.getTypeDefinitions().size());
+                assertEquals(expectedModule.getGroupings().size(), actualModule.getGroupings().size());
+                assertEquals(expectedModule.getSubmodules().size(), actualModule.getSubmodules().size());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testSupportedFeatures() throws IOException, YangSyntaxErrorException, ReactorException {
+        final StatementImage source = StatementImage.of(source("/bugs/bug8922/foo.yang"));
+        final QName target = QName.create("foo", "target");
+        final QName myCon = QName.create("foo", "my-con");
+
+        final SchemaContext all = SchemaContextImage.create(ImmutableList.of(source), null, null).load();
+        assertTrue(((ContainerSchemaNode) all.getDataChildByName(target)).findDataChildByName(myCon).isPresent());
+
+        final SchemaContextImage image = SchemaContextImage.create(ImmutableList.of(source), ImmutableSet.of(),
+            null);
+        final SchemaContextImage copy = SchemaContextImage.wrap(ByteBuffer.wrap(toBytes(image)));
+        assertEquals(Optional.of(ImmutableSet.of()), copy.getSupportedFeatures());
+
+        final SchemaContext none = copy.load();
+        assertFalse(((ContainerSchemaNode) none.getDataChildByName(target)).findDataChildByName(myCon).isPresent());
+    }
+
+    @Test
+    public void testLazyTypedef() throws IOException, YangSyntaxErrorException, ReactorException {
+        final SchemaContext context = SchemaContextImage.create(ImmutableList.of(StatementImage.of(
+            source("/lazy-assembly/foo.yang"))), null, null).load();
+        final Module foo = context.findModules("foo").iterator().next();
+        final ContainerSchemaNode cont1 = (ContainerSchemaNode) foo.getDataChildByName(QName.create("foo", "cont1"));
+        final LeafSchemaNode leaf1 = (LeafSchemaNode) cont1.getDataChildByName(QName.create("foo", "leaf1"));
+        assertEquals(foo.getTypeDefinitions().iterator().next().getPath(), leaf1.getType().getPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidImage() {
+        SchemaContextImage.wrap(ByteBuffer.allocate(64));
+    }
+
+    private static byte[] toBytes(final SchemaContextImage image) throws IOException {
+        final Path file = Files.createTempFile("schema-context", ".img");
+        try {
+            image.writeTo(file);
+            return Files.readAllBytes(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+
+public class StatementImageTest {
+    private static final String[] RESOURCES = {
+        "/model/bar.yang", "/model/baz.yang", "/model/foo.yang", "/model/subfoo.yang"
+    };
+
+    private static YangTextSchemaSource source(final String resource) {
+        return YangTextSchemaSource.forResource(StatementImageTest.class, resource);
+    }
+
+    private static Map<QName, Collection<QName>> summarize(final SchemaContext context) {
+        return context.getModules().stream().collect(Collectors.toMap(
+            module -> QName.create(module.getQNameModule(), module.getName()),
+            module -> module.getChildNodes().stream().map(DataSchemaNode::getQName).collect(Collectors.toSet())));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException, YangSyntaxErrorException, ReactorException {
+        final BuildAction fromText = RFC7950Reactors.defaultReactor().newBuild();
+        final BuildAction fromImage = RFC7950Reactors.defaultReactor().newBuild();
+        final List<Path> files = new ArrayList<>();
+
+        try {
+            for (String resource : RESOURCES) {
+                final YangTextSchemaSource text = source(resource);
+                fromText.addSource(YangStatementStreamSource.create(text));
+
+                final Path file = Files.createTempFile("statement", ".img");
+                files.add(file);
+                StatementImage.of(text).writeTo(file);
+
+                final StatementImage image = StatementImage.read(file);
+                assertEquals(text.getIdentifier(), image.getIdentifier());
+                fromImage.addSource(StatementImageStreamSource.create(image));
+            }
+
+            final SchemaContext expected = fromText.buildEffective();
+            final SchemaContext actual = fromImage.buildEffective();
+            assertNotNull(actual);
+            assertEquals(summarize(expected), summarize(actual));
+        } finally {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void testReplayedArgumentError() throws IOException, YangSyntaxErrorException {
+        final YangTextSchemaSource text = source("/rfc7950/bug6886/yang11/foo3.yang");
+        final String expected = buildFailure(YangStatementStreamSource.create(text));
+        assertTrue(expected.startsWith("YANG 1.1: illegal double quoted string"));
+        assertEquals(expected, buildFailure(StatementImageStreamSource.create(StatementImage.of(text))));
+    }
+
+    private static String buildFailure(final StatementStreamSource source) {
+        try {
+            RFC7950Reactors.defaultReactor().newBuild().addSource(source).buildEffective();
+            fail("Build of " + source + " should have failed");
+            return null;
+        } catch (ReactorException e) {
+            return e.getCause().getMessage();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidImage() {
+        StatementImage.wrap(ByteBuffer.allocate(64));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.rfc7950;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.DescriptionEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.MustEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.EffectiveSharingReport;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.EffectiveSharingReport.SourceStatistics;
+
+public class EffectiveStatementSharingTest {
+
+    @Test
+    public void testSharedGroupingExpansion() throws ReactorException, IOException, YangSyntaxErrorException {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild()
+                .addSource(YangStatementStreamSource.create(
+                    YangTextSchemaSource.forResource("/effective-sharing/foo.yang")));
+        final SchemaContext schemaContext = build.buildEffective();
+        final Module foo = schemaContext.findModules("foo").iterator().next();
+
+        final EffectiveStatement<?, ?> leaf1 = findLeaf1(foo, "cont1");
+        final EffectiveStatement<?, ?> leaf2 = findLeaf1(foo, "cont2");
+        final EffectiveStatement<?, ?> leaf3 = findLeaf1(foo, "cont3");
+
+        // Data nodes are distinct, but their context-independent substatements are shared
+        assertNotSame(leaf1, leaf2);
+        assertSame(leaf1.findFirstEffectiveSubstatement(MustEffectiveStatement.class).get(),
+            leaf2.findFirstEffectiveSubstatement(MustEffectiveStatement.class).get());
+        assertSame(leaf1.findFirstEffectiveSubstatement(DescriptionEffectiveStatement.class).get(),
+            leaf2.findFirstEffectiveSubstatement(DescriptionEffectiveStatement.class).get());
+
+        // Refined statements are not shared
+        assertEquals("refined description",
+            leaf3.findFirstEffectiveSubstatementArgument(DescriptionEffectiveStatement.class).get());
+        assertNotSame(leaf1.findFirstEffectiveSubstatement(DescriptionEffectiveStatement.class).get(),
+            leaf3.findFirstEffectiveSubstatement(DescriptionEffectiveStatement.class).get());
+
+        final EffectiveSharingReport report = build.getEffectiveSharingReport();
+        final SourceStatistics stats = report.getSource(RevisionSourceIdentifier.create("foo")).get();
+        // description, config, must and its error-message in cont1 and cont2, config, must and error-message in cont3
+        assertEquals(11, stats.getSharedStatements());
+        assertTrue(stats.getEstimatedBytesSaved() > 0);
+        assertEquals(stats.getSharedStatements(), report.getSharedStatements());
+    }
+
+    private static EffectiveStatement<?, ?> findLeaf1(final Module module, final String container) {
+        final ContainerSchemaNode cont = (ContainerSchemaNode) module.getDataChildByName(
+            QName.create(module.getQNameModule(), container));
+        return (EffectiveStatement<?, ?>) cont.getDataChildByName(
+            QName.create(module.getQNameModule(), "leaf1"));
+    }
+}
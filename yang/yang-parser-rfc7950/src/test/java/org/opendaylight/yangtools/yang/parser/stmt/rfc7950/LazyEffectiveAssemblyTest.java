@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.rfc7950;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+
+public class LazyEffectiveAssemblyTest {
+    private static final QName CONT1 = QName.create("foo", "cont1");
+    private static final QName CONT2 = QName.create("foo", "cont2");
+    private static final QName LEAF1 = QName.create("foo", "leaf1");
+    private static final QName INNER_LEAF = QName.create("foo", "inner-leaf");
+
+    @Test
+    public void testLazyAssemblyMatchesEager() throws ReactorException, IOException, YangSyntaxErrorException {
+        final Module eager = parseFoo(false);
+        final Module lazy = parseFoo(true);
+
+        final GroupingDefinition eagerGrp = eager.getGroupings().iterator().next();
+        final GroupingDefinition lazyGrp = lazy.getGroupings().iterator().next();
+        assertEquals(eagerGrp.getQName(), lazyGrp.getQName());
+        assertEquals(eagerGrp.getPath(), lazyGrp.getPath());
+        assertEquals(2, lazyGrp.getChildNodes().size());
+        assertEquals(1, lazyGrp.getGroupings().size());
+
+        final ContainerSchemaNode cont2 = (ContainerSchemaNode) lazyGrp.getDataChildByName(CONT2);
+        assertTrue(cont2.findDataChildByName(INNER_LEAF).isPresent());
+
+        final TypeDefinition<?> lazyTypedef = lazy.getTypeDefinitions().iterator().next();
+        assertEquals(Optional.of("abc"), lazyTypedef.getDefaultValue());
+        assertEquals(Optional.of("my typedef"), lazyTypedef.getDescription());
+        assertEquals(eager.getTypeDefinitions().iterator().next().getPath(), lazyTypedef.getPath());
+
+        final ContainerSchemaNode eagerCont1 = (ContainerSchemaNode) eager.getDataChildByName(CONT1);
+        final ContainerSchemaNode lazyCont1 = (ContainerSchemaNode) lazy.getDataChildByName(CONT1);
+        assertEquals(Lists.transform(ImmutableList.copyOf(eagerCont1.getChildNodes()), DataSchemaNode::getQName),
+            Lists.transform(ImmutableList.copyOf(lazyCont1.getChildNodes()), DataSchemaNode::getQName));
+        assertEquals(1, lazyCont1.getUses().size());
+        assertEquals(1, lazyCont1.getGroupings().size());
+
+        final LeafSchemaNode eagerLeaf1 = (LeafSchemaNode) eagerCont1.getDataChildByName(LEAF1);
+        final LeafSchemaNode lazyLeaf1 = (LeafSchemaNode) lazyCont1.getDataChildByName(LEAF1);
+        assertEquals(eagerLeaf1.getType().getPath(), lazyLeaf1.getType().getPath());
+        assertEquals(eagerLeaf1.getType().getBaseType().getPath(), lazyLeaf1.getType().getBaseType().getPath());
+        assertEquals(eagerLeaf1.getType().getDefaultValue(), lazyLeaf1.getType().getDefaultValue());
+        // The leaf does not refine its type, hence it uses the typedef's type definition
+        assertEquals(lazyTypedef.getPath(), lazyLeaf1.getType().getPath());
+    }
+
+    private static Module parseFoo(final boolean lazy) throws ReactorException, IOException,
+            YangSyntaxErrorException {
+        final CrossSourceStatementReactor.BuildAction build = RFC7950Reactors.defaultReactor().newBuild()
+                .addSource(YangStatementStreamSource.create(
+                    YangTextSchemaSource.forResource("/lazy-assembly/foo.yang")));
+        if (lazy) {
+            build.enableLazyEffectiveAssembly();
+        }
+        final SchemaContext schemaContext = build.buildEffective();
+        return schemaContext.findModules("foo").iterator().next();
+    }
+}
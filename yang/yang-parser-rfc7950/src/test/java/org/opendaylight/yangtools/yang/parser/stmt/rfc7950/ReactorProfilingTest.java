@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.rfc7950;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.ReactorProfile;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.ReactorProfile.Measurement;
+
+public class ReactorProfilingTest {
+
+    @Test
+    public void testProfilingDisabled() throws ReactorException, IOException, YangSyntaxErrorException {
+        final BuildAction build = newBuild();
+        build.buildEffective();
+        assertFalse(build.getProfile().isPresent());
+    }
+
+    @Test
+    public void testProfilingEnabled() throws ReactorException, IOException, YangSyntaxErrorException {
+        final BuildAction build = newBuild().enableProfiling();
+        build.buildEffective();
+
+        final ReactorProfile profile = build.getProfile().get();
+        assertEquals(ModelProcessingPhase.values().length - 1, profile.getPhases().size());
+        for (ModelProcessingPhase phase : profile.getPhases().keySet()) {
+            assertTrue(profile.getIterations().get(phase) > 0);
+        }
+        assertEquals(1, profile.getEffectiveAssembly().getInvocations());
+        assertTrue(profile.getSources().containsKey(RevisionSourceIdentifier.create("foo")));
+        assertTrue(profile.getStatements().get(YangStmtMapping.USES.getStatementName()).getInvocations() > 0);
+        assertTrue(profile.getStatements().get(YangStmtMapping.CONTAINER.getStatementName()).getInvocations() > 0);
+    }
+
+    @Test
+    public void testAllocationMeasured() throws ReactorException, IOException, YangSyntaxErrorException {
+        // Allocation accounting is a HotSpot extension
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+
+        final BuildAction build = newBuild().enableProfiling();
+        build.buildEffective();
+
+        final ReactorProfile profile = build.getProfile().get();
+        assertTrue(profile.getEffectiveAssembly().getAllocatedBytes().getAsLong() > 0);
+        for (Measurement measurement : profile.getStatements().values()) {
+            assertTrue(measurement.getAllocatedBytes().getAsLong() >= 0);
+        }
+        assertTrue(profile.getStatements().get(YangStmtMapping.CONTAINER.getStatementName()).getAllocatedBytes()
+            .getAsLong() > 0);
+    }
+
+    private static BuildAction newBuild() throws IOException, YangSyntaxErrorException {
+        return RFC7950Reactors.defaultReactor().newBuild().addSource(YangStatementStreamSource.create(
+            YangTextSchemaSource.forResource("/effective-sharing/foo.yang")));
+    }
+}
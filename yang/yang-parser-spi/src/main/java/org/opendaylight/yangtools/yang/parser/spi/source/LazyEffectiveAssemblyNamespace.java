@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.spi.source;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+import org.opendaylight.yangtools.yang.parser.spi.meta.NamespaceBehaviour;
+
+/**
+ * Namespace used for requesting lazy assembly of effective statements. If it is populated, statement supports are
+ * allowed to defer building parts of their effective statements until they are first accessed, as long as doing so
+ * does not defer validation of statements which are part of the schema tree. The value is the monitor which
+ * serializes deferred materialization requiring access to statement contexts, as it is shared by all statements of
+ * a single build.
+ */
+@Beta
+public interface LazyEffectiveAssemblyNamespace
+        extends IdentifierNamespace<LazyEffectiveAssemblyNamespace.LazyEffectiveAssembly, Object> {
+    NamespaceBehaviour<LazyEffectiveAssembly, Object, @NonNull LazyEffectiveAssemblyNamespace> BEHAVIOUR =
+            NamespaceBehaviour.global(LazyEffectiveAssemblyNamespace.class);
+
+    enum LazyEffectiveAssembly {
+        LAZY_EFFECTIVE_ASSEMBLY
+    }
+}